@@ -0,0 +1,63 @@
+package ru.kpfu.itis.jackal.bench;
+
+import ru.kpfu.itis.jackal.common.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+
+final class BenchmarkFixtures {
+
+    private static final CellType[] TERRAIN = {CellType.PLAIN, CellType.FOREST, CellType.MOUNTAIN};
+
+    private BenchmarkFixtures() {
+    }
+
+    static PrintStream silenceConsole() {
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        return console;
+    }
+
+    static GameState createGameState(int width, int height, int players, long seed) {
+        return createGameState(BoardBackend.OBJECT, width, height, players, seed);
+    }
+
+    static GameState createGameState(BoardBackend backend, int width, int height, int players, long seed) {
+        Random random = new Random(seed);
+        Board board = backend.createBoard(width, height);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                boolean edge = x == 0 || y == 0 || x == width - 1 || y == height - 1;
+                Cell cell = edge
+                        ? new Cell(CellType.SEA, CellContent.EMPTY)
+                        : new Cell(TERRAIN[random.nextInt(TERRAIN.length)],
+                        CellContent.values()[random.nextInt(CellContent.values().length)]);
+                cell.setRevealed(edge || random.nextBoolean());
+                cell.setVisible(cell.isRevealed());
+                if (cell.canCollectGold()) {
+                    cell.setGold(new Gold(cell.getGoldAmount(), x, y));
+                }
+                board.setCell(x, y, cell);
+            }
+        }
+
+        GameState gameState = new GameState();
+        gameState.setBoard(board);
+        for (int p = 0; p < players; p++) {
+            Player player = new Player("player-" + p, "Игрок " + p, "COLOR" + p);
+            for (int i = 1; i <= GameConfig.PIRATES_PER_PLAYER; i++) {
+                int x = 1 + random.nextInt(width - 2);
+                int y = 1 + random.nextInt(height - 2);
+                Pirate pirate = new Pirate(i, x, y);
+                player.addPirate(pirate);
+                board.getCell(x, y).setPirate(pirate);
+            }
+            player.setScore(random.nextInt(GameConfig.WINNING_SCORE));
+            gameState.addPlayer(player);
+        }
+        gameState.setGameStarted(true);
+        gameState.setCurrentPlayerId("player-0");
+        return gameState;
+    }
+}
@@ -0,0 +1,50 @@
+package ru.kpfu.itis.jackal.bench;
+
+import org.openjdk.jmh.annotations.*;
+import ru.kpfu.itis.jackal.common.Board;
+import ru.kpfu.itis.jackal.common.BoardBackend;
+import ru.kpfu.itis.jackal.common.Cell;
+
+import java.util.concurrent.TimeUnit;
+
+// mvn -Pjmh test-compile exec:exec@jmh -Djmh.args="BoardBackendBenchmark"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BoardBackendBenchmark {
+
+    @Param({"OBJECT", "PACKED"})
+    public BoardBackend backend;
+
+    @Param({"9", "41", "101"})
+    public int boardSize;
+
+    private Board board;
+
+    @Setup
+    public void setUp() {
+        board = BenchmarkFixtures.createGameState(backend, boardSize, boardSize, 4, 42).getBoard();
+    }
+
+    @Benchmark
+    public Board copy() {
+        return board.copy();
+    }
+
+    @Benchmark
+    public int scanWalkable() {
+        int walkable = 0;
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                Cell cell = board.getCell(x, y);
+                if (cell.isWalkable(false) && !cell.hasPirate() && !cell.getContent().isDangerous()) {
+                    walkable++;
+                }
+            }
+        }
+        return walkable;
+    }
+}
@@ -0,0 +1,57 @@
+package ru.kpfu.itis.jackal.bench;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.kpfu.itis.jackal.game.GameStateWriter;
+import ru.kpfu.itis.jackal.network.protocol.GameMessage;
+import ru.kpfu.itis.jackal.network.protocol.MessageType;
+import ru.kpfu.itis.jackal.server.OutboundFrame;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// mvn -Pjmh test-compile exec:exec@jmh -Djmh.args="BroadcastFanOutBenchmark"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BroadcastFanOutBenchmark {
+
+    private static final Gson gson = new GsonBuilder().create();
+
+    @Param({"9", "41"})
+    public int boardSize;
+
+    @Param({"4", "16", "64"})
+    public int recipients;
+
+    private GameMessage message;
+
+    @Setup
+    public void setUp() {
+        message = new GameMessage(MessageType.GAME_STATE, null,
+                GameStateWriter.writeFullState(BenchmarkFixtures.createGameState(boardSize, boardSize, 4, 42), 1));
+    }
+
+    @Benchmark
+    public void encodePerRecipient(Blackhole blackhole) {
+        for (int i = 0; i < recipients; i++) {
+            blackhole.consume((gson.toJson(message) + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Benchmark
+    public void encodeOnce(Blackhole blackhole) {
+        OutboundFrame frame = OutboundFrame.encode(message);
+        for (int i = 0; i < recipients; i++) {
+            frame.retain();
+            blackhole.consume(frame.view());
+            frame.release();
+        }
+        frame.release();
+    }
+}
@@ -0,0 +1,78 @@
+package ru.kpfu.itis.jackal.bench;
+
+import ru.kpfu.itis.jackal.server.GameServer;
+import ru.kpfu.itis.jackal.server.TransportType;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+// mvn -Pjmh test-compile exec:java@connection-scaling -Djackal.bench.connections=10000
+public class ConnectionScalingBenchmark {
+
+    private static final int CONNECTIONS = Integer.getInteger("jackal.bench.connections", 10000);
+    private static final long SETTLE_MS = Long.getLong("jackal.bench.settleMs", 2000);
+
+    public static void main(String[] args) throws Exception {
+        String modes = System.getProperty("jackal.bench.modes", "BLOCKING,VIRTUAL,NIO");
+        System.out.printf("%-10s %12s %12s %14s%n", "mode", "connections", "threads", "heap MB");
+        for (String mode : modes.split(",")) {
+            Result result = run(TransportType.valueOf(mode.trim()));
+            System.out.printf("%-10s %12d %12d %14.1f%n",
+                    mode.trim(), result.connections, result.threads, result.heapBytes / (1024.0 * 1024.0));
+        }
+        System.exit(0);
+    }
+
+    private static Result run(TransportType transportType) throws Exception {
+        int port = freePort();
+        GameServer server = new GameServer(port, transportType);
+        Thread serverThread = new Thread(server::start, "bench-server-" + transportType);
+        serverThread.setDaemon(true);
+        serverThread.start();
+        Thread.sleep(500);
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        int baseThreads = threads.getThreadCount();
+        long baseHeap = memory.getHeapMemoryUsage().getUsed();
+
+        List<SocketChannel> clients = new ArrayList<>(CONNECTIONS);
+        try {
+            for (int i = 0; i < CONNECTIONS; i++) {
+                clients.add(SocketChannel.open(new InetSocketAddress("localhost", port)));
+            }
+            Thread.sleep(SETTLE_MS);
+            System.gc();
+            Thread.sleep(200);
+            return new Result(clients.size(),
+                    threads.getThreadCount() - baseThreads,
+                    memory.getHeapMemoryUsage().getUsed() - baseHeap);
+        } finally {
+            for (SocketChannel client : clients) {
+                try {
+                    client.close();
+                } catch (IOException ignored) {
+                }
+            }
+            server.shutdown();
+            Thread.sleep(SETTLE_MS);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Result(int connections, int threads, long heapBytes) {
+    }
+}
@@ -0,0 +1,127 @@
+package ru.kpfu.itis.jackal.bench;
+
+import org.openjdk.jmh.annotations.*;
+import ru.kpfu.itis.jackal.common.GameState;
+import ru.kpfu.itis.jackal.common.Player;
+import ru.kpfu.itis.jackal.common.RoomSettings;
+import ru.kpfu.itis.jackal.game.GameEngine;
+import ru.kpfu.itis.jackal.game.Move;
+import ru.kpfu.itis.jackal.network.protocol.GameMessage;
+import ru.kpfu.itis.jackal.network.protocol.MessageType;
+import ru.kpfu.itis.jackal.network.protocol.WireFormat;
+import ru.kpfu.itis.jackal.server.RoomManager;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// mvn -Pjmh test-compile exec:exec@jmh -Djmh.args="GameEngineBenchmark"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameEngineBenchmark {
+
+    @Param({"9", "41"})
+    public int boardSize;
+
+    @Param({"JSON", "BINARY"})
+    public WireFormat wireFormat;
+
+    private PrintStream console;
+    private GameEngine engine;
+    private List<SinkConnection> connections;
+    private int step;
+
+    @Setup(Level.Trial)
+    public void silenceConsole() {
+        console = BenchmarkFixtures.silenceConsole();
+    }
+
+    @TearDown(Level.Trial)
+    public void restoreConsole() {
+        System.setOut(console);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        RoomManager roomManager = new RoomManager();
+        engine = new GameEngine("bench", RoomSettings.of(boardSize, boardSize, 4), Runnable::run);
+        connections = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            SinkConnection connection = new SinkConnection(roomManager, wireFormat);
+            connections.add(connection);
+            String playerId = "player-" + i;
+            engine.processMessage(new GameMessage(MessageType.PLAYER_JOIN, playerId,
+                    "{\"playerName\":\"Игрок " + i + "\",\"roomId\":\"bench\"}"), connection);
+            engine.processMessage(new GameMessage(MessageType.PLAYER_READY, playerId, "{}"), connection);
+        }
+        engine.processMessage(new GameMessage(MessageType.PLAYER_ACTION, "player-0",
+                "{\"action\":\"START_GAME\"}"), connections.get(0));
+    }
+
+    @Benchmark
+    public long move() {
+        GameState state = engine.getGameState();
+        String playerId = state.getCurrentPlayerId();
+        List<Move> legal = engine.getRules().legalMoves(findPlayer(state, playerId));
+        Move move = legal.get(Math.floorMod(step++, legal.size()));
+        String action = move.isEndTurn()
+                ? "{\"actionType\":\"END_TURN\"}"
+                : "{\"actionType\":\"MOVE\",\"pirateId\":" + move.pirateId()
+                + ",\"toX\":" + move.toX() + ",\"toY\":" + move.toY() + "}";
+        engine.processMessage(new GameMessage(MessageType.PLAYER_ACTION, playerId, action), connectionOf(playerId));
+        keepRunning(state);
+        return engine.getStateVersion();
+    }
+
+    @Benchmark
+    public long endTurn() {
+        GameState state = engine.getGameState();
+        String playerId = state.getCurrentPlayerId();
+        engine.processMessage(new GameMessage(MessageType.PLAYER_ACTION, playerId,
+                "{\"actionType\":\"END_TURN\"}"), connectionOf(playerId));
+        keepRunning(state);
+        return engine.getStateVersion();
+    }
+
+    @Benchmark
+    public long playerReady() {
+        String playerId = "player-" + (step++ & 3);
+        engine.processMessage(new GameMessage(MessageType.PLAYER_READY, playerId, "{}"), connectionOf(playerId));
+        return engine.getStateVersion();
+    }
+
+    @Benchmark
+    public long resync() {
+        SinkConnection connection = connections.get(step++ & 3);
+        engine.processMessage(new GameMessage(MessageType.RESYNC_REQUEST, connection.getPlayerId(), null), connection);
+        return connection.getBytesSent();
+    }
+
+    private SinkConnection connectionOf(String playerId) {
+        return connections.get(playerId.charAt(playerId.length() - 1) - '0');
+    }
+
+    private static Player findPlayer(GameState state, String playerId) {
+        for (Player player : state.getPlayers()) {
+            if (player.getId().equals(playerId)) {
+                return player;
+            }
+        }
+        throw new IllegalStateException(playerId);
+    }
+
+    private static void keepRunning(GameState state) {
+        if (state.isGameFinished()) {
+            for (Player player : state.getPlayers()) {
+                player.setScore(0);
+            }
+            state.setGameFinished(false);
+            state.setWinnerPlayerId(null);
+        }
+    }
+}
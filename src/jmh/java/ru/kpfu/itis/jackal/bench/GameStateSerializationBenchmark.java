@@ -0,0 +1,112 @@
+package ru.kpfu.itis.jackal.bench;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.*;
+import ru.kpfu.itis.jackal.common.Board;
+import ru.kpfu.itis.jackal.common.Cell;
+import ru.kpfu.itis.jackal.common.GameState;
+import ru.kpfu.itis.jackal.common.Player;
+import ru.kpfu.itis.jackal.dto.CellDto;
+import ru.kpfu.itis.jackal.dto.GoldDto;
+import ru.kpfu.itis.jackal.dto.PirateDto;
+import ru.kpfu.itis.jackal.game.GameStateWriter;
+
+import java.util.concurrent.TimeUnit;
+
+// mvn -Pjmh test-compile exec:exec@jmh -Djmh.args="GameStateSerializationBenchmark"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameStateSerializationBenchmark {
+
+    private static final Gson gson = new GsonBuilder().create();
+
+    @Param({"9", "41"})
+    public int boardSize;
+
+    private GameState gameState;
+
+    @Setup
+    public void setUp() {
+        gameState = BenchmarkFixtures.createGameState(boardSize, boardSize, 4, 42);
+    }
+
+    @Benchmark
+    public String streamingWriter() {
+        return GameStateWriter.writeFullState(gameState, 1);
+    }
+
+    @Benchmark
+    public String cellTree() {
+        Board board = gameState.getBoard();
+        JsonArray boardArray = new JsonArray();
+        for (int y = 0; y < board.getHeight(); y++) {
+            JsonArray rowArray = new JsonArray();
+            for (int x = 0; x < board.getWidth(); x++) {
+                rowArray.add(board.getCell(x, y).toJsonObject());
+            }
+            boardArray.add(rowArray);
+        }
+        return gson.toJson(boardArray);
+    }
+
+    @Benchmark
+    public String legacyRoundTrip() {
+        JsonObject stateJson = new JsonObject();
+        stateJson.addProperty("gameStarted", gameState.isGameStarted());
+        stateJson.addProperty("gameFinished", gameState.isGameFinished());
+        stateJson.addProperty("currentPlayerId", gameState.getCurrentPlayerId());
+        stateJson.addProperty("turnNumber", gameState.getTurnNumber());
+
+        Board board = gameState.getBoard();
+        JsonArray boardArray = new JsonArray();
+        for (int y = 0; y < board.getHeight(); y++) {
+            JsonArray rowArray = new JsonArray();
+            for (int x = 0; x < board.getWidth(); x++) {
+                String cellJson = legacyCellToJson(board.getCell(x, y));
+                rowArray.add(gson.toJsonTree(gson.fromJson(cellJson, Object.class)));
+            }
+            boardArray.add(rowArray);
+        }
+        stateJson.add("board", boardArray);
+
+        JsonArray playersArray = new JsonArray();
+        for (Player player : gameState.getPlayers()) {
+            JsonObject playerJson = new JsonObject();
+            playerJson.addProperty("id", player.getId());
+            playerJson.addProperty("name", player.getName());
+            playerJson.addProperty("ready", player.isReady());
+            playerJson.addProperty("score", player.getScore());
+            playersArray.add(playerJson);
+        }
+        stateJson.add("players", playersArray);
+        return gson.toJson(stateJson);
+    }
+
+    private static String legacyCellToJson(Cell cell) {
+        CellDto dto = new CellDto();
+        if (!cell.isRevealed()) {
+            dto.setType("HIDDEN");
+        } else {
+            dto.setType(cell.getType().name());
+            dto.setContent(cell.getContent().name());
+        }
+        if (cell.hasPirate()) {
+            PirateDto pirateDto = new PirateDto();
+            pirateDto.setId(String.valueOf(cell.getPirate().getId()));
+            dto.setPirate(pirateDto);
+        }
+        if (cell.isRevealed() && cell.hasGold()) {
+            GoldDto goldDto = new GoldDto();
+            goldDto.setAmount(cell.getGold().getAmount());
+            dto.setGold(goldDto);
+        }
+        return gson.toJson(dto);
+    }
+}
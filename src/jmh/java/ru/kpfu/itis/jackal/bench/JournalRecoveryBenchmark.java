@@ -0,0 +1,163 @@
+package ru.kpfu.itis.jackal.bench;
+
+import org.openjdk.jmh.annotations.*;
+import ru.kpfu.itis.jackal.common.Pirate;
+import ru.kpfu.itis.jackal.common.RoomSettings;
+import ru.kpfu.itis.jackal.game.GameEngine;
+import ru.kpfu.itis.jackal.game.GameEvent;
+import ru.kpfu.itis.jackal.game.GameEventLog;
+import ru.kpfu.itis.jackal.journal.Journal;
+import ru.kpfu.itis.jackal.journal.JournalSyncPolicy;
+import ru.kpfu.itis.jackal.network.protocol.GameMessage;
+import ru.kpfu.itis.jackal.network.protocol.MessageType;
+import ru.kpfu.itis.jackal.network.protocol.WireFormat;
+import ru.kpfu.itis.jackal.server.RoomManager;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// mvn -Pjmh test-compile exec:exec@jmh -Djmh.args="JournalRecoveryBenchmark"
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Djackal.log.level=WARN"})
+@State(Scope.Benchmark)
+public class JournalRecoveryBenchmark {
+
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    @Param({"10000"})
+    public int rooms;
+
+    @Param({"200"})
+    public int eventsPerRoom;
+
+    @Param({"0", "64"})
+    public int snapshotEvery;
+
+    private PrintStream console;
+    private Path directory;
+    private RoomManager roomManager;
+
+    @Setup(Level.Trial)
+    public void writeJournal() throws IOException {
+        console = BenchmarkFixtures.silenceConsole();
+        directory = Files.createTempDirectory("jackal-journal");
+        CapturingLog template = playTemplateMatch();
+
+        Journal journal = Journal.open(directory, SEGMENT_SIZE, JournalSyncPolicy.NONE, 0);
+        for (int i = 0; i < template.events.size(); i++) {
+            GameEvent event = template.events.get(i);
+            byte[] snapshot = template.snapshots.get(i);
+            for (int room = 0; room < rooms; room++) {
+                String roomId = "room-" + room;
+                journal.append(roomId, event);
+                if (snapshot != null) {
+                    journal.appendSnapshot(roomId, event.getSequence(), snapshot);
+                }
+            }
+        }
+        journal.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteJournal() throws IOException {
+        System.setOut(console);
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void shutdownRooms() {
+        roomManager.shutdown();
+    }
+
+    @Benchmark
+    public int restart() {
+        Journal journal = Journal.open(directory, SEGMENT_SIZE, JournalSyncPolicy.NONE, 0);
+        roomManager = new RoomManager(rooms, Long.MAX_VALUE);
+        int restored = roomManager.restoreRooms(journal);
+        journal.close();
+        if (restored != rooms) {
+            throw new IllegalStateException("Восстановлено " + restored + " из " + rooms);
+        }
+        return restored;
+    }
+
+    private CapturingLog playTemplateMatch() {
+        for (long seed = 1; ; seed++) {
+            CapturingLog log = new CapturingLog(snapshotEvery);
+            try {
+                playMatch(log, seed);
+                return log;
+            } catch (StackOverflowError ignored) {
+            }
+        }
+    }
+
+    private void playMatch(CapturingLog log, long seed) {
+        GameEngine engine = new GameEngine("template", RoomSettings.of(9, 9, 2).withSeed(seed), Runnable::run, log);
+        List<SinkConnection> connections = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            SinkConnection connection = new SinkConnection(null, WireFormat.BINARY);
+            connections.add(connection);
+            engine.processMessage(new GameMessage(MessageType.PLAYER_JOIN, "player-" + i,
+                    "{\"playerName\":\"Игрок " + i + "\"}"), connection);
+            engine.processMessage(new GameMessage(MessageType.PLAYER_READY, "player-" + i, "{}"), connection);
+        }
+        engine.processMessage(new GameMessage(MessageType.PLAYER_ACTION, "player-0",
+                "{\"action\":\"START_GAME\"}"), connections.get(0));
+
+        Random random = new Random(seed);
+        while (log.events.size() < eventsPerRoom && !engine.getGameState().isGameFinished()) {
+            String playerId = engine.getGameState().getCurrentPlayerId();
+            Pirate pirate = engine.getGameState().getPlayer(playerId).getPirate(1 + random.nextInt(3));
+            int dx = random.nextInt(3) - 1;
+            int dy = dx == 0 ? random.nextInt(3) - 1 : 0;
+            engine.processMessage(new GameMessage(MessageType.PLAYER_ACTION, playerId,
+                    "{\"actionType\":\"MOVE\",\"pirateId\":" + pirate.getId() + ",\"toX\":" + (pirate.getX() + dx)
+                            + ",\"toY\":" + (pirate.getY() + dy) + "}"),
+                    connections.get(playerId.endsWith("0") ? 0 : 1));
+        }
+    }
+
+    private static final class CapturingLog implements GameEventLog {
+
+        private final int snapshotInterval;
+        private final List<GameEvent> events = new ArrayList<>();
+        private final Map<Integer, byte[]> snapshots = new HashMap<>();
+
+        private CapturingLog(int snapshotInterval) {
+            this.snapshotInterval = snapshotInterval;
+        }
+
+        @Override
+        public void append(GameEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void appendSnapshot(long sequence, byte[] snapshot) {
+            snapshots.put(events.size() - 1, snapshot);
+        }
+
+        @Override
+        public int getSnapshotInterval() {
+            return snapshotInterval;
+        }
+    }
+}
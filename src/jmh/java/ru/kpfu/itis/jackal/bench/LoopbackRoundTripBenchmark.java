@@ -0,0 +1,90 @@
+package ru.kpfu.itis.jackal.bench;
+
+import org.openjdk.jmh.annotations.*;
+import ru.kpfu.itis.jackal.network.NetworkClient;
+import ru.kpfu.itis.jackal.network.protocol.GameMessage;
+import ru.kpfu.itis.jackal.network.protocol.MessageType;
+import ru.kpfu.itis.jackal.network.protocol.WireFormat;
+import ru.kpfu.itis.jackal.server.GameServer;
+import ru.kpfu.itis.jackal.server.TransportType;
+
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// mvn -Pjmh test-compile exec:exec@jmh -Djmh.args="LoopbackRoundTripBenchmark"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoopbackRoundTripBenchmark {
+
+    private static final long RESPONSE_TIMEOUT_MS = 5000;
+
+    @Param({"BLOCKING", "NIO"})
+    public TransportType transport;
+
+    @Param({"JSON", "BINARY"})
+    public WireFormat wireFormat;
+
+    private PrintStream console;
+    private GameServer server;
+    private NetworkClient client;
+    private final BlockingQueue<GameMessage> inbox = new LinkedBlockingQueue<>();
+
+    @Setup
+    public void setUp() throws Exception {
+        console = BenchmarkFixtures.silenceConsole();
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        server = new GameServer(port, transport);
+        Thread serverThread = new Thread(server::start, "bench-server-" + transport);
+        serverThread.setDaemon(true);
+        serverThread.start();
+        Thread.sleep(500);
+
+        client = new NetworkClient();
+        client.setMessageListener(inbox::add);
+        client.connect("localhost", port, "bench", "loopback", wireFormat);
+        await(MessageType.GAME_STATE);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        client.disconnect();
+        Thread.sleep(200);
+        server.shutdown();
+        System.setOut(console);
+    }
+
+    @Benchmark
+    public GameMessage chatRoundTrip() throws InterruptedException {
+        client.sendMessage(new GameMessage(MessageType.CHAT_MESSAGE, client.getPlayerId(),
+                "{\"message\":\"ping\"}"));
+        return await(MessageType.CHAT_MESSAGE);
+    }
+
+    @Benchmark
+    public GameMessage resyncRoundTrip() throws InterruptedException {
+        client.sendMessage(new GameMessage(MessageType.RESYNC_REQUEST, client.getPlayerId(), null));
+        return await(MessageType.GAME_STATE);
+    }
+
+    private GameMessage await(MessageType type) throws InterruptedException {
+        while (true) {
+            GameMessage message = inbox.poll(RESPONSE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            if (message == null) {
+                throw new IllegalStateException("Нет ответа " + type + " от сервера");
+            }
+            if (message.getType() == type) {
+                return message;
+            }
+        }
+    }
+}
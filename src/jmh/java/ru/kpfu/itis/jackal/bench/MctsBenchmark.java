@@ -0,0 +1,59 @@
+package ru.kpfu.itis.jackal.bench;
+
+import org.openjdk.jmh.annotations.*;
+import ru.kpfu.itis.jackal.bot.PlayoutState;
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.common.GameState;
+import ru.kpfu.itis.jackal.common.Player;
+import ru.kpfu.itis.jackal.common.RoomSettings;
+import ru.kpfu.itis.jackal.game.BoardGenerator;
+import ru.kpfu.itis.jackal.game.GameRules;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// mvn -Pjmh test-compile exec:exec@jmh -Djmh.args="MctsBenchmark -t 1"
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MctsBenchmark {
+
+    @Param({"9", "41"})
+    public int boardSize;
+
+    @Param({"2", "4"})
+    public int players;
+
+    private GameRules rules;
+    private PlayoutState root;
+    private PlayoutState scratch;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(42);
+        RoomSettings settings = RoomSettings.of(boardSize, boardSize, players);
+        GameState state = GameRules.newGame(settings, BoardGenerator.defaults(), random);
+        rules = new GameRules(state, settings.beachPositions(), GameConfig.WINNING_SCORE, random);
+        for (int p = 0; p < players; p++) {
+            rules.addPlayer(new Player("bot-" + p, "Бот " + p, "COLOR" + p));
+        }
+        rules.startGame();
+        root = PlayoutState.capture(rules);
+        scratch = root.copy();
+    }
+
+    @Benchmark
+    public int playout() {
+        scratch.copyFrom(root);
+        return scratch.playout(random, GameConfig.BOT_PLAYOUT_DEPTH);
+    }
+
+    @Benchmark
+    public PlayoutState capture() {
+        return PlayoutState.capture(rules);
+    }
+}
@@ -0,0 +1,75 @@
+package ru.kpfu.itis.jackal.bench;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import org.openjdk.jmh.annotations.*;
+import ru.kpfu.itis.jackal.game.GameStateWriter;
+import ru.kpfu.itis.jackal.network.protocol.GameMessage;
+import ru.kpfu.itis.jackal.network.protocol.MessageType;
+
+import java.util.concurrent.TimeUnit;
+
+// mvn -Pjmh test-compile exec:exec@jmh -Djmh.args="MessageCodecBenchmark"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageCodecBenchmark {
+
+    private static final Gson gson = new GsonBuilder().create();
+    private static final ObjectMapper jackson = new ObjectMapper()
+            .addMixIn(GameMessage.class, GameMessageMixIn.class);
+
+    @Param({"CHAT", "STATE"})
+    public String kind;
+
+    private GameMessage message;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        String data = kind.equals("STATE")
+                ? GameStateWriter.writeFullState(BenchmarkFixtures.createGameState(9, 9, 4, 42), 1)
+                : "{\"message\":\"Йо-хо-хо и бутылка рома\"}";
+        message = new GameMessage(kind.equals("STATE") ? MessageType.GAME_STATE : MessageType.CHAT_MESSAGE,
+                "player-0", data);
+        json = gson.toJson(message);
+    }
+
+    @Benchmark
+    public String gsonEncode() {
+        return gson.toJson(message);
+    }
+
+    @Benchmark
+    public String jacksonEncode() throws JsonProcessingException {
+        return jackson.writeValueAsString(message);
+    }
+
+    @Benchmark
+    public GameMessage gsonDecode() {
+        return gson.fromJson(json, GameMessage.class);
+    }
+
+    @Benchmark
+    public GameMessage jacksonDecode() throws JsonProcessingException {
+        return jackson.readValue(json, GameMessage.class);
+    }
+
+    abstract static class GameMessageMixIn {
+        @JsonIgnore
+        abstract JsonElement getPayload();
+
+        @JsonIgnore
+        abstract byte[] getBinaryData();
+
+        @JsonIgnore
+        abstract Object getBody();
+    }
+}
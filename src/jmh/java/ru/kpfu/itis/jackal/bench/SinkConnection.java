@@ -0,0 +1,27 @@
+package ru.kpfu.itis.jackal.bench;
+
+import ru.kpfu.itis.jackal.network.protocol.WireFormat;
+import ru.kpfu.itis.jackal.server.ClientConnection;
+import ru.kpfu.itis.jackal.server.OutboundFrame;
+import ru.kpfu.itis.jackal.server.RoomManager;
+
+final class SinkConnection extends ClientConnection {
+
+    private long bytesSent;
+
+    SinkConnection(RoomManager roomManager, WireFormat wireFormat) {
+        super(roomManager);
+        if (wireFormat == WireFormat.BINARY) {
+            acceptBinaryHandshake();
+        }
+    }
+
+    @Override
+    public void sendFrame(OutboundFrame frame) {
+        bytesSent += frame.length();
+    }
+
+    long getBytesSent() {
+        return bytesSent;
+    }
+}
@@ -0,0 +1,84 @@
+package ru.kpfu.itis.jackal.bench;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.openjdk.jmh.annotations.*;
+import ru.kpfu.itis.jackal.common.GameState;
+import ru.kpfu.itis.jackal.dto.GameStateDto;
+import ru.kpfu.itis.jackal.game.GameStateBinaryWriter;
+import ru.kpfu.itis.jackal.game.GameStateWriter;
+import ru.kpfu.itis.jackal.network.protocol.BinaryCodec;
+import ru.kpfu.itis.jackal.network.protocol.BinaryWriter;
+import ru.kpfu.itis.jackal.network.protocol.GameMessage;
+import ru.kpfu.itis.jackal.network.protocol.MessageType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// mvn -Pjmh test-compile exec:exec@jmh -Djmh.args="WireCodecBenchmark"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireCodecBenchmark {
+
+    private static final Gson gson = new GsonBuilder().create();
+
+    @Param({"9", "41"})
+    public int boardSize;
+
+    private GameState gameState;
+    private GameMessage message;
+    private BinaryWriter binaryWriter;
+    private String jsonLine;
+    private byte[] binaryFrame;
+
+    @Setup
+    public void setUp() {
+        gameState = BenchmarkFixtures.createGameState(boardSize, boardSize, 4, 42);
+        message = new GameMessage(MessageType.GAME_STATE, null, GameStateWriter.writeFullState(gameState, 1));
+        message.setBinaryData(GameStateBinaryWriter.writeFullState(gameState, 1, null));
+        binaryWriter = new BinaryWriter();
+        jsonLine = gson.toJson(message);
+
+        BinaryWriter frameWriter = new BinaryWriter();
+        BinaryCodec.encode(message, frameWriter);
+        binaryFrame = frameWriter.toByteArray();
+
+        System.out.println("[WireCodecBenchmark] " + boardSize + "x" + boardSize
+                + ": json=" + (jsonLine.getBytes(StandardCharsets.UTF_8).length + 1)
+                + " B, binary=" + (binaryFrame.length + BinaryWriter.varIntLength(binaryFrame.length)) + " B");
+    }
+
+    @Benchmark
+    public String jsonEncode() {
+        return gson.toJson(message);
+    }
+
+    @Benchmark
+    public int binaryEncode() {
+        binaryWriter.reset();
+        BinaryCodec.encodeFrame(message, binaryWriter);
+        return binaryWriter.size();
+    }
+
+    @Benchmark
+    public int binaryStateWrite() {
+        binaryWriter.reset();
+        GameStateBinaryWriter.writeFullState(binaryWriter, gameState, 1, null);
+        return binaryWriter.size();
+    }
+
+    @Benchmark
+    public GameStateDto jsonDecode() {
+        GameMessage decoded = gson.fromJson(jsonLine, GameMessage.class);
+        return gson.fromJson(decoded.getData(), GameStateDto.class);
+    }
+
+    @Benchmark
+    public GameStateDto binaryDecode() {
+        return BinaryCodec.decode(binaryFrame, 0, binaryFrame.length).bodyAs(GameStateDto.class);
+    }
+}
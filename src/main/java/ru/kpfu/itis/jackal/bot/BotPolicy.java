@@ -0,0 +1,12 @@
+package ru.kpfu.itis.jackal.bot;
+
+import ru.kpfu.itis.jackal.common.Player;
+import ru.kpfu.itis.jackal.game.GameRules;
+import ru.kpfu.itis.jackal.game.Move;
+
+import java.util.random.RandomGenerator;
+
+public interface BotPolicy {
+
+    Move chooseMove(GameRules rules, Player player, RandomGenerator random);
+}
@@ -0,0 +1,26 @@
+package ru.kpfu.itis.jackal.bot;
+
+import ru.kpfu.itis.jackal.logging.LogManager;
+
+public enum BotType {
+    RANDOM,
+    GREEDY,
+    MCTS;
+
+    public static BotType fromName(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LogManager.getLogger(BotType.class).warn("Неизвестный бот: {}, используется RANDOM", value);
+            return RANDOM;
+        }
+    }
+
+    public BotPolicy create() {
+        return switch (this) {
+            case RANDOM -> new RandomBot();
+            case GREEDY -> new GreedyBot();
+            case MCTS -> MctsBot.shared();
+        };
+    }
+}
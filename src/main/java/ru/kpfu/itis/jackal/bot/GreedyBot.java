@@ -0,0 +1,91 @@
+package ru.kpfu.itis.jackal.bot;
+
+import ru.kpfu.itis.jackal.common.Board;
+import ru.kpfu.itis.jackal.common.Cell;
+import ru.kpfu.itis.jackal.common.Pirate;
+import ru.kpfu.itis.jackal.common.Player;
+import ru.kpfu.itis.jackal.game.GameRules;
+import ru.kpfu.itis.jackal.game.Move;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+public class GreedyBot implements BotPolicy {
+
+    private static final double GOLD_SCORE = 100;
+    private static final double EXPLORE_SCORE = 20;
+    private static final double ATTACK_SCORE = 5;
+    private static final double ARROW_SCORE = -1;
+
+    @Override
+    public Move chooseMove(GameRules rules, Player player, RandomGenerator random) {
+        for (Pirate pirate : player.getPirates()) {
+            if (pirate.getGoldCarrying() > 0) {
+                return Move.END_TURN;
+            }
+        }
+
+        Board board = rules.getState().getBoard();
+        List<Move> moves = rules.legalMoves(player);
+        int[] targets = null;
+        Move best = Move.END_TURN;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (Move move : moves) {
+            if (move.isEndTurn()) {
+                continue;
+            }
+            Cell cell = board.getCell(move.toX(), move.toY());
+            double score;
+            if (!cell.isRevealed()) {
+                score = EXPLORE_SCORE;
+            } else if (cell.hasTrap()) {
+                continue;
+            } else if (cell.canCollectGold()) {
+                score = GOLD_SCORE + cell.getGoldAmount();
+            } else if (cell.hasPirate() && !player.getPirates().contains(cell.getPirate())) {
+                score = ATTACK_SCORE;
+            } else if (cell.hasArrow()) {
+                score = ARROW_SCORE;
+            } else {
+                if (targets == null) {
+                    targets = findTargets(board);
+                }
+                score = -nearestTarget(targets, board.getWidth(), move.toX(), move.toY());
+            }
+            score += random.nextDouble() * 0.5;
+            if (score > bestScore) {
+                bestScore = score;
+                best = move;
+            }
+        }
+        return best;
+    }
+
+    private static int[] findTargets(Board board) {
+        int width = board.getWidth();
+        int height = board.getHeight();
+        int[] targets = new int[width * height + 1];
+        int count = 0;
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                Cell cell = board.getCell(x, y);
+                if (cell != null && (!cell.isRevealed() || cell.canCollectGold())) {
+                    targets[++count] = y * width + x;
+                }
+            }
+        }
+        targets[0] = count;
+        return targets;
+    }
+
+    private static int nearestTarget(int[] targets, int width, int x, int y) {
+        int nearest = Integer.MAX_VALUE;
+        for (int i = 1; i <= targets[0]; i++) {
+            int distance = Math.abs(targets[i] % width - x) + Math.abs(targets[i] / width - y);
+            if (distance < nearest) {
+                nearest = distance;
+            }
+        }
+        return nearest == Integer.MAX_VALUE ? 0 : nearest;
+    }
+}
@@ -0,0 +1,251 @@
+package ru.kpfu.itis.jackal.bot;
+
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.common.Player;
+import ru.kpfu.itis.jackal.game.GameRules;
+import ru.kpfu.itis.jackal.game.Move;
+import ru.kpfu.itis.jackal.logging.LogManager;
+import ru.kpfu.itis.jackal.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+
+public class MctsBot implements BotPolicy {
+
+    private static final Logger log = LogManager.getLogger(MctsBot.class);
+    private static final long SEED_STRIDE = 0x9E3779B97F4A7C15L;
+
+    private static MctsBot shared;
+
+    private final ForkJoinPool pool;
+    private final int threads;
+    private final long budgetNanos;
+    private final ThreadLocal<SearchTree> trees = ThreadLocal.withInitial(SearchTree::new);
+
+    public MctsBot(int threads, long budgetMs) {
+        AtomicInteger workerCounter = new AtomicInteger();
+        this.threads = threads;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMs);
+        this.pool = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("MctsWorker-" + workerCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    public static synchronized MctsBot shared() {
+        if (shared == null) {
+            shared = new MctsBot(
+                    Integer.getInteger(GameConfig.BOT_THREADS_PROPERTY, Runtime.getRuntime().availableProcessors()),
+                    Long.getLong(GameConfig.BOT_BUDGET_PROPERTY, GameConfig.DEFAULT_BOT_BUDGET_MS));
+            log.info("МКТС-бот: потоков {}, {} мс на ход", shared.threads, TimeUnit.NANOSECONDS.toMillis(shared.budgetNanos));
+        }
+        return shared;
+    }
+
+    @Override
+    public Move chooseMove(GameRules rules, Player player, RandomGenerator random) {
+        return pool.invoke(new Search(PlayoutState.capture(rules), random.nextLong()));
+    }
+
+    public CompletableFuture<Move> think(GameRules rules) {
+        PlayoutState root = PlayoutState.capture(rules);
+        long seed = ThreadLocalRandom.current().nextLong();
+        return CompletableFuture.supplyAsync(() -> new Search(root, seed).invoke(), pool);
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private class Search extends RecursiveTask<Move> {
+
+        private final PlayoutState root;
+        private final long seed;
+
+        private Search(PlayoutState root, long seed) {
+            this.root = root;
+            this.seed = seed;
+        }
+
+        @Override
+        protected Move compute() {
+            if (root.isFinished()) {
+                return Move.END_TURN;
+            }
+            long deadline = System.nanoTime() + budgetNanos;
+            List<TreeSearch> workers = new ArrayList<>(threads - 1);
+            for (int i = 1; i < threads; i++) {
+                TreeSearch worker = new TreeSearch(root, seed + i * SEED_STRIDE, deadline);
+                worker.fork();
+                workers.add(worker);
+            }
+
+            long[] visits = new long[root.getMoveCodes()];
+            long iterations = new TreeSearch(root, seed, deadline).compute().addTo(visits);
+            for (TreeSearch worker : workers) {
+                iterations += worker.join().addTo(visits);
+            }
+
+            int[] legal = new int[root.getMoveCodes()];
+            int count = root.legalMoves(legal);
+            int best = root.getEndTurnCode();
+            for (int i = 0; i < count; i++) {
+                if (visits[legal[i]] > visits[best]) {
+                    best = legal[i];
+                }
+            }
+            Move move = root.toMove(best);
+            log.debug("МКТС: {} итераций, выбран {}", iterations, move);
+            return move;
+        }
+    }
+
+    private class TreeSearch extends RecursiveTask<RootStats> {
+
+        private final PlayoutState root;
+        private final long seed;
+        private final long deadline;
+
+        private TreeSearch(PlayoutState root, long seed, long deadline) {
+            this.root = root;
+            this.seed = seed;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected RootStats compute() {
+            SearchTree tree = trees.get();
+            tree.reset(root.getMoveCodes());
+            PlayoutState state = root.copy();
+            SplittableRandom random = new SplittableRandom(seed);
+            int iterations = 0;
+            while (iterations < GameConfig.BOT_MIN_ITERATIONS || System.nanoTime() < deadline) {
+                state.copyFrom(root);
+                tree.iterate(state, random);
+                iterations++;
+            }
+            return tree.rootStats(iterations);
+        }
+    }
+
+    private record RootStats(int[] visits, int iterations) {
+
+        long addTo(long[] total) {
+            for (int code = 0; code < visits.length; code++) {
+                total[code] += visits[code];
+            }
+            return iterations;
+        }
+    }
+
+    private static final class SearchTree {
+
+        private final int[] children = new int[GameConfig.BOT_TREE_CAPACITY];
+        private final int[] visits = new int[GameConfig.BOT_TREE_CAPACITY];
+        private final double[] rewards = new double[GameConfig.BOT_TREE_CAPACITY];
+        private final int[] path = new int[GameConfig.BOT_TREE_DEPTH + 1];
+        private final int[] movers = new int[GameConfig.BOT_TREE_DEPTH + 1];
+        private final double[] outcome = new double[GameConfig.MAX_PLAYERS_LIMIT];
+        private int[] legal = new int[0];
+        private int codes;
+        private int size;
+
+        private void reset(int codes) {
+            if (legal.length < codes) {
+                legal = new int[codes];
+            }
+            this.codes = codes;
+            this.size = 1;
+            children[0] = 0;
+            visits[0] = 0;
+            rewards[0] = 0;
+        }
+
+        private void iterate(PlayoutState state, RandomGenerator random) {
+            int node = 0;
+            int depth = 0;
+            path[depth++] = node;
+            while (!state.isFinished() && depth <= GameConfig.BOT_TREE_DEPTH) {
+                int first = children[node];
+                if (first == 0) {
+                    if ((node != 0 && visits[node] == 0) || size + codes > children.length) {
+                        break;
+                    }
+                    first = expand(node);
+                }
+                int code = select(state, first, visits[node], random);
+                movers[depth] = state.getCurrent();
+                state.apply(code, random);
+                node = first + code;
+                path[depth++] = node;
+                if (visits[node] == 0) {
+                    break;
+                }
+            }
+
+            state.playout(random, GameConfig.BOT_PLAYOUT_DEPTH);
+            for (int player = 0; player < state.getPlayerCount(); player++) {
+                outcome[player] = state.reward(player);
+            }
+            visits[0]++;
+            for (int i = 1; i < depth; i++) {
+                visits[path[i]]++;
+                rewards[path[i]] += outcome[movers[i]];
+            }
+        }
+
+        private int expand(int node) {
+            int first = size;
+            for (int child = first; child < first + codes; child++) {
+                children[child] = 0;
+                visits[child] = 0;
+                rewards[child] = 0;
+            }
+            size += codes;
+            children[node] = first;
+            return first;
+        }
+
+        private int select(PlayoutState state, int first, int parentVisits, RandomGenerator random) {
+            int count = state.legalMoves(legal);
+            int offset = random.nextInt(count);
+            double logVisits = Math.log(Math.max(1, parentVisits));
+            int best = legal[offset];
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                int code = legal[(offset + i) % count];
+                int childVisits = visits[first + code];
+                if (childVisits == 0) {
+                    return code;
+                }
+                double value = rewards[first + code] / childVisits
+                        + GameConfig.BOT_EXPLORATION * Math.sqrt(logVisits / childVisits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = code;
+                }
+            }
+            return best;
+        }
+
+        private RootStats rootStats(int iterations) {
+            int[] rootVisits = new int[codes];
+            int first = children[0];
+            if (first != 0) {
+                System.arraycopy(visits, first, rootVisits, 0, codes);
+            }
+            return new RootStats(rootVisits, iterations);
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package ru.kpfu.itis.jackal.bot;
+
+import ru.kpfu.itis.jackal.common.*;
+import ru.kpfu.itis.jackal.game.BoardGenerator;
+import ru.kpfu.itis.jackal.game.GameRules;
+import ru.kpfu.itis.jackal.game.Move;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+public final class PlayoutState {
+
+    private static final int[] DX = {0, 0, -1, 1, -1, 1, -1, 1};
+    private static final int[] DY = {-1, 1, 0, 0, -1, -1, 1, 1};
+    private static final int DIRECTIONS = DX.length;
+    private static final byte UNKNOWN = -1;
+    private static final byte LAND = 0;
+    private static final byte SEA = 1;
+    private static final byte BEACH = 2;
+    private static final byte EMPTY = (byte) CellContent.EMPTY.ordinal();
+    private static final byte TRAP = (byte) CellContent.TRAP.ordinal();
+    private static final int[] GOLD_AMOUNT = new int[CellContent.values().length];
+    private static final int[] ARROW_DIRECTION = new int[CellContent.values().length];
+
+    static {
+        for (CellContent content : CellContent.values()) {
+            Cell cell = new Cell(CellType.PLAIN, content);
+            GOLD_AMOUNT[content.ordinal()] = cell.getGoldAmount();
+            Direction direction = cell.getArrowDirection();
+            ARROW_DIRECTION[content.ordinal()] = direction == null ? -1 : switch (direction) {
+                case UP -> 0;
+                case DOWN -> 1;
+                case LEFT -> 2;
+                case RIGHT -> 3;
+                default -> -1;
+            };
+        }
+    }
+
+    private final int width;
+    private final int height;
+    private final int playerCount;
+    private final int piratesPerPlayer;
+    private final int winningScore;
+    private final BoardGenerator generator;
+    private final String[] playerIds;
+    private final int[] pirateIds;
+    private final byte[] terrain;
+    private final byte[] content;
+    private final int[] occupant;
+    private final int[] pirateX;
+    private final int[] pirateY;
+    private final int[] carrying;
+    private final int[] score;
+    private final int[] shipX;
+    private final int[] shipY;
+    private final int[] moveBuffer;
+    private int current;
+    private int turn;
+    private int winner;
+
+    private PlayoutState(int width, int height, int playerCount, int piratesPerPlayer, int winningScore,
+                         BoardGenerator generator, String[] playerIds, int[] pirateIds) {
+        this.width = width;
+        this.height = height;
+        this.playerCount = playerCount;
+        this.piratesPerPlayer = piratesPerPlayer;
+        this.winningScore = winningScore;
+        this.generator = generator;
+        this.playerIds = playerIds;
+        this.pirateIds = pirateIds;
+        this.terrain = new byte[width * height];
+        this.content = new byte[width * height];
+        this.occupant = new int[width * height];
+        this.pirateX = new int[playerCount * piratesPerPlayer];
+        this.pirateY = new int[playerCount * piratesPerPlayer];
+        this.carrying = new int[playerCount * piratesPerPlayer];
+        this.score = new int[playerCount];
+        this.shipX = new int[playerCount];
+        this.shipY = new int[playerCount];
+        this.moveBuffer = new int[getMoveCodes()];
+        this.winner = -1;
+    }
+
+    public static PlayoutState capture(GameRules rules) {
+        GameState state = rules.getState();
+        Board board = state.getBoard();
+        List<Player> players = state.getPlayers();
+        int piratesPerPlayer = 0;
+        for (Player player : players) {
+            piratesPerPlayer = Math.max(piratesPerPlayer, player.getPirates().size());
+        }
+
+        String[] playerIds = new String[players.size()];
+        int[] pirateIds = new int[players.size() * piratesPerPlayer];
+        PlayoutState playout = new PlayoutState(board.getWidth(), board.getHeight(), players.size(), piratesPerPlayer,
+                rules.getWinningScore(), BoardGenerator.defaults(), playerIds, pirateIds);
+
+        Map<Pirate, Integer> pirateIndex = new IdentityHashMap<>();
+        for (int p = 0; p < players.size(); p++) {
+            Player player = players.get(p);
+            playerIds[p] = player.getId();
+            if (player.getId().equals(state.getCurrentPlayerId())) {
+                playout.current = p;
+            }
+            playout.score[p] = player.getScore();
+            int[] ship = rules.getShipPosition(player.getId());
+            playout.shipX[p] = ship != null ? ship[0] : -1;
+            playout.shipY[p] = ship != null ? ship[1] : -1;
+            for (int i = 0; i < piratesPerPlayer; i++) {
+                int index = p * piratesPerPlayer + i;
+                if (i < player.getPirates().size()) {
+                    Pirate pirate = player.getPirates().get(i);
+                    pirateIds[index] = pirate.getId();
+                    playout.pirateX[index] = pirate.getX();
+                    playout.pirateY[index] = pirate.getY();
+                    playout.carrying[index] = pirate.getGoldCarrying();
+                    pirateIndex.put(pirate, index);
+                } else {
+                    playout.pirateX[index] = -1;
+                }
+            }
+        }
+
+        for (int y = 0; y < playout.height; y++) {
+            for (int x = 0; x < playout.width; x++) {
+                int cellIndex = y * playout.width + x;
+                Cell cell = board.getCell(x, y);
+                if (cell == null) {
+                    playout.terrain[cellIndex] = SEA;
+                    playout.content[cellIndex] = EMPTY;
+                    continue;
+                }
+                playout.terrain[cellIndex] = switch (cell.getType()) {
+                    case SEA -> SEA;
+                    case BEACH -> BEACH;
+                    default -> LAND;
+                };
+                playout.content[cellIndex] = cell.isRevealed() ? (byte) cell.getContent().ordinal() : UNKNOWN;
+                Integer index = cell.getPirate() != null ? pirateIndex.get(cell.getPirate()) : null;
+                playout.occupant[cellIndex] = index != null ? index + 1 : 0;
+            }
+        }
+        playout.turn = state.getTurnNumber();
+        if (state.isGameFinished()) {
+            playout.winner = Math.max(0, List.of(playerIds).indexOf(state.getWinnerPlayerId()));
+        }
+        return playout;
+    }
+
+    public PlayoutState copy() {
+        PlayoutState copy = new PlayoutState(width, height, playerCount, piratesPerPlayer, winningScore,
+                generator, playerIds, pirateIds);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    public void copyFrom(PlayoutState source) {
+        System.arraycopy(source.terrain, 0, terrain, 0, terrain.length);
+        System.arraycopy(source.content, 0, content, 0, content.length);
+        System.arraycopy(source.occupant, 0, occupant, 0, occupant.length);
+        System.arraycopy(source.pirateX, 0, pirateX, 0, pirateX.length);
+        System.arraycopy(source.pirateY, 0, pirateY, 0, pirateY.length);
+        System.arraycopy(source.carrying, 0, carrying, 0, carrying.length);
+        System.arraycopy(source.score, 0, score, 0, score.length);
+        System.arraycopy(source.shipX, 0, shipX, 0, shipX.length);
+        System.arraycopy(source.shipY, 0, shipY, 0, shipY.length);
+        current = source.current;
+        turn = source.turn;
+        winner = source.winner;
+    }
+
+    public int getMoveCodes() {
+        return piratesPerPlayer * DIRECTIONS + 1;
+    }
+
+    public int getEndTurnCode() {
+        return piratesPerPlayer * DIRECTIONS;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public int getCurrent() {
+        return current;
+    }
+
+    public boolean isFinished() {
+        return winner >= 0;
+    }
+
+    public int legalMoves(int[] codes) {
+        int count = 0;
+        int first = current * piratesPerPlayer;
+        for (int i = 0; i < piratesPerPlayer; i++) {
+            int x = pirateX[first + i];
+            if (x < 0) {
+                continue;
+            }
+            for (int d = 0; d < DIRECTIONS; d++) {
+                if (canMove(first + i, d)) {
+                    codes[count++] = i * DIRECTIONS + d;
+                }
+            }
+        }
+        codes[count++] = getEndTurnCode();
+        return count;
+    }
+
+    public boolean apply(int code, RandomGenerator random) {
+        if (isFinished()) {
+            return false;
+        }
+        if (code == getEndTurnCode()) {
+            endTurn();
+            checkWinner();
+            return true;
+        }
+        int pirate = current * piratesPerPlayer + code / DIRECTIONS;
+        int direction = code % DIRECTIONS;
+        if (!canMove(pirate, direction)) {
+            return false;
+        }
+        int toX = pirateX[pirate] + DX[direction];
+        int toY = pirateY[pirate] + DY[direction];
+        if (!move(pirate, toX, toY, random)) {
+            return false;
+        }
+        if (!checkWinner()) {
+            nextTurn();
+        }
+        return true;
+    }
+
+    public int playout(RandomGenerator random, int maxPlies) {
+        int plies = 0;
+        while (!isFinished() && plies < maxPlies) {
+            apply(choosePlayoutMove(random), random);
+            plies++;
+        }
+        return plies;
+    }
+
+    public double reward(int player) {
+        if (winner >= 0) {
+            return player == winner ? 1.0 : 0.0;
+        }
+        int total = 0;
+        int own = 0;
+        for (int p = 0; p < playerCount; p++) {
+            int value = score[p];
+            for (int i = p * piratesPerPlayer; i < (p + 1) * piratesPerPlayer; i++) {
+                value += carrying[i];
+            }
+            total += value;
+            if (p == player) {
+                own = value;
+            }
+        }
+        return total == 0 ? 1.0 / playerCount : (double) own / total;
+    }
+
+    public Move toMove(int code) {
+        if (code == getEndTurnCode()) {
+            return Move.END_TURN;
+        }
+        int pirate = current * piratesPerPlayer + code / DIRECTIONS;
+        int direction = code % DIRECTIONS;
+        return new Move(pirateIds[pirate], pirateX[pirate] + DX[direction], pirateY[pirate] + DY[direction]);
+    }
+
+    public String getPlayerId(int player) {
+        return playerIds[player];
+    }
+
+    private int choosePlayoutMove(RandomGenerator random) {
+        int first = current * piratesPerPlayer;
+        for (int i = first; i < first + piratesPerPlayer; i++) {
+            if (carrying[i] > 0) {
+                return getEndTurnCode();
+            }
+        }
+        int count = legalMoves(moveBuffer) - 1;
+        return count > 0 ? moveBuffer[random.nextInt(count)] : getEndTurnCode();
+    }
+
+    private boolean canMove(int pirate, int direction) {
+        int x = pirateX[pirate];
+        if (x < 0) {
+            return false;
+        }
+        int y = pirateY[pirate];
+        byte here = content[y * width + x];
+        if (here != UNKNOWN && ARROW_DIRECTION[here] >= 0 && ARROW_DIRECTION[here] != direction) {
+            return false;
+        }
+        int toX = x + DX[direction];
+        int toY = y + DY[direction];
+        if (!inBounds(toX, toY)) {
+            return false;
+        }
+        int to = toY * width + toX;
+        if (terrain[to] == SEA || (carrying[pirate] > 0 && content[to] == UNKNOWN)) {
+            return false;
+        }
+        int owner = pirate / piratesPerPlayer;
+        boolean ownShip = toX == shipX[owner] && toY == shipY[owner];
+        if (terrain[to] == BEACH && !ownShip) {
+            return false;
+        }
+        int occupant = this.occupant[to] - 1;
+        return ownShip || occupant < 0 || !sameTeam(pirate, occupant);
+    }
+
+    private boolean move(int pirate, int toX, int toY, RandomGenerator random) {
+        int from = pirateY[pirate] * width + pirateX[pirate];
+        int to = toY * width + toX;
+        reveal(to, random);
+
+        int defender = occupant[to] - 1;
+        if (defender >= 0 && !sameTeam(pirate, defender) && !combat(defender, random)) {
+            return false;
+        }
+
+        occupant[from] = 0;
+        occupant[to] = pirate + 1;
+        pirateX[pirate] = toX;
+        pirateY[pirate] = toY;
+        settle(pirate, to, random);
+        return true;
+    }
+
+    private void settle(int pirate, int cell, RandomGenerator random) {
+        byte cellContent = content[cell];
+        if (cellContent == TRAP) {
+            returnToShip(pirate);
+            return;
+        }
+        if (ARROW_DIRECTION[cellContent] < 0) {
+            collect(pirate, cell, cellContent);
+            return;
+        }
+
+        int lastArrow = cell;
+        for (int hops = 0; hops < terrain.length; hops++) {
+            int direction = ARROW_DIRECTION[content[lastArrow]];
+            int toX = lastArrow % width + DX[direction];
+            int toY = lastArrow / width + DY[direction];
+            if (!inBounds(toX, toY)) {
+                relocate(pirate, lastArrow);
+                return;
+            }
+            int target = toY * width + toX;
+            reveal(target, random);
+            byte targetContent = content[target];
+            if (ARROW_DIRECTION[targetContent] >= 0) {
+                lastArrow = target;
+                continue;
+            }
+            if (terrain[target] == SEA || targetContent == TRAP) {
+                returnToShip(pirate);
+                return;
+            }
+            int defender = occupant[target] - 1;
+            if (defender >= 0 && !sameTeam(pirate, defender)) {
+                relocate(pirate, lastArrow);
+                combat(defender, random);
+                return;
+            }
+            relocate(pirate, target);
+            collect(pirate, target, targetContent);
+            return;
+        }
+        returnToShip(pirate);
+    }
+
+    private void relocate(int pirate, int cell) {
+        occupant[pirateY[pirate] * width + pirateX[pirate]] = 0;
+        occupant[cell] = pirate + 1;
+        pirateX[pirate] = cell % width;
+        pirateY[pirate] = cell / width;
+    }
+
+    private void collect(int pirate, int cell, byte cellContent) {
+        int owner = pirate / piratesPerPlayer;
+        if (terrain[cell] == BEACH && carrying[pirate] > 0) {
+            score[owner] += carrying[pirate];
+            carrying[pirate] = 0;
+            return;
+        }
+        int gold = GOLD_AMOUNT[cellContent];
+        if (gold > 0 && carrying[pirate] == 0) {
+            carrying[pirate] = gold;
+            content[cell] = EMPTY;
+        }
+    }
+
+    private boolean combat(int defender, RandomGenerator random) {
+        if (random.nextBoolean()) {
+            returnToShip(defender);
+            return true;
+        }
+        return false;
+    }
+
+    private void returnToShip(int pirate) {
+        int owner = pirate / piratesPerPlayer;
+        if (shipX[owner] < 0) {
+            return;
+        }
+        occupant[pirateY[pirate] * width + pirateX[pirate]] = 0;
+        score[owner] += carrying[pirate];
+        carrying[pirate] = 0;
+        occupant[shipY[owner] * width + shipX[owner]] = pirate + 1;
+        pirateX[pirate] = shipX[owner];
+        pirateY[pirate] = shipY[owner];
+    }
+
+    private void endTurn() {
+        int first = current * piratesPerPlayer;
+        for (int i = first; i < first + piratesPerPlayer; i++) {
+            score[current] += carrying[i];
+            carrying[i] = 0;
+        }
+        nextTurn();
+    }
+
+    private boolean checkWinner() {
+        for (int p = 0; p < playerCount; p++) {
+            if (score[p] >= winningScore) {
+                winner = p;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void nextTurn() {
+        current = (current + 1) % playerCount;
+        turn++;
+    }
+
+    private void reveal(int cell, RandomGenerator random) {
+        if (content[cell] == UNKNOWN) {
+            content[cell] = terrain[cell] == LAND ? (byte) generator.randomContent(random).ordinal() : EMPTY;
+        }
+    }
+
+    private boolean sameTeam(int pirate, int other) {
+        return pirate / piratesPerPlayer == other / piratesPerPlayer;
+    }
+
+    private boolean inBounds(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+}
@@ -0,0 +1,17 @@
+package ru.kpfu.itis.jackal.bot;
+
+import ru.kpfu.itis.jackal.common.Player;
+import ru.kpfu.itis.jackal.game.GameRules;
+import ru.kpfu.itis.jackal.game.Move;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+public class RandomBot implements BotPolicy {
+
+    @Override
+    public Move chooseMove(GameRules rules, Player player, RandomGenerator random) {
+        List<Move> moves = rules.legalMoves(player);
+        return moves.get(random.nextInt(moves.size()));
+    }
+}
@@ -15,9 +15,13 @@ public class Board {
     }
 
     public Board(int width, int height) {
+        this(width, height, new Cell[width][height]);
+    }
+
+    protected Board(int width, int height, Cell[][] cells) {
         this.width = width;
         this.height = height;
-        this.cells = new Cell[width][height];
+        this.cells = cells;
     }
 
     public Cell getCell(int x, int y) {
@@ -36,4 +40,15 @@ public class Board {
     public boolean isValidPosition(int x, int y) {
         return x >= 0 && x < width && y >= 0 && y < height;
     }
-}
\ No newline at end of file
+
+    public Board copy() {
+        Board copy = new Board(width, height);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                Cell cell = cells[x][y];
+                copy.cells[x][y] = cell != null ? cell.copy() : null;
+            }
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,22 @@
+package ru.kpfu.itis.jackal.common;
+
+import ru.kpfu.itis.jackal.logging.LogManager;
+
+public enum BoardBackend {
+    OBJECT,
+    PACKED;
+
+    public static BoardBackend fromConfig() {
+        String value = System.getProperty(GameConfig.BOARD_BACKEND_PROPERTY, GameConfig.DEFAULT_BOARD_BACKEND);
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LogManager.getLogger(BoardBackend.class).warn("Неизвестное представление поля: {}, используется OBJECT", value);
+            return OBJECT;
+        }
+    }
+
+    public Board createBoard(int width, int height) {
+        return this == PACKED ? new PackedBoard(width, height) : new Board(width, height);
+    }
+}
@@ -31,21 +31,36 @@ public class Cell {
         this.pirate = null;
     }
 
+    public Cell copy() {
+        Cell copy = new Cell(getType(), getContent());
+        copy.setRevealed(isRevealed());
+        copy.setVisible(isVisible());
+        Gold gold = getGold();
+        if (gold != null) {
+            copy.setGold(new Gold(gold.getAmount(), gold.getX(), gold.getY()));
+        }
+        copy.setPirate(getPirate());
+        return copy;
+    }
+
     public JsonObject toJsonObject() {
         JsonObject obj = new JsonObject();
 
-        if (!isRevealed) {
+        if (!isRevealed()) {
             obj.addProperty("type", "HIDDEN");
             obj.addProperty("isRevealed", false);
             obj.addProperty("isVisible", false);
             return obj;
         }
 
+        CellType type = getType();
+        CellContent content = getContent();
         obj.addProperty("type", type != null ? type.toString() : "SEA");
         obj.addProperty("content", content != null ? content.toString() : "EMPTY");
-        obj.addProperty("isRevealed", isRevealed);
-        obj.addProperty("isVisible", isVisible);
+        obj.addProperty("isRevealed", true);
+        obj.addProperty("isVisible", isVisible());
 
+        Pirate pirate = getPirate();
         if (pirate != null) {
             JsonObject pirateObj = new JsonObject();
             pirateObj.addProperty("id", pirate.getId());
@@ -66,26 +81,26 @@ public class Cell {
     }
 
     public void reveal() {
-        this.isRevealed = true;
+        setRevealed(true);
     }
 
     public void makeVisible() {
-        this.isVisible = true;
+        setVisible(true);
     }
 
     public String getDisplayContent() {
-        if (!isRevealed) {
+        if (!isRevealed()) {
             return "HIDDEN";
         }
-        return content.toString();
+        return getContent().toString();
     }
 
     public boolean isWalkable(boolean carryingGold) {
-        if (type == CellType.SEA) {
+        if (getType() == CellType.SEA) {
             return false;
         }
 
-        if (carryingGold && !isRevealed) {
+        if (carryingGold && !isRevealed()) {
             return false;
         }
 
@@ -93,17 +108,15 @@ public class Cell {
     }
 
     public boolean canCollectGold() {
-        if (!isRevealed) {
+        if (!isRevealed()) {
             return false;
         }
 
-        return content == CellContent.GOLD_1 ||
-                content == CellContent.GOLD_2 ||
-                content == CellContent.GOLD_3;
+        return getContent().isGold();
     }
 
     public int getGoldAmount() {
-        return switch (content) {
+        return switch (getContent()) {
             case GOLD_1 -> 1;
             case GOLD_2 -> 2;
             case GOLD_3 -> 3;
@@ -112,26 +125,23 @@ public class Cell {
     }
 
     public boolean hasGold() {
-        return gold != null;
+        return getGold() != null;
     }
 
     public boolean hasPirate() {
-        return pirate != null;
+        return getPirate() != null;
     }
 
     public boolean hasArrow() {
-        return content == CellContent.ARROW_UP ||
-                content == CellContent.ARROW_DOWN ||
-                content == CellContent.ARROW_LEFT ||
-                content == CellContent.ARROW_RIGHT;
+        return getContent().isArrow();
     }
 
     public boolean hasTrap() {
-        return content == CellContent.TRAP;
+        return getContent() == CellContent.TRAP;
     }
 
     public Direction getArrowDirection() {
-        return switch (content) {
+        return switch (getContent()) {
             case ARROW_UP -> Direction.UP;
             case ARROW_DOWN -> Direction.DOWN;
             case ARROW_LEFT -> Direction.LEFT;
@@ -139,4 +149,4 @@ public class Cell {
             default -> null;
         };
     }
-}
\ No newline at end of file
+}
@@ -6,11 +6,99 @@ public class GameConfig {
     public static final int PIRATES_PER_PLAYER = 3;
     public static final int[] GOLD_VALUES = {1, 2, 3, 5};
     public static final int WINNING_SCORE = 50;
+    public static final int MAX_PLAYERS = 4;
+    public static final int MIN_BOARD_SIZE = 5;
+    public static final int MAX_BOARD_SIZE = 101;
+    public static final int MIN_PLAYERS = 2;
+    public static final int MAX_PLAYERS_LIMIT = 8;
+    public static final String BOARD_BACKEND_PROPERTY = "jackal.board";
+    public static final String DEFAULT_BOARD_BACKEND = "PACKED";
 
-    public static final int[][] SHIP_START_POSITIONS = {
-            {0, 0},
-            {8, 0},
-            {0, 8},
-            {8, 8}
-    };
-}
\ No newline at end of file
+    public static final String SEED_PROPERTY = "jackal.seed";
+    public static final String EVENT_LOG_PROPERTY = "jackal.eventlog";
+    public static final String DEFAULT_EVENT_LOG = "NONE";
+    public static final String EVENT_LOG_DIR_PROPERTY = "jackal.eventlog.dir";
+    public static final String DEFAULT_EVENT_LOG_DIR = "events";
+    public static final String JOURNAL_DIR_PROPERTY = "jackal.journal.dir";
+    public static final String DEFAULT_JOURNAL_DIR = "journal";
+    public static final String JOURNAL_SEGMENT_SIZE_PROPERTY = "jackal.journal.segmentSize";
+    public static final int DEFAULT_JOURNAL_SEGMENT_SIZE = 64 * 1024 * 1024;
+    public static final String JOURNAL_SYNC_PROPERTY = "jackal.journal.sync";
+    public static final String DEFAULT_JOURNAL_SYNC = "ASYNC";
+    public static final String JOURNAL_FLUSH_INTERVAL_PROPERTY = "jackal.journal.flushMs";
+    public static final long DEFAULT_JOURNAL_FLUSH_INTERVAL_MS = 5;
+    public static final String JOURNAL_SNAPSHOT_INTERVAL_PROPERTY = "jackal.journal.snapshotEvery";
+    public static final int DEFAULT_JOURNAL_SNAPSHOT_INTERVAL = 128;
+
+    public static final String DEFAULT_ROOM_ID = "default";
+    public static final int MAX_ROOMS = 10000;
+    public static final long ROOM_IDLE_TIMEOUT_MS = 5 * 60 * 1000;
+    public static final long ROOM_EVICTION_INTERVAL_MS = 30 * 1000;
+    public static final String SESSION_GRACE_PROPERTY = "jackal.session.graceMs";
+    public static final long DEFAULT_SESSION_GRACE_MS = 60 * 1000;
+    public static final long SESSION_SWEEP_INTERVAL_MS = 1000;
+    public static final String DELTA_HISTORY_PROPERTY = "jackal.session.deltaHistory";
+    public static final int DEFAULT_DELTA_HISTORY = 64;
+    public static final int MAX_SPECTATORS_PER_ROOM = 1000;
+    public static final long SPECTATOR_TICK_MS = 100;
+    public static final String SPECTATOR_INTERVAL_PROPERTY = "jackal.spectator.intervalMs";
+    public static final long DEFAULT_SPECTATOR_INTERVAL_MS = 500;
+    public static final long RECONNECT_INITIAL_BACKOFF_MS = 250;
+    public static final long RECONNECT_MAX_BACKOFF_MS = 4000;
+    public static final int EVENT_LOOP_THREADS = Runtime.getRuntime().availableProcessors();
+
+    public static final String SIM_GAMES_PROPERTY = "jackal.sim.games";
+    public static final int DEFAULT_SIM_GAMES = 10000;
+    public static final String SIM_BOTS_PROPERTY = "jackal.sim.bots";
+    public static final String DEFAULT_SIM_BOTS = "GREEDY,RANDOM";
+    public static final String SIM_BOARD_SIZE_PROPERTY = "jackal.sim.board";
+    public static final String SIM_WINNING_SCORE_PROPERTY = "jackal.sim.winningScore";
+    public static final String SIM_MAX_TURNS_PROPERTY = "jackal.sim.maxTurns";
+    public static final int DEFAULT_SIM_MAX_TURNS = 2000;
+    public static final String SIM_CONTENT_WEIGHTS_PROPERTY = "jackal.sim.weights";
+    public static final String SIM_PARALLELISM_PROPERTY = "jackal.sim.parallelism";
+    public static final int SIM_BATCH_SIZE = 32;
+    public static final int SIM_MAX_REJECTED_MOVES = 16;
+
+    public static final String BOT_FILL_PROPERTY = "jackal.bot.fill";
+    public static final String BOT_THREADS_PROPERTY = "jackal.bot.threads";
+    public static final String BOT_BUDGET_PROPERTY = "jackal.bot.budgetMs";
+    public static final long DEFAULT_BOT_BUDGET_MS = 500;
+    public static final int BOT_TREE_CAPACITY = 1 << 17;
+    public static final int BOT_TREE_DEPTH = 64;
+    public static final int BOT_PLAYOUT_DEPTH = 120;
+    public static final int BOT_MIN_ITERATIONS = 64;
+    public static final double BOT_EXPLORATION = 1.4;
+    public static final int BOT_MAX_REJECTED_MOVES = 16;
+
+    public static final String SERVER_TRANSPORT_PROPERTY = "jackal.transport";
+    public static final String DEFAULT_SERVER_TRANSPORT = "NIO";
+    public static final int NIO_BUFFER_SIZE = 16 * 1024;
+    public static final int NIO_BUFFER_POOL_SIZE = 256;
+    public static final int NIO_ACCEPT_BACKLOG = 1024;
+    public static final long NIO_ACCEPT_BACKOFF_MS = 100;
+    public static final int MAX_LINE_LENGTH = 1024 * 1024;
+    public static final int MAX_FRAME_LENGTH = 1024 * 1024;
+    public static final int FRAME_BUFFER_SIZE = 8 * 1024;
+    public static final int FRAME_POOL_SIZE = 1024;
+    public static final String OUTBOUND_CAPACITY_PROPERTY = "jackal.outbound.capacity";
+    public static final int DEFAULT_OUTBOUND_CAPACITY = 256;
+    public static final String OUTBOUND_OVERFLOW_PROPERTY = "jackal.outbound.overflow";
+    public static final String DEFAULT_OUTBOUND_OVERFLOW = "COALESCE";
+    public static final String OUTBOUND_STALL_TIMEOUT_PROPERTY = "jackal.outbound.stallMs";
+    public static final long DEFAULT_OUTBOUND_STALL_TIMEOUT_MS = 15 * 1000;
+
+    public static final String WIRE_FORMAT_PROPERTY = "jackal.wire";
+    public static final String DEFAULT_WIRE_FORMAT = "BINARY";
+    public static final int WIRE_HANDSHAKE_TIMEOUT_MS = 2000;
+
+    public static final String LOG_LEVEL_PROPERTY = "jackal.log.level";
+    public static final String DEFAULT_LOG_LEVEL = "INFO";
+    public static final String LOG_APPENDER_PROPERTY = "jackal.log.appender";
+    public static final String DEFAULT_LOG_APPENDER = "ASYNC";
+    public static final int LOG_BUFFER_SIZE = 8192;
+
+    public static final String METRICS_PORT_PROPERTY = "jackal.metrics.port";
+    public static final int DEFAULT_METRICS_PORT = 9464;
+    public static final String METRICS_MBEAN_NAME = "ru.kpfu.itis.jackal:type=Metrics";
+}
@@ -2,6 +2,8 @@ package ru.kpfu.itis.jackal.common;
 
 import lombok.Getter;
 import lombok.Setter;
+import ru.kpfu.itis.jackal.logging.LogManager;
+import ru.kpfu.itis.jackal.logging.Logger;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -9,11 +11,14 @@ import java.util.List;
 @Getter
 public class GameState {
 
+    private static final Logger log = LogManager.getLogger(GameState.class);
+
     private Board board;
     private List<Player> players;
     private String currentPlayerId;
     private String winnerPlayerId;
     private int turnNumber;
+    private int maxPlayers;
     private boolean gameStarted;
     private boolean gameFinished;
 
@@ -44,7 +49,9 @@ public class GameState {
 
     public void nextTurn() {
         this.turnNumber++;
-        System.out.println("[GameState] Ход #" + this.turnNumber);
+        if (log.isDebugEnabled()) {
+            log.debug("Ход #{}", turnNumber);
+        }
     }
 
     public void resetTurns() {
@@ -0,0 +1,151 @@
+package ru.kpfu.itis.jackal.common;
+
+import java.util.Arrays;
+
+public class PackedBoard extends Board {
+
+    static final long TYPE_MASK = 0x7L;
+    static final int CONTENT_SHIFT = 3;
+    static final long CONTENT_MASK = 0xFL << CONTENT_SHIFT;
+    static final long REVEALED = 1L << 7;
+    static final long VISIBLE = 1L << 8;
+    static final long GOLD = 1L << 9;
+    static final int GOLD_SHIFT = 10;
+    static final long GOLD_MASK = 0xFFL << GOLD_SHIFT;
+    static final int PIRATE_SHIFT = 18;
+    static final long PIRATE_MASK = 0xFFFFFFFFL << PIRATE_SHIFT;
+
+    private static final CellType[] CELL_TYPES = CellType.values();
+    private static final CellContent[] CELL_CONTENTS = CellContent.values();
+    private static final int MAX_GOLD = (int) (GOLD_MASK >>> GOLD_SHIFT);
+
+    private final long[] cells;
+    private Pirate[] occupants;
+    private int occupantCount;
+
+    public PackedBoard(int width, int height) {
+        super(width, height, null);
+        this.cells = new long[width * height];
+        this.occupants = new Pirate[8];
+    }
+
+    private PackedBoard(PackedBoard source) {
+        super(source.getWidth(), source.getHeight(), null);
+        this.cells = source.cells.clone();
+        this.occupants = source.occupants.clone();
+        this.occupantCount = source.occupantCount;
+    }
+
+    @Override
+    public Cell getCell(int x, int y) {
+        if (!isValidPosition(x, y)) {
+            return null;
+        }
+        int index = y * getWidth() + x;
+        if ((cells[index] & TYPE_MASK) == 0) {
+            return null;
+        }
+        return new PackedCell(this, index, x, y);
+    }
+
+    @Override
+    public void setCell(int x, int y, Cell cell) {
+        if (isValidPosition(x, y)) {
+            cells[y * getWidth() + x] = cell == null ? 0 : pack(cell);
+        }
+    }
+
+    @Override
+    public Cell[][] getCells() {
+        Cell[][] views = new Cell[getWidth()][getHeight()];
+        for (int x = 0; x < getWidth(); x++) {
+            for (int y = 0; y < getHeight(); y++) {
+                views[x][y] = getCell(x, y);
+            }
+        }
+        return views;
+    }
+
+    @Override
+    public void setCells(Cell[][] source) {
+        Arrays.fill(cells, 0);
+        for (int x = 0; x < Math.min(getWidth(), source.length); x++) {
+            for (int y = 0; y < Math.min(getHeight(), source[x].length); y++) {
+                setCell(x, y, source[x][y]);
+            }
+        }
+    }
+
+    @Override
+    public PackedBoard copy() {
+        return new PackedBoard(this);
+    }
+
+    long word(int index) {
+        return cells[index];
+    }
+
+    void update(int index, long mask, long bits) {
+        cells[index] = (cells[index] & ~mask) | (bits & mask);
+    }
+
+    CellType type(long word) {
+        return CELL_TYPES[(int) (word & TYPE_MASK) - 1];
+    }
+
+    CellContent content(long word) {
+        return CELL_CONTENTS[(int) ((word & CONTENT_MASK) >>> CONTENT_SHIFT)];
+    }
+
+    Pirate occupant(long word) {
+        int slot = (int) ((word & PIRATE_MASK) >>> PIRATE_SHIFT);
+        return slot == 0 ? null : occupants[slot - 1];
+    }
+
+    static long typeBits(CellType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Тип клетки не может быть пустым");
+        }
+        return type.ordinal() + 1;
+    }
+
+    static long contentBits(CellContent content) {
+        if (content == null) {
+            throw new IllegalArgumentException("Содержимое клетки не может быть пустым");
+        }
+        return (long) content.ordinal() << CONTENT_SHIFT;
+    }
+
+    static long goldBits(Gold gold) {
+        if (gold == null) {
+            return 0;
+        }
+        if (gold.getAmount() < 0 || gold.getAmount() > MAX_GOLD) {
+            throw new IllegalArgumentException("Количество золота вне диапазона: " + gold.getAmount());
+        }
+        return GOLD | ((long) gold.getAmount() << GOLD_SHIFT);
+    }
+
+    long pirateBits(Pirate pirate) {
+        if (pirate == null) {
+            return 0;
+        }
+        for (int i = 0; i < occupantCount; i++) {
+            if (occupants[i] == pirate) {
+                return (long) (i + 1) << PIRATE_SHIFT;
+            }
+        }
+        if (occupantCount == occupants.length) {
+            occupants = Arrays.copyOf(occupants, occupants.length * 2);
+        }
+        occupants[occupantCount++] = pirate;
+        return (long) occupantCount << PIRATE_SHIFT;
+    }
+
+    private long pack(Cell cell) {
+        long word = typeBits(cell.getType()) | contentBits(cell.getContent());
+        if (cell.isRevealed()) word |= REVEALED;
+        if (cell.isVisible()) word |= VISIBLE;
+        return word | goldBits(cell.getGold()) | pirateBits(cell.getPirate());
+    }
+}
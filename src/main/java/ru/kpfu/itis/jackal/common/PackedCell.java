@@ -0,0 +1,80 @@
+package ru.kpfu.itis.jackal.common;
+
+final class PackedCell extends Cell {
+
+    private final PackedBoard board;
+    private final int index;
+    private final int x;
+    private final int y;
+
+    PackedCell(PackedBoard board, int index, int x, int y) {
+        this.board = board;
+        this.index = index;
+        this.x = x;
+        this.y = y;
+    }
+
+    @Override
+    public CellType getType() {
+        return board.type(board.word(index));
+    }
+
+    @Override
+    public void setType(CellType type) {
+        board.update(index, PackedBoard.TYPE_MASK, PackedBoard.typeBits(type));
+    }
+
+    @Override
+    public CellContent getContent() {
+        return board.content(board.word(index));
+    }
+
+    @Override
+    public void setContent(CellContent content) {
+        board.update(index, PackedBoard.CONTENT_MASK, PackedBoard.contentBits(content));
+    }
+
+    @Override
+    public boolean isRevealed() {
+        return (board.word(index) & PackedBoard.REVEALED) != 0;
+    }
+
+    @Override
+    public void setRevealed(boolean revealed) {
+        board.update(index, PackedBoard.REVEALED, revealed ? PackedBoard.REVEALED : 0);
+    }
+
+    @Override
+    public boolean isVisible() {
+        return (board.word(index) & PackedBoard.VISIBLE) != 0;
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+        board.update(index, PackedBoard.VISIBLE, visible ? PackedBoard.VISIBLE : 0);
+    }
+
+    @Override
+    public Gold getGold() {
+        long word = board.word(index);
+        if ((word & PackedBoard.GOLD) == 0) {
+            return null;
+        }
+        return new Gold((int) ((word & PackedBoard.GOLD_MASK) >>> PackedBoard.GOLD_SHIFT), x, y);
+    }
+
+    @Override
+    public void setGold(Gold gold) {
+        board.update(index, PackedBoard.GOLD | PackedBoard.GOLD_MASK, PackedBoard.goldBits(gold));
+    }
+
+    @Override
+    public Pirate getPirate() {
+        return board.occupant(board.word(index));
+    }
+
+    @Override
+    public void setPirate(Pirate pirate) {
+        board.update(index, PackedBoard.PIRATE_MASK, board.pirateBits(pirate));
+    }
+}
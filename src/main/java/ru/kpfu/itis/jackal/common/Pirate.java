@@ -2,12 +2,17 @@ package ru.kpfu.itis.jackal.common;
 
 import lombok.Getter;
 import lombok.Setter;
+import ru.kpfu.itis.jackal.logging.LogManager;
+import ru.kpfu.itis.jackal.logging.Logger;
 
 @Setter
 @Getter
 public class Pirate {
 
+    private static final Logger log = LogManager.getLogger(Pirate.class);
+
     private int id;
+    private String ownerId;
     private int x;
     private int y;
     private int goldCarrying;
@@ -28,14 +33,14 @@ public class Pirate {
     public void collectGold(int amount) {
         if (this.goldCarrying == 0) {
             this.goldCarrying = amount;
-            System.out.println("Пират #" + id + " собрал " + amount + " золота. Всего: " + this.goldCarrying);
+            log.debug("Пират #{} собрал {} золота. Всего: {}", id, amount, goldCarrying);
         }
     }
 
     public int depositGold() {
         int deposited = this.goldCarrying;
         this.goldCarrying = 0;
-        System.out.println("Пират #" + id + " сдал " + deposited + " золота");
+        log.debug("Пират #{} сдал {} золота", id, deposited);
         return deposited;
     }
 
@@ -15,6 +15,7 @@ public class Player {
     private int gold;
     private List<Pirate> pirates;
     private boolean ready;
+    private boolean bot;
     private int score;
     private Ship ship;
 
@@ -33,6 +34,7 @@ public class Player {
     }
 
     public void addPirate(Pirate pirate) {
+        pirate.setOwnerId(id);
         pirates.add(pirate);
     }
 
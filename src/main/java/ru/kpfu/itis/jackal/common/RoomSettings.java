@@ -0,0 +1,65 @@
+package ru.kpfu.itis.jackal.common;
+
+import lombok.Getter;
+
+@Getter
+public final class RoomSettings {
+
+    private static final RoomSettings DEFAULTS =
+            new RoomSettings(GameConfig.BOARD_WIDTH, GameConfig.BOARD_HEIGHT, GameConfig.MAX_PLAYERS, null);
+
+    private final int width;
+    private final int height;
+    private final int maxPlayers;
+    private final Long seed;
+
+    private RoomSettings(int width, int height, int maxPlayers, Long seed) {
+        this.width = width;
+        this.height = height;
+        this.maxPlayers = maxPlayers;
+        this.seed = seed;
+    }
+
+    public static RoomSettings defaults() {
+        return DEFAULTS;
+    }
+
+    public static RoomSettings of(Integer width, Integer height, Integer maxPlayers) {
+        if (width == null && height == null && maxPlayers == null) {
+            return DEFAULTS;
+        }
+        return new RoomSettings(
+                clamp(width, GameConfig.BOARD_WIDTH, GameConfig.MIN_BOARD_SIZE, GameConfig.MAX_BOARD_SIZE),
+                clamp(height, GameConfig.BOARD_HEIGHT, GameConfig.MIN_BOARD_SIZE, GameConfig.MAX_BOARD_SIZE),
+                clamp(maxPlayers, GameConfig.MAX_PLAYERS, GameConfig.MIN_PLAYERS, GameConfig.MAX_PLAYERS_LIMIT),
+                null);
+    }
+
+    public RoomSettings withSeed(long seed) {
+        return new RoomSettings(width, height, maxPlayers, seed);
+    }
+
+    public int[][] beachPositions() {
+        int right = width - 1;
+        int bottom = height - 1;
+        int[][] all = {
+                {0, 0}, {right, 0}, {0, bottom}, {right, bottom},
+                {width / 2, 0}, {width / 2, bottom}, {0, height / 2}, {right, height / 2}
+        };
+        int[][] beaches = new int[maxPlayers][];
+        System.arraycopy(all, 0, beaches, 0, maxPlayers);
+        return beaches;
+    }
+
+    private static int clamp(Integer value, int fallback, int min, int max) {
+        if (value == null) {
+            return fallback;
+        }
+        return Math.max(min, Math.min(max, value));
+    }
+
+    @Override
+    public String toString() {
+        return width + "x" + height + ", игроков: " + maxPlayers;
+    }
+}
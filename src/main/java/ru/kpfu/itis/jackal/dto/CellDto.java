@@ -8,4 +8,6 @@ public class CellDto {
     private String content;
     private PirateDto pirate;
     private GoldDto gold;
+    private int x;
+    private int y;
 }
@@ -0,0 +1,19 @@
+package ru.kpfu.itis.jackal.dto;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class GameStateDeltaDto {
+    private long version;
+    private long baseVersion;
+    private boolean gameStarted;
+    private boolean gameFinished;
+    private String currentPlayerId;
+    private int turnNumber;
+    private List<PlayerDto> players;
+    private List<CellDto> cells = new ArrayList<>();
+    private Map<String, int[][]> legalMoves;
+}
@@ -3,11 +3,17 @@ package ru.kpfu.itis.jackal.dto;
 import lombok.Data;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Data
 public class GameStateDto {
-    private List<PlayerDto> players = new ArrayList<>();
+    private long version;
+    private boolean gameStarted;
+    private boolean gameFinished;
     private String currentPlayerId;
     private int turnNumber;
-    private String[][] board;
+    private int maxPlayers;
+    private List<PlayerDto> players = new ArrayList<>();
+    private CellDto[][] board;
+    private Map<String, int[][]> legalMoves;
 }
@@ -5,6 +5,7 @@ import lombok.Data;
 @Data
 public class PirateDto {
     private String id;
+    private String owner;
     private int x;
     private int y;
 }
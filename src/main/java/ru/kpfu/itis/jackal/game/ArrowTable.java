@@ -0,0 +1,110 @@
+package ru.kpfu.itis.jackal.game;
+
+import ru.kpfu.itis.jackal.common.Board;
+import ru.kpfu.itis.jackal.common.Cell;
+import ru.kpfu.itis.jackal.common.CellType;
+import ru.kpfu.itis.jackal.common.Direction;
+
+class ArrowTable {
+
+    static final byte LAND = 0;
+    static final byte EDGE = 1;
+    static final byte SEA = 2;
+    static final byte TRAP = 3;
+    static final byte CYCLE = 4;
+    static final byte HIDDEN = 5;
+
+    private final Board board;
+    private final int width;
+    private final int[] stamps;
+    private final byte[] outcomes;
+    private final int[] lastArrows;
+    private final int[] exits;
+    private final int[] path;
+    private int version = 1;
+
+    ArrowTable(Board board) {
+        this.board = board;
+        this.width = board.getWidth();
+        int cells = board.getWidth() * board.getHeight();
+        this.stamps = new int[cells];
+        this.outcomes = new byte[cells];
+        this.lastArrows = new int[cells];
+        this.exits = new int[cells];
+        this.path = new int[cells];
+    }
+
+    void invalidate() {
+        version++;
+    }
+
+    int index(int x, int y) {
+        return y * width + x;
+    }
+
+    int resolve(int start) {
+        if (stamps[start] == version) {
+            return outcomes[start];
+        }
+        byte outcome;
+        int lastArrow;
+        int exit = -1;
+        int length = 0;
+        int cell = start;
+        while (true) {
+            if (stamps[cell] == version) {
+                outcome = outcomes[cell];
+                lastArrow = lastArrows[cell];
+                exit = exits[cell];
+                break;
+            }
+            if (stamps[cell] == -version) {
+                outcome = CYCLE;
+                lastArrow = cell;
+                break;
+            }
+            stamps[cell] = -version;
+            path[length++] = cell;
+
+            Direction direction = board.getCell(cell % width, cell / width).getArrowDirection();
+            int toX = cell % width + direction.getDx();
+            int toY = cell / width + direction.getDy();
+            lastArrow = cell;
+            if (!board.isValidPosition(toX, toY)) {
+                outcome = EDGE;
+                break;
+            }
+            int next = index(toX, toY);
+            Cell target = board.getCell(toX, toY);
+            if (!target.isRevealed()) {
+                outcome = HIDDEN;
+                exit = next;
+                break;
+            }
+            if (target.hasArrow()) {
+                cell = next;
+                continue;
+            }
+            outcome = target.getType() == CellType.SEA ? SEA : target.hasTrap() ? TRAP : LAND;
+            exit = next;
+            break;
+        }
+
+        for (int i = 0; i < length; i++) {
+            int visited = path[i];
+            stamps[visited] = version;
+            outcomes[visited] = outcome;
+            lastArrows[visited] = lastArrow;
+            exits[visited] = exit;
+        }
+        return outcome;
+    }
+
+    int getLastArrow(int cell) {
+        return lastArrows[cell];
+    }
+
+    int getExit(int cell) {
+        return exits[cell];
+    }
+}
@@ -0,0 +1,105 @@
+package ru.kpfu.itis.jackal.game;
+
+import ru.kpfu.itis.jackal.common.Board;
+import ru.kpfu.itis.jackal.common.Cell;
+import ru.kpfu.itis.jackal.common.CellContent;
+import ru.kpfu.itis.jackal.common.CellType;
+
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+public final class BoardGenerator {
+
+    private static final CellContent[] DEFAULT_CONTENTS = {
+            CellContent.EMPTY, CellContent.GOLD_1, CellContent.GOLD_2, CellContent.GOLD_3, CellContent.TRAP,
+            CellContent.ARROW_UP, CellContent.ARROW_DOWN, CellContent.ARROW_LEFT, CellContent.ARROW_RIGHT
+    };
+    private static final double[] DEFAULT_THRESHOLDS = {0.50, 0.65, 0.78, 0.88, 0.92, 0.95, 0.97, 0.985, 0.998};
+    private static final BoardGenerator DEFAULTS = new BoardGenerator(DEFAULT_CONTENTS, DEFAULT_THRESHOLDS);
+
+    private final CellContent[] contents;
+    private final double[] thresholds;
+
+    private BoardGenerator(CellContent[] contents, double[] thresholds) {
+        this.contents = contents;
+        this.thresholds = thresholds;
+    }
+
+    public static BoardGenerator defaults() {
+        return DEFAULTS;
+    }
+
+    public static BoardGenerator withContentWeights(Map<CellContent, Double> weights) {
+        double total = 0;
+        for (double weight : weights.values()) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Отрицательный вес содержимого: " + weight);
+            }
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Сумма весов содержимого должна быть положительной");
+        }
+        CellContent[] contents = new CellContent[weights.size()];
+        double[] thresholds = new double[weights.size()];
+        double cumulative = 0;
+        int i = 0;
+        for (Map.Entry<CellContent, Double> entry : weights.entrySet()) {
+            cumulative += entry.getValue();
+            contents[i] = entry.getKey();
+            thresholds[i] = cumulative / total;
+            i++;
+        }
+        thresholds[thresholds.length - 1] = 1.0;
+        return new BoardGenerator(contents, thresholds);
+    }
+
+    public void generate(Board board, int[][] beachPositions, RandomGenerator random) {
+        for (int x = 0; x < board.getWidth(); x++) {
+            for (int y = 0; y < board.getHeight(); y++) {
+                Cell seaCell = new Cell(CellType.SEA, CellContent.EMPTY);
+                seaCell.setRevealed(true);
+                seaCell.setVisible(true);
+                board.setCell(x, y, seaCell);
+            }
+        }
+
+        for (int[] beach : beachPositions) {
+            Cell beachCell = new Cell(CellType.BEACH, CellContent.EMPTY);
+            beachCell.setRevealed(true);
+            beachCell.setVisible(true);
+            board.setCell(beach[0], beach[1], beachCell);
+        }
+
+        int fortX = board.getWidth() / 2;
+        int fortY = board.getHeight() / 2;
+        for (int x = 1; x < board.getWidth() - 1; x++) {
+            for (int y = 1; y < board.getHeight() - 1; y++) {
+                if (x == fortX && y == fortY) {
+                    board.setCell(x, y, new Cell(CellType.FORT, CellContent.CANNON));
+                } else {
+                    CellType terrain = randomTerrain(random);
+                    CellContent content = randomContent(random);
+                    board.setCell(x, y, new Cell(terrain, content));
+                }
+            }
+        }
+    }
+
+    private CellType randomTerrain(RandomGenerator random) {
+        double rand = random.nextDouble();
+        if (rand < 0.6) return CellType.PLAIN;
+        if (rand < 0.8) return CellType.FOREST;
+        return CellType.MOUNTAIN;
+    }
+
+    public CellContent randomContent(RandomGenerator random) {
+        double rand = random.nextDouble();
+        for (int i = 0; i < thresholds.length; i++) {
+            if (rand < thresholds[i]) {
+                return contents[i];
+            }
+        }
+        return CellContent.EMPTY;
+    }
+}
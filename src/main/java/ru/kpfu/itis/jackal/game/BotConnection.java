@@ -0,0 +1,16 @@
+package ru.kpfu.itis.jackal.game;
+
+import ru.kpfu.itis.jackal.server.ClientConnection;
+import ru.kpfu.itis.jackal.server.OutboundFrame;
+
+class BotConnection extends ClientConnection {
+
+    BotConnection(String playerId) {
+        super(null);
+        setPlayerId(playerId);
+    }
+
+    @Override
+    public void sendFrame(OutboundFrame frame) {
+    }
+}
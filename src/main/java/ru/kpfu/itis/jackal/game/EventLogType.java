@@ -0,0 +1,37 @@
+package ru.kpfu.itis.jackal.game;
+
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.journal.Journal;
+import ru.kpfu.itis.jackal.journal.RoomJournal;
+import ru.kpfu.itis.jackal.logging.LogManager;
+
+import java.nio.file.Path;
+
+public enum EventLogType {
+    NONE,
+    MEMORY,
+    FILE,
+    JOURNAL;
+
+    public static EventLogType fromConfig() {
+        String value = System.getProperty(GameConfig.EVENT_LOG_PROPERTY, GameConfig.DEFAULT_EVENT_LOG);
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LogManager.getLogger(EventLogType.class).warn("Неизвестный журнал событий: {}, используется NONE", value);
+            return NONE;
+        }
+    }
+
+    public GameEventLog createLog(String roomId) {
+        return switch (this) {
+            case NONE -> event -> {
+            };
+            case MEMORY -> new MemoryEventLog();
+            case FILE -> new FileEventLog(Path.of(
+                    System.getProperty(GameConfig.EVENT_LOG_DIR_PROPERTY, GameConfig.DEFAULT_EVENT_LOG_DIR),
+                    roomId.replaceAll("[^\\w-]", "_") + "-" + System.currentTimeMillis() + ".jsonl"));
+            case JOURNAL -> new RoomJournal(Journal.shared(), roomId);
+        };
+    }
+}
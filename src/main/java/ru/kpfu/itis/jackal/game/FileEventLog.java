@@ -0,0 +1,84 @@
+package ru.kpfu.itis.jackal.game;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import ru.kpfu.itis.jackal.logging.LogManager;
+import ru.kpfu.itis.jackal.logging.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FileEventLog implements GameEventLog {
+
+    private static final Logger log = LogManager.getLogger(FileEventLog.class);
+    private static final Gson gson = new GsonBuilder().create();
+
+    private final Path path;
+    private BufferedWriter writer;
+
+    public FileEventLog(Path path) {
+        this.path = path;
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось открыть журнал " + path, e);
+        }
+    }
+
+    @Override
+    public synchronized void append(GameEvent event) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(gson.toJson(event));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            log.error("Ошибка записи журнала {}", path, e);
+        }
+    }
+
+    @Override
+    public synchronized List<GameEvent> readAll() {
+        return read(path);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Ошибка закрытия журнала {}", path, e);
+        }
+        writer = null;
+    }
+
+    public static List<GameEvent> read(Path path) {
+        List<GameEvent> events = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    events.add(gson.fromJson(line, GameEvent.class));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать журнал " + path, e);
+        }
+        return events;
+    }
+}
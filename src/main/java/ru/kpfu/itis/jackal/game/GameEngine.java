@@ -1,132 +1,216 @@
 package ru.kpfu.itis.jackal.game;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
+import ru.kpfu.itis.jackal.bot.MctsBot;
 import ru.kpfu.itis.jackal.common.*;
-import ru.kpfu.itis.jackal.dto.*;
 import ru.kpfu.itis.jackal.network.protocol.*;
-import ru.kpfu.itis.jackal.server.ClientHandler;
+import ru.kpfu.itis.jackal.server.ClientConnection;
+import ru.kpfu.itis.jackal.server.OutboundFrame;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import lombok.Getter;
+import ru.kpfu.itis.jackal.logging.LogManager;
+import ru.kpfu.itis.jackal.logging.Logger;
+import ru.kpfu.itis.jackal.metrics.ServerMetrics;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class GameEngine {
 
     private static final String MOVE = "MOVE";
     private static final String END_TURN = "END_TURN";
     private static final Gson gson = new GsonBuilder().create();
+    private static final Logger log = LogManager.getLogger(GameEngine.class);
+    private static final int MAILBOX_BATCH_SIZE = 64;
+    private static final WireFormat[] WIRE_FORMATS = WireFormat.values();
 
+    @Getter
+    private final String roomId;
+    @Getter
     private GameState gameState;
-    private List<ClientHandler> clients;
-    private Random random;
-    private Map<String, String> playerBeaches;
-
-    public GameEngine() {
-        this.gameState = new GameState();
+    @Getter
+    private GameRules rules;
+    private List<ClientConnection> clients;
+    private SeededRandom random;
+    @Getter
+    private final long seed;
+    private GameEventLog eventLog;
+    @Getter
+    private long eventSequence;
+    private GameEvent currentEvent;
+    private Iterator<Boolean> replayOutcomes;
+    private boolean replaying;
+    @Getter
+    private final RoomSettings settings;
+    private final int[][] beachPositions;
+    private Map<String, Integer> playerSeats;
+    private final AtomicInteger connections;
+    private volatile long lastActivityTime;
+    private final Executor eventLoop;
+    private final Queue<MailboxTask> mailbox;
+    private final AtomicBoolean drainScheduled;
+    @Getter
+    private final MailboxStats mailboxStats;
+    @Getter
+    private long stateVersion;
+    private long[] lastCellSignatures;
+    private String lastHeaderSignature;
+    private String lastPlayersSignature;
+    private final Set<ClientConnection> pendingFullSnapshot;
+    private final Map<String, PlayerSession> sessions;
+    private final AtomicInteger suspendedSessions;
+    private final long sessionGraceMs;
+    private final Deque<SentDelta> deltaHistory;
+    private final int deltaHistorySize;
+    private final SpectatorChannel spectators;
+    private boolean botThinking;
+    private int botTurn = -1;
+    private int botRetries;
+
+    public GameEngine(String roomId) {
+        this(roomId, Runnable::run);
+    }
+
+    public GameEngine(String roomId, Executor eventLoop) {
+        this(roomId, RoomSettings.defaults(), eventLoop);
+    }
+
+    public GameEngine(String roomId, RoomSettings settings, Executor eventLoop) {
+        this(roomId, settings, eventLoop, EventLogType.fromConfig().createLog(roomId));
+    }
+
+    public GameEngine(String roomId, RoomSettings settings, Executor eventLoop, GameEventLog eventLog) {
+        this.roomId = roomId;
+        this.settings = settings;
+        this.beachPositions = settings.beachPositions();
+        this.eventLoop = eventLoop;
+        this.mailbox = new ConcurrentLinkedQueue<>();
+        this.drainScheduled = new AtomicBoolean();
+        this.mailboxStats = new MailboxStats();
+        this.pendingFullSnapshot = new HashSet<>();
+        this.sessions = new HashMap<>();
+        this.suspendedSessions = new AtomicInteger();
+        this.sessionGraceMs = Long.getLong(GameConfig.SESSION_GRACE_PROPERTY, GameConfig.DEFAULT_SESSION_GRACE_MS);
+        this.deltaHistorySize = Integer.getInteger(GameConfig.DELTA_HISTORY_PROPERTY, GameConfig.DEFAULT_DELTA_HISTORY);
+        this.deltaHistory = new ArrayDeque<>();
+        this.spectators = new SpectatorChannel();
+        this.connections = new AtomicInteger();
+        this.lastActivityTime = System.currentTimeMillis();
         this.clients = new CopyOnWriteArrayList<>();
-        this.random = new Random();
-        this.playerBeaches = new HashMap<>();
+        this.seed = settings.getSeed() != null
+                ? settings.getSeed()
+                : Long.getLong(GameConfig.SEED_PROPERTY, ThreadLocalRandom.current().nextLong());
+        this.random = new SeededRandom(seed);
+        this.eventLog = eventLog;
+        this.playerSeats = new HashMap<>();
         initializeGame();
+        recordRoomCreated();
+    }
+
+    private void recordRoomCreated() {
+        JsonObject data = gson.toJsonTree(settings.withSeed(seed)).getAsJsonObject();
+        data.addProperty("roomId", roomId);
+        acceptCommand(GameEventType.ROOM_CREATED, null, data.toString());
+        commitEvent();
     }
 
     private void initializeGame() {
-        Board board = new Board(GameConfig.BOARD_WIDTH, GameConfig.BOARD_HEIGHT);
-        initializeBoard(board);
+        gameState = GameRules.newGame(settings, BoardGenerator.defaults(), random);
+        rules = createRules();
+        log.info("Игра инициализирована с FOG OF WAR, поле {}", settings);
+    }
 
-        initializeGold(board);
+    private GameRules createRules() {
+        return new GameRules(gameState, beachPositions, playerSeats, GameConfig.WINNING_SCORE,
+                this::rollCombat, this::broadcastLog);
+    }
 
-        gameState.setBoard(board);
-        System.out.println("[GameEngine] Игра инициализирована с FOG OF WAR");
+    public void attachConnection() {
+        connections.incrementAndGet();
+        lastActivityTime = System.currentTimeMillis();
     }
 
-    private void initializeGold(Board board) {
-        for (int x = 1; x < 8; x++) {
-            for (int y = 1; y < 8; y++) {
-                Cell cell = board.getCell(x, y);
-                if (cell != null && cell.canCollectGold()) {
-                    int amount = cell.getGoldAmount();
-                    cell.setGold(new Gold(amount, x, y));
-                    System.out.println("[GameEngine] Золото (" + amount + ") на (" + x + "," + y + ")");
-                }
-            }
-        }
+    public void detachConnection() {
+        connections.decrementAndGet();
+        lastActivityTime = System.currentTimeMillis();
     }
 
-    private void initializeBoard(Board board) {
-        for (int x = 0; x < board.getWidth(); x++) {
-            for (int y = 0; y < board.getHeight(); y++) {
-                Cell seaCell = new Cell(CellType.SEA, CellContent.EMPTY);
-                seaCell.setRevealed(true);
-                seaCell.setVisible(true);
-                board.setCell(x, y, seaCell);
-            }
-        }
+    public boolean isIdle(long now, long idleTimeoutMs) {
+        return connections.get() <= 0 && suspendedSessions.get() == 0 && now - lastActivityTime >= idleTimeoutMs;
+    }
 
-        Cell beach00 = new Cell(CellType.BEACH, CellContent.EMPTY);
-        beach00.setRevealed(true);
-        beach00.setVisible(true);
-        board.setCell(0, 0, beach00);
-
-        Cell beach80 = new Cell(CellType.BEACH, CellContent.EMPTY);
-        beach80.setRevealed(true);
-        beach80.setVisible(true);
-        board.setCell(8, 0, beach80);
-
-        Cell beach08 = new Cell(CellType.BEACH, CellContent.EMPTY);
-        beach08.setRevealed(true);
-        beach08.setVisible(true);
-        board.setCell(0, 8, beach08);
-
-        Cell beach88 = new Cell(CellType.BEACH, CellContent.EMPTY);
-        beach88.setRevealed(true);
-        beach88.setVisible(true);
-        board.setCell(8, 8, beach88);
-
-        for (int x = 1; x < 8; x++) {
-            for (int y = 1; y < 8; y++) {
-                if (x == 4 && y == 4) {
-                    Cell fortCell = new Cell(CellType.FORT, CellContent.CANNON);
-                    fortCell.setRevealed(false);
-                    fortCell.setVisible(false);
-                    board.setCell(x, y, fortCell);
-                } else {
-                    CellType terrain = getRandomTerrain();
-                    CellContent content = getRandomContent();
-                    Cell cell = new Cell(terrain, content);
-                    cell.setRevealed(false);
-                    cell.setVisible(false);
-                    board.setCell(x, y, cell);
-                }
-            }
+    public boolean hasSuspendedSessions() {
+        return suspendedSessions.get() > 0;
+    }
+
+    public void submit(GameMessage message, ClientConnection client) {
+        enqueue(() -> processMessage(message, client));
+    }
+
+    public void submitDisconnect(ClientConnection client) {
+        enqueue(() -> onClientDisconnect(client));
+    }
+
+    public void submitSessionSweep() {
+        enqueue(() -> expireSessions(System.currentTimeMillis()));
+    }
+
+    public boolean hasSpectators() {
+        return !spectators.isEmpty();
+    }
+
+    public void tickSpectators(long now) {
+        if (spectators.tick(now)) {
+            enqueue(this::publishSpectatorSnapshot);
         }
+    }
 
-        System.out.println("[GameEngine] Доска инициализирована");
+    private void enqueue(Runnable action) {
+        mailbox.offer(new MailboxTask(action, System.nanoTime()));
+        mailboxStats.onEnqueue();
+        scheduleDrain();
     }
 
-    private CellType getRandomTerrain() {
-        double rand = random.nextDouble();
-        if (rand < 0.6) return CellType.PLAIN;
-        if (rand < 0.8) return CellType.FOREST;
-        return CellType.MOUNTAIN;
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            eventLoop.execute(this::drainMailbox);
+        }
     }
 
-    private CellContent getRandomContent() {
-        double rand = random.nextDouble();
-        if (rand < 0.50) return CellContent.EMPTY;
-        if (rand < 0.65) return CellContent.GOLD_1;
-        if (rand < 0.78) return CellContent.GOLD_2;
-        if (rand < 0.88) return CellContent.GOLD_3;
-        if (rand < 0.92) return CellContent.TRAP;
-        if (rand < 0.95) return CellContent.ARROW_UP;
-        if (rand < 0.97) return CellContent.ARROW_DOWN;
-        if (rand < 0.985) return CellContent.ARROW_LEFT;
-        if (rand < 0.998) return CellContent.ARROW_RIGHT;
-        return CellContent.EMPTY;
+    private void drainMailbox() {
+        int processed = 0;
+        MailboxTask task;
+        while (processed < MAILBOX_BATCH_SIZE && (task = mailbox.poll()) != null) {
+            long startNanos = System.nanoTime();
+            try {
+                task.action.run();
+            } catch (Exception e) {
+                log.error("Ошибка в цикле комнаты {}", roomId, e);
+            }
+            mailboxStats.onProcessed(startNanos - task.enqueuedNanos, System.nanoTime() - startNanos);
+            processed++;
+        }
+        drainScheduled.set(false);
+        if (!mailbox.isEmpty()) {
+            scheduleDrain();
+        }
     }
 
-    public void processMessage(GameMessage message, ClientHandler client) {
-        System.out.println("[GameEngine] " + message.getType() + " от " + message.getPlayerId());
+    public void processMessage(GameMessage message, ClientConnection client) {
+        long startNanos = System.nanoTime();
+        lastActivityTime = System.currentTimeMillis();
+        log.debug("{} от {}", message.getType(), message.getPlayerId());
+        if (client.isSpectator()) {
+            handleSpectatorMessage(message, client);
+            ServerMetrics.messageProcessed(message.getType(), startNanos);
+            return;
+        }
         try {
             switch (message.getType()) {
                 case PLAYER_JOIN:
@@ -145,14 +229,41 @@ public class GameEngine {
                 case PLAYER_READY:
                     handlePlayerReady(message, client);
                     break;
+                case RESYNC_REQUEST:
+                    handleResyncRequest(client);
+                    break;
                 default:
-                    System.out.println("[GameEngine] Неизвестный тип: " + message.getType());
+                    log.warn("Неизвестный тип: {}", message.getType());
             }
         } catch (Exception e) {
-            System.err.println("[GameEngine] Ошибка: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Ошибка обработки {}", message.getType(), e);
             sendError(client, "Ошибка: " + e.getMessage());
         }
+        commitEvent();
+        scheduleBotTurn();
+        ServerMetrics.messageProcessed(message.getType(), startNanos);
+    }
+
+    private void handleSpectatorMessage(GameMessage message, ClientConnection client) {
+        switch (message.getType()) {
+            case PLAYER_JOIN:
+                if (spectators.add(client)) {
+                    log.debug("Зритель в комнате {}, всего: {}", roomId, spectators.size());
+                } else {
+                    rejectJoin(client, "Нет мест для зрителей");
+                }
+                break;
+            case RESYNC_REQUEST:
+                spectators.resend(client);
+                break;
+            default:
+                sendError(client, "Зрители не могут управлять игрой");
+        }
+    }
+
+    private void publishSpectatorSnapshot() {
+        spectators.publish(stateVersion, buildFullStateMessage(spectators.uses(WireFormat.BINARY)));
+        ServerMetrics.SPECTATOR_SNAPSHOTS.increment();
     }
 
     private boolean isStartGameAction(GameMessage message) {
@@ -160,7 +271,11 @@ public class GameEngine {
         return message.getData().contains("START_GAME");
     }
 
-    private void handleStartGameRequest(GameMessage message, ClientHandler client) {
+    private void handleStartGameRequest(GameMessage message, ClientConnection client) {
+        if (!replaying) {
+            fillSeatsWithBots();
+        }
+
         if (!allPlayersReady()) {
             sendError(client, "Не все игроки готовы");
             return;
@@ -171,25 +286,102 @@ public class GameEngine {
             return;
         }
 
-        startGame();
+        acceptCommand(GameEventType.GAME_STARTED, message.getPlayerId(), message.getData());
+        rules.startGame();
 
         GameMessage startMessage = new GameMessage();
         startMessage.setType(MessageType.GAME_START);
         startMessage.setData("{\"status\": \"game_started\"}");
 
-        for (ClientHandler ch : clients) {
-            ch.sendMessage(startMessage);
-        }
+        broadcast(clients, startMessage);
 
-        System.out.println("[GameEngine] ИГРА ЗАПУЩЕНА!");
+        log.info("ИГРА ЗАПУЩЕНА в комнате {}", roomId);
         broadcastGameState();
     }
 
-    private void handlePlayerJoin(GameMessage message, ClientHandler client) {
+    private void fillSeatsWithBots() {
+        List<Player> players = gameState.getPlayers();
+        if (players.isEmpty() || !players.stream().allMatch(Player::isReady)
+                || !Boolean.parseBoolean(System.getProperty(GameConfig.BOT_FILL_PROPERTY, "true"))) {
+            return;
+        }
+
+        while (players.size() < GameConfig.MIN_PLAYERS && players.size() < settings.getMaxPlayers()) {
+            String teamColor = assignFreeColor();
+            if (teamColor == null) return;
+
+            String botId = "bot-" + UUID.randomUUID();
+            PlayerJoinData joinData = new PlayerJoinData("Бот " + players.size(), teamColor, roomId);
+            acceptCommand(GameEventType.BOT_JOINED, botId, gson.toJson(joinData));
+            addBot(botId, joinData);
+            commitEvent();
+        }
+    }
+
+    private void addBot(String botId, PlayerJoinData joinData) {
+        Player bot = new Player(botId, joinData.getPlayerName(), joinData.getTeamColor());
+        bot.setBot(true);
+        bot.setReady(true);
+        rules.addPlayer(bot);
+        log.info("Бот {} занял место в комнате {}", bot.getName(), roomId);
+    }
+
+    private void scheduleBotTurn() {
+        if (replaying || botThinking || clients.isEmpty()
+                || !gameState.isGameStarted() || gameState.isGameFinished()) {
+            return;
+        }
+        Player bot = getPlayer(gameState.getCurrentPlayerId());
+        if (bot == null || !bot.isBot()) return;
+
+        int turn = gameState.getTurnNumber();
+        botRetries = turn == botTurn ? botRetries + 1 : 0;
+        botTurn = turn;
+        botThinking = true;
+        CompletableFuture<Move> decision = botRetries < GameConfig.BOT_MAX_REJECTED_MOVES
+                ? MctsBot.shared().think(rules)
+                : CompletableFuture.completedFuture(Move.END_TURN);
+        decision.whenComplete((move, error) -> enqueue(() -> playBotMove(bot, turn, move, error)));
+    }
+
+    private void playBotMove(Player bot, int turn, Move move, Throwable error) {
+        botThinking = false;
+        if (turn != gameState.getTurnNumber() || !bot.getId().equals(gameState.getCurrentPlayerId())) {
+            scheduleBotTurn();
+            return;
+        }
+        if (error != null) {
+            log.warn("Бот {} не выбрал ход", bot.getName(), error);
+            move = Move.END_TURN;
+        }
+
+        String data;
+        Pirate pirate = move.isEndTurn() ? null : bot.getPirate(move.pirateId());
+        if (pirate != null) {
+            JsonObject moveJson = gson.toJsonTree(new MoveActionData(pirate.getId(), pirate.getX(), pirate.getY(),
+                    move.toX(), move.toY())).getAsJsonObject();
+            moveJson.addProperty("actionType", MOVE);
+            data = moveJson.toString();
+        } else {
+            data = gson.toJson(new ActionData(END_TURN));
+        }
+        processMessage(new GameMessage(MessageType.PLAYER_ACTION, bot.getId(), data), new BotConnection(bot.getId()));
+    }
+
+    private void handlePlayerJoin(GameMessage message, ClientConnection client) {
         PlayerJoinData joinData = gson.fromJson(message.getData(), PlayerJoinData.class);
 
-        if (getPlayer(message.getPlayerId()) != null) {
-            sendError(client, "Игрок уже подключен");
+        Player existing = getPlayer(message.getPlayerId());
+        if (existing != null) {
+            if (!replaying && resumeSession(existing, joinData, client)) {
+                return;
+            }
+            rejectJoin(client, "Игрок уже подключен");
+            return;
+        }
+
+        if (gameState.getPlayers().size() >= settings.getMaxPlayers()) {
+            rejectJoin(client, "Комната заполнена");
             return;
         }
 
@@ -197,55 +389,103 @@ public class GameEngine {
         if (teamColor == null || teamColor.isBlank()) {
             teamColor = assignFreeColor();
             if (teamColor == null) {
-                sendError(client, "Нет свободных цветов");
+                rejectJoin(client, "Нет свободных цветов");
                 return;
             }
         } else if (isTeamColorTaken(teamColor)) {
-            sendError(client, "Цвет занят");
+            rejectJoin(client, "Цвет занят");
             return;
         }
 
+        String token = replaying && joinData.getResumeToken() != null
+                ? joinData.getResumeToken()
+                : UUID.randomUUID().toString();
+        joinData.setResumeToken(token);
+        joinData.setLastVersion(null);
+        acceptCommand(GameEventType.PLAYER_JOINED, message.getPlayerId(), gson.toJson(joinData));
         Player player = new Player(message.getPlayerId(), joinData.getPlayerName(), teamColor);
-        initializePlayerPirates(player);
-        gameState.addPlayer(player);
+        rules.addPlayer(player);
         client.setPlayerId(player.getId());
         clients.add(client);
-        assignPlayerBeach(player);
+        pendingFullSnapshot.add(client);
+        sessions.put(player.getId(), new PlayerSession(token, client));
 
-        System.out.println("[GameEngine] Игрок: " + player.getName());
+        log.info("Игрок: {} в комнате {}", player.getName(), roomId);
+        sendSession(client, player.getId(), token);
         broadcastGameState();
     }
 
-    private void assignPlayerBeach(Player player) {
-        String beachKey = null;
-        if (gameState.getPlayers().size() == 1) beachKey = "0,0";
-        else if (gameState.getPlayers().size() == 2) beachKey = "8,0";
-        else if (gameState.getPlayers().size() == 3) beachKey = "0,8";
-        else if (gameState.getPlayers().size() == 4) beachKey = "8,8";
+    private boolean resumeSession(Player player, PlayerJoinData joinData, ClientConnection client) {
+        PlayerSession session = sessions.get(player.getId());
+        if (session == null || !session.token.equals(joinData.getResumeToken())) {
+            return false;
+        }
 
-        if (beachKey != null) {
-            playerBeaches.put(player.getId(), beachKey);
+        ClientConnection previous = session.connection;
+        if (previous != null) {
+            clients.remove(previous);
+            pendingFullSnapshot.remove(previous);
+        } else {
+            suspendedSessions.decrementAndGet();
+        }
+        session.connection = client;
+        session.disconnectedAt = 0;
+        client.setPlayerId(player.getId());
+        clients.add(client);
 
-            String[] parts = beachKey.split(",");
-            int beachX = Integer.parseInt(parts[0]);
-            int beachY = Integer.parseInt(parts[1]);
+        log.info("Игрок {} вернулся в комнату {}", player.getName(), roomId);
+        ServerMetrics.SESSIONS_RESUMED.increment();
+        sendSession(client, player.getId(), session.token);
+        sendMissedState(client, joinData.getLastVersion());
+        return true;
+    }
 
-            for (Pirate pirate : player.getPirates()) {
-                pirate.setX(beachX);
-                pirate.setY(beachY);
+    private void sendSession(ClientConnection client, String playerId, String token) {
+        if (replaying) return;
+        JsonObject data = new JsonObject();
+        data.addProperty("playerId", playerId);
+        data.addProperty("resumeToken", token);
+        data.addProperty("graceMs", sessionGraceMs);
+        data.addProperty("gameStarted", gameState.isGameStarted());
+        data.addProperty("version", stateVersion);
+        client.sendMessage(new GameMessage(MessageType.SESSION, playerId, data.toString()));
+    }
 
-                Cell beachCell = gameState.getBoard().getCell(beachX, beachY);
-                if (beachCell != null) {
-                    beachCell.setPirate(pirate);
-                }
-            }
+    private void sendMissedState(ClientConnection client, Long lastVersion) {
+        if (lastVersion != null && lastVersion == stateVersion) {
+            return;
+        }
+        List<GameMessage> missed = lastVersion != null ? missedDeltas(lastVersion) : null;
+        if (missed == null) {
+            pendingFullSnapshot.add(client);
+            broadcastGameState();
+            return;
+        }
+        for (GameMessage delta : missed) {
+            client.sendMessage(delta);
+        }
+        ServerMetrics.MISSED_DELTAS_SENT.add(missed.size());
+        log.debug("Дослано дельт: {} (v{} -> v{})", missed.size(), lastVersion, stateVersion);
+    }
 
-            System.out.println("[GameEngine] Пляж: " + beachKey);
+    private List<GameMessage> missedDeltas(long lastVersion) {
+        List<GameMessage> missed = new ArrayList<>();
+        long expectedBase = lastVersion;
+        for (SentDelta delta : deltaHistory) {
+            if (delta.version <= lastVersion) {
+                continue;
+            }
+            if (delta.baseVersion != expectedBase) {
+                return null;
+            }
+            missed.add(delta.message);
+            expectedBase = delta.version;
         }
+        return expectedBase == stateVersion ? missed : null;
     }
 
     private String assignFreeColor() {
-        String[] colors = {"RED", "BLUE", "GREEN", "YELLOW"};
+        String[] colors = {"RED", "BLUE", "GREEN", "YELLOW", "PURPLE", "ORANGE", "CYAN", "PINK"};
         for (String c : colors) {
             if (!isTeamColorTaken(c)) return c;
         }
@@ -257,7 +497,7 @@ public class GameEngine {
         return gameState.getPlayers().stream().anyMatch(p -> p.getTeamColor().equals(teamColor));
     }
 
-    private void handlePlayerAction(GameMessage message, ClientHandler client) {
+    private void handlePlayerAction(GameMessage message, ClientConnection client) {
         if (!gameState.isGameStarted()) {
             sendError(client, "Игра еще не началась");
             return;
@@ -273,6 +513,7 @@ public class GameEngine {
             return;
         }
 
+        acceptCommand(GameEventType.PLAYER_ACTION, message.getPlayerId(), message.getData());
         ActionData actionData = gson.fromJson(message.getData(), ActionData.class);
         boolean actionProcessed = false;
 
@@ -281,30 +522,39 @@ public class GameEngine {
             actionProcessed = handleMoveAction(moveData, message.getPlayerId());
             if (actionProcessed) {
                 checkGameEnd();
-                if (!gameState.isGameFinished()) nextTurn();
+                if (!gameState.isGameFinished()) rules.nextTurn();
                 broadcastGameState();
+            } else {
+                sendError(client, "Недопустимый ход");
             }
         }
         else if (END_TURN.equals(actionData.getActionType())) {
-            System.out.println("[GameEngine] END_TURN от " + message.getPlayerId());
+            log.debug("END_TURN от {}", message.getPlayerId());
             handleEndTurn(message.getPlayerId());
             checkGameEnd();
             if (!gameState.isGameFinished()) {
-                System.out.println("[GameEngine] Переход хода на: " + gameState.getCurrentPlayerId());
+                log.debug("Переход хода на: {}", gameState.getCurrentPlayerId());
             }
             broadcastGameState();
         }
     }
 
-    private void handleChatMessage(GameMessage message, ClientHandler client) {
+    private void handleChatMessage(GameMessage message, ClientConnection client) {
         broadcastMessage(message);
     }
 
-    private void handlePlayerReady(GameMessage message, ClientHandler client) {
+    private void handleResyncRequest(ClientConnection client) {
+        if (!clients.contains(client)) return;
+        pendingFullSnapshot.add(client);
+        broadcastGameState();
+    }
+
+    private void handlePlayerReady(GameMessage message, ClientConnection client) {
         Player player = getPlayer(message.getPlayerId());
         if (player != null) {
+            acceptCommand(GameEventType.PLAYER_READY, player.getId(), null);
             player.setReady(!player.isReady());
-            System.out.println("[GameEngine] " + player.getName() + ": " + player.isReady());
+            log.debug("{}: {}", player.getName(), player.isReady());
         }
         broadcastGameState();
     }
@@ -313,433 +563,451 @@ public class GameEngine {
         Player player = getPlayer(playerId);
         if (player == null) return false;
 
-        Pirate pirate = player.getPirate(moveData.getPirateId());
-        if (pirate == null) return false;
-
-        if (!isValidMove(pirate, moveData.getToX(), moveData.getToY())) return false;
-
-        Cell fromCell = gameState.getBoard().getCell(pirate.getX(), pirate.getY());
-        Cell toCell = gameState.getBoard().getCell(moveData.getToX(), moveData.getToY());
-
-        if (fromCell == null || toCell == null) return false;
-
-        if (!toCell.isRevealed()) {
-            toCell.reveal();
-            toCell.makeVisible();
-            System.out.println("[GameEngine] РАСКРЫТА КЛЕТКА (" + moveData.getToX() +
-                    "," + moveData.getToY() + ") - Тип: " + toCell.getType() +
-                    ", Содержимое: " + toCell.getContent());
-        }
-
-        if (toCell.hasPirate() && !isSameTeam(toCell.getPirate(), player)) {
-            boolean combatResult = handleCombat(pirate, toCell.getPirate(), toCell, player);
-            if (!combatResult) return false;
-        }
-
-        fromCell.setPirate(null);
-        toCell.setPirate(pirate);
-        pirate.setX(moveData.getToX());
-        pirate.setY(moveData.getToY());
-        System.out.println("[GameEngine] Пират " + pirate.getId() + " в (" + moveData.getToX() + "," + moveData.getToY() + ")");
-
-        handleCellEffects(toCell, pirate, player);
+        if (!rules.move(player, moveData.getPirateId(), moveData.getToX(), moveData.getToY())) return false;
+        log.debug("Пират {} в ({},{})", moveData.getPirateId(), moveData.getToX(), moveData.getToY());
         return true;
     }
 
-    private void handleCellEffects(Cell cell, Pirate pirate, Player player) {
-        if (cell == null) return;
-
-        if (cell.hasTrap()) {
-            System.out.println("[GameEngine] ЛОВУШКА! Пират возвращается");
-            returnPirateToShip(pirate, player);
-            return;
-        }
-
-        if (cell.hasArrow()) {
-            Direction dir = cell.getArrowDirection();
-            System.out.println("[GameEngine] СТРЕЛКА: " + dir);
-            pushPirate(pirate, dir, player);
-            return;
-        }
-
-        if (cell.getType() == CellType.BEACH && pirate.getGoldCarrying() > 0) {
-            int goldAmount = pirate.getGoldCarrying();
-            player.addGoldToScore(goldAmount);
-            pirate.setGoldCarrying(0);
+    private boolean allPlayersReady() {
+        if (gameState.getPlayers().size() < 2) return false;
+        return gameState.getPlayers().stream().allMatch(Player::isReady);
+    }
 
-            System.out.println("[GameEngine] КОРАБЛЬ! " + player.getName() +
-                    " высадил " + goldAmount + " золота! Счет: " + player.getScore());
+    private Player getPlayer(String playerId) {
+        return gameState.getPlayers().stream()
+                .filter(p -> p.getId().equals(playerId))
+                .findFirst()
+                .orElse(null);
+    }
 
-            broadcastLog(player.getName() + " сдал " + goldAmount +
-                    " золота на корабль! Счет: " + player.getScore());
-            broadcastGameState();
-            return;
+    private void checkGameEnd() {
+        Player winner = rules.checkWinner();
+        if (winner != null) {
+            log.info("ПОБЕДИТЕЛЬ: {} ({} золота)", winner.getName(), winner.getScore());
+            broadcastGameEnd(winner);
         }
+    }
 
-        if (cell.canCollectGold() && pirate.getGoldCarrying() == 0) {
-            int amount = cell.getGoldAmount();
-            pirate.setGoldCarrying(amount);
-            cell.setContent(CellContent.EMPTY);
-
-            System.out.println("[GameEngine] Пират #" + pirate.getId() +
-                    " взял " + amount + " золота");
+    private void broadcastGameEnd(Player winner) {
+        GameMessage endMessage = new GameMessage();
+        endMessage.setType(MessageType.GAME_END);
+        endMessage.setData(gson.toJson(new GameEndData(winner.getId(), winner.getName(), winner.getScore())));
 
-            broadcastLog(player.getName() + " нашел " + amount + " золота!");
-            broadcastGameState();
-        } else if (pirate.getGoldCarrying() > 0) {
-            int amount = pirate.getGoldCarrying();
-            broadcastLog(player.getName() + " уже несёт " + amount + " золота!");
-        }
+        broadcast(clients, endMessage);
     }
 
-    private void returnPirateToShip(Pirate pirate, Player player) {
-        String beachKey = playerBeaches.get(player.getId());
-        if (beachKey == null) return;
-
-        String[] parts = beachKey.split(",");
-        int beachX = Integer.parseInt(parts[0]);
-        int beachY = Integer.parseInt(parts[1]);
+    private void broadcastGameState() {
+        long startNanos = System.nanoTime();
+        try {
+            Board board = gameState.getBoard();
+            long[] cellSignatures = buildCellSignatures(board);
+            String headerSignature = buildHeaderSignature();
+            String playersSignature = buildPlayersSignature();
+
+            boolean initial = lastCellSignatures == null || lastCellSignatures.length != cellSignatures.length;
+            int[] changedCells = new int[cellSignatures.length];
+            int changedCount = 0;
+            for (int i = 0; i < cellSignatures.length; i++) {
+                if (initial || lastCellSignatures[i] != cellSignatures[i]) {
+                    changedCells[changedCount++] = i;
+                }
+            }
+            boolean playersChanged = !playersSignature.equals(lastPlayersSignature);
+            boolean headerChanged = !headerSignature.equals(lastHeaderSignature);
+            boolean changed = changedCount > 0 || playersChanged || headerChanged;
+            if (changed) {
+                stateVersion++;
+                spectators.markDirty();
+            }
 
-        Cell currentCell = gameState.getBoard().getCell(pirate.getX(), pirate.getY());
-        if (currentCell != null) currentCell.setPirate(null);
+            if (initial) {
+                pendingFullSnapshot.addAll(clients);
+            }
 
-        if (pirate.getGoldCarrying() > 0) {
-            player.addGoldToScore(pirate.getGoldCarrying());
-            System.out.println("[GameEngine] Игрок " + player.getName() +
-                    " получил " + pirate.getGoldCarrying() + " золота!");
-            pirate.setGoldCarrying(0);
-        }
+            if (!pendingFullSnapshot.isEmpty() && !replaying) {
+                broadcast(pendingFullSnapshot, buildFullStateMessage(uses(pendingFullSnapshot, WireFormat.BINARY)));
+                ServerMetrics.FULL_STATES_SENT.increment();
+            }
 
-        Cell beachCell = gameState.getBoard().getCell(beachX, beachY);
-        if (beachCell != null) {
-            beachCell.reveal();
-            beachCell.makeVisible();
+            if (changed && !initial && !replaying) {
+                List<ClientConnection> deltaRecipients = new ArrayList<>(clients.size());
+                for (ClientConnection client : clients) {
+                    if (!pendingFullSnapshot.contains(client)) {
+                        deltaRecipients.add(client);
+                    }
+                }
+                GameMessage deltaMessage = buildDeltaStateMessage(changedCells, changedCount, playersChanged,
+                        uses(deltaRecipients, WireFormat.BINARY));
+                rememberDelta(deltaMessage);
+                broadcast(deltaRecipients, deltaMessage);
+                ServerMetrics.DELTAS_SENT.increment();
+            } else if (changed) {
+                deltaHistory.clear();
+            }
 
-            beachCell.setPirate(pirate);
-            pirate.setX(beachX);
-            pirate.setY(beachY);
-            System.out.println("[GameEngine] На пляж (" + beachX + "," + beachY + ")");
+            pendingFullSnapshot.clear();
+            lastCellSignatures = cellSignatures;
+            lastHeaderSignature = headerSignature;
+            lastPlayersSignature = playersSignature;
+            if (log.isDebugEnabled()) {
+                log.debug("GAME_STATE v{} отправлено, изменено клеток: {}", stateVersion, changedCount);
+            }
+        } catch (Exception e) {
+            log.error("Ошибка broadcastGameState", e);
         }
+        ServerMetrics.BROADCAST_TIME.recordSince(startNanos);
     }
 
-    private void pushPirate(Pirate pirate, Direction dir, Player player) {
-        int newX = pirate.getX();
-        int newY = pirate.getY();
-
-        switch (dir) {
-            case UP: newY--; break;
-            case DOWN: newY++; break;
-            case LEFT: newX--; break;
-            case RIGHT: newX++; break;
-            default: return;
+    private void broadcast(Collection<ClientConnection> recipients, GameMessage message) {
+        if (recipients.isEmpty() || replaying) return;
+        OutboundFrame[] frames = new OutboundFrame[WIRE_FORMATS.length];
+        try {
+            for (ClientConnection client : recipients) {
+                try {
+                    int format = client.getWireFormat().ordinal();
+                    if (frames[format] == null) {
+                        frames[format] = OutboundFrame.encode(message, WIRE_FORMATS[format]);
+                    }
+                    client.sendFrame(frames[format]);
+                } catch (Exception e) {
+                    log.warn("Ошибка отправки: {}", e.getMessage());
+                }
+            }
+        } finally {
+            for (OutboundFrame frame : frames) {
+                if (frame != null) frame.release();
+            }
         }
+    }
 
-        if (newX < 0 || newX >= GameConfig.BOARD_WIDTH || newY < 0 || newY >= GameConfig.BOARD_HEIGHT) {
-            System.out.println("[GameEngine] За край!");
-            return;
+    private void rememberDelta(GameMessage deltaMessage) {
+        if (deltaHistorySize <= 0) return;
+        if (deltaHistory.size() >= deltaHistorySize) {
+            deltaHistory.pollFirst();
         }
+        deltaHistory.addLast(new SentDelta(stateVersion - 1, stateVersion, deltaMessage));
+    }
 
-        Cell targetCell = gameState.getBoard().getCell(newX, newY);
-        if (targetCell == null) return;
-
-        if (!targetCell.isRevealed()) {
-            targetCell.reveal();
-            targetCell.makeVisible();
+    private GameMessage buildFullStateMessage(boolean binary) {
+        Map<Integer, List<Move>> legalMoves = rules.currentLegalMoves();
+        GameMessage stateMessage = new GameMessage();
+        stateMessage.setType(MessageType.GAME_STATE);
+        stateMessage.setData(GameStateWriter.writeFullState(gameState, stateVersion, legalMoves));
+        if (binary) {
+            stateMessage.setBinaryData(GameStateBinaryWriter.writeFullState(gameState, stateVersion, legalMoves));
         }
+        return stateMessage;
+    }
 
-        if (targetCell.hasPirate() && !isSameTeam(targetCell.getPirate(), player)) {
-            handleCombat(pirate, targetCell.getPirate(), targetCell, player);
-            return;
+    private GameMessage buildDeltaStateMessage(int[] changedCells, int changedCount, boolean playersChanged,
+                                               boolean binary) {
+        Map<Integer, List<Move>> legalMoves = rules.currentLegalMoves();
+        GameMessage deltaMessage = new GameMessage();
+        deltaMessage.setType(MessageType.GAME_STATE_DELTA);
+        deltaMessage.setData(GameStateWriter.writeDelta(gameState, stateVersion, changedCells, changedCount,
+                playersChanged, legalMoves));
+        if (binary) {
+            deltaMessage.setBinaryData(GameStateBinaryWriter.writeDelta(gameState, stateVersion, changedCells,
+                    changedCount, playersChanged, legalMoves));
         }
+        return deltaMessage;
+    }
 
-        if (!targetCell.isWalkable(pirate.getGoldCarrying() > 0)) {
-            returnPirateToShip(pirate, player);
-            return;
+    private static boolean uses(Collection<ClientConnection> recipients, WireFormat format) {
+        for (ClientConnection client : recipients) {
+            if (client.getWireFormat() == format) {
+                return true;
+            }
         }
-
-        Cell currentCell = gameState.getBoard().getCell(pirate.getX(), pirate.getY());
-        if (currentCell != null) currentCell.setPirate(null);
-
-        targetCell.setPirate(pirate);
-        pirate.setX(newX);
-        pirate.setY(newY);
-        System.out.println("[GameEngine] Толкнут в (" + newX + "," + newY + ")");
-
-        handleCellEffects(targetCell, pirate, player);
+        return false;
     }
 
-    private boolean isValidMove(Pirate pirate, int toX, int toY) {
-        if (toX < 0 || toX >= GameConfig.BOARD_WIDTH || toY < 0 || toY >= GameConfig.BOARD_HEIGHT) return false;
-        int distance = Math.abs(pirate.getX() - toX) + Math.abs(pirate.getY() - toY);
-        return distance <= 1;
+    private long[] buildCellSignatures(Board board) {
+        long[] signatures = new long[board.getWidth() * board.getHeight()];
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                signatures[y * board.getWidth() + x] = cellSignature(board.getCell(x, y));
+            }
+        }
+        return signatures;
     }
 
-    private boolean handleCombat(Pirate attacker, Pirate defender, Cell cell, Player attackerPlayer) {
-        Player defenderPlayer = getPiratePlayer(defender);
-
-        if (defenderPlayer != null && defenderPlayer.getId().equals(attackerPlayer.getId())) {
-            System.out.println("[GameEngine] Это союзник! Боя нет.");
-            return true;
+    private long cellSignature(Cell cell) {
+        if (cell == null) return -1;
+        long signature = 0;
+        if (cell.isRevealed()) {
+            signature |= 1;
+            signature |= (long) (cell.getType().ordinal() + 1) << 1;
+            signature |= (long) (cell.getContent().ordinal() + 1) << 5;
+            if (cell.hasGold()) {
+                signature |= (long) (cell.getGold().getAmount() + 1) << 30;
+            }
         }
+        if (cell.hasPirate()) {
+            signature |= (long) ((cell.getPirate().getId() + 1) & 0xFFFFF) << 10;
+            signature |= (long) (seatOf(cell.getPirate().getOwnerId()) + 1) << 50;
+        }
+        return signature;
+    }
 
-        System.out.println("[GameEngine] БОЙ! " + attacker.getId() + " vs " + defender.getId());
-
-        if (random.nextBoolean()) {
-            System.out.println("[GameEngine] Победитель атакующий");
-            if (defenderPlayer != null) {
-                returnPirateToShip(defender, defenderPlayer);
+    private int seatOf(String playerId) {
+        List<Player> players = gameState.getPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).getId().equals(playerId)) {
+                return i;
             }
-            return true;
-        } else {
-            System.out.println("[GameEngine] Победитель защищающийся");
-            return false;
         }
+        return -1;
     }
 
-    private Player getPiratePlayer(Pirate pirate) {
+    private String buildHeaderSignature() {
+        return gameState.isGameStarted() + "|" + gameState.isGameFinished() + "|" +
+                gameState.getCurrentPlayerId() + "|" + gameState.getTurnNumber();
+    }
+
+    private String buildPlayersSignature() {
+        StringBuilder signature = new StringBuilder();
         for (Player player : gameState.getPlayers()) {
-            if (player.getPirates().contains(pirate)) return player;
+            signature.append(player.getId()).append('|')
+                    .append(player.getName()).append('|')
+                    .append(player.isReady()).append('|')
+                    .append(player.getScore()).append(';');
         }
-        return null;
+        return signature.toString();
     }
 
-    private boolean isSameTeam(Pirate pirate, Player player) {
-        return player.getPirates().contains(pirate);
+    public void broadcastMessage(GameMessage message) {
+        broadcast(clients, message);
     }
 
-    private void nextTurn() {
-        List<Player> players = gameState.getPlayers();
-        if (players.isEmpty()) return;
+    private void rejectJoin(ClientConnection client, String errorMsg) {
+        sendError(client, errorMsg);
+        client.joinRejected(this);
+    }
 
-        int currentIndex = -1;
-        String currentPlayerId = gameState.getCurrentPlayerId();
+    private void sendError(ClientConnection client, String errorMsg) {
+        GameMessage errorMessage = new GameMessage();
+        errorMessage.setType(MessageType.ERROR);
+        errorMessage.setData("{\"error\": \"" + errorMsg + "\"}");
+        client.sendMessage(errorMessage);
+    }
 
-        for (int i = 0; i < players.size(); i++) {
-            if (players.get(i).getId().equals(currentPlayerId)) {
-                currentIndex = i;
-                break;
+    public void onClientDisconnect(ClientConnection client) {
+        if (client.isSpectator()) {
+            spectators.remove(client);
+            return;
+        }
+        clients.remove(client);
+        pendingFullSnapshot.remove(client);
+        String playerId = client.getPlayerId();
+        PlayerSession session = playerId != null ? sessions.get(playerId) : null;
+        if (session != null && !replaying && sessionGraceMs > 0) {
+            if (session.connection == client) {
+                suspendSession(playerId, session);
             }
+            return;
         }
-
-        int nextIndex = (currentIndex + 1) % players.size();
-        gameState.setCurrentPlayerId(players.get(nextIndex).getId());
-        gameState.nextTurn();
+        removePlayer(playerId);
     }
 
-    private void startGame() {
-        gameState.setGameStarted(true);
-        gameState.resetTurns();
-        if (!gameState.getPlayers().isEmpty()) {
-            gameState.setCurrentPlayerId(gameState.getPlayers().get(0).getId());
+    private void suspendSession(String playerId, PlayerSession session) {
+        session.connection = null;
+        session.disconnectedAt = System.currentTimeMillis();
+        suspendedSessions.incrementAndGet();
+        Player player = getPlayer(playerId);
+        if (player != null) {
+            log.info("Потеряно соединение: {}, ждем {} мс", player.getName(), sessionGraceMs);
+            broadcastLog(player.getName() + " потерял соединение");
         }
     }
 
-    private boolean allPlayersReady() {
-        if (gameState.getPlayers().size() < 2) return false;
-        return gameState.getPlayers().stream().allMatch(Player::isReady);
-    }
-
-    private void initializePlayerPirates(Player player) {
-        for (int i = 1; i <= 3; i++) {
-            Pirate pirate = new Pirate(i, 0, 0);
-            player.addPirate(pirate);
+    private void expireSessions(long now) {
+        List<String> expired = new ArrayList<>();
+        for (Map.Entry<String, PlayerSession> entry : sessions.entrySet()) {
+            PlayerSession session = entry.getValue();
+            if (session.connection == null && now - session.disconnectedAt >= sessionGraceMs) {
+                expired.add(entry.getKey());
+            }
+        }
+        for (String playerId : expired) {
+            ServerMetrics.SESSIONS_EXPIRED.increment();
+            removePlayer(playerId);
+        }
+        if (!expired.isEmpty()) {
+            lastActivityTime = now;
         }
     }
 
-    private Player getPlayer(String playerId) {
-        return gameState.getPlayers().stream()
-                .filter(p -> p.getId().equals(playerId))
-                .findFirst()
-                .orElse(null);
-    }
-
-    private void checkGameEnd() {
-        for (Player player : gameState.getPlayers()) {
-            if (player.getScore() >= GameConfig.WINNING_SCORE) {
-                gameState.setGameFinished(true);
-                gameState.setWinnerPlayerId(player.getId());
-                Player winner = gameState.getWinner();
-                System.out.println("[GameEngine] ПОБЕДИТЕЛЬ: " + winner.getName() + " (" + winner.getScore() + " золота)");
-                broadcastGameEnd(winner);
-                break;
-            }
+    private void removePlayer(String playerId) {
+        Player player = getPlayer(playerId);
+        if (player != null) {
+            acceptCommand(GameEventType.PLAYER_LEFT, player.getId(), null);
+            rules.removePlayer(player);
+            log.info("Отключен: {}", player.getName());
         }
+        PlayerSession session = playerId != null ? sessions.remove(playerId) : null;
+        if (session != null && session.connection == null) {
+            suspendedSessions.decrementAndGet();
+        }
+        broadcastGameState();
+        commitEvent();
     }
 
-    private void broadcastGameEnd(Player winner) {
-        GameMessage endMessage = new GameMessage();
-        endMessage.setType(MessageType.GAME_END);
-        endMessage.setData(gson.toJson(new GameEndData(winner.getId(), winner.getName(), winner.getScore())));
+    private void handleEndTurn(String playerId) {
+        Player player = getPlayer(playerId);
+        if (player == null) return;
 
-        for (ClientHandler client : clients) {
-            client.sendMessage(endMessage);
-        }
+        log.debug("Конец хода: {}", player.getName());
+        rules.endTurn(player);
+        broadcastGameState();
     }
 
-    private void broadcastGameState() {
+    public void apply(GameEvent event, ClientConnection connection) {
+        replayOutcomes = event.getOutcomes() != null ? event.getOutcomes().iterator() : null;
+        replaying = true;
         try {
-            JsonObject stateJson = new JsonObject();
-            stateJson.addProperty("gameStarted", gameState.isGameStarted());
-            stateJson.addProperty("gameFinished", gameState.isGameFinished());
-            stateJson.addProperty("currentPlayerId", gameState.getCurrentPlayerId());
-            stateJson.addProperty("turnNumber", gameState.getTurnNumber());
-
-            String[][] boardData = buildBoardJson();
-            JsonArray boardArray = new JsonArray();
-            for (String[] row : boardData) {
-                JsonArray rowArray = new JsonArray();
-                for (String cellJson : row) {
-                    rowArray.add(gson.toJsonTree(gson.fromJson(cellJson, Object.class)));
+            switch (event.getType()) {
+                case PLAYER_JOINED -> processMessage(
+                        new GameMessage(MessageType.PLAYER_JOIN, event.getPlayerId(), event.getData()), connection);
+                case PLAYER_READY -> processMessage(
+                        new GameMessage(MessageType.PLAYER_READY, event.getPlayerId(), event.getData()), connection);
+                case GAME_STARTED, PLAYER_ACTION -> processMessage(
+                        new GameMessage(MessageType.PLAYER_ACTION, event.getPlayerId(), event.getData()), connection);
+                case PLAYER_LEFT -> onClientDisconnect(connection);
+                case BOT_JOINED -> {
+                    acceptCommand(GameEventType.BOT_JOINED, event.getPlayerId(), event.getData());
+                    addBot(event.getPlayerId(), gson.fromJson(event.getData(), PlayerJoinData.class));
+                    commitEvent();
                 }
-                boardArray.add(rowArray);
-            }
-            stateJson.add("board", boardArray);
-
-            JsonArray playersArray = new JsonArray();
-            for (Player player : gameState.getPlayers()) {
-                JsonObject playerJson = new JsonObject();
-                playerJson.addProperty("id", player.getId());
-                playerJson.addProperty("name", player.getName());
-                playerJson.addProperty("ready", player.isReady());
-                playerJson.addProperty("score", player.getScore());
-                playersArray.add(playerJson);
-            }
-            stateJson.add("players", playersArray);
-
-            GameMessage stateMessage = new GameMessage();
-            stateMessage.setType(MessageType.GAME_STATE);
-            stateMessage.setData(gson.toJson(stateJson));
-
-            for (ClientHandler client : clients) {
-                try {
-                    client.sendMessage(stateMessage);
-                } catch (Exception e) {
-                    System.err.println("[GameEngine] Ошибка отправки: " + e.getMessage());
+                default -> {
                 }
             }
-            System.out.println("[GameEngine] GAME_STATE отправлено");
-        } catch (Exception e) {
-            System.err.println("[GameEngine] Ошибка broadcastGameState: ");
-            e.printStackTrace();
+        } finally {
+            replayOutcomes = null;
+            replaying = false;
         }
     }
 
-    public void broadcastMessage(GameMessage message) {
-        for (ClientHandler client : clients) {
-            client.sendMessage(message);
-        }
+    public List<GameEvent> getEvents() {
+        return eventLog.readAll();
     }
 
-    private void sendError(ClientHandler client, String errorMsg) {
-        GameMessage errorMessage = new GameMessage();
-        errorMessage.setType(MessageType.ERROR);
-        errorMessage.setData("{\"error\": \"" + errorMsg + "\"}");
-        client.sendMessage(errorMessage);
+    public void close() {
+        eventLog.close();
     }
 
-    private String buildGameStateJson() {
-        GameStateDto dto = new GameStateDto();
-
-        for (Player player : gameState.getPlayers()) {
-            PlayerDto playerDto = new PlayerDto();
-            playerDto.setId(player.getId());
-            playerDto.setName(player.getName());
-            playerDto.setReady(player.isReady());
-            playerDto.setScore(player.getScore());
-            dto.getPlayers().add(playerDto);
-        }
-
-        dto.setCurrentPlayerId(gameState.getCurrentPlayerId());
-        dto.setTurnNumber(gameState.getTurnNumber());
-        dto.setBoard(buildBoardJson());
-
-        return gson.toJson(dto);
+    public void evict() {
+        eventLog.discard();
     }
 
-    private String[][] buildBoardJson() {
-        Board board = gameState.getBoard();
-        String[][] result = new String[board.getHeight()][board.getWidth()];
+    long getRandomState() {
+        return random.getState();
+    }
 
-        for (int y = 0; y < board.getHeight(); y++) {
-            for (int x = 0; x < board.getWidth(); x++) {
-                Cell cell = board.getCell(x, y);
-                result[y][x] = cellToJson(cell);
-            }
-        }
+    Map<String, Integer> getPlayerSeats() {
+        return playerSeats;
+    }
 
-        return result;
+    Map<String, String> getSessionTokens() {
+        Map<String, String> tokens = new HashMap<>();
+        sessions.forEach((playerId, session) -> tokens.put(playerId, session.token));
+        return tokens;
     }
 
-    private String cellToJson(Cell cell) {
-        if (cell == null) return "{}";
+    void restore(GameState state, Map<String, Integer> seats, Map<String, String> sessionTokens,
+                 long version, long sequence, long randomState) {
+        this.gameState = state;
+        this.playerSeats = new HashMap<>(seats);
+        this.rules = createRules();
+        this.sessions.clear();
+        sessionTokens.forEach((playerId, token) -> sessions.put(playerId, new PlayerSession(token, null)));
+        this.stateVersion = version;
+        this.eventSequence = sequence;
+        this.random.setState(randomState);
+        this.lastCellSignatures = null;
+    }
 
-        CellDto dto = new CellDto();
+    void resumeLogging(GameEventLog eventLog) {
+        this.eventLog = eventLog;
+    }
 
-        if (!cell.isRevealed()) {
-            dto.setType("HIDDEN");
-        } else {
-            dto.setType(cell.getType().name());
-            dto.setContent(cell.getContent().name());
+    void suspendSessions() {
+        long now = System.currentTimeMillis();
+        clients.clear();
+        pendingFullSnapshot.clear();
+        for (PlayerSession session : sessions.values()) {
+            session.connection = null;
+            session.disconnectedAt = now;
         }
+        suspendedSessions.set(sessions.size());
+    }
 
-        if (cell.hasPirate()) {
-            PirateDto pirateDto = new PirateDto();
-            pirateDto.setId(String.valueOf(cell.getPirate().getId()));
-            dto.setPirate(pirateDto);
-        }
+    private void acceptCommand(GameEventType type, String playerId, String data) {
+        currentEvent = new GameEvent(eventSequence++, gameState.getTurnNumber(), type, playerId, data,
+                System.currentTimeMillis());
+    }
 
-        if (cell.isRevealed() && cell.hasGold()) {
-            GoldDto goldDto = new GoldDto();
-            goldDto.setAmount(cell.getGold().getAmount());
-            dto.setGold(goldDto);
+    private void commitEvent() {
+        if (currentEvent == null) {
+            return;
         }
-
-        return gson.toJson(dto);
+        eventLog.append(currentEvent);
+        int interval = eventLog.getSnapshotInterval();
+        if (interval > 0 && eventSequence % interval == 0) {
+            eventLog.appendSnapshot(currentEvent.getSequence(), GameSnapshot.write(this));
+        }
+        currentEvent = null;
     }
 
-    public void onClientDisconnect(ClientHandler client) {
-        if (client.getPlayerId() != null) {
-            Player player = getPlayer(client.getPlayerId());
-            if (player != null) {
-                gameState.getPlayers().remove(player);
-                playerBeaches.remove(player.getId());
-                System.out.println("[GameEngine] Отключен: " + player.getName());
-            }
+    private boolean rollCombat() {
+        boolean outcome = random.nextBoolean();
+        if (replayOutcomes != null && replayOutcomes.hasNext()) {
+            outcome = replayOutcomes.next();
         }
-        clients.remove(client);
-        broadcastGameState();
+        if (currentEvent != null) {
+            currentEvent.addOutcome(outcome);
+        }
+        return outcome;
     }
 
-    private void handleEndTurn(String playerId) {
-        Player player = getPlayer(playerId);
-        if (player == null) return;
+    private void broadcastLog(String message) {
+        GameMessage logMessage = new GameMessage();
+        logMessage.setType(MessageType.CHAT_MESSAGE);
+        logMessage.setData("{\"message\": \"[GAME] " + message + "\"}");
 
-        System.out.println("[GameEngine] Конец хода: " + player.getName());
+        broadcast(clients, logMessage);
+    }
 
-        for (Pirate pirate : player.getPirates()) {
-            if (pirate.getGoldCarrying() > 0) {
-                int goldAmount = pirate.getGoldCarrying();
-                player.addGoldToScore(goldAmount);
-                pirate.setGoldCarrying(0);
+    private static class PlayerSession {
+        private final String token;
+        private ClientConnection connection;
+        private long disconnectedAt;
 
-                System.out.println("[GameEngine] " + player.getName() +
-                        " вернулся с " + goldAmount + " золота!");
-                broadcastLog("🏁 " + player.getName() + " вернулся на корабль с " +
-                        goldAmount + " золота! Счет: " + player.getScore());
-            }
+        private PlayerSession(String token, ClientConnection connection) {
+            this.token = token;
+            this.connection = connection;
         }
+    }
 
-        nextTurn();
-        broadcastGameState();
+    private static class SentDelta {
+        private final long baseVersion;
+        private final long version;
+        private final GameMessage message;
+
+        private SentDelta(long baseVersion, long version, GameMessage message) {
+            this.baseVersion = baseVersion;
+            this.version = version;
+            this.message = message;
+        }
     }
 
-    private void broadcastLog(String message) {
-        GameMessage logMessage = new GameMessage();
-        logMessage.setType(MessageType.CHAT_MESSAGE);
-        logMessage.setData("{\"message\": \"[GAME] " + message + "\"}");
+    private static class MailboxTask {
+        private final Runnable action;
+        private final long enqueuedNanos;
 
-        for (ClientHandler client : clients) {
-            client.sendMessage(logMessage);
+        private MailboxTask(Runnable action, long enqueuedNanos) {
+            this.action = action;
+            this.enqueuedNanos = enqueuedNanos;
         }
     }
 }
@@ -0,0 +1,51 @@
+package ru.kpfu.itis.jackal.game;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+public class GameEvent {
+
+    private final long sequence;
+    private final int turn;
+    private final GameEventType type;
+    private final String playerId;
+    private final String data;
+    private final long timestamp;
+    private List<Boolean> outcomes;
+
+    public GameEvent(long sequence, int turn, GameEventType type, String playerId, String data, long timestamp) {
+        this.sequence = sequence;
+        this.turn = turn;
+        this.type = type;
+        this.playerId = playerId;
+        this.data = data;
+        this.timestamp = timestamp;
+    }
+
+    public GameEvent(long sequence, int turn, GameEventType type, String playerId, String data, long timestamp,
+                     List<Boolean> outcomes) {
+        this(sequence, turn, type, playerId, data, timestamp);
+        this.outcomes = outcomes;
+    }
+
+    void addOutcome(boolean outcome) {
+        if (outcomes == null) {
+            outcomes = new ArrayList<>(2);
+        }
+        outcomes.add(outcome);
+    }
+
+    @Override
+    public String toString() {
+        return "GameEvent{" +
+                "sequence=" + sequence +
+                ", turn=" + turn +
+                ", type=" + type +
+                ", playerId='" + playerId + '\'' +
+                ", outcomes=" + outcomes +
+                '}';
+    }
+}
@@ -0,0 +1,26 @@
+package ru.kpfu.itis.jackal.game;
+
+import java.util.List;
+
+public interface GameEventLog {
+
+    void append(GameEvent event);
+
+    default List<GameEvent> readAll() {
+        return List.of();
+    }
+
+    default void appendSnapshot(long sequence, byte[] snapshot) {
+    }
+
+    default int getSnapshotInterval() {
+        return 0;
+    }
+
+    default void discard() {
+        close();
+    }
+
+    default void close() {
+    }
+}
@@ -0,0 +1,11 @@
+package ru.kpfu.itis.jackal.game;
+
+public enum GameEventType {
+    ROOM_CREATED,
+    PLAYER_JOINED,
+    PLAYER_READY,
+    GAME_STARTED,
+    PLAYER_ACTION,
+    PLAYER_LEFT,
+    BOT_JOINED
+}
@@ -0,0 +1,101 @@
+package ru.kpfu.itis.jackal.game;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import ru.kpfu.itis.jackal.common.GameState;
+import ru.kpfu.itis.jackal.common.Player;
+import ru.kpfu.itis.jackal.common.RoomSettings;
+import ru.kpfu.itis.jackal.logging.LogManager;
+import ru.kpfu.itis.jackal.logging.Logger;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+public final class GameReplayer {
+
+    private static final Logger log = LogManager.getLogger(GameReplayer.class);
+    private static final Gson gson = new GsonBuilder().create();
+
+    private GameReplayer() {
+    }
+
+    public static GameEngine replay(List<GameEvent> events) {
+        return replay(events, Integer.MAX_VALUE);
+    }
+
+    public static GameEngine replay(List<GameEvent> events, int turn) {
+        if (events.isEmpty()) {
+            throw new IllegalArgumentException("Журнал должен начинаться с ROOM_CREATED");
+        }
+        GameEngine engine = createEngine(events.get(0), Runnable::run, new MemoryEventLog());
+        applyAll(engine, events.subList(1, events.size()), turn);
+        return engine;
+    }
+
+    public static GameEngine resume(GameEvent header, byte[] snapshot, List<GameEvent> tail,
+                                    Executor eventLoop, GameEventLog eventLog) {
+        GameEngine engine = createEngine(header, eventLoop, event -> {
+        });
+        if (snapshot != null) {
+            GameSnapshot.restore(engine, snapshot);
+        }
+        applyAll(engine, tail, Integer.MAX_VALUE);
+        engine.suspendSessions();
+        engine.resumeLogging(eventLog);
+        return engine;
+    }
+
+    private static GameEngine createEngine(GameEvent header, Executor eventLoop, GameEventLog eventLog) {
+        if (header.getType() != GameEventType.ROOM_CREATED) {
+            throw new IllegalArgumentException("Журнал должен начинаться с ROOM_CREATED");
+        }
+        JsonObject data = JsonParser.parseString(header.getData()).getAsJsonObject();
+        RoomSettings settings = gson.fromJson(data, RoomSettings.class);
+        String roomId = data.has("roomId") ? data.get("roomId").getAsString() : null;
+        return new GameEngine(roomId, settings, eventLoop, eventLog);
+    }
+
+    private static void applyAll(GameEngine engine, List<GameEvent> events, int turn) {
+        Map<String, ReplayConnection> connections = new HashMap<>();
+        for (GameEvent event : events) {
+            if (engine.getGameState().isGameStarted() && event.getTurn() >= turn) {
+                break;
+            }
+            ReplayConnection connection = connections.computeIfAbsent(event.getPlayerId(), id -> {
+                ReplayConnection created = new ReplayConnection();
+                created.setPlayerId(id);
+                return created;
+            });
+            engine.apply(event, connection);
+            if (event.getType() == GameEventType.PLAYER_LEFT) {
+                connections.remove(event.getPlayerId());
+            }
+        }
+    }
+
+    public static GameState stateAt(List<GameEvent> events, int turn) {
+        return replay(events, turn).getGameState();
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            log.error("Использование: GameReplayer <журнал.jsonl> [ход]");
+            return;
+        }
+        List<GameEvent> events = FileEventLog.read(Path.of(args[0]));
+        int turn = args.length > 1 ? Integer.parseInt(args[1]) : Integer.MAX_VALUE;
+        long startNanos = System.nanoTime();
+        GameEngine engine = replay(events, turn);
+        GameState state = engine.getGameState();
+        log.info("Воспроизведено {} событий за {} мс", events.size(), (System.nanoTime() - startNanos) / 1_000_000);
+        log.info("seed={}, ход {}", engine.getSeed(), state.getTurnNumber());
+        for (Player player : state.getPlayers()) {
+            log.info("{} ({}): {} золота", player.getName(), player.getTeamColor(), player.getScore());
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package ru.kpfu.itis.jackal.game;
+
+import lombok.Getter;
+import ru.kpfu.itis.jackal.common.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+public class GameRules {
+
+    @Getter
+    private final GameState state;
+    private final int[][] beachPositions;
+    private final Map<String, Integer> playerSeats;
+    @Getter
+    private final int winningScore;
+    private final BooleanSupplier combatRoll;
+    private final Consumer<String> announcer;
+    @Getter
+    private final MoveGenerator moves;
+    private final ArrowTable arrows;
+
+    public GameRules(GameState state, int[][] beachPositions, int winningScore, RandomGenerator random) {
+        this(state, beachPositions, new HashMap<>(), winningScore, random::nextBoolean, null);
+    }
+
+    GameRules(GameState state, int[][] beachPositions, Map<String, Integer> playerSeats, int winningScore,
+              BooleanSupplier combatRoll, Consumer<String> announcer) {
+        this.state = state;
+        this.beachPositions = beachPositions;
+        this.playerSeats = playerSeats;
+        this.winningScore = winningScore;
+        this.combatRoll = combatRoll;
+        this.announcer = announcer;
+        this.moves = new MoveGenerator(this);
+        this.arrows = new ArrowTable(state.getBoard());
+    }
+
+    public static GameState newGame(RoomSettings settings, BoardGenerator generator, RandomGenerator random) {
+        Board board = BoardBackend.fromConfig().createBoard(settings.getWidth(), settings.getHeight());
+        generator.generate(board, settings.beachPositions(), random);
+        GameState state = new GameState();
+        state.setBoard(board);
+        state.setMaxPlayers(settings.getMaxPlayers());
+        return state;
+    }
+
+    public void addPlayer(Player player) {
+        moves.invalidate();
+        for (int i = 1; i <= GameConfig.PIRATES_PER_PLAYER; i++) {
+            player.addPirate(new Pirate(i, 0, 0));
+        }
+        state.addPlayer(player);
+        seatPlayer(player);
+    }
+
+    public void removePlayer(Player player) {
+        moves.invalidate();
+        moves.forget(player);
+        state.getPlayers().remove(player);
+        playerSeats.remove(player.getId());
+    }
+
+    public Integer getSeat(String playerId) {
+        return playerSeats.get(playerId);
+    }
+
+    public int[] getShipPosition(String playerId) {
+        Integer seat = playerSeats.get(playerId);
+        return seat != null ? beachPositions[seat] : null;
+    }
+
+    public void startGame() {
+        state.setGameStarted(true);
+        state.resetTurns();
+        if (!state.getPlayers().isEmpty()) {
+            state.setCurrentPlayerId(state.getPlayers().get(0).getId());
+        }
+    }
+
+    public boolean play(String playerId, Move move) {
+        if (!state.isGameStarted() || state.isGameFinished() || !playerId.equals(state.getCurrentPlayerId())) {
+            return false;
+        }
+        Player player = findPlayer(playerId);
+        if (player == null) {
+            return false;
+        }
+        if (move.isEndTurn()) {
+            endTurn(player);
+            checkWinner();
+            return true;
+        }
+        if (!move(player, move.pirateId(), move.toX(), move.toY())) {
+            return false;
+        }
+        if (checkWinner() == null) {
+            nextTurn();
+        }
+        return true;
+    }
+
+    public List<Move> legalMoves(Player player) {
+        List<Move> legal = new ArrayList<>();
+        for (Pirate pirate : player.getPirates()) {
+            legal.addAll(moves.movesFor(player, pirate));
+        }
+        legal.add(Move.END_TURN);
+        return legal;
+    }
+
+    public Map<Integer, List<Move>> currentLegalMoves() {
+        if (!state.isGameStarted() || state.isGameFinished()) {
+            return null;
+        }
+        Player player = findPlayer(state.getCurrentPlayerId());
+        return player != null ? moves.movesByPirate(player) : null;
+    }
+
+    public boolean move(Player player, int pirateId, int toX, int toY) {
+        Pirate pirate = player.getPirate(pirateId);
+        if (pirate == null) return false;
+
+        if (!moves.isLegal(player, pirate, toX, toY)) return false;
+        moves.invalidate();
+
+        Board board = state.getBoard();
+        Cell fromCell = board.getCell(pirate.getX(), pirate.getY());
+        Cell toCell = board.getCell(toX, toY);
+
+        if (fromCell == null || toCell == null) return false;
+
+        reveal(toCell);
+
+        if (toCell.hasPirate() && !isSameTeam(toCell.getPirate(), player)) {
+            boolean combatResult = handleCombat(pirate, toCell.getPirate(), player);
+            if (!combatResult) return false;
+        }
+
+        fromCell.setPirate(null);
+        toCell.setPirate(pirate);
+        pirate.setX(toX);
+        pirate.setY(toY);
+
+        handleCellEffects(toCell, pirate, player);
+        return true;
+    }
+
+    public void endTurn(Player player) {
+        moves.invalidate();
+        for (Pirate pirate : player.getPirates()) {
+            if (pirate.getGoldCarrying() > 0) {
+                int goldAmount = pirate.getGoldCarrying();
+                player.addGoldToScore(goldAmount);
+                pirate.setGoldCarrying(0);
+
+                if (announcer != null) {
+                    announcer.accept("🏁 " + player.getName() + " вернулся на корабль с " +
+                            goldAmount + " золота! Счет: " + player.getScore());
+                }
+            }
+        }
+
+        nextTurn();
+    }
+
+    public Player checkWinner() {
+        for (Player player : state.getPlayers()) {
+            if (player.getScore() >= winningScore) {
+                state.setGameFinished(true);
+                state.setWinnerPlayerId(player.getId());
+                return player;
+            }
+        }
+        return null;
+    }
+
+    public void nextTurn() {
+        List<Player> players = state.getPlayers();
+        if (players.isEmpty()) return;
+
+        int currentIndex = -1;
+        String currentPlayerId = state.getCurrentPlayerId();
+
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).getId().equals(currentPlayerId)) {
+                currentIndex = i;
+                break;
+            }
+        }
+
+        int nextIndex = (currentIndex + 1) % players.size();
+        state.setCurrentPlayerId(players.get(nextIndex).getId());
+        state.nextTurn();
+    }
+
+    private void seatPlayer(Player player) {
+        int seat = findFreeSeat();
+        if (seat < 0) return;
+
+        playerSeats.put(player.getId(), seat);
+        int beachX = beachPositions[seat][0];
+        int beachY = beachPositions[seat][1];
+
+        for (Pirate pirate : player.getPirates()) {
+            pirate.setX(beachX);
+            pirate.setY(beachY);
+
+            Cell beachCell = state.getBoard().getCell(beachX, beachY);
+            if (beachCell != null) {
+                beachCell.setPirate(pirate);
+            }
+        }
+    }
+
+    private int findFreeSeat() {
+        for (int seat = 0; seat < beachPositions.length; seat++) {
+            if (!playerSeats.containsValue(seat)) return seat;
+        }
+        return -1;
+    }
+
+    private void handleCellEffects(Cell cell, Pirate pirate, Player player) {
+        if (cell == null) return;
+
+        if (cell.hasTrap()) {
+            returnPirateToShip(pirate, player);
+            return;
+        }
+
+        if (cell.hasArrow()) {
+            followArrows(pirate, player);
+            return;
+        }
+
+        if (cell.getType() == CellType.BEACH && pirate.getGoldCarrying() > 0) {
+            int goldAmount = pirate.getGoldCarrying();
+            player.addGoldToScore(goldAmount);
+            pirate.setGoldCarrying(0);
+
+            if (announcer != null) {
+                announcer.accept(player.getName() + " сдал " + goldAmount +
+                        " золота на корабль! Счет: " + player.getScore());
+            }
+            return;
+        }
+
+        if (cell.canCollectGold() && pirate.getGoldCarrying() == 0) {
+            int amount = cell.getGoldAmount();
+            pirate.setGoldCarrying(amount);
+            cell.setContent(CellContent.EMPTY);
+
+            if (announcer != null) {
+                announcer.accept(player.getName() + " нашел " + amount + " золота!");
+            }
+        } else if (pirate.getGoldCarrying() > 0 && announcer != null) {
+            announcer.accept(player.getName() + " уже несёт " + pirate.getGoldCarrying() + " золота!");
+        }
+    }
+
+    private void returnPirateToShip(Pirate pirate, Player player) {
+        Integer seat = playerSeats.get(player.getId());
+        if (seat == null) return;
+
+        int beachX = beachPositions[seat][0];
+        int beachY = beachPositions[seat][1];
+
+        Board board = state.getBoard();
+        Cell currentCell = board.getCell(pirate.getX(), pirate.getY());
+        if (currentCell != null) currentCell.setPirate(null);
+
+        if (pirate.getGoldCarrying() > 0) {
+            player.addGoldToScore(pirate.getGoldCarrying());
+            pirate.setGoldCarrying(0);
+        }
+
+        Cell beachCell = board.getCell(beachX, beachY);
+        if (beachCell != null) {
+            reveal(beachCell);
+
+            beachCell.setPirate(pirate);
+            pirate.setX(beachX);
+            pirate.setY(beachY);
+        }
+    }
+
+    private void followArrows(Pirate pirate, Player player) {
+        Board board = state.getBoard();
+        int start = arrows.index(pirate.getX(), pirate.getY());
+        while (true) {
+            int outcome = arrows.resolve(start);
+            int lastArrow = arrows.getLastArrow(start);
+            int exit = arrows.getExit(start);
+            switch (outcome) {
+                case ArrowTable.HIDDEN -> reveal(board.getCell(exit % board.getWidth(), exit / board.getWidth()));
+                case ArrowTable.EDGE -> {
+                    placePirate(pirate, lastArrow % board.getWidth(), lastArrow / board.getWidth());
+                    return;
+                }
+                case ArrowTable.LAND -> {
+                    Cell target = board.getCell(exit % board.getWidth(), exit / board.getWidth());
+                    if (target.hasPirate() && !isSameTeam(target.getPirate(), player)) {
+                        placePirate(pirate, lastArrow % board.getWidth(), lastArrow / board.getWidth());
+                        handleCombat(pirate, target.getPirate(), player);
+                        return;
+                    }
+                    placePirate(pirate, exit % board.getWidth(), exit / board.getWidth());
+                    handleCellEffects(target, pirate, player);
+                    return;
+                }
+                default -> {
+                    returnPirateToShip(pirate, player);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void placePirate(Pirate pirate, int x, int y) {
+        Board board = state.getBoard();
+        Cell currentCell = board.getCell(pirate.getX(), pirate.getY());
+        if (currentCell != null) currentCell.setPirate(null);
+
+        board.getCell(x, y).setPirate(pirate);
+        pirate.setX(x);
+        pirate.setY(y);
+    }
+
+    private void reveal(Cell cell) {
+        if (!cell.isRevealed()) {
+            cell.reveal();
+            cell.makeVisible();
+            arrows.invalidate();
+        }
+    }
+
+    private boolean handleCombat(Pirate attacker, Pirate defender, Player attackerPlayer) {
+        Player defenderPlayer = getPiratePlayer(defender);
+
+        if (defenderPlayer != null && defenderPlayer.getId().equals(attackerPlayer.getId())) {
+            return true;
+        }
+
+        if (combatRoll.getAsBoolean()) {
+            if (defenderPlayer != null) {
+                returnPirateToShip(defender, defenderPlayer);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private Player getPiratePlayer(Pirate pirate) {
+        for (Player player : state.getPlayers()) {
+            if (player.getPirates().contains(pirate)) return player;
+        }
+        return null;
+    }
+
+    private boolean isSameTeam(Pirate pirate, Player player) {
+        return player.getPirates().contains(pirate);
+    }
+
+    private Player findPlayer(String playerId) {
+        if (playerId == null) return null;
+        for (Player player : state.getPlayers()) {
+            if (player.getId().equals(playerId)) return player;
+        }
+        return null;
+    }
+}
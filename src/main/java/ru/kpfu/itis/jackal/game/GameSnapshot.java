@@ -0,0 +1,174 @@
+package ru.kpfu.itis.jackal.game;
+
+import ru.kpfu.itis.jackal.common.*;
+import ru.kpfu.itis.jackal.network.protocol.BinaryReader;
+import ru.kpfu.itis.jackal.network.protocol.BinaryWriter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class GameSnapshot {
+
+    private static final int VERSION = 3;
+    private static final int REVEALED = 1;
+    private static final int VISIBLE = 1 << 1;
+    private static final CellType[] CELL_TYPES = CellType.values();
+    private static final CellContent[] CELL_CONTENTS = CellContent.values();
+
+    private GameSnapshot() {
+    }
+
+    public static byte[] write(GameEngine engine) {
+        GameState state = engine.getGameState();
+        Board board = state.getBoard();
+        BinaryWriter out = new BinaryWriter(64 + board.getWidth() * board.getHeight() * 4);
+        out.writeByte(VERSION);
+        out.writeVarLong(engine.getEventSequence());
+        out.writeVarLong(engine.getStateVersion());
+        out.writeVarLong(engine.getRandomState());
+
+        out.writeBoolean(state.isGameStarted());
+        out.writeBoolean(state.isGameFinished());
+        out.writeVarInt(state.getTurnNumber());
+        out.writeVarInt(state.getMaxPlayers());
+        out.writeString(state.getCurrentPlayerId());
+        out.writeString(state.getWinnerPlayerId());
+
+        List<Player> players = state.getPlayers();
+        Map<String, Integer> seats = engine.getPlayerSeats();
+        Map<String, String> sessionTokens = engine.getSessionTokens();
+        out.writeVarInt(players.size());
+        for (Player player : players) {
+            out.writeString(player.getId());
+            out.writeString(player.getName());
+            out.writeString(player.getTeamColor());
+            out.writeVarInt(player.getGold());
+            out.writeVarInt(player.getScore());
+            out.writeBoolean(player.isReady());
+            out.writeBoolean(player.isBot());
+            Integer seat = seats.get(player.getId());
+            out.writeVarInt(seat == null ? 0 : seat + 1);
+            out.writeString(sessionTokens.get(player.getId()));
+            out.writeVarInt(player.getPirates().size());
+            for (Pirate pirate : player.getPirates()) {
+                out.writeVarInt(pirate.getId());
+                out.writeVarInt(pirate.getX());
+                out.writeVarInt(pirate.getY());
+                out.writeVarInt(pirate.getGoldCarrying());
+                out.writeBoolean(pirate.isAlive());
+            }
+        }
+
+        out.writeVarInt(board.getWidth());
+        out.writeVarInt(board.getHeight());
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                writeCell(out, board.getCell(x, y), players);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeCell(BinaryWriter out, Cell cell, List<Player> players) {
+        if (cell == null) {
+            out.writeByte(0);
+            return;
+        }
+        out.writeByte(cell.getType().ordinal() + 1);
+        out.writeByte(cell.getContent().ordinal());
+        out.writeByte((cell.isRevealed() ? REVEALED : 0) | (cell.isVisible() ? VISIBLE : 0));
+        out.writeVarInt(cell.hasGold() ? cell.getGold().getAmount() + 1 : 0);
+        Pirate pirate = cell.getPirate();
+        if (pirate == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        for (int i = 0; i < players.size(); i++) {
+            int pirateIndex = players.get(i).getPirates().indexOf(pirate);
+            if (pirateIndex >= 0) {
+                out.writeVarInt(i + 1);
+                out.writeVarInt(pirateIndex);
+                return;
+            }
+        }
+        out.writeVarInt(0);
+    }
+
+    static void restore(GameEngine engine, byte[] snapshot) {
+        BinaryReader in = new BinaryReader(snapshot, 0, snapshot.length);
+        int version = in.readByte();
+        if (version < 1 || version > VERSION) {
+            throw new IllegalArgumentException("Неподдерживаемая версия снимка: " + version);
+        }
+        long eventSequence = in.readVarLong();
+        long stateVersion = in.readVarLong();
+        long randomState = in.readVarLong();
+
+        GameState state = new GameState();
+        state.setGameStarted(in.readBoolean());
+        state.setGameFinished(in.readBoolean());
+        state.setTurnNumber(in.readVarInt());
+        state.setMaxPlayers(in.readVarInt());
+        state.setCurrentPlayerId(in.readString());
+        state.setWinnerPlayerId(in.readString());
+
+        Map<String, Integer> seats = new HashMap<>();
+        Map<String, String> sessionTokens = new HashMap<>();
+        int playerCount = in.readVarInt();
+        for (int i = 0; i < playerCount; i++) {
+            Player player = new Player(in.readString(), in.readString(), in.readString());
+            player.setGold(in.readVarInt());
+            player.setScore(in.readVarInt());
+            player.setReady(in.readBoolean());
+            player.setBot(version >= 3 && in.readBoolean());
+            int seat = in.readVarInt();
+            if (seat > 0) {
+                seats.put(player.getId(), seat - 1);
+            }
+            String sessionToken = version >= 2 ? in.readString() : null;
+            if (sessionToken != null) {
+                sessionTokens.put(player.getId(), sessionToken);
+            }
+            int pirateCount = in.readVarInt();
+            for (int j = 0; j < pirateCount; j++) {
+                Pirate pirate = new Pirate(in.readVarInt(), in.readVarInt(), in.readVarInt());
+                pirate.setGoldCarrying(in.readVarInt());
+                pirate.setAlive(in.readBoolean());
+                player.addPirate(pirate);
+            }
+            state.addPlayer(player);
+        }
+
+        int width = in.readVarInt();
+        int height = in.readVarInt();
+        Board board = BoardBackend.fromConfig().createBoard(width, height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                board.setCell(x, y, readCell(in, x, y, state.getPlayers()));
+            }
+        }
+        state.setBoard(board);
+        engine.restore(state, seats, sessionTokens, stateVersion, eventSequence, randomState);
+    }
+
+    private static Cell readCell(BinaryReader in, int x, int y, List<Player> players) {
+        int type = in.readByte();
+        if (type == 0) {
+            return null;
+        }
+        Cell cell = new Cell(CELL_TYPES[type - 1], CELL_CONTENTS[in.readByte()]);
+        int flags = in.readByte();
+        cell.setRevealed((flags & REVEALED) != 0);
+        cell.setVisible((flags & VISIBLE) != 0);
+        int gold = in.readVarInt();
+        if (gold > 0) {
+            cell.setGold(new Gold(gold - 1, x, y));
+        }
+        int owner = in.readVarInt();
+        if (owner > 0) {
+            cell.setPirate(players.get(owner - 1).getPirates().get(in.readVarInt()));
+        }
+        return cell;
+    }
+}
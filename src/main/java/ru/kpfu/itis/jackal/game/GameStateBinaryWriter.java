@@ -0,0 +1,141 @@
+package ru.kpfu.itis.jackal.game;
+
+import ru.kpfu.itis.jackal.common.*;
+import ru.kpfu.itis.jackal.network.protocol.BinaryWriter;
+
+import java.util.List;
+import java.util.Map;
+
+import static ru.kpfu.itis.jackal.network.protocol.BinaryStateSchema.*;
+
+public final class GameStateBinaryWriter {
+
+    private static final int ESTIMATED_CELL_BYTES = 3;
+
+    private GameStateBinaryWriter() {
+    }
+
+    public static byte[] writeFullState(GameState gameState, long version, Map<Integer, List<Move>> legalMoves) {
+        Board board = gameState.getBoard();
+        BinaryWriter out = new BinaryWriter(128 + board.getWidth() * board.getHeight() * ESTIMATED_CELL_BYTES);
+        writeFullState(out, gameState, version, legalMoves);
+        return out.toByteArray();
+    }
+
+    public static void writeFullState(BinaryWriter out, GameState gameState, long version,
+                                      Map<Integer, List<Move>> legalMoves) {
+        out.writeVarLong(version);
+        writeHeader(out, gameState);
+        out.writeVarInt(gameState.getMaxPlayers() > 0 ? gameState.getMaxPlayers() + 1 : 0);
+
+        Board board = gameState.getBoard();
+        out.writeVarInt(board.getHeight());
+        for (int y = 0; y < board.getHeight(); y++) {
+            out.writeVarInt(board.getWidth());
+            for (int x = 0; x < board.getWidth(); x++) {
+                writeCell(out, board.getCell(x, y), x, y);
+            }
+        }
+        writePlayers(out, gameState);
+        writeLegalMoves(out, legalMoves);
+    }
+
+    public static byte[] writeDelta(GameState gameState, long version, int[] changedCells, int changedCount,
+                                    boolean includePlayers, Map<Integer, List<Move>> legalMoves) {
+        BinaryWriter out = new BinaryWriter(128 + changedCount * (ESTIMATED_CELL_BYTES + 2));
+        out.writeVarLong(version);
+        out.writeSignedVarLong(1);
+        writeHeader(out, gameState);
+
+        Board board = gameState.getBoard();
+        out.writeVarInt(changedCount);
+        for (int i = 0; i < changedCount; i++) {
+            int x = changedCells[i] % board.getWidth();
+            int y = changedCells[i] / board.getWidth();
+            out.writeVarInt(x);
+            out.writeVarInt(y);
+            writeCell(out, board.getCell(x, y), x, y);
+        }
+        if (includePlayers) {
+            writePlayers(out, gameState);
+        } else {
+            out.writeBoolean(false);
+        }
+        writeLegalMoves(out, legalMoves);
+        return out.toByteArray();
+    }
+
+    private static void writeHeader(BinaryWriter out, GameState gameState) {
+        int flags = 0;
+        if (gameState.isGameStarted()) flags |= HEADER_STARTED;
+        if (gameState.isGameFinished()) flags |= HEADER_FINISHED;
+        if (gameState.getCurrentPlayerId() != null) flags |= HEADER_CURRENT_PLAYER;
+        out.writeByte(flags);
+        if (gameState.getCurrentPlayerId() != null) {
+            out.writeId(gameState.getCurrentPlayerId());
+        }
+        out.writeVarInt(gameState.getTurnNumber());
+    }
+
+    private static void writePlayers(BinaryWriter out, GameState gameState) {
+        out.writeBoolean(true);
+        out.writeVarInt(gameState.getPlayers().size());
+        for (Player player : gameState.getPlayers()) {
+            out.writeId(player.getId());
+            out.writeString(player.getName());
+            out.writeBoolean(player.isReady());
+            out.writeSignedVarLong(player.getScore());
+        }
+    }
+
+    private static void writeLegalMoves(BinaryWriter out, Map<Integer, List<Move>> legalMoves) {
+        if (legalMoves == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(legalMoves.size() + 1);
+        for (Map.Entry<Integer, List<Move>> entry : legalMoves.entrySet()) {
+            out.writeVarInt(entry.getKey());
+            out.writeVarInt(entry.getValue().size());
+            for (Move move : entry.getValue()) {
+                out.writeVarInt(move.toX());
+                out.writeVarInt(move.toY());
+            }
+        }
+    }
+
+    private static void writeCell(BinaryWriter out, Cell cell, int x, int y) {
+        if (cell == null) {
+            out.writeVarInt(CELL_TYPE_ABSENT);
+            return;
+        }
+
+        int header = cell.isRevealed()
+                ? (cell.getType().ordinal() + 1) | cell.getContent().ordinal() << CELL_CONTENT_SHIFT
+                : CELL_TYPE_HIDDEN;
+        Pirate pirate = cell.getPirate();
+        if (pirate != null) {
+            header |= CELL_PIRATE;
+            if (pirate.getX() != x || pirate.getY() != y) {
+                header |= CELL_PIRATE_ELSEWHERE;
+            }
+        }
+        boolean gold = cell.isRevealed() && cell.hasGold();
+        if (gold) {
+            header |= CELL_GOLD;
+        }
+
+        out.writeVarInt(header);
+        if (pirate != null) {
+            out.writeVarInt(pirate.getId());
+            out.writeId(pirate.getOwnerId());
+            if ((header & CELL_PIRATE_ELSEWHERE) != 0) {
+                out.writeVarInt(pirate.getX());
+                out.writeVarInt(pirate.getY());
+            }
+        }
+        if (gold) {
+            out.writeVarInt(cell.getGold().getAmount());
+        }
+    }
+}
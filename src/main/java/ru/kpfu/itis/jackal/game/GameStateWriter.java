@@ -0,0 +1,166 @@
+package ru.kpfu.itis.jackal.game;
+
+import com.google.gson.stream.JsonWriter;
+import ru.kpfu.itis.jackal.common.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+public final class GameStateWriter {
+
+    private static final int ESTIMATED_CELL_BYTES = 40;
+
+    private GameStateWriter() {
+    }
+
+    public static String writeFullState(GameState gameState, long version) {
+        return writeFullState(gameState, version, null);
+    }
+
+    public static String writeFullState(GameState gameState, long version, Map<Integer, List<Move>> legalMoves) {
+        Board board = gameState.getBoard();
+        StringWriter buffer = new StringWriter(256 + board.getWidth() * board.getHeight() * ESTIMATED_CELL_BYTES);
+        try {
+            writeFullState(buffer, gameState, version, legalMoves);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toString();
+    }
+
+    public static void writeFullState(Writer target, GameState gameState, long version,
+                                      Map<Integer, List<Move>> legalMoves) throws IOException {
+        JsonWriter out = new JsonWriter(target);
+        out.beginObject();
+        out.name("version").value(version);
+        writeHeader(out, gameState);
+        if (gameState.getMaxPlayers() > 0) {
+            out.name("maxPlayers").value(gameState.getMaxPlayers());
+        }
+
+        Board board = gameState.getBoard();
+        out.name("board").beginArray();
+        for (int y = 0; y < board.getHeight(); y++) {
+            out.beginArray();
+            for (int x = 0; x < board.getWidth(); x++) {
+                out.beginObject();
+                writeCellFields(out, board.getCell(x, y));
+                out.endObject();
+            }
+            out.endArray();
+        }
+        out.endArray();
+
+        writePlayers(out, gameState);
+        writeLegalMoves(out, legalMoves);
+        out.endObject();
+        out.flush();
+    }
+
+    public static String writeDelta(GameState gameState, long version, int[] changedCells, int changedCount,
+                                    boolean includePlayers, Map<Integer, List<Move>> legalMoves) {
+        StringWriter buffer = new StringWriter(256 + changedCount * ESTIMATED_CELL_BYTES);
+        try {
+            JsonWriter out = new JsonWriter(buffer);
+            out.beginObject();
+            out.name("version").value(version);
+            out.name("baseVersion").value(version - 1);
+            writeHeader(out, gameState);
+
+            Board board = gameState.getBoard();
+            out.name("cells").beginArray();
+            for (int i = 0; i < changedCount; i++) {
+                int x = changedCells[i] % board.getWidth();
+                int y = changedCells[i] / board.getWidth();
+                out.beginObject();
+                writeCellFields(out, board.getCell(x, y));
+                out.name("x").value(x);
+                out.name("y").value(y);
+                out.endObject();
+            }
+            out.endArray();
+
+            if (includePlayers) {
+                writePlayers(out, gameState);
+            }
+            writeLegalMoves(out, legalMoves);
+            out.endObject();
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toString();
+    }
+
+    private static void writeHeader(JsonWriter out, GameState gameState) throws IOException {
+        out.name("gameStarted").value(gameState.isGameStarted());
+        out.name("gameFinished").value(gameState.isGameFinished());
+        if (gameState.getCurrentPlayerId() != null) {
+            out.name("currentPlayerId").value(gameState.getCurrentPlayerId());
+        }
+        out.name("turnNumber").value(gameState.getTurnNumber());
+    }
+
+    private static void writePlayers(JsonWriter out, GameState gameState) throws IOException {
+        out.name("players").beginArray();
+        for (Player player : gameState.getPlayers()) {
+            out.beginObject();
+            out.name("id").value(player.getId());
+            out.name("name").value(player.getName());
+            out.name("ready").value(player.isReady());
+            out.name("score").value(player.getScore());
+            out.endObject();
+        }
+        out.endArray();
+    }
+
+    private static void writeLegalMoves(JsonWriter out, Map<Integer, List<Move>> legalMoves) throws IOException {
+        if (legalMoves == null) {
+            return;
+        }
+        out.name("legalMoves").beginObject();
+        for (Map.Entry<Integer, List<Move>> entry : legalMoves.entrySet()) {
+            out.name(String.valueOf(entry.getKey())).beginArray();
+            for (Move move : entry.getValue()) {
+                out.beginArray().value(move.toX()).value(move.toY()).endArray();
+            }
+            out.endArray();
+        }
+        out.endObject();
+    }
+
+    private static void writeCellFields(JsonWriter out, Cell cell) throws IOException {
+        if (cell == null) {
+            return;
+        }
+
+        if (!cell.isRevealed()) {
+            out.name("type").value("HIDDEN");
+        } else {
+            out.name("type").value(cell.getType().name());
+            out.name("content").value(cell.getContent().name());
+        }
+
+        if (cell.hasPirate()) {
+            Pirate pirate = cell.getPirate();
+            out.name("pirate").beginObject();
+            out.name("id").value(String.valueOf(pirate.getId()));
+            if (pirate.getOwnerId() != null) {
+                out.name("owner").value(pirate.getOwnerId());
+            }
+            out.name("x").value(pirate.getX());
+            out.name("y").value(pirate.getY());
+            out.endObject();
+        }
+
+        if (cell.isRevealed() && cell.hasGold()) {
+            out.name("gold").beginObject();
+            out.name("amount").value(cell.getGold().getAmount());
+            out.endObject();
+        }
+    }
+}
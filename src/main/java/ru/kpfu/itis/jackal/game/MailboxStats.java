@@ -0,0 +1,70 @@
+package ru.kpfu.itis.jackal.game;
+
+import ru.kpfu.itis.jackal.metrics.ServerMetrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class MailboxStats {
+
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder totalQueueWaitNanos = new LongAdder();
+    private final LongAdder totalProcessingNanos = new LongAdder();
+    private final AtomicLong maxProcessingNanos = new AtomicLong();
+
+    void onEnqueue() {
+        int current = depth.incrementAndGet();
+        maxDepth.accumulateAndGet(current, Math::max);
+        ServerMetrics.mailboxEnqueued();
+    }
+
+    void onProcessed(long queueWaitNanos, long processingNanos) {
+        depth.decrementAndGet();
+        processed.increment();
+        totalQueueWaitNanos.add(queueWaitNanos);
+        totalProcessingNanos.add(processingNanos);
+        maxProcessingNanos.accumulateAndGet(processingNanos, Math::max);
+        ServerMetrics.mailboxProcessed(queueWaitNanos);
+    }
+
+    public int getDepth() {
+        return depth.get();
+    }
+
+    public int getMaxDepth() {
+        return maxDepth.get();
+    }
+
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+
+    public long getAverageQueueWaitNanos() {
+        long count = processed.sum();
+        return count == 0 ? 0 : totalQueueWaitNanos.sum() / count;
+    }
+
+    public long getAverageProcessingNanos() {
+        long count = processed.sum();
+        return count == 0 ? 0 : totalProcessingNanos.sum() / count;
+    }
+
+    public long getMaxProcessingNanos() {
+        return maxProcessingNanos.get();
+    }
+
+    @Override
+    public String toString() {
+        return "MailboxStats{" +
+                "depth=" + getDepth() +
+                ", maxDepth=" + getMaxDepth() +
+                ", processed=" + getProcessedCount() +
+                ", avgQueueWaitNanos=" + getAverageQueueWaitNanos() +
+                ", avgProcessingNanos=" + getAverageProcessingNanos() +
+                ", maxProcessingNanos=" + getMaxProcessingNanos() +
+                '}';
+    }
+}
@@ -0,0 +1,19 @@
+package ru.kpfu.itis.jackal.game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MemoryEventLog implements GameEventLog {
+
+    private final List<GameEvent> events = new ArrayList<>();
+
+    @Override
+    public synchronized void append(GameEvent event) {
+        events.add(event);
+    }
+
+    @Override
+    public synchronized List<GameEvent> readAll() {
+        return new ArrayList<>(events);
+    }
+}
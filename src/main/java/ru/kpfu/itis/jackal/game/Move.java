@@ -0,0 +1,10 @@
+package ru.kpfu.itis.jackal.game;
+
+public record Move(int pirateId, int toX, int toY) {
+
+    public static final Move END_TURN = new Move(0, -1, -1);
+
+    public boolean isEndTurn() {
+        return pirateId == 0;
+    }
+}
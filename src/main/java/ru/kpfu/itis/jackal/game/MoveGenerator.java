@@ -0,0 +1,98 @@
+package ru.kpfu.itis.jackal.game;
+
+import ru.kpfu.itis.jackal.common.*;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MoveGenerator {
+
+    private static final Direction[] STEPS = Direction.values();
+
+    private final GameRules rules;
+    private final Map<Pirate, CachedMoves> cache = new IdentityHashMap<>();
+    private long boardVersion;
+
+    MoveGenerator(GameRules rules) {
+        this.rules = rules;
+    }
+
+    public void invalidate() {
+        boardVersion++;
+    }
+
+    public void forget(Player player) {
+        for (Pirate pirate : player.getPirates()) {
+            cache.remove(pirate);
+        }
+    }
+
+    public List<Move> movesFor(Player player, Pirate pirate) {
+        CachedMoves cached = cache.get(pirate);
+        if (cached != null && cached.version == boardVersion) {
+            return cached.moves;
+        }
+        List<Move> moves = generate(player, pirate);
+        cache.put(pirate, new CachedMoves(boardVersion, moves));
+        return moves;
+    }
+
+    public Map<Integer, List<Move>> movesByPirate(Player player) {
+        Map<Integer, List<Move>> moves = new LinkedHashMap<>();
+        for (Pirate pirate : player.getPirates()) {
+            moves.put(pirate.getId(), movesFor(player, pirate));
+        }
+        return moves;
+    }
+
+    public boolean isLegal(Player player, Pirate pirate, int toX, int toY) {
+        for (Move move : movesFor(player, pirate)) {
+            if (move.toX() == toX && move.toY() == toY) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Move> generate(Player player, Pirate pirate) {
+        Board board = rules.getState().getBoard();
+        Cell from = board.getCell(pirate.getX(), pirate.getY());
+        if (from == null) {
+            return List.of();
+        }
+        Direction forced = from.isRevealed() ? from.getArrowDirection() : null;
+        int[] ship = rules.getShipPosition(player.getId());
+        boolean carryingGold = pirate.getGoldCarrying() > 0;
+
+        List<Move> moves = new ArrayList<>(STEPS.length);
+        for (Direction step : STEPS) {
+            if (forced != null && step != forced) {
+                continue;
+            }
+            int toX = pirate.getX() + step.getDx();
+            int toY = pirate.getY() + step.getDy();
+            if (!board.isValidPosition(toX, toY)) {
+                continue;
+            }
+            Cell target = board.getCell(toX, toY);
+            if (target == null || !target.isWalkable(carryingGold)) {
+                continue;
+            }
+            boolean ownShip = ship != null && ship[0] == toX && ship[1] == toY;
+            if (target.getType() == CellType.BEACH && !ownShip) {
+                continue;
+            }
+            if (target.hasPirate() && !ownShip && player.getPirates().contains(target.getPirate())) {
+                continue;
+            }
+            moves.add(new Move(pirate.getId(), toX, toY));
+        }
+        return List.copyOf(moves);
+    }
+
+    private record CachedMoves(long version, List<Move> moves) {
+    }
+}
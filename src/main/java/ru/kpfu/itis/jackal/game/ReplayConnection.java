@@ -0,0 +1,15 @@
+package ru.kpfu.itis.jackal.game;
+
+import ru.kpfu.itis.jackal.server.ClientConnection;
+import ru.kpfu.itis.jackal.server.OutboundFrame;
+
+class ReplayConnection extends ClientConnection {
+
+    ReplayConnection() {
+        super(null);
+    }
+
+    @Override
+    public void sendFrame(OutboundFrame frame) {
+    }
+}
@@ -0,0 +1,164 @@
+package ru.kpfu.itis.jackal.game;
+
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.logging.LogManager;
+import ru.kpfu.itis.jackal.logging.Logger;
+import ru.kpfu.itis.jackal.metrics.ServerMetrics;
+import ru.kpfu.itis.jackal.network.protocol.GameMessage;
+import ru.kpfu.itis.jackal.network.protocol.WireFormat;
+import ru.kpfu.itis.jackal.server.ClientConnection;
+import ru.kpfu.itis.jackal.server.OutboundFrame;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SpectatorChannel {
+
+    private static final Logger log = LogManager.getLogger(SpectatorChannel.class);
+    private static final WireFormat[] WIRE_FORMATS = WireFormat.values();
+
+    private final List<Spectator> spectators;
+    private final long minIntervalMs;
+    private final AtomicBoolean dirty;
+    private final AtomicBoolean snapshotRequested;
+    private volatile Snapshot latest;
+    private long lastRequestAt;
+
+    public SpectatorChannel() {
+        this(Long.getLong(GameConfig.SPECTATOR_INTERVAL_PROPERTY, GameConfig.DEFAULT_SPECTATOR_INTERVAL_MS));
+    }
+
+    public SpectatorChannel(long minIntervalMs) {
+        this.spectators = new CopyOnWriteArrayList<>();
+        this.minIntervalMs = minIntervalMs;
+        this.dirty = new AtomicBoolean();
+        this.snapshotRequested = new AtomicBoolean();
+    }
+
+    boolean add(ClientConnection connection) {
+        if (spectators.size() >= GameConfig.MAX_SPECTATORS_PER_ROOM || find(connection) != null) {
+            return false;
+        }
+        spectators.add(new Spectator(connection));
+        dirty.set(true);
+        ServerMetrics.spectatorJoined();
+        return true;
+    }
+
+    boolean remove(ClientConnection connection) {
+        Spectator spectator = find(connection);
+        if (spectator == null || !spectators.remove(spectator)) {
+            return false;
+        }
+        ServerMetrics.spectatorLeft();
+        return true;
+    }
+
+    void resend(ClientConnection connection) {
+        Spectator spectator = find(connection);
+        if (spectator != null) {
+            spectator.version = -1;
+        }
+    }
+
+    void markDirty() {
+        if (!spectators.isEmpty()) {
+            dirty.set(true);
+        }
+    }
+
+    void publish(long version, GameMessage message) {
+        latest = new Snapshot(version, message);
+        snapshotRequested.set(false);
+    }
+
+    public boolean isEmpty() {
+        return spectators.isEmpty();
+    }
+
+    public int size() {
+        return spectators.size();
+    }
+
+    boolean uses(WireFormat format) {
+        for (Spectator spectator : spectators) {
+            if (spectator.connection.getWireFormat() == format) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean tick(long now) {
+        Snapshot snapshot = latest;
+        if (snapshot != null) {
+            deliver(snapshot, now);
+        }
+        if (spectators.isEmpty() || now - lastRequestAt < minIntervalMs || !dirty.get()) {
+            return false;
+        }
+        if (!snapshotRequested.compareAndSet(false, true)) {
+            return false;
+        }
+        dirty.set(false);
+        lastRequestAt = now;
+        return true;
+    }
+
+    private void deliver(Snapshot snapshot, long now) {
+        OutboundFrame[] frames = new OutboundFrame[WIRE_FORMATS.length];
+        try {
+            for (Spectator spectator : spectators) {
+                if (spectator.version >= snapshot.version || now < spectator.nextSendAt) {
+                    continue;
+                }
+                try {
+                    int format = spectator.connection.getWireFormat().ordinal();
+                    if (frames[format] == null) {
+                        frames[format] = OutboundFrame.encode(snapshot.message, WIRE_FORMATS[format]);
+                    }
+                    spectator.connection.sendFrame(frames[format]);
+                    spectator.version = snapshot.version;
+                    spectator.nextSendAt = now + minIntervalMs;
+                    ServerMetrics.SPECTATOR_FRAMES_SENT.increment();
+                } catch (Exception e) {
+                    log.warn("Ошибка отправки зрителю: {}", e.getMessage());
+                }
+            }
+        } finally {
+            for (OutboundFrame frame : frames) {
+                if (frame != null) frame.release();
+            }
+        }
+    }
+
+    private Spectator find(ClientConnection connection) {
+        for (Spectator spectator : spectators) {
+            if (spectator.connection == connection) {
+                return spectator;
+            }
+        }
+        return null;
+    }
+
+    private static class Spectator {
+        private final ClientConnection connection;
+        private volatile long version = -1;
+        private long nextSendAt;
+
+        private Spectator(ClientConnection connection) {
+            this.connection = connection;
+        }
+    }
+
+    private static class Snapshot {
+        private final long version;
+        private final GameMessage message;
+
+        private Snapshot(long version, GameMessage message) {
+            this.version = version;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package ru.kpfu.itis.jackal.journal;
+
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.game.GameEvent;
+import ru.kpfu.itis.jackal.game.GameEventType;
+import ru.kpfu.itis.jackal.logging.LogManager;
+import ru.kpfu.itis.jackal.logging.Logger;
+import ru.kpfu.itis.jackal.network.protocol.BinaryReader;
+import ru.kpfu.itis.jackal.network.protocol.BinaryWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+public final class Journal {
+
+    private static final Logger log = LogManager.getLogger(Journal.class);
+
+    private static final int EVENT = 1;
+    private static final int SNAPSHOT = 2;
+    private static final int CLOSED = 3;
+    private static final GameEventType[] EVENT_TYPES = GameEventType.values();
+
+    private static Journal shared;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final JournalSyncPolicy syncPolicy;
+    private final long flushIntervalNanos;
+    private final ThreadLocal<BinaryWriter> scratch = ThreadLocal.withInitial(BinaryWriter::new);
+    private final Object syncMonitor = new Object();
+    private final Thread flusher;
+    private final TreeMap<Integer, Set<String>> segmentRooms = new TreeMap<>();
+    private final Map<String, RoomSegments> liveRooms = new HashMap<>();
+    private Map<String, RecoveredRoom> recovered;
+    private volatile JournalSegment current;
+    private volatile long writtenOffset;
+    private long syncedOffset;
+    private volatile boolean running;
+
+    private Journal(Path directory, int segmentSize, JournalSyncPolicy syncPolicy, long flushIntervalMs) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncPolicy = syncPolicy;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        Files.createDirectories(directory);
+        List<Integer> segments = listSegments();
+        int last = segments.isEmpty() ? 0 : segments.get(segments.size() - 1);
+        Map<String, RecoveredRoom> rooms = new LinkedHashMap<>();
+        for (int index : segments) {
+            if (index != last) {
+                readSegment(index, payload -> restore(rooms, index, payload));
+            }
+        }
+        this.current = JournalSegment.open(JournalSegment.fileName(directory, last), last, segmentSize);
+        segmentRooms.computeIfAbsent(last, key -> new HashSet<>());
+        current.resumeAt(current.recover(payload -> restore(rooms, last, payload)));
+        rooms.values().removeIf(room -> room.getHeader() == null);
+        this.recovered = rooms;
+        retire();
+        this.running = true;
+        this.flusher = syncPolicy == JournalSyncPolicy.ASYNC || syncPolicy == JournalSyncPolicy.GROUP
+                ? Thread.ofPlatform().name("jackal-journal").daemon().start(this::flushLoop)
+                : null;
+        log.info("Журнал {} открыт (сегментов {}, fsync {})", directory, segmentRooms.size(), syncPolicy);
+    }
+
+    public static Journal open(Path directory, int segmentSize, JournalSyncPolicy syncPolicy, long flushIntervalMs) {
+        try {
+            return new Journal(directory, segmentSize, syncPolicy, flushIntervalMs);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось открыть журнал " + directory, e);
+        }
+    }
+
+    public static synchronized Journal shared() {
+        if (shared == null || !shared.running) {
+            shared = open(Path.of(System.getProperty(GameConfig.JOURNAL_DIR_PROPERTY, GameConfig.DEFAULT_JOURNAL_DIR)),
+                    Integer.getInteger(GameConfig.JOURNAL_SEGMENT_SIZE_PROPERTY, GameConfig.DEFAULT_JOURNAL_SEGMENT_SIZE),
+                    JournalSyncPolicy.fromConfig(),
+                    Long.getLong(GameConfig.JOURNAL_FLUSH_INTERVAL_PROPERTY, GameConfig.DEFAULT_JOURNAL_FLUSH_INTERVAL_MS));
+        }
+        return shared;
+    }
+
+    public void append(String roomId, GameEvent event) {
+        BinaryWriter out = header(EVENT, roomId, event.getSequence());
+        out.writeVarInt(event.getTurn());
+        out.writeByte(event.getType().ordinal());
+        out.writeString(event.getPlayerId());
+        out.writeString(event.getData());
+        out.writeVarLong(event.getTimestamp());
+        List<Boolean> outcomes = event.getOutcomes();
+        out.writeVarInt(outcomes == null ? 0 : outcomes.size());
+        if (outcomes != null) {
+            for (boolean outcome : outcomes) {
+                out.writeBoolean(outcome);
+            }
+        }
+        write(EVENT, roomId, event.getSequence(), out);
+    }
+
+    public void appendSnapshot(String roomId, long sequence, byte[] snapshot) {
+        BinaryWriter out = header(SNAPSHOT, roomId, sequence);
+        out.writeVarInt(snapshot.length);
+        out.writeBytes(snapshot, 0, snapshot.length);
+        write(SNAPSHOT, roomId, sequence, out);
+    }
+
+    public void appendClosed(String roomId) {
+        write(CLOSED, roomId, 0, header(CLOSED, roomId, 0));
+    }
+
+    public synchronized Map<String, RecoveredRoom> recover() {
+        Map<String, RecoveredRoom> rooms = recovered;
+        recovered = null;
+        return rooms == null ? Map.of() : rooms;
+    }
+
+    public List<GameEvent> readEvents(String roomId) {
+        List<Integer> segments = new ArrayList<>();
+        synchronized (this) {
+            segmentRooms.forEach((index, rooms) -> {
+                if (rooms.contains(roomId)) {
+                    segments.add(index);
+                }
+            });
+        }
+        List<GameEvent> events = new ArrayList<>();
+        for (int index : segments) {
+            readSegment(index, payload -> {
+                BinaryReader in = new BinaryReader(payload, 0, payload.length);
+                int kind = in.readByte();
+                String id = in.readString();
+                long sequence = in.readVarLong();
+                if (kind == EVENT && roomId.equals(id)
+                        && (events.isEmpty() || sequence > events.get(events.size() - 1).getSequence())) {
+                    events.add(readEvent(in, sequence));
+                }
+            });
+        }
+        return events;
+    }
+
+    public void sync() {
+        synchronized (syncMonitor) {
+            long target = writtenOffset;
+            if (target > syncedOffset) {
+                current.force();
+                syncedOffset = target;
+                syncMonitor.notifyAll();
+            }
+        }
+    }
+
+    public void close() {
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+        }
+        if (flusher != null) {
+            LockSupport.unpark(flusher);
+        }
+        sync();
+        synchronized (syncMonitor) {
+            syncMonitor.notifyAll();
+        }
+        try {
+            current.close();
+        } catch (IOException e) {
+            log.warn("Ошибка закрытия журнала", e);
+        }
+    }
+
+    private BinaryWriter header(int kind, String roomId, long sequence) {
+        BinaryWriter out = scratch.get();
+        out.reset();
+        out.writeByte(kind);
+        out.writeString(roomId);
+        out.writeVarLong(sequence);
+        return out;
+    }
+
+    private void write(int kind, String roomId, long sequence, BinaryWriter out) {
+        if (out.size() + JournalSegment.HEADER_BYTES > segmentSize) {
+            throw new IllegalArgumentException("Запись больше сегмента журнала: " + out.size());
+        }
+        long end;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            RoomSegments room = liveRooms.get(roomId);
+            byte[] carried = kind != CLOSED && room != null
+                    && out.size() + room.header.length + 2 * JournalSegment.HEADER_BYTES <= segmentSize
+                    ? room.header
+                    : null;
+            int length = carried == null ? out.size() : out.size() + JournalSegment.HEADER_BYTES + carried.length;
+            if (!current.fits(length)) {
+                roll();
+            }
+            int segment = current.getIndex();
+            if (carried != null && room.headerSegment < segment) {
+                current.append(carried, carried.length);
+                room.headerSegment = segment;
+            }
+            end = current.append(out.array(), out.size());
+            writtenOffset = end;
+            segmentRooms.get(segment).add(roomId);
+            switch (kind) {
+                case EVENT -> {
+                    if (room == null) {
+                        liveRooms.put(roomId, new RoomSegments(Arrays.copyOf(out.array(), out.size()), sequence, segment));
+                    }
+                }
+                case SNAPSHOT -> {
+                    if (room != null) {
+                        room.snapshotSegment = segment;
+                    }
+                }
+                default -> liveRooms.remove(roomId);
+            }
+        }
+        switch (syncPolicy) {
+            case SYNC -> sync();
+            case GROUP -> awaitSync(end);
+            default -> {
+            }
+        }
+    }
+
+    private void roll() {
+        JournalSegment previous = current;
+        try {
+            current = JournalSegment.open(JournalSegment.fileName(directory, previous.getIndex() + 1),
+                    previous.getIndex() + 1, segmentSize);
+            previous.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось создать сегмент журнала", e);
+        }
+        segmentRooms.put(current.getIndex(), new HashSet<>());
+        log.debug("Новый сегмент журнала: {}", current.getIndex());
+        retire();
+    }
+
+    private void retire() {
+        Iterator<Map.Entry<Integer, Set<String>>> segments = segmentRooms.entrySet().iterator();
+        while (segments.hasNext()) {
+            Map.Entry<Integer, Set<String>> segment = segments.next();
+            int index = segment.getKey();
+            if (index >= current.getIndex() || !retirable(index, segment.getValue())) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(JournalSegment.fileName(directory, index));
+            } catch (IOException e) {
+                log.warn("Не удалось удалить сегмент журнала {}", index, e);
+                return;
+            }
+            segments.remove();
+            log.debug("Сегмент журнала {} удалён", index);
+        }
+    }
+
+    private boolean retirable(int index, Set<String> rooms) {
+        for (String roomId : rooms) {
+            RoomSegments room = liveRooms.get(roomId);
+            if (room != null && room.snapshotSegment <= index) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void restore(Map<String, RecoveredRoom> rooms, int segment, byte[] payload) {
+        BinaryReader in = new BinaryReader(payload, 0, payload.length);
+        int kind = in.readByte();
+        String roomId = in.readString();
+        long sequence = in.readVarLong();
+        segmentRooms.computeIfAbsent(segment, key -> new HashSet<>()).add(roomId);
+        switch (kind) {
+            case EVENT -> {
+                RecoveredRoom room = rooms.computeIfAbsent(roomId, RecoveredRoom::new);
+                RoomSegments segments = liveRooms.get(roomId);
+                if (room.getHeader() == null) {
+                    room.onEvent(readEvent(in, sequence));
+                    liveRooms.put(roomId, new RoomSegments(payload, sequence, segment));
+                } else if (sequence == segments.headerSequence) {
+                    segments.headerSegment = segment;
+                } else {
+                    room.onEvent(sequence, payload, in.position());
+                }
+            }
+            case SNAPSHOT -> {
+                RecoveredRoom room = rooms.get(roomId);
+                if (room != null) {
+                    byte[] snapshot = new byte[in.readVarInt()];
+                    System.arraycopy(payload, payload.length - snapshot.length, snapshot, 0, snapshot.length);
+                    room.onSnapshot(sequence, snapshot);
+                    liveRooms.get(roomId).snapshotSegment = segment;
+                }
+            }
+            case CLOSED -> {
+                rooms.remove(roomId);
+                liveRooms.remove(roomId);
+            }
+            default -> log.warn("Неизвестная запись журнала: {}", kind);
+        }
+    }
+
+    private void awaitSync(long offset) {
+        LockSupport.unpark(flusher);
+        synchronized (syncMonitor) {
+            while (syncedOffset < offset && running) {
+                try {
+                    syncMonitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void flushLoop() {
+        while (running) {
+            LockSupport.parkNanos(flushIntervalNanos);
+            try {
+                sync();
+            } catch (Exception e) {
+                log.error("Ошибка fsync журнала", e);
+            }
+        }
+    }
+
+    private void readSegment(int index, JournalSegment.RecordVisitor visitor) {
+        try {
+            JournalSegment segment = JournalSegment.read(JournalSegment.fileName(directory, index), index, segmentSize);
+            segment.recover(visitor);
+            segment.close();
+        } catch (NoSuchFileException e) {
+            log.debug("Сегмент журнала {} уже удалён", index);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать сегмент журнала " + index, e);
+        }
+    }
+
+    private List<Integer> listSegments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("journal-") && name.endsWith(".seg"))
+                    .map(name -> Integer.parseInt(name.substring(8, name.length() - 4)))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать каталог журнала " + directory, e);
+        }
+    }
+
+    static GameEvent decodeEvent(byte[] payload, int offset, long sequence) {
+        return readEvent(new BinaryReader(payload, offset, payload.length - offset), sequence);
+    }
+
+    private static GameEvent readEvent(BinaryReader in, long sequence) {
+        int turn = in.readVarInt();
+        GameEventType type = EVENT_TYPES[in.readByte()];
+        String playerId = in.readString();
+        String data = in.readString();
+        long timestamp = in.readVarLong();
+        int outcomeCount = in.readVarInt();
+        List<Boolean> outcomes = null;
+        if (outcomeCount > 0) {
+            outcomes = new ArrayList<>(outcomeCount);
+            for (int i = 0; i < outcomeCount; i++) {
+                outcomes.add(in.readBoolean());
+            }
+        }
+        return new GameEvent(sequence, turn, type, playerId, data, timestamp, outcomes);
+    }
+
+    private static final class RoomSegments {
+
+        private final byte[] header;
+        private final long headerSequence;
+        private int headerSegment;
+        private int snapshotSegment = -1;
+
+        private RoomSegments(byte[] header, long headerSequence, int headerSegment) {
+            this.header = header;
+            this.headerSequence = headerSequence;
+            this.headerSegment = headerSegment;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package ru.kpfu.itis.jackal.journal;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+final class JournalSegment {
+
+    static final int HEADER_BYTES = 8;
+
+    @Getter
+    private final int index;
+    private final long baseOffset;
+    private final int capacity;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private volatile int position;
+    private int forcedPosition;
+
+    private JournalSegment(int index, int capacity, FileChannel channel, MappedByteBuffer buffer) {
+        this.index = index;
+        this.baseOffset = (long) index * capacity;
+        this.capacity = capacity;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static JournalSegment open(Path file, int index, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new JournalSegment(index, capacity, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+    }
+
+    static JournalSegment read(Path file, int index, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        return new JournalSegment(index, capacity, channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, capacity));
+    }
+
+    static Path fileName(Path directory, int index) {
+        return directory.resolve(String.format("journal-%08d.seg", index));
+    }
+
+    boolean fits(int length) {
+        return position + HEADER_BYTES + length <= capacity;
+    }
+
+    long append(byte[] payload, int length) {
+        int start = position;
+        CRC32C crc = new CRC32C();
+        crc.update(payload, 0, length);
+        buffer.put(start + HEADER_BYTES, payload, 0, length);
+        buffer.putInt(start + 4, (int) crc.getValue());
+        buffer.putInt(start, length);
+        position = start + HEADER_BYTES + length;
+        return baseOffset + position;
+    }
+
+    synchronized void force() {
+        int end = position;
+        if (end > forcedPosition) {
+            buffer.force(forcedPosition, end - forcedPosition);
+            forcedPosition = end;
+        }
+    }
+
+    int recover(RecordVisitor visitor) {
+        int offset = 0;
+        CRC32C crc = new CRC32C();
+        while (offset + HEADER_BYTES <= capacity) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + HEADER_BYTES + length > capacity) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(offset + HEADER_BYTES, payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+                break;
+            }
+            visitor.visit(payload);
+            offset += HEADER_BYTES + length;
+        }
+        return offset;
+    }
+
+    void resumeAt(int offset) {
+        int torn = offset + HEADER_BYTES <= capacity ? buffer.getInt(offset) : 0;
+        int end = torn > 0 && offset + HEADER_BYTES + torn <= capacity
+                ? offset + HEADER_BYTES + torn
+                : Math.min(capacity, offset + HEADER_BYTES);
+        for (int i = offset; i < end; i++) {
+            buffer.put(i, (byte) 0);
+        }
+        position = offset;
+        forcedPosition = offset;
+    }
+
+    void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    interface RecordVisitor {
+        void visit(byte[] payload);
+    }
+}
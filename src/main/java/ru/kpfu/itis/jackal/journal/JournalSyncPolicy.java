@@ -0,0 +1,21 @@
+package ru.kpfu.itis.jackal.journal;
+
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.logging.LogManager;
+
+public enum JournalSyncPolicy {
+    NONE,
+    ASYNC,
+    GROUP,
+    SYNC;
+
+    public static JournalSyncPolicy fromConfig() {
+        String value = System.getProperty(GameConfig.JOURNAL_SYNC_PROPERTY, GameConfig.DEFAULT_JOURNAL_SYNC);
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LogManager.getLogger(JournalSyncPolicy.class).warn("Неизвестная политика fsync: {}, используется ASYNC", value);
+            return ASYNC;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ru.kpfu.itis.jackal.journal;
+
+import lombok.Getter;
+import ru.kpfu.itis.jackal.game.GameEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RecoveredRoom {
+
+    @Getter
+    private final String roomId;
+    @Getter
+    private GameEvent header;
+    @Getter
+    private byte[] snapshot;
+    private final List<RawEvent> tail = new ArrayList<>();
+
+    RecoveredRoom(String roomId) {
+        this.roomId = roomId;
+    }
+
+    void onEvent(GameEvent event) {
+        header = event;
+    }
+
+    void onEvent(long sequence, byte[] payload, int offset) {
+        tail.add(new RawEvent(sequence, payload, offset));
+    }
+
+    void onSnapshot(long sequence, byte[] snapshot) {
+        this.snapshot = snapshot;
+        tail.removeIf(event -> event.sequence <= sequence);
+    }
+
+    public List<GameEvent> getTail() {
+        List<GameEvent> events = new ArrayList<>(tail.size());
+        for (RawEvent event : tail) {
+            events.add(Journal.decodeEvent(event.payload, event.offset, event.sequence));
+        }
+        return events;
+    }
+
+    private record RawEvent(long sequence, byte[] payload, int offset) {
+    }
+}
@@ -0,0 +1,50 @@
+package ru.kpfu.itis.jackal.journal;
+
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.game.GameEvent;
+import ru.kpfu.itis.jackal.game.GameEventLog;
+
+import java.util.List;
+
+public class RoomJournal implements GameEventLog {
+
+    private final Journal journal;
+    private final String roomId;
+    private final int snapshotInterval;
+
+    public RoomJournal(Journal journal, String roomId) {
+        this(journal, roomId, Integer.getInteger(GameConfig.JOURNAL_SNAPSHOT_INTERVAL_PROPERTY,
+                GameConfig.DEFAULT_JOURNAL_SNAPSHOT_INTERVAL));
+    }
+
+    public RoomJournal(Journal journal, String roomId, int snapshotInterval) {
+        this.journal = journal;
+        this.roomId = roomId;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    @Override
+    public void append(GameEvent event) {
+        journal.append(roomId, event);
+    }
+
+    @Override
+    public void appendSnapshot(long sequence, byte[] snapshot) {
+        journal.appendSnapshot(roomId, sequence, snapshot);
+    }
+
+    @Override
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    @Override
+    public List<GameEvent> readAll() {
+        return journal.readEvents(roomId);
+    }
+
+    @Override
+    public void discard() {
+        journal.appendClosed(roomId);
+    }
+}
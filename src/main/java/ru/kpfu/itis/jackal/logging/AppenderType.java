@@ -0,0 +1,23 @@
+package ru.kpfu.itis.jackal.logging;
+
+import ru.kpfu.itis.jackal.common.GameConfig;
+
+public enum AppenderType {
+    CONSOLE,
+    ASYNC;
+
+    public static AppenderType fromConfig() {
+        String value = System.getProperty(GameConfig.LOG_APPENDER_PROPERTY, GameConfig.DEFAULT_LOG_APPENDER);
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("[AppenderType] Неизвестный appender: " + value + ", используется ASYNC");
+            return ASYNC;
+        }
+    }
+
+    public LogAppender createAppender() {
+        ConsoleAppender console = new ConsoleAppender();
+        return this == ASYNC ? new AsyncAppender(console, GameConfig.LOG_BUFFER_SIZE) : console;
+    }
+}
@@ -0,0 +1,169 @@
+package ru.kpfu.itis.jackal.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public class AsyncAppender implements LogAppender {
+
+    private static final long CLOSE_TIMEOUT_MS = 1000;
+
+    private final LogAppender delegate;
+    private final LogEvent[] ring;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LogEvent droppedEvent = new LogEvent();
+    private final Thread consumer;
+    private volatile boolean running = true;
+    private volatile boolean sleeping;
+    private RuntimeException lastFailure;
+
+    public AsyncAppender(LogAppender delegate, int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Размер буфера должен быть степенью двойки: " + capacity);
+        }
+        this.delegate = delegate;
+        this.ring = new LogEvent[capacity];
+        this.published = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new LogEvent();
+            published.set(i, -1);
+        }
+        this.consumer = new Thread(this::drainLoop, "jackal-log");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed.get() >= ring.length || !running) {
+                overflow(event);
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) (sequence & mask);
+        ring[index].copyFrom(event);
+        published.set(index, sequence);
+        if (sleeping) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    private void overflow(LogEvent event) {
+        if (event.getLevel().compareTo(LogLevel.WARN) >= 0) {
+            delegate.append(event);
+        } else {
+            dropped.increment();
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    private void drainLoop() {
+        long next = 0;
+        long reportedDrops = 0;
+        long reportedFailures = 0;
+        boolean pending = false;
+        while (running || next < claimed.get()) {
+            int index = (int) (next & mask);
+            if (published.get(index) != next) {
+                long drops = reportDrops(reportedDrops);
+                if (pending || drops != reportedDrops) {
+                    flushDelegate();
+                    pending = false;
+                }
+                reportedDrops = drops;
+                reportedFailures = reportFailures(reportedFailures);
+                if (running) {
+                    await(index, next);
+                } else {
+                    Thread.onSpinWait();
+                }
+                continue;
+            }
+            LogEvent event = ring[index];
+            deliver(event);
+            event.clear();
+            consumed.set(++next);
+            pending = true;
+        }
+        reportDrops(reportedDrops);
+        flushDelegate();
+        reportFailures(reportedFailures);
+    }
+
+    private void await(int index, long next) {
+        sleeping = true;
+        if (running && published.get(index) != next) {
+            LockSupport.park(this);
+        }
+        sleeping = false;
+    }
+
+    private void deliver(LogEvent event) {
+        try {
+            delegate.append(event);
+        } catch (RuntimeException e) {
+            failed.increment();
+            lastFailure = e;
+        }
+    }
+
+    private void flushDelegate() {
+        try {
+            delegate.flush();
+        } catch (RuntimeException e) {
+            failed.increment();
+            lastFailure = e;
+        }
+    }
+
+    private long reportDrops(long reported) {
+        long total = dropped.sum();
+        if (total > reported) {
+            droppedEvent.set(System.currentTimeMillis(), consumer.getName(), LogLevel.WARN,
+                    "AsyncAppender", "Буфер логов переполнен, пропущено сообщений: {}",
+                    1, total - reported, null, null, null);
+            deliver(droppedEvent);
+            droppedEvent.clear();
+        }
+        return total;
+    }
+
+    private long reportFailures(long reported) {
+        long total = failed.sum();
+        if (total > reported) {
+            System.err.println("[AsyncAppender] Не удалось записать сообщений: " + (total - reported)
+                    + ", последняя ошибка: " + lastFailure);
+        }
+        return total;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(CLOSE_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        delegate.close();
+    }
+}
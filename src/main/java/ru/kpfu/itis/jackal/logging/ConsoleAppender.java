@@ -0,0 +1,38 @@
+package ru.kpfu.itis.jackal.logging;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+public class ConsoleAppender implements LogAppender {
+
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final StringBuilder line = new StringBuilder(256);
+
+    @Override
+    public synchronized void append(LogEvent event) {
+        line.setLength(0);
+        TIME_FORMAT.formatTo(Instant.ofEpochMilli(event.getTimestamp()), line);
+        line.append(' ').append(event.getLevel().name());
+        for (int i = event.getLevel().name().length(); i < 5; i++) {
+            line.append(' ');
+        }
+        line.append(" [").append(event.getLoggerName()).append("] ");
+        event.formatMessage(line);
+
+        PrintStream stream = event.getLevel().compareTo(LogLevel.WARN) >= 0 ? System.err : System.out;
+        stream.println(line);
+        if (event.getError() != null) {
+            event.getError().printStackTrace(stream);
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        System.out.flush();
+        System.err.flush();
+    }
+}
@@ -0,0 +1,13 @@
+package ru.kpfu.itis.jackal.logging;
+
+public interface LogAppender {
+
+    void append(LogEvent event);
+
+    default void flush() {
+    }
+
+    default void close() {
+        flush();
+    }
+}
@@ -0,0 +1,74 @@
+package ru.kpfu.itis.jackal.logging;
+
+import lombok.Getter;
+
+@Getter
+public final class LogEvent {
+
+    private static final String PLACEHOLDER = "{}";
+
+    private long timestamp;
+    private String threadName;
+    private LogLevel level;
+    private String loggerName;
+    private String pattern;
+    private int argumentCount;
+    private Object argument0;
+    private Object argument1;
+    private Object argument2;
+    private Throwable error;
+
+    void set(long timestamp, String threadName, LogLevel level, String loggerName, String pattern,
+             int argumentCount, Object argument0, Object argument1, Object argument2, Throwable error) {
+        this.timestamp = timestamp;
+        this.threadName = threadName;
+        this.level = level;
+        this.loggerName = loggerName;
+        this.pattern = pattern;
+        this.argumentCount = argumentCount;
+        this.argument0 = argument0;
+        this.argument1 = argument1;
+        this.argument2 = argument2;
+        this.error = error;
+    }
+
+    void copyFrom(LogEvent other) {
+        set(other.timestamp, other.threadName, other.level, other.loggerName, other.pattern,
+                other.argumentCount, other.argument0, other.argument1, other.argument2, other.error);
+    }
+
+    void clear() {
+        set(0, null, null, null, null, 0, null, null, null, null);
+    }
+
+    public String getMessage() {
+        StringBuilder message = new StringBuilder();
+        formatMessage(message);
+        return message.toString();
+    }
+
+    public void formatMessage(StringBuilder out) {
+        if (pattern == null) {
+            out.append("null");
+            return;
+        }
+        int start = 0;
+        for (int i = 0; i < argumentCount; i++) {
+            int placeholder = pattern.indexOf(PLACEHOLDER, start);
+            if (placeholder < 0) {
+                break;
+            }
+            out.append(pattern, start, placeholder).append(argument(i));
+            start = placeholder + PLACEHOLDER.length();
+        }
+        out.append(pattern, start, pattern.length());
+    }
+
+    private Object argument(int index) {
+        return switch (index) {
+            case 0 -> argument0;
+            case 1 -> argument1;
+            default -> argument2;
+        };
+    }
+}
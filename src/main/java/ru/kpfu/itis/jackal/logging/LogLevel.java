@@ -0,0 +1,22 @@
+package ru.kpfu.itis.jackal.logging;
+
+import ru.kpfu.itis.jackal.common.GameConfig;
+
+public enum LogLevel {
+    TRACE,
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF;
+
+    public static LogLevel fromConfig() {
+        String value = System.getProperty(GameConfig.LOG_LEVEL_PROPERTY, GameConfig.DEFAULT_LOG_LEVEL);
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("[LogLevel] Неизвестный уровень логирования: " + value + ", используется INFO");
+            return INFO;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ru.kpfu.itis.jackal.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class LogManager {
+
+    private static final Map<String, Logger> loggers = new ConcurrentHashMap<>();
+    private static volatile int threshold = LogLevel.fromConfig().ordinal();
+    private static volatile LogAppender appender = AppenderType.fromConfig().createAppender();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> appender.close(), "jackal-log-shutdown"));
+    }
+
+    private LogManager() {
+    }
+
+    public static Logger getLogger(Class<?> type) {
+        return getLogger(type.getSimpleName());
+    }
+
+    public static Logger getLogger(String name) {
+        return loggers.computeIfAbsent(name, Logger::new);
+    }
+
+    public static boolean isEnabled(LogLevel level) {
+        return level.ordinal() >= threshold;
+    }
+
+    public static LogLevel getLevel() {
+        return LogLevel.values()[threshold];
+    }
+
+    public static void setLevel(LogLevel level) {
+        threshold = level.ordinal();
+    }
+
+    public static LogAppender getAppender() {
+        return appender;
+    }
+
+    public static synchronized void setAppender(LogAppender newAppender) {
+        LogAppender previous = appender;
+        appender = newAppender;
+        previous.close();
+    }
+}
@@ -0,0 +1,154 @@
+package ru.kpfu.itis.jackal.logging;
+
+import lombok.Getter;
+
+import java.util.function.Supplier;
+
+public final class Logger {
+
+    private static final ThreadLocal<LogEvent> SCRATCH = ThreadLocal.withInitial(LogEvent::new);
+
+    @Getter
+    private final String name;
+
+    Logger(String name) {
+        this.name = name;
+    }
+
+    public boolean isEnabled(LogLevel level) {
+        return LogManager.isEnabled(level);
+    }
+
+    public boolean isTraceEnabled() {
+        return LogManager.isEnabled(LogLevel.TRACE);
+    }
+
+    public boolean isDebugEnabled() {
+        return LogManager.isEnabled(LogLevel.DEBUG);
+    }
+
+    public void trace(String message) {
+        log(LogLevel.TRACE, message, 0, null, null, null, null);
+    }
+
+    public void trace(String pattern, Object argument) {
+        log(LogLevel.TRACE, pattern, 1, argument, null, null, null);
+    }
+
+    public void trace(String pattern, Object argument0, Object argument1) {
+        log(LogLevel.TRACE, pattern, 2, argument0, argument1, null, null);
+    }
+
+    public void trace(String pattern, Object argument0, Object argument1, Object argument2) {
+        log(LogLevel.TRACE, pattern, 3, argument0, argument1, argument2, null);
+    }
+
+    public void trace(Supplier<String> message) {
+        log(LogLevel.TRACE, message);
+    }
+
+    public void debug(String message) {
+        log(LogLevel.DEBUG, message, 0, null, null, null, null);
+    }
+
+    public void debug(String pattern, Object argument) {
+        log(LogLevel.DEBUG, pattern, 1, argument, null, null, null);
+    }
+
+    public void debug(String pattern, Object argument0, Object argument1) {
+        log(LogLevel.DEBUG, pattern, 2, argument0, argument1, null, null);
+    }
+
+    public void debug(String pattern, Object argument0, Object argument1, Object argument2) {
+        log(LogLevel.DEBUG, pattern, 3, argument0, argument1, argument2, null);
+    }
+
+    public void debug(Supplier<String> message) {
+        log(LogLevel.DEBUG, message);
+    }
+
+    public void info(String message) {
+        log(LogLevel.INFO, message, 0, null, null, null, null);
+    }
+
+    public void info(String pattern, Object argument) {
+        log(LogLevel.INFO, pattern, 1, argument, null, null, null);
+    }
+
+    public void info(String pattern, Object argument0, Object argument1) {
+        log(LogLevel.INFO, pattern, 2, argument0, argument1, null, null);
+    }
+
+    public void info(String pattern, Object argument0, Object argument1, Object argument2) {
+        log(LogLevel.INFO, pattern, 3, argument0, argument1, argument2, null);
+    }
+
+    public void info(Supplier<String> message) {
+        log(LogLevel.INFO, message);
+    }
+
+    public void warn(String message) {
+        log(LogLevel.WARN, message, 0, null, null, null, null);
+    }
+
+    public void warn(String pattern, Object argument) {
+        log(LogLevel.WARN, pattern, 1, argument, null, null, null);
+    }
+
+    public void warn(String pattern, Object argument0, Object argument1) {
+        log(LogLevel.WARN, pattern, 2, argument0, argument1, null, null);
+    }
+
+    public void warn(String message, Throwable error) {
+        log(LogLevel.WARN, message, 0, null, null, null, error);
+    }
+
+    public void warn(String pattern, Object argument, Throwable error) {
+        log(LogLevel.WARN, pattern, 1, argument, null, null, error);
+    }
+
+    public void error(String message) {
+        log(LogLevel.ERROR, message, 0, null, null, null, null);
+    }
+
+    public void error(String pattern, Object argument) {
+        log(LogLevel.ERROR, pattern, 1, argument, null, null, null);
+    }
+
+    public void error(String pattern, Object argument0, Object argument1) {
+        log(LogLevel.ERROR, pattern, 2, argument0, argument1, null, null);
+    }
+
+    public void error(String message, Throwable error) {
+        log(LogLevel.ERROR, message, 0, null, null, null, error);
+    }
+
+    public void error(String pattern, Object argument, Throwable error) {
+        log(LogLevel.ERROR, pattern, 1, argument, null, null, error);
+    }
+
+    private void log(LogLevel level, Supplier<String> message) {
+        if (LogManager.isEnabled(level)) {
+            write(level, message.get(), 0, null, null, null, null);
+        }
+    }
+
+    private void log(LogLevel level, String pattern, int argumentCount,
+                     Object argument0, Object argument1, Object argument2, Throwable error) {
+        if (LogManager.isEnabled(level)) {
+            write(level, pattern, argumentCount, argument0, argument1, argument2, error);
+        }
+    }
+
+    private void write(LogLevel level, String pattern, int argumentCount,
+                       Object argument0, Object argument1, Object argument2, Throwable error) {
+        LogEvent event = SCRATCH.get();
+        event.set(System.currentTimeMillis(), Thread.currentThread().getName(), level, name, pattern,
+                argumentCount, argument0, argument1, argument2, error);
+        try {
+            LogManager.getAppender().append(event);
+        } finally {
+            event.clear();
+        }
+    }
+}
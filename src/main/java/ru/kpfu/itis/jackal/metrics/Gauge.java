@@ -0,0 +1,22 @@
+package ru.kpfu.itis.jackal.metrics;
+
+import java.util.function.LongSupplier;
+
+public class Gauge extends Metric {
+
+    private final LongSupplier supplier;
+
+    Gauge(String name, String help, String labels, LongSupplier supplier) {
+        super(name, help, labels);
+        this.supplier = supplier;
+    }
+
+    public long get() {
+        return supplier.getAsLong();
+    }
+
+    @Override
+    public MetricType getType() {
+        return MetricType.GAUGE;
+    }
+}
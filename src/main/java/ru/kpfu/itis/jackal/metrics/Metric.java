@@ -0,0 +1,23 @@
+package ru.kpfu.itis.jackal.metrics;
+
+import lombok.Getter;
+
+@Getter
+public abstract class Metric {
+
+    private final String name;
+    private final String help;
+    private final String labels;
+
+    protected Metric(String name, String help, String labels) {
+        this.name = name;
+        this.help = help;
+        this.labels = labels;
+    }
+
+    public abstract MetricType getType();
+
+    String key() {
+        return labels.isEmpty() ? name : name + "{" + labels + "}";
+    }
+}
@@ -0,0 +1,7 @@
+package ru.kpfu.itis.jackal.metrics;
+
+public enum MetricType {
+    COUNTER,
+    GAUGE,
+    SUMMARY
+}
@@ -0,0 +1,76 @@
+package ru.kpfu.itis.jackal.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.logging.LogManager;
+import ru.kpfu.itis.jackal.logging.Logger;
+
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+public final class MetricsExporter {
+
+    private static final Logger log = LogManager.getLogger(MetricsExporter.class);
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static boolean started;
+    private static HttpServer httpServer;
+
+    private MetricsExporter() {
+    }
+
+    public static synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        MetricsRegistry registry = MetricsRegistry.global();
+        registerMBean(registry);
+        int port = Integer.getInteger(GameConfig.METRICS_PORT_PROPERTY, GameConfig.DEFAULT_METRICS_PORT);
+        if (port > 0) {
+            startHttp(registry, port);
+        }
+    }
+
+    public static synchronized void stop() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+    }
+
+    private static void registerMBean(MetricsRegistry registry) {
+        try {
+            ObjectName name = new ObjectName(GameConfig.METRICS_MBEAN_NAME);
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMBean(registry), name);
+            }
+        } catch (Exception e) {
+            log.warn("Не удалось зарегистрировать MBean метрик", e);
+        }
+    }
+
+    private static void startHttp(MetricsRegistry registry, int port) {
+        try {
+            httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            httpServer.createContext("/metrics", exchange -> {
+                byte[] body = registry.scrape().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            Thread.ofPlatform().daemon().start(httpServer::start);
+            log.info("Метрики доступны на http://127.0.0.1:{}/metrics", port);
+        } catch (IOException e) {
+            httpServer = null;
+            log.warn("Не удалось открыть порт метрик {}: {}", port, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package ru.kpfu.itis.jackal.metrics;
+
+import javax.management.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MetricsMBean implements DynamicMBean {
+
+    private static final String[] HISTOGRAM_FIELDS = {"count", "p50", "p99", "p999", "max"};
+
+    private final MetricsRegistry registry;
+
+    public MetricsMBean(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Metric metric = registry.find(attribute);
+        if (metric instanceof Counter counter) {
+            return counter.get();
+        }
+        if (metric instanceof Gauge gauge) {
+            return gauge.get();
+        }
+        int separator = attribute.lastIndexOf('.');
+        if (separator > 0 && registry.find(attribute.substring(0, separator)) instanceof Histogram histogram) {
+            Histogram.Snapshot snapshot = histogram.snapshot();
+            return switch (attribute.substring(separator + 1)) {
+                case "count" -> snapshot.getCount();
+                case "p50" -> snapshot.getValueAtPercentile(50);
+                case "p99" -> snapshot.getValueAtPercentile(99);
+                case "p999" -> snapshot.getValueAtPercentile(99.9);
+                case "max" -> snapshot.getMax();
+                default -> throw new AttributeNotFoundException(attribute);
+            };
+        }
+        throw new AttributeNotFoundException(attribute);
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        AttributeList list = new AttributeList();
+        for (String attribute : attributes) {
+            try {
+                list.add(new Attribute(attribute, getAttribute(attribute)));
+            } catch (AttributeNotFoundException ignored) {
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Метрики доступны только для чтения: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        for (Metric metric : registry.getMetrics()) {
+            if (metric instanceof Histogram) {
+                for (String field : HISTOGRAM_FIELDS) {
+                    attributes.add(attribute(metric.key() + "." + field, metric.getHelp() + " (" + field + ", нс)"));
+                }
+            } else {
+                attributes.add(attribute(metric.key(), metric.getHelp()));
+            }
+        }
+        return new MBeanInfo(getClass().getName(), "Метрики сервера Jackal",
+                attributes.toArray(new MBeanAttributeInfo[0]), null, null, null);
+    }
+
+    private static MBeanAttributeInfo attribute(String name, String description) {
+        return new MBeanAttributeInfo(name, "long", description, true, false, false);
+    }
+}
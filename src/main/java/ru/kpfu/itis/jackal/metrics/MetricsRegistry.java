@@ -0,0 +1,118 @@
+package ru.kpfu.itis.jackal.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+public class MetricsRegistry {
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public static String label(String name, Object value) {
+        return name + "=\"" + value + "\"";
+    }
+
+    public Counter counter(String name, String help) {
+        return counter(name, help, "");
+    }
+
+    public Counter counter(String name, String help, String labels) {
+        return (Counter) metrics.computeIfAbsent(key(name, labels), k -> new Counter(name, help, labels));
+    }
+
+    public Histogram histogram(String name, String help) {
+        return histogram(name, help, "");
+    }
+
+    public Histogram histogram(String name, String help, String labels) {
+        return (Histogram) metrics.computeIfAbsent(key(name, labels), k -> new Histogram(name, help, labels));
+    }
+
+    public Gauge gauge(String name, String help, LongSupplier supplier) {
+        return gauge(name, help, "", supplier);
+    }
+
+    public Gauge gauge(String name, String help, String labels, LongSupplier supplier) {
+        Gauge gauge = new Gauge(name, help, labels, supplier);
+        metrics.put(key(name, labels), gauge);
+        return gauge;
+    }
+
+    public Metric find(String key) {
+        return metrics.get(key);
+    }
+
+    public List<Metric> getMetrics() {
+        List<Metric> sorted = new ArrayList<>(metrics.values());
+        sorted.sort(Comparator.comparing(Metric::key));
+        return sorted;
+    }
+
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        String family = null;
+        for (Metric metric : getMetrics()) {
+            if (!metric.getName().equals(family)) {
+                family = metric.getName();
+                out.append("# HELP ").append(family).append(' ').append(metric.getHelp()).append('\n');
+                out.append("# TYPE ").append(family).append(' ')
+                        .append(metric.getType().name().toLowerCase()).append('\n');
+            }
+            if (metric instanceof Counter counter) {
+                sample(out, metric.getName(), metric.getLabels(), null).append(counter.get()).append('\n');
+            } else if (metric instanceof Gauge gauge) {
+                sample(out, metric.getName(), metric.getLabels(), null).append(gauge.get()).append('\n');
+            } else if (metric instanceof Histogram histogram) {
+                writeSummary(out, metric, histogram.snapshot());
+            }
+        }
+        return out.toString();
+    }
+
+    private static void writeSummary(StringBuilder out, Metric metric, Histogram.Snapshot snapshot) {
+        for (double quantile : QUANTILES) {
+            sample(out, metric.getName(), metric.getLabels(), label("quantile", quantile))
+                    .append(seconds(snapshot.getValueAtPercentile(quantile * 100))).append('\n');
+        }
+        sample(out, metric.getName() + "_sum", metric.getLabels(), null)
+                .append(seconds(snapshot.getSum())).append('\n');
+        sample(out, metric.getName() + "_count", metric.getLabels(), null)
+                .append(snapshot.getCount()).append('\n');
+        sample(out, metric.getName() + "_max", metric.getLabels(), null)
+                .append(seconds(snapshot.getMax())).append('\n');
+    }
+
+    private static StringBuilder sample(StringBuilder out, String name, String labels, String extraLabel) {
+        out.append(name);
+        if (!labels.isEmpty() || extraLabel != null) {
+            out.append('{').append(labels);
+            if (extraLabel != null) {
+                if (!labels.isEmpty()) {
+                    out.append(',');
+                }
+                out.append(extraLabel);
+            }
+            out.append('}');
+        }
+        return out.append(' ');
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / NANOS_PER_SECOND;
+    }
+
+    private static String key(String name, String labels) {
+        return labels.isEmpty() ? name : name + "{" + labels + "}";
+    }
+}
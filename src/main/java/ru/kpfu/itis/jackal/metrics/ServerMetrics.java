@@ -0,0 +1,129 @@
+package ru.kpfu.itis.jackal.metrics;
+
+import ru.kpfu.itis.jackal.network.protocol.MessageType;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class ServerMetrics {
+
+    private static final MetricsRegistry registry = MetricsRegistry.global();
+    private static final MessageType[] MESSAGE_TYPES = MessageType.values();
+
+    private static final Counter[] messagesReceived = new Counter[MESSAGE_TYPES.length];
+    private static final Histogram[] messageProcessing = new Histogram[MESSAGE_TYPES.length];
+
+    private static final LongAdder openConnections = new LongAdder();
+    private static final LongAdder mailboxDepth = new LongAdder();
+    private static final LongAdder outboundQueueDepth = new LongAdder();
+    private static final LongAdder spectators = new LongAdder();
+    private static final AtomicInteger outboundHighWater = new AtomicInteger();
+
+    public static final Counter CONNECTIONS_ACCEPTED = registry.counter("jackal_connections_accepted_total",
+            "Принято соединений");
+    public static final Counter FRAMES_SENT = registry.counter("jackal_frames_sent_total",
+            "Отправлено кадров");
+    public static final Counter BYTES_SENT = registry.counter("jackal_bytes_sent_total",
+            "Отправлено байт");
+    public static final Counter BYTES_RECEIVED = registry.counter("jackal_bytes_received_total",
+            "Получено байт (NIO)");
+    public static final Counter FULL_STATES_SENT = registry.counter("jackal_state_broadcasts_total",
+            "Рассылки состояния", MetricsRegistry.label("kind", "full"));
+    public static final Counter DELTAS_SENT = registry.counter("jackal_state_broadcasts_total",
+            "Рассылки состояния", MetricsRegistry.label("kind", "delta"));
+    public static final Counter SESSIONS_RESUMED = registry.counter("jackal_sessions_total",
+            "Сессии игроков", MetricsRegistry.label("outcome", "resumed"));
+    public static final Counter SESSIONS_EXPIRED = registry.counter("jackal_sessions_total",
+            "Сессии игроков", MetricsRegistry.label("outcome", "expired"));
+    public static final Counter MISSED_DELTAS_SENT = registry.counter("jackal_missed_deltas_sent_total",
+            "Дельты, досланные после переподключения");
+    public static final Counter OUTBOUND_STATE_DROPPED = registry.counter("jackal_outbound_dropped_total",
+            "Кадры, отброшенные при переполнении очереди отправки", MetricsRegistry.label("kind", "state"));
+    public static final Counter OUTBOUND_CHAT_DROPPED = registry.counter("jackal_outbound_dropped_total",
+            "Кадры, отброшенные при переполнении очереди отправки", MetricsRegistry.label("kind", "chat"));
+    public static final Counter OUTBOUND_STATE_COALESCED = registry.counter("jackal_outbound_dropped_total",
+            "Кадры, отброшенные при переполнении очереди отправки", MetricsRegistry.label("kind", "coalesced"));
+    public static final Counter SLOW_CONSUMERS_EVICTED = registry.counter("jackal_slow_consumers_evicted_total",
+            "Соединения, закрытые из-за медленного чтения");
+    public static final Counter SPECTATOR_SNAPSHOTS = registry.counter("jackal_spectator_snapshots_total",
+            "Снимки состояния, собранные для зрителей");
+    public static final Counter SPECTATOR_FRAMES_SENT = registry.counter("jackal_spectator_frames_sent_total",
+            "Кадры, отправленные зрителям");
+    public static final Histogram BROADCAST_TIME = registry.histogram("jackal_state_broadcast_seconds",
+            "Время сборки и рассылки состояния");
+    public static final Histogram MAILBOX_WAIT = registry.histogram("jackal_mailbox_wait_seconds",
+            "Время ожидания задачи в очереди комнаты");
+
+    static {
+        for (MessageType type : MESSAGE_TYPES) {
+            String label = MetricsRegistry.label("type", type);
+            messagesReceived[type.ordinal()] = registry.counter("jackal_messages_received_total",
+                    "Получено сообщений по типам", label);
+            messageProcessing[type.ordinal()] = registry.histogram("jackal_message_process_seconds",
+                    "Время обработки сообщения в цикле комнаты", label);
+        }
+        registry.gauge("jackal_connections_open", "Открытые соединения", openConnections::sum);
+        registry.gauge("jackal_mailbox_depth", "Задач в очередях комнат", mailboxDepth::sum);
+        registry.gauge("jackal_outbound_queue_depth", "Кадров в очередях отправки", outboundQueueDepth::sum);
+        registry.gauge("jackal_outbound_queue_high_water", "Максимальная глубина очереди отправки соединения",
+                outboundHighWater::get);
+        registry.gauge("jackal_spectators", "Подключенные зрители", spectators::sum);
+    }
+
+    private ServerMetrics() {
+    }
+
+    public static void messageReceived(MessageType type) {
+        if (type != null) {
+            messagesReceived[type.ordinal()].increment();
+        }
+    }
+
+    public static void messageProcessed(MessageType type, long startNanos) {
+        if (type != null) {
+            messageProcessing[type.ordinal()].recordSince(startNanos);
+        }
+    }
+
+    public static void frameSent(int length) {
+        FRAMES_SENT.increment();
+        BYTES_SENT.add(length);
+    }
+
+    public static void connectionOpened() {
+        CONNECTIONS_ACCEPTED.increment();
+        openConnections.increment();
+    }
+
+    public static void connectionClosed() {
+        openConnections.decrement();
+    }
+
+    public static void mailboxEnqueued() {
+        mailboxDepth.increment();
+    }
+
+    public static void mailboxProcessed(long queueWaitNanos) {
+        mailboxDepth.decrement();
+        MAILBOX_WAIT.record(queueWaitNanos);
+    }
+
+    public static void spectatorJoined() {
+        spectators.increment();
+    }
+
+    public static void spectatorLeft() {
+        spectators.decrement();
+    }
+
+    public static void outboundQueued(int connectionDepth) {
+        outboundQueueDepth.increment();
+        if (connectionDepth > outboundHighWater.get()) {
+            outboundHighWater.accumulateAndGet(connectionDepth, Math::max);
+        }
+    }
+
+    public static void outboundDrained() {
+        outboundQueueDepth.decrement();
+    }
+}
@@ -2,113 +2,319 @@ package ru.kpfu.itis.jackal.network;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
 import lombok.Getter;
 import lombok.Setter;
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.common.RoomSettings;
+import ru.kpfu.itis.jackal.logging.LogManager;
+import ru.kpfu.itis.jackal.logging.Logger;
+import ru.kpfu.itis.jackal.network.protocol.BinaryCodec;
+import ru.kpfu.itis.jackal.network.protocol.BinaryWriter;
 import ru.kpfu.itis.jackal.network.protocol.GameMessage;
 import ru.kpfu.itis.jackal.network.protocol.MessageType;
 import ru.kpfu.itis.jackal.network.protocol.PlayerJoinData;
+import ru.kpfu.itis.jackal.network.protocol.WireFormat;
 
 import java.io.*;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 
 public class NetworkClient {
 
+    private static final Logger log = LogManager.getLogger(NetworkClient.class);
+
     private Socket socket;
-    private PrintWriter out;
-    private BufferedReader in;
+    private OutputStream out;
+    private InputStream in;
     @Setter
     private Consumer<GameMessage> messageListener;
+    @Setter
+    private Consumer<Boolean> connectionListener;
+    @Setter
+    private LongSupplier versionSupplier;
+    @Getter
+    @Setter
+    private boolean spectator;
     private volatile boolean connected = false;
+    private volatile boolean closed = false;
     private static final Gson gson = new GsonBuilder().create();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final BinaryWriter binaryWriter = new BinaryWriter();
     @Getter
     private String playerId;
+    @Getter
+    private WireFormat wireFormat = WireFormat.JSON;
+    private volatile String resumeToken;
+    private volatile long graceMs;
+    private String host;
+    private int port;
+    private String playerName;
+    private String roomId;
+    private RoomSettings settings;
+    private WireFormat requestedFormat;
 
     public void connect(String host, int port, String playerName) throws IOException {
-        try {
-            this.socket = new Socket(host, port);
-            this.out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8),
-                    true);
-            this.in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
-            this.playerId = UUID.randomUUID().toString();
-            this.connected = true;
-
-            System.out.println("Подключились к серверу: " + host + ":" + port);
-            System.out.println("PlayerId: " + playerId);
-
-            GameMessage joinMessage = new GameMessage();
-            joinMessage.setType(MessageType.PLAYER_JOIN);
-            joinMessage.setPlayerId(playerId);
-            joinMessage.setData(gson.toJson(new PlayerJoinData(playerName, "")));
-            sendMessage(joinMessage);
-            startListeningThread();
+        connect(host, port, playerName, GameConfig.DEFAULT_ROOM_ID);
+    }
+
+    public void connect(String host, int port, String playerName, String roomId) throws IOException {
+        connect(host, port, playerName, roomId, WireFormat.fromConfig());
+    }
 
+    public void connect(String host, int port, String playerName, String roomId, WireFormat format) throws IOException {
+        connect(host, port, playerName, roomId, null, format);
+    }
+
+    public void connect(String host, int port, String playerName, String roomId, RoomSettings settings,
+                        WireFormat format) throws IOException {
+        this.host = host;
+        this.port = port;
+        this.playerName = playerName;
+        this.roomId = roomId;
+        this.settings = settings;
+        this.requestedFormat = format;
+        this.playerId = UUID.randomUUID().toString();
+        this.resumeToken = null;
+        this.closed = false;
+        try {
+            openSession();
+            log.info("Подключились к серверу: {}:{}", host, port);
+            log.info("PlayerId: {}, комната: {}, протокол: {}", playerId, roomId, wireFormat);
         } catch (IOException e) {
             this.connected = false;
-            System.err.println("Ошибка подключения: " + e.getMessage());
+            log.error("Ошибка подключения: {}", e.getMessage());
             throw e;
         }
     }
 
-    private void startListeningThread() {
-        new Thread(() -> {
+    private void openSession() throws IOException {
+        open(host, port);
+        if (requestedFormat == WireFormat.BINARY && !negotiateBinary()) {
+            log.warn("Сервер не поддерживает бинарный протокол, используется JSON");
+            closeSocket();
+            open(host, port);
+        }
+        this.connected = true;
+
+        GameMessage joinMessage = new GameMessage();
+        joinMessage.setType(MessageType.PLAYER_JOIN);
+        joinMessage.setPlayerId(playerId);
+        PlayerJoinData joinData = new PlayerJoinData(playerName, "", roomId);
+        if (settings != null) {
+            joinData.setBoardWidth(settings.getWidth());
+            joinData.setBoardHeight(settings.getHeight());
+            joinData.setMaxPlayers(settings.getMaxPlayers());
+        }
+        if (spectator) {
+            joinData.setSpectator(true);
+        }
+        if (resumeToken != null) {
+            joinData.setResumeToken(resumeToken);
+            long version = versionSupplier != null ? versionSupplier.getAsLong() : -1;
+            if (version >= 0) {
+                joinData.setLastVersion(version);
+            }
+        }
+        joinMessage.setData(gson.toJson(joinData));
+        sendMessage(joinMessage);
+        startListeningThread();
+    }
+
+    private void onConnectionLost() {
+        connected = false;
+        if (closed || resumeToken == null || graceMs <= 0) {
+            return;
+        }
+        notifyConnection(false);
+        Thread.ofVirtual().name("NetworkReconnect").start(this::reconnect);
+    }
+
+    private void reconnect() {
+        long deadline = System.currentTimeMillis() + graceMs;
+        long backoff = GameConfig.RECONNECT_INITIAL_BACKOFF_MS;
+        int attempt = 0;
+        while (!closed && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            attempt++;
             try {
-                while (connected && !socket.isClosed()) {
-                    String jsonLine = in.readLine();
-
-                    if (jsonLine == null) {
-                        System.out.println("Сервер закрыл соединение");
-                        connected = false;
-                        break;
-                    }
-
-                    try {
-                        GameMessage message = gson.fromJson(jsonLine, GameMessage.class);
-                        if (messageListener != null) messageListener.accept(message);
-                    } catch (Exception e) {
-                        System.err.println("Ошибка парсинга JSON: " + e.getMessage());
-                        System.err.println("Получена строка: " + jsonLine);
-                    }
+                openSession();
+                if (closed) {
+                    closeSocket();
+                    return;
                 }
+                log.info("Соединение восстановлено (попытка {})", attempt);
+                notifyConnection(true);
+                return;
             } catch (IOException e) {
-                if (connected) {
-                    System.err.println("Ошибка при чтении из сокета: " + e.getMessage());
-                }
-            } finally {
                 connected = false;
+                log.debug("Попытка переподключения {} не удалась: {}", attempt, e.getMessage());
+                backoff = Math.min(backoff * 2, GameConfig.RECONNECT_MAX_BACKOFF_MS);
             }
-        }, "NetworkListener").start();
+        }
+        if (!closed) {
+            log.warn("Не удалось восстановить соединение за {} мс", graceMs);
+        }
+    }
+
+    private void notifyConnection(boolean restored) {
+        if (connectionListener != null) connectionListener.accept(restored);
+    }
+
+    private void dispatch(GameMessage message) {
+        if (message.getType() == MessageType.SESSION) {
+            JsonObject session = message.dataAsJson().getAsJsonObject();
+            resumeToken = session.get("resumeToken").getAsString();
+            graceMs = session.get("graceMs").getAsLong();
+        }
+        if (messageListener != null) messageListener.accept(message);
+    }
+
+    private void open(String host, int port) throws IOException {
+        this.socket = new Socket(host, port);
+        this.out = new BufferedOutputStream(socket.getOutputStream());
+        this.in = new BufferedInputStream(socket.getInputStream());
+        this.wireFormat = WireFormat.JSON;
+    }
+
+    private boolean negotiateBinary() throws IOException {
+        byte[] handshake = WireFormat.binaryHandshake();
+        out.write(handshake);
+        out.flush();
+        socket.setSoTimeout(GameConfig.WIRE_HANDSHAKE_TIMEOUT_MS);
+        try {
+            byte[] reply = in.readNBytes(handshake.length);
+            if (Arrays.equals(reply, handshake)) {
+                wireFormat = WireFormat.BINARY;
+                return true;
+            }
+            return false;
+        } catch (SocketTimeoutException e) {
+            return false;
+        } finally {
+            if (!socket.isClosed()) {
+                socket.setSoTimeout(0);
+            }
+        }
+    }
+
+    private void closeSocket() {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void startListeningThread() {
+        Thread.ofVirtual().name("NetworkListener").start(() -> {
+            if (wireFormat == WireFormat.BINARY) {
+                listenBinary();
+            } else {
+                listenLines();
+            }
+        });
+    }
+
+    private void listenBinary() {
+        try {
+            while (connected && !socket.isClosed()) {
+                GameMessage message;
+                try {
+                    message = BinaryCodec.readFrame(in, GameConfig.MAX_FRAME_LENGTH);
+                } catch (IllegalArgumentException e) {
+                    log.warn("Ошибка декодирования кадра, соединение будет восстановлено: {}", e.getMessage());
+                    closeSocket();
+                    break;
+                }
+
+                if (message == null) {
+                    log.info("Сервер закрыл соединение");
+                    break;
+                }
+                dispatch(message);
+            }
+        } catch (IOException e) {
+            if (connected) {
+                log.error("Ошибка при чтении из сокета: {}", e.getMessage());
+            }
+        } finally {
+            onConnectionLost();
+        }
+    }
+
+    private void listenLines() {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        try {
+            while (connected && !socket.isClosed()) {
+                String jsonLine = reader.readLine();
+
+                if (jsonLine == null) {
+                    log.info("Сервер закрыл соединение");
+                    break;
+                }
+
+                try {
+                    dispatch(gson.fromJson(jsonLine, GameMessage.class));
+                } catch (Exception e) {
+                    log.warn("Ошибка парсинга JSON: {}, получена строка: {}", e.getMessage(), jsonLine);
+                }
+            }
+        } catch (IOException e) {
+            if (connected) {
+                log.error("Ошибка при чтении из сокета: {}", e.getMessage());
+            }
+        } finally {
+            onConnectionLost();
+        }
     }
 
     public void sendMessage(GameMessage message) {
         if (!connected || out == null) {
-            System.err.println("Не подключены к серверу!");
+            log.warn("Не подключены к серверу!");
             return;
         }
 
+        writeLock.lock();
         try {
-            String json = gson.toJson(message);
-            out.println(json);
+            if (wireFormat == WireFormat.BINARY) {
+                binaryWriter.reset();
+                BinaryCodec.encodeFrame(message, binaryWriter);
+                out.write(binaryWriter.array(), 0, binaryWriter.size());
+            } else {
+                out.write((gson.toJson(message.materialize()) + "\n").getBytes(StandardCharsets.UTF_8));
+            }
             out.flush();
-            System.out.println("Отправлено: " + message.getType());
+            log.debug("Отправлено: {}", message.getType());
 
         } catch (Exception e) {
-            System.err.println("Ошибка отправки сообщения: " + e.getMessage());
+            log.error("Ошибка отправки сообщения: {}", e.getMessage());
+        } finally {
+            writeLock.unlock();
         }
     }
 
     public void disconnect() {
+        closed = true;
         connected = false;
         try {
             if (out != null) out.close();
             if (in != null) in.close();
             if (socket != null && !socket.isClosed()) socket.close();
 
-            System.out.println("Отключились от сервера");
+            log.info("Отключились от сервера");
         } catch (IOException e) {
-            System.err.println("Ошибка при отключении: " + e.getMessage());
+            log.warn("Ошибка при отключении: {}", e.getMessage());
         }
     }
 
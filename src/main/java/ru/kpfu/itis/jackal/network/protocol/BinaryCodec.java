@@ -0,0 +1,265 @@
+package ru.kpfu.itis.jackal.network.protocol;
+
+import ru.kpfu.itis.jackal.common.CellContent;
+import ru.kpfu.itis.jackal.common.CellType;
+import ru.kpfu.itis.jackal.dto.*;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static ru.kpfu.itis.jackal.network.protocol.BinaryStateSchema.*;
+
+public final class BinaryCodec {
+
+    private static final MessageType[] MESSAGE_TYPES = MessageType.values();
+    private static final CellType[] CELL_TYPES = CellType.values();
+    private static final CellContent[] CELL_CONTENTS = CellContent.values();
+
+    private static final int PAYLOAD_NONE = 0;
+    private static final int PAYLOAD_JSON = 1;
+    private static final int PAYLOAD_SCHEMA = 2;
+
+    private static final String HIDDEN = "HIDDEN";
+
+    private BinaryCodec() {
+    }
+
+    public static void encodeFrame(GameMessage message, BinaryWriter out) {
+        int start = out.size();
+        encode(message, out);
+        out.insertVarIntPrefix(start, out.size() - start);
+    }
+
+    public static void encode(GameMessage message, BinaryWriter out) {
+        MessageType type = message.getType();
+        out.writeVarInt(type == null ? 0 : type.ordinal() + 1);
+        out.writeId(message.getPlayerId());
+        out.writeVarLong(message.getTimestamp());
+        encodePayload(type, message, out);
+    }
+
+    public static GameMessage decode(byte[] bytes, int offset, int length) {
+        BinaryReader in = new BinaryReader(bytes, offset, length);
+        int typeCode = in.readVarInt();
+        if (typeCode < 0 || typeCode > MESSAGE_TYPES.length) {
+            throw new IllegalArgumentException("Неизвестный тип сообщения: " + typeCode);
+        }
+
+        GameMessage message = new GameMessage();
+        message.setType(typeCode == 0 ? null : MESSAGE_TYPES[typeCode - 1]);
+        message.setPlayerId(in.readId());
+        message.setTimestamp(in.readVarLong());
+
+        int kind = in.readByte();
+        switch (kind) {
+            case PAYLOAD_NONE:
+                break;
+            case PAYLOAD_JSON:
+                message.setData(in.readString());
+                break;
+            case PAYLOAD_SCHEMA:
+                decodeSchema(message, in);
+                break;
+            default:
+                throw new IllegalArgumentException("Неизвестный вид данных: " + kind);
+        }
+        return message;
+    }
+
+    public static GameMessage readFrame(InputStream in, int maxFrameLength) throws IOException {
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                if (shift == 0) {
+                    return null;
+                }
+                throw new EOFException("Обрыв заголовка кадра");
+            }
+            if (shift > 28) {
+                throw new IOException("Некорректный заголовок кадра");
+            }
+            length |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        if (length < 0 || length > maxFrameLength) {
+            throw new IOException("Слишком длинный кадр: " + length);
+        }
+        byte[] body = in.readNBytes(length);
+        if (body.length < length) {
+            throw new EOFException("Обрыв кадра");
+        }
+        return decode(body, 0, length);
+    }
+
+    private static void encodePayload(MessageType type, GameMessage message, BinaryWriter out) {
+        byte[] binary = hasSchema(type) ? message.getBinaryData() : null;
+        if (binary != null) {
+            out.writeByte(PAYLOAD_SCHEMA);
+            out.writeBytes(binary, 0, binary.length);
+            return;
+        }
+        String data = message.getData();
+        if (data == null) {
+            out.writeByte(PAYLOAD_NONE);
+            return;
+        }
+        out.writeByte(PAYLOAD_JSON);
+        out.writeString(data);
+    }
+
+    private static boolean hasSchema(MessageType type) {
+        return type == MessageType.GAME_STATE || type == MessageType.GAME_STATE_DELTA;
+    }
+
+    private static void decodeSchema(GameMessage message, BinaryReader in) {
+        MessageType type = message.getType();
+        if (type == MessageType.GAME_STATE) {
+            message.setBody(readFullState(in));
+        } else if (type == MessageType.GAME_STATE_DELTA) {
+            message.setBody(readDelta(in));
+        } else {
+            throw new IllegalArgumentException("Нет схемы для типа: " + type);
+        }
+    }
+
+    private static GameStateDto readFullState(BinaryReader in) {
+        GameStateDto state = new GameStateDto();
+        state.setVersion(in.readVarLong());
+        int flags = in.readByte();
+        state.setGameStarted((flags & HEADER_STARTED) != 0);
+        state.setGameFinished((flags & HEADER_FINISHED) != 0);
+        if ((flags & HEADER_CURRENT_PLAYER) != 0) {
+            state.setCurrentPlayerId(in.readId());
+        }
+        state.setTurnNumber(in.readVarInt());
+        int maxPlayers = in.readVarInt();
+        if (maxPlayers > 0) {
+            state.setMaxPlayers(maxPlayers - 1);
+        }
+
+        int height = in.readVarInt();
+        CellDto[][] board = new CellDto[height][];
+        for (int y = 0; y < height; y++) {
+            int width = in.readVarInt();
+            CellDto[] row = new CellDto[width];
+            for (int x = 0; x < width; x++) {
+                row[x] = readCell(in, x, y);
+            }
+            board[y] = row;
+        }
+        state.setBoard(board);
+        List<PlayerDto> players = readPlayers(in);
+        if (players != null) {
+            state.setPlayers(players);
+        }
+        state.setLegalMoves(readLegalMoves(in));
+        return state;
+    }
+
+    private static GameStateDeltaDto readDelta(BinaryReader in) {
+        GameStateDeltaDto delta = new GameStateDeltaDto();
+        long version = in.readVarLong();
+        delta.setVersion(version);
+        delta.setBaseVersion(version - in.readSignedVarLong());
+        int flags = in.readByte();
+        delta.setGameStarted((flags & HEADER_STARTED) != 0);
+        delta.setGameFinished((flags & HEADER_FINISHED) != 0);
+        if ((flags & HEADER_CURRENT_PLAYER) != 0) {
+            delta.setCurrentPlayerId(in.readId());
+        }
+        delta.setTurnNumber(in.readVarInt());
+
+        int count = in.readVarInt();
+        List<CellDto> cells = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int x = in.readVarInt();
+            int y = in.readVarInt();
+            cells.add(readCell(in, x, y));
+        }
+        delta.setCells(cells);
+        delta.setPlayers(readPlayers(in));
+        delta.setLegalMoves(readLegalMoves(in));
+        return delta;
+    }
+
+    private static CellDto readCell(BinaryReader in, int x, int y) {
+        CellDto cell = new CellDto();
+        cell.setX(x);
+        cell.setY(y);
+        int header = in.readVarInt();
+        int typeCode = header & CELL_TYPE_MASK;
+        if (typeCode == CELL_TYPE_ABSENT) {
+            return cell;
+        }
+
+        if (typeCode == CELL_TYPE_HIDDEN) {
+            cell.setType(HIDDEN);
+        } else {
+            int contentCode = (header >>> CELL_CONTENT_SHIFT) & CELL_CONTENT_MASK;
+            if (typeCode > CELL_TYPES.length || contentCode >= CELL_CONTENTS.length) {
+                throw new IllegalArgumentException("Некорректная клетка: " + header);
+            }
+            cell.setType(CELL_TYPES[typeCode - 1].name());
+            cell.setContent(CELL_CONTENTS[contentCode].name());
+        }
+
+        if ((header & CELL_PIRATE) != 0) {
+            PirateDto pirate = new PirateDto();
+            pirate.setId(String.valueOf(in.readVarInt()));
+            pirate.setOwner(in.readId());
+            boolean elsewhere = (header & CELL_PIRATE_ELSEWHERE) != 0;
+            pirate.setX(elsewhere ? in.readVarInt() : x);
+            pirate.setY(elsewhere ? in.readVarInt() : y);
+            cell.setPirate(pirate);
+        }
+
+        if ((header & CELL_GOLD) != 0) {
+            GoldDto gold = new GoldDto();
+            gold.setAmount(in.readVarInt());
+            cell.setGold(gold);
+        }
+        return cell;
+    }
+
+    private static List<PlayerDto> readPlayers(BinaryReader in) {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        int count = in.readVarInt();
+        List<PlayerDto> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PlayerDto player = new PlayerDto();
+            player.setId(in.readId());
+            player.setName(in.readString());
+            player.setReady(in.readBoolean());
+            player.setScore((int) in.readSignedVarLong());
+            players.add(player);
+        }
+        return players;
+    }
+
+    private static Map<String, int[][]> readLegalMoves(BinaryReader in) {
+        int pirates = in.readVarInt() - 1;
+        if (pirates < 0) {
+            return null;
+        }
+        Map<String, int[][]> moves = new LinkedHashMap<>();
+        for (int i = 0; i < pirates; i++) {
+            String pirateId = String.valueOf(in.readVarInt());
+            int[][] targets = new int[in.readVarInt()][];
+            for (int j = 0; j < targets.length; j++) {
+                targets[j] = new int[]{in.readVarInt(), in.readVarInt()};
+            }
+            moves.put(pirateId, targets);
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,62 @@
+package ru.kpfu.itis.jackal.network.protocol;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+public final class BinaryFrameDecoder {
+
+    private final int maxFrameLength;
+    private byte[] buffer;
+    private int size;
+
+    public BinaryFrameDecoder(int maxFrameLength) {
+        this.maxFrameLength = maxFrameLength;
+        this.buffer = new byte[1024];
+    }
+
+    public void feed(ByteBuffer source, Consumer<GameMessage> sink) {
+        int incoming = source.remaining();
+        if (size + incoming > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + incoming));
+        }
+        source.get(buffer, size, incoming);
+        size += incoming;
+
+        int position = 0;
+        while (position < size) {
+            int length = 0;
+            int headerLength = 0;
+            boolean complete = false;
+            while (position + headerLength < size && headerLength < 5) {
+                int b = buffer[position + headerLength] & 0xFF;
+                length |= (b & 0x7F) << (7 * headerLength);
+                headerLength++;
+                if ((b & 0x80) == 0) {
+                    complete = true;
+                    break;
+                }
+            }
+            if (!complete) {
+                if (headerLength >= 5) {
+                    throw new IllegalArgumentException("Некорректный заголовок кадра");
+                }
+                break;
+            }
+            if (length < 0 || length > maxFrameLength) {
+                throw new IllegalArgumentException("Слишком длинный кадр: " + length);
+            }
+            if (size - position - headerLength < length) {
+                break;
+            }
+            GameMessage message = BinaryCodec.decode(buffer, position + headerLength, length);
+            position += headerLength + length;
+            sink.accept(message);
+        }
+
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, size - position);
+            size -= position;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package ru.kpfu.itis.jackal.network.protocol;
+
+public final class BinaryStateSchema {
+
+    public static final int CELL_TYPE_MASK = 0x7;
+    public static final int CELL_TYPE_HIDDEN = 0;
+    public static final int CELL_TYPE_ABSENT = 0x7;
+    public static final int CELL_CONTENT_SHIFT = 3;
+    public static final int CELL_CONTENT_MASK = 0xF;
+    public static final int CELL_PIRATE = 1 << 7;
+    public static final int CELL_GOLD = 1 << 8;
+    public static final int CELL_PIRATE_ELSEWHERE = 1 << 9;
+
+    public static final int HEADER_STARTED = 1;
+    public static final int HEADER_FINISHED = 1 << 1;
+    public static final int HEADER_CURRENT_PLAYER = 1 << 2;
+
+    private BinaryStateSchema() {
+    }
+}
@@ -1,15 +1,23 @@
 package ru.kpfu.itis.jackal.network.protocol;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
 import lombok.Getter;
 import lombok.Setter;
 
 @Getter
 @Setter
 public class GameMessage {
+    private static final Gson gson = new Gson();
+
     private MessageType type;
     private String playerId;
     private String data;
     private long timestamp;
+    private transient JsonElement payload;
+    private transient byte[] binaryData;
+    private transient Object body;
 
     public GameMessage() {
         this.timestamp = System.currentTimeMillis();
@@ -21,4 +29,36 @@ public class GameMessage {
         this.playerId = playerId;
         this.data = data;
     }
+
+    public String getData() {
+        return materialize().data;
+    }
+
+    public GameMessage materialize() {
+        if (data == null && payload != null) {
+            data = payload.toString();
+        } else if (data == null && body != null) {
+            data = gson.toJson(body);
+        }
+        return this;
+    }
+
+    public void setData(String data) {
+        this.data = data;
+        this.payload = null;
+        this.body = null;
+    }
+
+    public JsonElement dataAsJson() {
+        if (payload == null && data == null && body != null) {
+            payload = gson.toJsonTree(body);
+        } else if (payload == null && data != null) {
+            payload = JsonParser.parseString(data);
+        }
+        return payload;
+    }
+
+    public <T> T bodyAs(Class<T> bodyType) {
+        return bodyType.isInstance(body) ? bodyType.cast(body) : null;
+    }
 }
@@ -9,4 +9,7 @@ public enum MessageType {
     GAME_START,
     GAME_END,
     ERROR,
+    GAME_STATE_DELTA,
+    RESYNC_REQUEST,
+    SESSION,
 }
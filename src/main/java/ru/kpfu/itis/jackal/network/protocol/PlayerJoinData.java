@@ -12,5 +12,15 @@ import lombok.Setter;
 public class PlayerJoinData {
     private String playerName;
     private String teamColor;
-}
+    private String roomId;
+    private Integer boardWidth;
+    private Integer boardHeight;
+    private Integer maxPlayers;
+    private String resumeToken;
+    private Long lastVersion;
+    private Boolean spectator;
 
+    public PlayerJoinData(String playerName, String teamColor, String roomId) {
+        this(playerName, teamColor, roomId, null, null, null, null, null, null);
+    }
+}
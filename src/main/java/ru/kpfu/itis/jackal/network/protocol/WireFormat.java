@@ -0,0 +1,26 @@
+package ru.kpfu.itis.jackal.network.protocol;
+
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.logging.LogManager;
+
+public enum WireFormat {
+    JSON,
+    BINARY;
+
+    public static final byte BINARY_MAGIC = (byte) 0xA7;
+    public static final byte BINARY_VERSION = 4;
+
+    public static WireFormat fromConfig() {
+        String value = System.getProperty(GameConfig.WIRE_FORMAT_PROPERTY, GameConfig.DEFAULT_WIRE_FORMAT);
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LogManager.getLogger(WireFormat.class).warn("Неизвестный формат: {}, используется JSON", value);
+            return JSON;
+        }
+    }
+
+    public static byte[] binaryHandshake() {
+        return new byte[]{BINARY_MAGIC, BINARY_VERSION};
+    }
+}
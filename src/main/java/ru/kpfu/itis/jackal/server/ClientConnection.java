@@ -0,0 +1,161 @@
+package ru.kpfu.itis.jackal.server;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import lombok.Getter;
+import lombok.Setter;
+import ru.kpfu.itis.jackal.common.RoomSettings;
+import ru.kpfu.itis.jackal.game.GameEngine;
+import ru.kpfu.itis.jackal.logging.LogManager;
+import ru.kpfu.itis.jackal.logging.Logger;
+import ru.kpfu.itis.jackal.metrics.ServerMetrics;
+import ru.kpfu.itis.jackal.network.protocol.GameMessage;
+import ru.kpfu.itis.jackal.network.protocol.MessageType;
+import ru.kpfu.itis.jackal.network.protocol.PlayerJoinData;
+import ru.kpfu.itis.jackal.network.protocol.WireFormat;
+
+public abstract class ClientConnection {
+
+    private static final Logger log = LogManager.getLogger(ClientConnection.class);
+
+    protected static final Gson gson = new GsonBuilder().create();
+
+    private final RoomManager roomManager;
+    private volatile GameEngine gameEngine;
+    @Setter
+    @Getter
+    private String playerId;
+    @Getter
+    private volatile WireFormat wireFormat = WireFormat.JSON;
+    @Getter
+    private volatile boolean spectator;
+
+    protected ClientConnection(RoomManager roomManager) {
+        this.roomManager = roomManager;
+    }
+
+    protected void onLine(String line) {
+        GameMessage message;
+        try {
+            message = gson.fromJson(line, GameMessage.class);
+        } catch (Exception e) {
+            log.warn("Ошибка парсинга: {}", e.getMessage());
+            return;
+        }
+        onMessage(message);
+    }
+
+    protected void onMessage(GameMessage message) {
+        ServerMetrics.messageReceived(message.getType());
+        try {
+            GameEngine engine = resolveEngine(message);
+            if (engine != null) {
+                engine.submit(message, this);
+            }
+        } catch (Exception e) {
+            log.error("Ошибка обработки", e);
+        }
+    }
+
+    protected void acceptBinaryHandshake() {
+        sendRaw(WireFormat.binaryHandshake());
+        wireFormat = WireFormat.BINARY;
+    }
+
+    protected boolean handleOffer(OutboundQueue queue, OutboundQueue.Result result) {
+        if (result == OutboundQueue.Result.EVICT) {
+            log.warn("Медленный клиент {} отключен, пик очереди: {}", playerId, queue.getHighWater());
+            ServerMetrics.SLOW_CONSUMERS_EVICTED.increment();
+            return false;
+        }
+        if (result == OutboundQueue.Result.RESYNC) {
+            GameEngine engine = gameEngine;
+            if (engine != null) {
+                engine.submit(new GameMessage(MessageType.RESYNC_REQUEST, playerId, null), this);
+            }
+        }
+        return true;
+    }
+
+    protected void onDisconnect() {
+        GameEngine engine = gameEngine;
+        if (engine != null) {
+            engine.submitDisconnect(this);
+            if (unbind(engine)) {
+                roomManager.leaveRoom(engine);
+            }
+        }
+    }
+
+    public void joinRejected(GameEngine engine) {
+        if (unbind(engine)) {
+            spectator = false;
+            roomManager.leaveRoom(engine);
+        }
+    }
+
+    private synchronized boolean unbind(GameEngine engine) {
+        if (engine == null || gameEngine != engine) {
+            return false;
+        }
+        gameEngine = null;
+        return true;
+    }
+
+    private GameEngine resolveEngine(GameMessage message) {
+        if (gameEngine != null) {
+            return gameEngine;
+        }
+
+        if (message.getType() != MessageType.PLAYER_JOIN) {
+            sendError("Сначала присоединитесь к комнате");
+            return null;
+        }
+
+        PlayerJoinData joinData = gson.fromJson(message.getData(), PlayerJoinData.class);
+        if (joinData != null && Boolean.TRUE.equals(joinData.getSpectator())) {
+            spectator = true;
+            gameEngine = roomManager.watchRoom(joinData.getRoomId());
+            if (gameEngine == null) {
+                spectator = false;
+                sendError("Комната не найдена");
+            }
+            return gameEngine;
+        }
+        gameEngine = joinData != null
+                ? roomManager.joinRoom(joinData.getRoomId(),
+                RoomSettings.of(joinData.getBoardWidth(), joinData.getBoardHeight(), joinData.getMaxPlayers()))
+                : roomManager.joinRoom(null);
+        if (gameEngine == null) {
+            sendError("Нет свободных комнат");
+        }
+        return gameEngine;
+    }
+
+    private void sendError(String errorMsg) {
+        GameMessage errorMessage = new GameMessage();
+        errorMessage.setType(MessageType.ERROR);
+        errorMessage.setData("{\"error\": \"" + errorMsg + "\"}");
+        sendMessage(errorMessage);
+    }
+
+    public void sendMessage(GameMessage message) {
+        OutboundFrame frame = OutboundFrame.encode(message, wireFormat);
+        try {
+            sendFrame(frame);
+        } finally {
+            frame.release();
+        }
+    }
+
+    private void sendRaw(byte[] bytes) {
+        OutboundFrame frame = OutboundFrame.wrap(bytes);
+        try {
+            sendFrame(frame);
+        } finally {
+            frame.release();
+        }
+    }
+
+    public abstract void sendFrame(OutboundFrame frame);
+}
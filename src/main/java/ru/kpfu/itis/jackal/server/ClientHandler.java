@@ -1,66 +1,154 @@
 package ru.kpfu.itis.jackal.server;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import lombok.Getter;
-import lombok.Setter;
-import ru.kpfu.itis.jackal.game.GameEngine;
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.logging.LogManager;
+import ru.kpfu.itis.jackal.logging.Logger;
+import ru.kpfu.itis.jackal.metrics.ServerMetrics;
+import ru.kpfu.itis.jackal.network.protocol.BinaryCodec;
 import ru.kpfu.itis.jackal.network.protocol.GameMessage;
+import ru.kpfu.itis.jackal.network.protocol.WireFormat;
 
 import java.io.*;
 import java.net.Socket;
 import java.nio.charset.StandardCharsets;
 
-public class ClientHandler implements Runnable {
+public class ClientHandler extends ClientConnection implements Runnable {
+
+    private static final Logger log = LogManager.getLogger(ClientHandler.class);
+    private static final long WRITER_JOIN_TIMEOUT_MS = 1000;
 
     private Socket clientSocket;
-    private GameEngine gameEngine;
-    private PrintWriter out;
-    private BufferedReader in;
-    private static final Gson gson = new GsonBuilder().create();
-    @Setter
-    @Getter
-    private String playerId;
-
-    public ClientHandler(Socket socket, GameEngine gameEngine) {
+    private OutputStream out;
+    private InputStream in;
+    private final OutboundQueue outbound;
+    private Thread writer;
+
+    public ClientHandler(Socket socket, RoomManager roomManager) {
+        super(roomManager);
         this.clientSocket = socket;
-        this.gameEngine = gameEngine;
+        this.outbound = new OutboundQueue();
     }
 
     @Override
     public void run() {
+        ServerMetrics.connectionOpened();
         try {
-            out = new PrintWriter(new OutputStreamWriter(clientSocket.getOutputStream(), StandardCharsets.UTF_8),
-                    true);
-            in = new BufferedReader(new InputStreamReader(clientSocket.getInputStream(), StandardCharsets.UTF_8));
+            out = new BufferedOutputStream(clientSocket.getOutputStream());
+            in = new BufferedInputStream(clientSocket.getInputStream());
+            writer = Thread.ofVirtual().name("ClientWriter").start(this::writeLoop);
 
-            String inputLine;
-            while ((inputLine = in.readLine()) != null) {
-                try {
-                    GameMessage message = gson.fromJson(inputLine, GameMessage.class);
-                    gameEngine.processMessage(message, this);
-                } catch (Exception e) {
-                    System.err.println("[ClientHandler] Ошибка парсинга: " + e.getMessage());
-                }
+            in.mark(1);
+            int first = in.read();
+            if (first == (WireFormat.BINARY_MAGIC & 0xFF)) {
+                readBinary();
+            } else if (first >= 0) {
+                in.reset();
+                readLines();
             }
 
         } catch (IOException e) {
-            e.printStackTrace();
+            log.debug("Соединение закрыто: {}", e.getMessage());
         } finally {
             try {
-                in.close();
-                out.close();
-                clientSocket.close();
-                gameEngine.onClientDisconnect(this);
-            } catch (IOException e) {
-                e.printStackTrace();
+                onDisconnect();
+            } finally {
+                outbound.close();
+                awaitWriter();
+                closeQuietly(in);
+                closeQuietly(out);
+                closeQuietly(clientSocket);
+                ServerMetrics.connectionClosed();
+            }
+        }
+    }
+
+    private void awaitWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.join(WRITER_JOIN_TIMEOUT_MS);
+            if (writer.isAlive()) {
+                closeSocket();
+                writer.join(WRITER_JOIN_TIMEOUT_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            log.debug("Ошибка закрытия соединения: {}", e.getMessage());
+        }
+    }
+
+    private void readLines() throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String inputLine;
+        while ((inputLine = reader.readLine()) != null) {
+            onLine(inputLine);
+        }
+    }
+
+    private void readBinary() throws IOException {
+        int version = in.read();
+        if (version != WireFormat.BINARY_VERSION) {
+            log.warn("Неподдерживаемая версия протокола: {}", version);
+            return;
+        }
+        acceptBinaryHandshake();
+
+        GameMessage message;
+        while (true) {
+            try {
+                message = BinaryCodec.readFrame(in, GameConfig.MAX_FRAME_LENGTH);
+            } catch (IllegalArgumentException e) {
+                log.warn("Некорректный кадр: {}", e.getMessage());
+                return;
+            }
+            if (message == null) {
+                return;
+            }
+            onMessage(message);
+        }
+    }
+
+    private void writeLoop() {
+        try {
+            OutboundFrame frame;
+            while ((frame = outbound.take()) != null) {
+                try {
+                    frame.writeTo(out);
+                    ServerMetrics.frameSent(frame.length());
+                } finally {
+                    frame.release();
+                }
+                if (outbound.isEmpty()) {
+                    out.flush();
+                }
             }
+        } catch (IOException e) {
+            log.warn("Ошибка отправки: {}", e.getMessage());
+            closeSocket();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
-    public void sendMessage(GameMessage message) {
-        String json = gson.toJson(message);
-        out.println(json);
-        out.flush();
+    private void closeSocket() {
+        closeQuietly(clientSocket);
+    }
+
+    @Override
+    public void sendFrame(OutboundFrame frame) {
+        if (!handleOffer(outbound, outbound.offer(frame))) {
+            closeSocket();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package ru.kpfu.itis.jackal.server;
+
+import ru.kpfu.itis.jackal.network.protocol.MessageType;
+
+public enum FrameKind {
+    CONTROL,
+    SNAPSHOT,
+    STATE,
+    CHAT;
+
+    public static FrameKind of(MessageType type) {
+        if (type == null) {
+            return CONTROL;
+        }
+        return switch (type) {
+            case GAME_STATE -> SNAPSHOT;
+            case GAME_STATE_DELTA -> STATE;
+            case CHAT_MESSAGE -> CHAT;
+            default -> CONTROL;
+        };
+    }
+}
@@ -1,6 +1,9 @@
 package ru.kpfu.itis.jackal.server;
 
-import ru.kpfu.itis.jackal.game.GameEngine;
+import ru.kpfu.itis.jackal.logging.LogManager;
+import ru.kpfu.itis.jackal.logging.Logger;
+import ru.kpfu.itis.jackal.metrics.MetricsExporter;
+import ru.kpfu.itis.jackal.metrics.MetricsRegistry;
 
 import java.io.IOException;
 import java.net.ServerSocket;
@@ -10,30 +13,64 @@ import java.util.concurrent.Executors;
 
 public class GameServer {
 
+    private static final Logger log = LogManager.getLogger(GameServer.class);
+
     private final int port;
+    private final TransportType transportType;
     private ServerSocket serverSocket;
+    private NioTransport nioTransport;
     private final ExecutorService threadPool;
-    private final GameEngine gameEngine;
+    private final RoomManager roomManager;
 
     public GameServer(int port) {
+        this(port, TransportType.fromConfig());
+    }
+
+    public GameServer(int port, TransportType transportType) {
         this.port = port;
-        this.threadPool = Executors.newCachedThreadPool();
-        this.gameEngine = new GameEngine();
+        this.transportType = transportType;
+        this.threadPool = transportType == TransportType.VIRTUAL
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newCachedThreadPool();
+        this.roomManager = new RoomManager();
     }
 
     public void start() {
+        MetricsRegistry.global().gauge("jackal_rooms", "Активные комнаты", roomManager::getRoomCount);
+        MetricsExporter.start();
+        if (transportType == TransportType.NIO) {
+            startNio();
+        } else {
+            startBlocking();
+        }
+    }
+
+    private void startNio() {
+        nioTransport = new NioTransport(port, roomManager);
+        try {
+            nioTransport.start();
+        } catch (IOException e) {
+            if (!Thread.currentThread().isInterrupted()) {
+                log.error("Ошибка NIO сервера", e);
+            }
+        } finally {
+            shutdown();
+        }
+    }
+
+    private void startBlocking() {
         try {
             serverSocket = new ServerSocket(port);
-            System.out.println("Сервер запущен на порту " + port);
+            log.info("Сервер ({}) запущен на порту {}", transportType, port);
 
             while (!Thread.currentThread().isInterrupted()) {
                 Socket clientSocket = serverSocket.accept();
-                ClientHandler clientHandler = new ClientHandler(clientSocket, gameEngine);
+                ClientHandler clientHandler = new ClientHandler(clientSocket, roomManager);
                 threadPool.execute(clientHandler);
             }
         } catch (IOException e) {
-            if (!Thread.currentThread().isInterrupted()) {
-                e.printStackTrace();
+            if (!Thread.currentThread().isInterrupted() && serverSocket != null && !serverSocket.isClosed()) {
+                log.error("Ошибка сервера", e);
             }
         } finally {
             if (serverSocket != null && !serverSocket.isClosed()) {
@@ -49,8 +86,12 @@ public class GameServer {
             }
         } catch (IOException ignored) {
         }
+        if (nioTransport != null) {
+            nioTransport.shutdown();
+        }
         threadPool.shutdownNow();
-        System.out.println("Сервер остановлен");
+        roomManager.shutdown();
+        log.info("Сервер остановлен");
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,205 @@
+package ru.kpfu.itis.jackal.server;
+
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.metrics.ServerMetrics;
+import ru.kpfu.itis.jackal.network.protocol.BinaryFrameDecoder;
+import ru.kpfu.itis.jackal.network.protocol.WireFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class NioClientConnection extends ClientConnection {
+
+    private final SocketChannel channel;
+    private final NioTransport transport;
+    private final OutboundQueue outbound;
+    private PendingWrite current;
+    private final AtomicBoolean writeScheduled;
+    private final ByteArrayOutputStream lineBuffer;
+    private BinaryFrameDecoder frameDecoder;
+    private boolean negotiated;
+    private boolean awaitingVersion;
+    private SelectionKey key;
+    private volatile boolean closed;
+
+    public NioClientConnection(SocketChannel channel, NioTransport transport, RoomManager roomManager) {
+        super(roomManager);
+        this.channel = channel;
+        this.transport = transport;
+        this.outbound = new OutboundQueue();
+        this.writeScheduled = new AtomicBoolean();
+        this.lineBuffer = new ByteArrayOutputStream();
+        ServerMetrics.connectionOpened();
+    }
+
+    void setKey(SelectionKey key) {
+        this.key = key;
+    }
+
+    boolean read(BufferPool pool) throws IOException {
+        ByteBuffer buffer = pool.acquire();
+        try {
+            int read;
+            while ((read = channel.read(buffer)) > 0) {
+                ServerMetrics.BYTES_RECEIVED.add(read);
+                buffer.flip();
+                consume(buffer);
+                buffer.clear();
+            }
+            return read >= 0;
+        } finally {
+            pool.release(buffer);
+        }
+    }
+
+    private void consume(ByteBuffer buffer) throws IOException {
+        if (!negotiated && !negotiate(buffer)) {
+            return;
+        }
+        if (frameDecoder == null) {
+            consumeLines(buffer);
+            return;
+        }
+        try {
+            frameDecoder.feed(buffer, this::onMessage);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Некорректный кадр: " + e.getMessage(), e);
+        }
+    }
+
+    private boolean negotiate(ByteBuffer buffer) throws IOException {
+        if (!buffer.hasRemaining()) {
+            return false;
+        }
+        if (!awaitingVersion) {
+            if (buffer.get(buffer.position()) != WireFormat.BINARY_MAGIC) {
+                negotiated = true;
+                return true;
+            }
+            buffer.get();
+            awaitingVersion = true;
+            if (!buffer.hasRemaining()) {
+                return false;
+            }
+        }
+        byte version = buffer.get();
+        if (version != WireFormat.BINARY_VERSION) {
+            throw new IOException("Неподдерживаемая версия протокола: " + version);
+        }
+        frameDecoder = new BinaryFrameDecoder(GameConfig.MAX_FRAME_LENGTH);
+        negotiated = true;
+        acceptBinaryHandshake();
+        return true;
+    }
+
+    private void consumeLines(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            byte b = buffer.get();
+            if (b == '\n') {
+                String line = lineBuffer.toString(StandardCharsets.UTF_8);
+                lineBuffer.reset();
+                if (line.endsWith("\r")) {
+                    line = line.substring(0, line.length() - 1);
+                }
+                if (!line.isEmpty()) {
+                    onLine(line);
+                }
+            } else {
+                if (lineBuffer.size() >= GameConfig.MAX_LINE_LENGTH) {
+                    throw new IOException("Слишком длинное сообщение");
+                }
+                lineBuffer.write(b);
+            }
+        }
+    }
+
+    boolean flush() throws IOException {
+        while (true) {
+            if (current == null) {
+                OutboundFrame next = outbound.poll();
+                if (next == null) {
+                    break;
+                }
+                current = new PendingWrite(next);
+            }
+            channel.write(current.view);
+            if (current.view.hasRemaining()) {
+                return false;
+            }
+            ServerMetrics.frameSent(current.frame.length());
+            current.frame.release();
+            current = null;
+        }
+        writeScheduled.set(false);
+        if (!outbound.isEmpty() && writeScheduled.compareAndSet(false, true)) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void sendFrame(OutboundFrame frame) {
+        if (closed) {
+            return;
+        }
+        if (!handleOffer(outbound, outbound.offer(frame))) {
+            transport.requestClose(this);
+            return;
+        }
+        if (closed) {
+            outbound.close();
+            return;
+        }
+        if (writeScheduled.compareAndSet(false, true)) {
+            transport.requestWrite(this);
+        }
+    }
+
+    private void releasePending() {
+        outbound.close();
+        if (current != null) {
+            current.frame.release();
+            current = null;
+        }
+    }
+
+    SelectionKey getKey() {
+        return key;
+    }
+
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (key != null) {
+            key.cancel();
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+        releasePending();
+        onDisconnect();
+        ServerMetrics.connectionClosed();
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    private static final class PendingWrite {
+        private final OutboundFrame frame;
+        private final ByteBuffer view;
+
+        private PendingWrite(OutboundFrame frame) {
+            this.frame = frame;
+            this.view = frame.view();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package ru.kpfu.itis.jackal.server;
+
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.logging.LogManager;
+import ru.kpfu.itis.jackal.logging.Logger;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class NioTransport {
+
+    private static final Logger log = LogManager.getLogger(NioTransport.class);
+
+    private final int port;
+    private final RoomManager roomManager;
+    private final BufferPool bufferPool;
+    private final Queue<NioClientConnection> pendingWrites;
+    private final Queue<NioClientConnection> pendingCloses;
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private SelectionKey acceptKey;
+    private long acceptResumeAt;
+    private volatile boolean running;
+
+    public NioTransport(int port, RoomManager roomManager) {
+        this.port = port;
+        this.roomManager = roomManager;
+        this.bufferPool = new BufferPool(GameConfig.NIO_BUFFER_SIZE, GameConfig.NIO_BUFFER_POOL_SIZE);
+        this.pendingWrites = new ConcurrentLinkedQueue<>();
+        this.pendingCloses = new ConcurrentLinkedQueue<>();
+    }
+
+    public void start() throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.configureBlocking(false);
+        serverChannel.bind(new InetSocketAddress(port), GameConfig.NIO_ACCEPT_BACKLOG);
+        acceptKey = serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        log.info("Сервер (NIO) запущен на порту {}", port);
+
+        try {
+            while (running && !Thread.currentThread().isInterrupted()) {
+                if (acceptResumeAt > 0) {
+                    selector.select(Math.max(1, acceptResumeAt - System.currentTimeMillis()));
+                    resumeAcceptIfDue();
+                } else {
+                    selector.select();
+                }
+                processPendingCloses();
+                processPendingWrites();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        handleClientKey(key);
+                    }
+                }
+            }
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void accept() {
+        while (true) {
+            SocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+            } catch (IOException e) {
+                log.warn("Ошибка приема соединения, пауза {} мс: {}", GameConfig.NIO_ACCEPT_BACKOFF_MS, e.getMessage());
+                pauseAccept();
+                return;
+            }
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                NioClientConnection connection = new NioClientConnection(channel, this, roomManager);
+                connection.setKey(channel.register(selector, SelectionKey.OP_READ, connection));
+            } catch (IOException e) {
+                log.debug("Не удалось настроить соединение: {}", e.getMessage());
+                closeQuietly(channel);
+            }
+        }
+    }
+
+    private void pauseAccept() {
+        acceptKey.interestOps(0);
+        acceptResumeAt = System.currentTimeMillis() + GameConfig.NIO_ACCEPT_BACKOFF_MS;
+    }
+
+    private void resumeAcceptIfDue() {
+        if (System.currentTimeMillis() >= acceptResumeAt) {
+            acceptResumeAt = 0;
+            acceptKey.interestOps(SelectionKey.OP_ACCEPT);
+        }
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void handleClientKey(SelectionKey key) {
+        NioClientConnection connection = (NioClientConnection) key.attachment();
+        try {
+            if (key.isReadable() && !connection.read(bufferPool)) {
+                connection.close();
+                return;
+            }
+            if (key.isValid() && key.isWritable() && connection.flush()) {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        } catch (IOException e) {
+            log.debug("Ошибка соединения: {}", e.getMessage());
+            connection.close();
+        }
+    }
+
+    void requestWrite(NioClientConnection connection) {
+        pendingWrites.offer(connection);
+        Selector current = selector;
+        if (current != null) {
+            current.wakeup();
+        }
+    }
+
+    void requestClose(NioClientConnection connection) {
+        pendingCloses.offer(connection);
+        Selector current = selector;
+        if (current != null) {
+            current.wakeup();
+        }
+    }
+
+    private void processPendingCloses() {
+        NioClientConnection connection;
+        while ((connection = pendingCloses.poll()) != null) {
+            connection.close();
+        }
+    }
+
+    private void processPendingWrites() {
+        NioClientConnection connection;
+        while ((connection = pendingWrites.poll()) != null) {
+            SelectionKey key = connection.getKey();
+            if (key == null || !key.isValid() || connection.isClosed()) {
+                continue;
+            }
+            try {
+                if (connection.flush()) {
+                    key.interestOps(SelectionKey.OP_READ);
+                } else {
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                }
+            } catch (IOException e) {
+                log.debug("Ошибка записи: {}", e.getMessage());
+                connection.close();
+            }
+        }
+    }
+
+    private void closeAll() {
+        if (selector == null) {
+            return;
+        }
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof NioClientConnection) {
+                ((NioClientConnection) key.attachment()).close();
+            }
+        }
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    public void shutdown() {
+        running = false;
+        Selector current = selector;
+        if (current != null) {
+            current.wakeup();
+        }
+    }
+}
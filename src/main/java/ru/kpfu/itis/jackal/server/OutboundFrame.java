@@ -0,0 +1,127 @@
+package ru.kpfu.itis.jackal.server;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import lombok.Getter;
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.network.protocol.BinaryCodec;
+import ru.kpfu.itis.jackal.network.protocol.BinaryWriter;
+import ru.kpfu.itis.jackal.network.protocol.GameMessage;
+import ru.kpfu.itis.jackal.network.protocol.WireFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class OutboundFrame {
+
+    private static final Gson gson = new GsonBuilder().create();
+    private static final BufferPool FRAME_POOL =
+            new BufferPool(GameConfig.FRAME_BUFFER_SIZE, GameConfig.FRAME_POOL_SIZE, false);
+    private static final ThreadLocal<EncodeState> ENCODE_STATE = ThreadLocal.withInitial(EncodeState::new);
+
+    private final ByteBuffer buffer;
+    private final boolean pooled;
+    private final AtomicInteger refCount;
+    @Getter
+    private final FrameKind kind;
+
+    private OutboundFrame(ByteBuffer buffer, boolean pooled, FrameKind kind) {
+        this.buffer = buffer;
+        this.pooled = pooled;
+        this.kind = kind;
+        this.refCount = new AtomicInteger(1);
+    }
+
+    public static OutboundFrame encode(GameMessage message) {
+        return encode(message, WireFormat.JSON);
+    }
+
+    public static OutboundFrame encode(GameMessage message, WireFormat format) {
+        FrameKind kind = FrameKind.of(message.getType());
+        return format == WireFormat.BINARY ? encodeBinary(message, kind) : encodeJson(message, kind);
+    }
+
+    public static OutboundFrame wrap(byte[] bytes) {
+        return wrap(bytes, FrameKind.CONTROL);
+    }
+
+    private static OutboundFrame wrap(byte[] bytes, FrameKind kind) {
+        return new OutboundFrame(ByteBuffer.wrap(bytes), false, kind);
+    }
+
+    private static OutboundFrame encodeBinary(GameMessage message, FrameKind kind) {
+        BinaryWriter binary = ENCODE_STATE.get().binary;
+        binary.reset();
+        BinaryCodec.encodeFrame(message, binary);
+        if (binary.size() > GameConfig.FRAME_BUFFER_SIZE) {
+            return wrap(binary.toByteArray(), kind);
+        }
+        ByteBuffer buffer = FRAME_POOL.acquire();
+        binary.copyTo(buffer);
+        buffer.flip();
+        return new OutboundFrame(buffer, true, kind);
+    }
+
+    private static OutboundFrame encodeJson(GameMessage message, FrameKind kind) {
+        EncodeState state = ENCODE_STATE.get();
+        StringBuilder text = state.text;
+        text.setLength(0);
+        gson.toJson(message.materialize(), text);
+        text.append('\n');
+
+        ByteBuffer buffer = FRAME_POOL.acquire();
+        CharsetEncoder encoder = state.encoder.reset();
+        CoderResult result = encoder.encode(CharBuffer.wrap(text), buffer, true);
+        if (!result.isOverflow()) {
+            result = encoder.flush(buffer);
+        }
+        if (result.isOverflow()) {
+            FRAME_POOL.release(buffer);
+            return wrap(text.toString().getBytes(StandardCharsets.UTF_8), kind);
+        }
+        buffer.flip();
+        return new OutboundFrame(buffer, true, kind);
+    }
+
+    public OutboundFrame retain() {
+        int previous = refCount.getAndIncrement();
+        if (previous <= 0) {
+            refCount.getAndDecrement();
+            throw new IllegalStateException("Кадр уже освобождён");
+        }
+        return this;
+    }
+
+    public void release() {
+        int remaining = refCount.decrementAndGet();
+        if (remaining == 0 && pooled) {
+            FRAME_POOL.release(buffer);
+        } else if (remaining < 0) {
+            throw new IllegalStateException("Кадр освобождён повторно");
+        }
+    }
+
+    public ByteBuffer view() {
+        return buffer.asReadOnlyBuffer();
+    }
+
+    public int length() {
+        return buffer.limit();
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer.array(), buffer.arrayOffset(), buffer.limit());
+    }
+
+    private static final class EncodeState {
+        private final StringBuilder text = new StringBuilder(GameConfig.FRAME_BUFFER_SIZE);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private final BinaryWriter binary = new BinaryWriter(GameConfig.FRAME_BUFFER_SIZE);
+    }
+}
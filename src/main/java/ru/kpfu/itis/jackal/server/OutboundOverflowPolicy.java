@@ -0,0 +1,20 @@
+package ru.kpfu.itis.jackal.server;
+
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.logging.LogManager;
+
+public enum OutboundOverflowPolicy {
+    COALESCE,
+    DROP,
+    DISCONNECT;
+
+    public static OutboundOverflowPolicy fromConfig() {
+        String value = System.getProperty(GameConfig.OUTBOUND_OVERFLOW_PROPERTY, GameConfig.DEFAULT_OUTBOUND_OVERFLOW);
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LogManager.getLogger(OutboundOverflowPolicy.class).warn("Неизвестная политика очереди: {}, используется COALESCE", value);
+            return COALESCE;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package ru.kpfu.itis.jackal.server;
+
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.metrics.ServerMetrics;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class OutboundQueue {
+
+    public enum Result {
+        ACCEPTED,
+        DROPPED,
+        RESYNC,
+        EVICT
+    }
+
+    private final ArrayDeque<OutboundFrame> frames;
+    private final int capacity;
+    private final OutboundOverflowPolicy policy;
+    private final long stallTimeoutMs;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private boolean awaitingSnapshot;
+    private boolean closed;
+    private int highWater;
+    private long pendingSince;
+
+    public OutboundQueue() {
+        this(Integer.getInteger(GameConfig.OUTBOUND_CAPACITY_PROPERTY, GameConfig.DEFAULT_OUTBOUND_CAPACITY),
+                OutboundOverflowPolicy.fromConfig(),
+                Long.getLong(GameConfig.OUTBOUND_STALL_TIMEOUT_PROPERTY, GameConfig.DEFAULT_OUTBOUND_STALL_TIMEOUT_MS));
+    }
+
+    public OutboundQueue(int capacity, OutboundOverflowPolicy policy, long stallTimeoutMs) {
+        this.frames = new ArrayDeque<>(Math.min(capacity, 64));
+        this.capacity = capacity;
+        this.policy = policy;
+        this.stallTimeoutMs = stallTimeoutMs;
+    }
+
+    public Result offer(OutboundFrame frame) {
+        lock.lock();
+        try {
+            return enqueue(frame);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Result enqueue(OutboundFrame frame) {
+        if (closed) {
+            return Result.DROPPED;
+        }
+        FrameKind kind = frame.getKind();
+        if (kind == FrameKind.STATE && awaitingSnapshot) {
+            ServerMetrics.OUTBOUND_STATE_DROPPED.increment();
+            return Result.DROPPED;
+        }
+
+        if (!frames.isEmpty() && System.currentTimeMillis() - pendingSince >= stallTimeoutMs) {
+            return evict();
+        }
+
+        boolean lostState = false;
+        if (frames.size() >= capacity) {
+            switch (policy) {
+                case DISCONNECT:
+                    return evict();
+                case DROP:
+                    if (kind == FrameKind.STATE) {
+                        ServerMetrics.OUTBOUND_STATE_DROPPED.increment();
+                        return resyncIf(true, Result.DROPPED);
+                    }
+                    if (kind == FrameKind.CHAT) {
+                        ServerMetrics.OUTBOUND_CHAT_DROPPED.increment();
+                        return Result.DROPPED;
+                    }
+                    break;
+                case COALESCE:
+                    lostState = coalesce();
+                    if (kind == FrameKind.STATE) {
+                        ServerMetrics.OUTBOUND_STATE_DROPPED.increment();
+                        return resyncIf(true, Result.DROPPED);
+                    }
+                    if (kind == FrameKind.CHAT) {
+                        ServerMetrics.OUTBOUND_CHAT_DROPPED.increment();
+                        return resyncIf(lostState, Result.DROPPED);
+                    }
+                    break;
+            }
+            if (frames.size() >= capacity * 2) {
+                return evict();
+            }
+        }
+
+        if (kind == FrameKind.SNAPSHOT) {
+            awaitingSnapshot = false;
+            lostState = false;
+        }
+        if (frames.isEmpty()) {
+            pendingSince = System.currentTimeMillis();
+        }
+        frames.addLast(frame.retain());
+        ServerMetrics.outboundQueued(frames.size());
+        if (frames.size() > highWater) {
+            highWater = frames.size();
+        }
+        if (frames.size() == 1) {
+            notEmpty.signalAll();
+        }
+        return resyncIf(lostState, Result.ACCEPTED);
+    }
+
+    private Result evict() {
+        close();
+        return Result.EVICT;
+    }
+
+    private Result resyncIf(boolean lostState, Result otherwise) {
+        if (!lostState || awaitingSnapshot) {
+            return otherwise;
+        }
+        awaitingSnapshot = true;
+        return Result.RESYNC;
+    }
+
+    private boolean coalesce() {
+        boolean lostState = false;
+        Iterator<OutboundFrame> iterator = frames.iterator();
+        while (iterator.hasNext()) {
+            OutboundFrame queued = iterator.next();
+            FrameKind kind = queued.getKind();
+            if (kind == FrameKind.CONTROL) {
+                continue;
+            }
+            iterator.remove();
+            queued.release();
+            ServerMetrics.outboundDrained();
+            if (kind == FrameKind.CHAT) {
+                ServerMetrics.OUTBOUND_CHAT_DROPPED.increment();
+            } else {
+                ServerMetrics.OUTBOUND_STATE_COALESCED.increment();
+                lostState = true;
+            }
+        }
+        return lostState;
+    }
+
+    public OutboundFrame poll() {
+        lock.lock();
+        try {
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public OutboundFrame take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (frames.isEmpty() && !closed) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private OutboundFrame dequeue() {
+        OutboundFrame frame = frames.pollFirst();
+        if (frame != null) {
+            pendingSince = System.currentTimeMillis();
+            ServerMetrics.outboundDrained();
+        }
+        return frame;
+    }
+
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return frames.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return frames.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getHighWater() {
+        lock.lock();
+        try {
+            return highWater;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            OutboundFrame frame;
+            while ((frame = frames.pollFirst()) != null) {
+                ServerMetrics.outboundDrained();
+                frame.release();
+            }
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package ru.kpfu.itis.jackal.server;
+
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.common.RoomSettings;
+import ru.kpfu.itis.jackal.game.EventLogType;
+import ru.kpfu.itis.jackal.game.GameEngine;
+import ru.kpfu.itis.jackal.game.GameReplayer;
+import ru.kpfu.itis.jackal.journal.Journal;
+import ru.kpfu.itis.jackal.journal.RecoveredRoom;
+import ru.kpfu.itis.jackal.journal.RoomJournal;
+import ru.kpfu.itis.jackal.logging.LogManager;
+import ru.kpfu.itis.jackal.logging.Logger;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RoomManager {
+
+    private static final Logger log = LogManager.getLogger(RoomManager.class);
+
+    private final Map<String, GameEngine> rooms;
+    private final Map<String, CompletableFuture<GameEngine>> creating = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictionExecutor;
+    private final ScheduledExecutorService spectatorExecutor;
+    private final ExecutorService eventLoopPool;
+    private final int maxRooms;
+    private final long idleTimeoutMs;
+
+    public RoomManager() {
+        this(GameConfig.MAX_ROOMS, GameConfig.ROOM_IDLE_TIMEOUT_MS);
+    }
+
+    public RoomManager(int maxRooms, long idleTimeoutMs) {
+        this.rooms = new ConcurrentHashMap<>();
+        this.maxRooms = maxRooms;
+        this.idleTimeoutMs = idleTimeoutMs;
+        AtomicInteger loopCounter = new AtomicInteger();
+        this.eventLoopPool = Executors.newFixedThreadPool(GameConfig.EVENT_LOOP_THREADS, r -> {
+            Thread thread = new Thread(r, "GameLoop-" + loopCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.evictionExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "RoomEviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.spectatorExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "SpectatorFanout");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        if (EventLogType.fromConfig() == EventLogType.JOURNAL) {
+            restoreRooms(Journal.shared());
+        }
+        this.evictionExecutor.scheduleAtFixedRate(this::evictIdleRooms,
+                GameConfig.ROOM_EVICTION_INTERVAL_MS, GameConfig.ROOM_EVICTION_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        this.evictionExecutor.scheduleAtFixedRate(this::sweepSessions,
+                GameConfig.SESSION_SWEEP_INTERVAL_MS, GameConfig.SESSION_SWEEP_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        this.spectatorExecutor.scheduleAtFixedRate(this::tickSpectators,
+                GameConfig.SPECTATOR_TICK_MS, GameConfig.SPECTATOR_TICK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public GameEngine joinRoom(String roomId) {
+        return joinRoom(roomId, RoomSettings.defaults());
+    }
+
+    public GameEngine joinRoom(String roomId, RoomSettings settings) {
+        String key = normalizeRoomId(roomId);
+        while (true) {
+            GameEngine engine = watchRoom(key);
+            if (engine != null) {
+                return engine;
+            }
+            CompletableFuture<GameEngine> created = new CompletableFuture<>();
+            CompletableFuture<GameEngine> pending = creating.putIfAbsent(key, created);
+            if (pending == null) {
+                return createRoom(key, settings, created);
+            }
+            if (pending.join() == null) {
+                return null;
+            }
+        }
+    }
+
+    private GameEngine createRoom(String key, RoomSettings settings, CompletableFuture<GameEngine> created) {
+        GameEngine engine = null;
+        try {
+            engine = watchRoom(key);
+            if (engine == null && rooms.size() < maxRooms) {
+                engine = new GameEngine(key, settings, eventLoopPool);
+                engine.attachConnection();
+                rooms.put(key, engine);
+                log.info("Создана комната {} ({}, всего: {})", key, settings, rooms.size());
+            }
+            return engine;
+        } finally {
+            creating.remove(key, created);
+            created.complete(engine);
+        }
+    }
+
+    public GameEngine watchRoom(String roomId) {
+        return rooms.computeIfPresent(normalizeRoomId(roomId), (id, engine) -> {
+            engine.attachConnection();
+            return engine;
+        });
+    }
+
+    public int restoreRooms(Journal journal) {
+        long startNanos = System.nanoTime();
+        int restored = 0;
+        for (RecoveredRoom room : journal.recover().values()) {
+            try {
+                GameEngine engine = GameReplayer.resume(room.getHeader(), room.getSnapshot(), room.getTail(),
+                        eventLoopPool, new RoomJournal(journal, room.getRoomId()));
+                rooms.put(room.getRoomId(), engine);
+                restored++;
+            } catch (Exception e) {
+                log.error("Не удалось восстановить комнату {}", room.getRoomId(), e);
+            }
+        }
+        log.info("Восстановлено комнат: {} за {} мс", restored, (System.nanoTime() - startNanos) / 1_000_000);
+        return restored;
+    }
+
+    public void leaveRoom(GameEngine engine) {
+        rooms.computeIfPresent(engine.getRoomId(), (id, current) -> {
+            if (current == engine) {
+                current.detachConnection();
+            }
+            return current;
+        });
+    }
+
+    public GameEngine getRoom(String roomId) {
+        return rooms.get(normalizeRoomId(roomId));
+    }
+
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    public void evictIdleRooms() {
+        long now = System.currentTimeMillis();
+        for (String roomId : rooms.keySet()) {
+            rooms.computeIfPresent(roomId, (id, engine) -> {
+                if (engine.isIdle(now, idleTimeoutMs)) {
+                    log.info("Комната {} удалена по простою", id);
+                    engine.evict();
+                    return null;
+                }
+                return engine;
+            });
+        }
+    }
+
+    public void sweepSessions() {
+        for (GameEngine engine : rooms.values()) {
+            if (engine.hasSuspendedSessions()) {
+                engine.submitSessionSweep();
+            }
+        }
+    }
+
+    public void tickSpectators() {
+        long now = System.currentTimeMillis();
+        for (GameEngine engine : rooms.values()) {
+            if (engine.hasSpectators()) {
+                try {
+                    engine.tickSpectators(now);
+                } catch (Exception e) {
+                    log.error("Ошибка рассылки зрителям комнаты {}", engine.getRoomId(), e);
+                }
+            }
+        }
+    }
+
+    public void shutdown() {
+        evictionExecutor.shutdownNow();
+        spectatorExecutor.shutdownNow();
+        eventLoopPool.shutdownNow();
+        rooms.values().forEach(GameEngine::close);
+        rooms.clear();
+        if (EventLogType.fromConfig() == EventLogType.JOURNAL) {
+            Journal.shared().close();
+        }
+    }
+
+    private String normalizeRoomId(String roomId) {
+        if (roomId == null || roomId.isBlank()) {
+            return GameConfig.DEFAULT_ROOM_ID;
+        }
+        return roomId.trim();
+    }
+}
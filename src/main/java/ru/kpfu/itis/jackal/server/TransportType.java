@@ -0,0 +1,20 @@
+package ru.kpfu.itis.jackal.server;
+
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.logging.LogManager;
+
+public enum TransportType {
+    BLOCKING,
+    VIRTUAL,
+    NIO;
+
+    public static TransportType fromConfig() {
+        String value = System.getProperty(GameConfig.SERVER_TRANSPORT_PROPERTY, GameConfig.DEFAULT_SERVER_TRANSPORT);
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LogManager.getLogger(TransportType.class).warn("Неизвестный транспорт: {}, используется BLOCKING", value);
+            return BLOCKING;
+        }
+    }
+}
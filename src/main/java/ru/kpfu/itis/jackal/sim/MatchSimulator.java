@@ -0,0 +1,132 @@
+package ru.kpfu.itis.jackal.sim;
+
+import ru.kpfu.itis.jackal.bot.BotPolicy;
+import ru.kpfu.itis.jackal.bot.BotType;
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.common.GameState;
+import ru.kpfu.itis.jackal.common.Player;
+import ru.kpfu.itis.jackal.game.GameRules;
+import ru.kpfu.itis.jackal.game.Move;
+import ru.kpfu.itis.jackal.logging.LogManager;
+import ru.kpfu.itis.jackal.logging.Logger;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class MatchSimulator {
+
+    private static final Logger log = LogManager.getLogger(MatchSimulator.class);
+    private static final long SEED_STRIDE = 0x9E3779B97F4A7C15L;
+
+    private final SimulationSettings settings;
+    private final BotPolicy[] policies;
+    private final int[][] beachPositions;
+
+    public MatchSimulator(SimulationSettings settings) {
+        this.settings = settings;
+        this.policies = settings.getBots().stream().map(BotType::create).toArray(BotPolicy[]::new);
+        this.beachPositions = settings.getRoom().beachPositions();
+    }
+
+    public SimulationReport run() {
+        ForkJoinPool pool = new ForkJoinPool(settings.getParallelism());
+        long startNanos = System.nanoTime();
+        try {
+            SimulationReport report = pool.invoke(new MatchBatch(0, settings.getGames()));
+            report.setElapsedNanos(System.nanoTime() - startNanos);
+            return report;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void playMatch(int index, SimulationReport report) {
+        int seats = policies.length;
+        SplittableRandom random = new SplittableRandom(settings.getSeed() + index * SEED_STRIDE);
+        GameState state = GameRules.newGame(settings.getRoom(), settings.getGenerator(), random);
+        GameRules rules = new GameRules(state, beachPositions, settings.getWinningScore(), random);
+
+        int[] slotOfSeat = new int[seats];
+        for (int seat = 0; seat < seats; seat++) {
+            slotOfSeat[seat] = (seat + index) % seats;
+            rules.addPlayer(new Player("bot-" + seat, settings.getBots().get(slotOfSeat[seat]).name(), null));
+        }
+        rules.startGame();
+
+        List<Player> players = state.getPlayers();
+        int seat = 0;
+        int moves = 0;
+        int rejected = 0;
+        int streak = 0;
+        while (!state.isGameFinished() && state.getTurnNumber() < settings.getMaxTurns()) {
+            Player player = players.get(seat);
+            Move move = streak < GameConfig.SIM_MAX_REJECTED_MOVES
+                    ? policies[slotOfSeat[seat]].chooseMove(rules, player, random)
+                    : Move.END_TURN;
+            if (rules.play(player.getId(), move)) {
+                moves++;
+                streak = 0;
+                seat = (seat + 1) % seats;
+            } else {
+                rejected++;
+                streak++;
+            }
+        }
+
+        int winnerSlot = -1;
+        int[] slotScores = new int[seats];
+        for (int i = 0; i < seats; i++) {
+            Player player = players.get(i);
+            slotScores[slotOfSeat[i]] = player.getScore();
+            if (player.getId().equals(state.getWinnerPlayerId())) {
+                winnerSlot = slotOfSeat[i];
+            }
+        }
+        report.recordMatch(winnerSlot, state.getTurnNumber(), moves, rejected, slotScores);
+    }
+
+    public static void main(String[] args) {
+        SimulationSettings settings = SimulationSettings.fromConfig();
+        log.info("Симуляция: {}, потоков: {}", settings, settings.getParallelism());
+        SimulationReport report = new MatchSimulator(settings).run();
+        log.info("Сыграно {} матчей за {} мс", report.getGames(), report.getElapsedNanos() / 1_000_000);
+        log.info("{} матчей/с, {} ходов/с", String.format("%.0f", report.getGamesPerSecond()),
+                String.format("%.0f", report.getMovesPerSecond()));
+        log.info("Средняя длина: {} ходов, без победителя: {}, отклонено ходов: {}",
+                String.format("%.1f", report.getAverageTurns()), report.getDraws(), report.getRejectedMoves());
+        for (int slot = 0; slot < settings.getBots().size(); slot++) {
+            log.info("{}: побед {}, среднее золото {}", settings.getBots().get(slot) + " #" + slot,
+                    String.format("%.1f%%", report.getWinRate(slot) * 100),
+                    String.format("%.2f", report.getAverageScore(slot)));
+        }
+    }
+
+    private class MatchBatch extends RecursiveTask<SimulationReport> {
+
+        private final int from;
+        private final int to;
+
+        private MatchBatch(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationReport compute() {
+            if (to - from <= GameConfig.SIM_BATCH_SIZE) {
+                SimulationReport report = new SimulationReport(policies.length);
+                for (int index = from; index < to; index++) {
+                    playMatch(index, report);
+                }
+                return report;
+            }
+            int middle = (from + to) >>> 1;
+            MatchBatch left = new MatchBatch(from, middle);
+            left.fork();
+            SimulationReport right = new MatchBatch(middle, to).compute();
+            return right.merge(left.join());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ru.kpfu.itis.jackal.sim;
+
+import lombok.Getter;
+
+@Getter
+public class SimulationReport {
+
+    private long games;
+    private long draws;
+    private long turns;
+    private long moves;
+    private long rejectedMoves;
+    private final long[] wins;
+    private final long[] scores;
+    private long elapsedNanos;
+
+    public SimulationReport(int slots) {
+        this.wins = new long[slots];
+        this.scores = new long[slots];
+    }
+
+    void recordMatch(int winnerSlot, int turns, int moves, int rejectedMoves, int[] slotScores) {
+        this.games++;
+        this.turns += turns;
+        this.moves += moves;
+        this.rejectedMoves += rejectedMoves;
+        if (winnerSlot < 0) {
+            this.draws++;
+        } else {
+            this.wins[winnerSlot]++;
+        }
+        for (int slot = 0; slot < slotScores.length; slot++) {
+            this.scores[slot] += slotScores[slot];
+        }
+    }
+
+    SimulationReport merge(SimulationReport other) {
+        this.games += other.games;
+        this.draws += other.draws;
+        this.turns += other.turns;
+        this.moves += other.moves;
+        this.rejectedMoves += other.rejectedMoves;
+        for (int slot = 0; slot < wins.length; slot++) {
+            this.wins[slot] += other.wins[slot];
+            this.scores[slot] += other.scores[slot];
+        }
+        return this;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    public double getMovesPerSecond() {
+        return elapsedNanos == 0 ? 0 : moves * 1e9 / elapsedNanos;
+    }
+
+    public double getWinRate(int slot) {
+        return games == 0 ? 0 : (double) wins[slot] / games;
+    }
+
+    public double getAverageScore(int slot) {
+        return games == 0 ? 0 : (double) scores[slot] / games;
+    }
+
+    public double getAverageTurns() {
+        return games == 0 ? 0 : (double) turns / games;
+    }
+}
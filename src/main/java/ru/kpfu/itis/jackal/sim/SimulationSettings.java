@@ -0,0 +1,78 @@
+package ru.kpfu.itis.jackal.sim;
+
+import lombok.Getter;
+import ru.kpfu.itis.jackal.bot.BotType;
+import ru.kpfu.itis.jackal.common.CellContent;
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.common.RoomSettings;
+import ru.kpfu.itis.jackal.game.BoardGenerator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Getter
+public final class SimulationSettings {
+
+    private final int games;
+    private final RoomSettings room;
+    private final List<BotType> bots;
+    private final int winningScore;
+    private final int maxTurns;
+    private final long seed;
+    private final int parallelism;
+    private final BoardGenerator generator;
+
+    public SimulationSettings(int games, int boardSize, List<BotType> bots, int winningScore, int maxTurns,
+                              long seed, int parallelism, BoardGenerator generator) {
+        if (bots.size() < GameConfig.MIN_PLAYERS || bots.size() > GameConfig.MAX_PLAYERS_LIMIT) {
+            throw new IllegalArgumentException("Ботов должно быть от " + GameConfig.MIN_PLAYERS
+                    + " до " + GameConfig.MAX_PLAYERS_LIMIT + ": " + bots);
+        }
+        this.games = games;
+        this.room = RoomSettings.of(boardSize, boardSize, bots.size());
+        this.bots = List.copyOf(bots);
+        this.winningScore = winningScore;
+        this.maxTurns = maxTurns;
+        this.seed = seed;
+        this.parallelism = parallelism;
+        this.generator = generator;
+    }
+
+    public static SimulationSettings fromConfig() {
+        List<BotType> bots = new ArrayList<>();
+        for (String name : System.getProperty(GameConfig.SIM_BOTS_PROPERTY, GameConfig.DEFAULT_SIM_BOTS).split(",")) {
+            bots.add(BotType.fromName(name));
+        }
+        String weights = System.getProperty(GameConfig.SIM_CONTENT_WEIGHTS_PROPERTY);
+        return new SimulationSettings(
+                Integer.getInteger(GameConfig.SIM_GAMES_PROPERTY, GameConfig.DEFAULT_SIM_GAMES),
+                Integer.getInteger(GameConfig.SIM_BOARD_SIZE_PROPERTY, GameConfig.BOARD_WIDTH),
+                bots,
+                Integer.getInteger(GameConfig.SIM_WINNING_SCORE_PROPERTY, GameConfig.WINNING_SCORE),
+                Integer.getInteger(GameConfig.SIM_MAX_TURNS_PROPERTY, GameConfig.DEFAULT_SIM_MAX_TURNS),
+                Long.getLong(GameConfig.SEED_PROPERTY, ThreadLocalRandom.current().nextLong()),
+                Integer.getInteger(GameConfig.SIM_PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors()),
+                weights != null ? BoardGenerator.withContentWeights(parseWeights(weights)) : BoardGenerator.defaults());
+    }
+
+    private static Map<CellContent, Double> parseWeights(String value) {
+        Map<CellContent, Double> weights = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Ожидается СОДЕРЖИМОЕ:вес, получено: " + entry);
+            }
+            weights.put(CellContent.valueOf(parts[0].trim().toUpperCase()), Double.parseDouble(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        return games + " матчей, поле " + room.getWidth() + "x" + room.getHeight() + ", боты " + bots
+                + ", до " + winningScore + " золота, лимит " + maxTurns + " ходов, seed=" + seed;
+    }
+}
@@ -2,20 +2,29 @@ package ru.kpfu.itis.jackal.ui;
 
 import javax.swing.*;
 import com.google.gson.*;
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.common.RoomSettings;
+import ru.kpfu.itis.jackal.dto.PlayerDto;
+import ru.kpfu.itis.jackal.logging.LogManager;
+import ru.kpfu.itis.jackal.logging.Logger;
 import ru.kpfu.itis.jackal.ui.screens.MainMenuScreen;
 import ru.kpfu.itis.jackal.ui.screens.LobbyScreen;
 import ru.kpfu.itis.jackal.ui.screens.GameScreen;
+import ru.kpfu.itis.jackal.ui.model.GameStatePipeline;
+import ru.kpfu.itis.jackal.ui.model.GameView;
 import ru.kpfu.itis.jackal.network.NetworkClient;
 import ru.kpfu.itis.jackal.network.protocol.GameMessage;
 import ru.kpfu.itis.jackal.network.protocol.MessageType;
+import ru.kpfu.itis.jackal.network.protocol.WireFormat;
 import ru.kpfu.itis.jackal.server.GameServer;
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 public class GameController {
     private AppFrame appFrame;
     private NetworkClient networkClient;
     private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static final Logger log = LogManager.getLogger(GameController.class);
     private GameServer gameServer;
     private Thread serverThread;
     private MainMenuScreen mainMenuScreen;
@@ -27,12 +36,19 @@ public class GameController {
     private String currentPlayerName;
     private int currentRound;
     private boolean isHost = false;
+    private boolean spectator = false;
     private Integer selectedPirateId = null;
     private boolean gameStarting = false;
+    private final GameStatePipeline statePipeline =
+            new GameStatePipeline(this::renderGameState, this::handleMessage, this::requestResync);
+    private GameView gameView;
 
     public GameController() {
         this.appFrame = new AppFrame("Шакал - Pirates Game", 1200, 800);
         this.networkClient = new NetworkClient();
+        this.networkClient.setVersionSupplier(statePipeline::getVersion);
+        this.networkClient.setConnectionListener(this::handleConnectionChange);
+        this.statePipeline.start();
         showMainMenu();
     }
 
@@ -47,7 +63,11 @@ public class GameController {
         String name = mainMenuScreen.getPlayerName();
         String host = mainMenuScreen.getHost();
         int port = mainMenuScreen.getPort();
+        String roomId = mainMenuScreen.getRoomId();
+        int boardSize = mainMenuScreen.getBoardSize();
+        int maxPlayers = mainMenuScreen.getMaxPlayers();
         boolean createServer = mainMenuScreen.isHostSelected();
+        boolean spectate = mainMenuScreen.isSpectatorSelected();
 
         if (name == null || name.trim().isEmpty()) {
             mainMenuScreen.setStatus("Введите имя игрока", true);
@@ -61,6 +81,17 @@ public class GameController {
             mainMenuScreen.setStatus("Неправильный порт", true);
             return;
         }
+        if (boardSize < GameConfig.MIN_BOARD_SIZE || boardSize > GameConfig.MAX_BOARD_SIZE) {
+            mainMenuScreen.setStatus("Размер поля: от " + GameConfig.MIN_BOARD_SIZE
+                    + " до " + GameConfig.MAX_BOARD_SIZE, true);
+            return;
+        }
+        if (maxPlayers < GameConfig.MIN_PLAYERS || maxPlayers > GameConfig.MAX_PLAYERS_LIMIT) {
+            mainMenuScreen.setStatus("Игроков: от " + GameConfig.MIN_PLAYERS
+                    + " до " + GameConfig.MAX_PLAYERS_LIMIT, true);
+            return;
+        }
+        RoomSettings settings = RoomSettings.of(boardSize, boardSize, maxPlayers);
 
         this.playerName = name.trim();
         mainMenuScreen.setStatus("Инициализация...", false);
@@ -74,9 +105,11 @@ public class GameController {
                     mainMenuScreen.setStatus("Сервер запущен, подключение...", false);
                     Thread.sleep(1000);
                 }
-                networkClient.connect(host, port, playerName);
-                networkClient.setMessageListener(this::handleMessage);
-                SwingUtilities.invokeLater(this::showLobby);
+                this.spectator = spectate;
+                networkClient.setSpectator(spectate);
+                networkClient.connect(host, port, playerName, roomId, settings, WireFormat.fromConfig());
+                networkClient.setMessageListener(statePipeline::submit);
+                SwingUtilities.invokeLater(spectate ? this::showGame : this::showLobby);
             } catch (Exception ex) {
                 SwingUtilities.invokeLater(() -> {
                     mainMenuScreen.setStatus("Ошибка: " + ex.getMessage(), true);
@@ -90,11 +123,10 @@ public class GameController {
         gameServer = new GameServer(port);
         serverThread = new Thread(() -> {
             try {
-                System.out.println("[GameController] Запуск встроенного сервера на порту " + port + "...");
+                log.info("Запуск встроенного сервера на порту {}...", port);
                 gameServer.start();
             } catch (Exception e) {
-                System.err.println("[GameController] Ошибка при запуске сервера:");
-                e.printStackTrace();
+                log.error("Ошибка при запуске сервера", e);
             }
         });
         serverThread.setName("GameServer-Thread");
@@ -121,7 +153,7 @@ public class GameController {
             networkClient.sendMessage(readyMessage);
             lobbyScreen.setReadyButtonStatus(newReady);
             lobbyScreen.setStatus(newReady ? "Вы готовы! Ожидаем других..." : "Вы не готовы", false);
-            System.out.println("[GameController] Ready toggled: " + newReady);
+            log.debug("Ready toggled: {}", newReady);
         } catch (Exception ex) {
             lobbyScreen.setStatus("Ошибка: " + ex.getMessage(), false);
         }
@@ -129,7 +161,7 @@ public class GameController {
 
     private void handleStartGame() {
         if (gameStarting) {
-            System.out.println("[GameController] Игра уже запускается");
+            log.debug("Игра уже запускается");
             return;
         }
         gameStarting = true;
@@ -140,7 +172,7 @@ public class GameController {
             startMessage.setData("{\"action\": \"START_GAME\"}");
             networkClient.sendMessage(startMessage);
             lobbyScreen.setStatus("Запуск игры...", false);
-            System.out.println("[GameController] Нажата кнопка 'Начать игру'");
+            log.info("Нажата кнопка 'Начать игру'");
         } catch (Exception ex) {
             gameStarting = false;
             lobbyScreen.setStatus("Ошибка: " + ex.getMessage(), false);
@@ -153,15 +185,26 @@ public class GameController {
         gameScreen.setEndTurnListener(e -> handleEndTurn());
         gameScreen.setExitListener(e -> handleExit());
         gameScreen.setCellClickListener((x, y) -> handleCellClick((Integer) x, (Integer) y));
+        gameScreen.setLocalPlayerId(networkClient.getPlayerId());
+        if (gameView != null) {
+            gameView.replay(gameScreen);
+        }
         gameScreen.addLog("[ИГРА] Игра началась!");
         gameScreen.addLog("[РАУНД] Раунд 1 начинается...");
     }
 
     private void handleCellClick(Integer x, Integer y) {
+        if (spectator) {
+            gameScreen.setActionStatus("Режим наблюдателя");
+            return;
+        }
         if (x == -1) {
             selectedPirateId = y;
             gameScreen.setSelectedPirate(y);
             gameScreen.addLog("[SELECT] Пират #" + y + " выбран");
+            if (gameView != null && currentPlayer != null && currentPlayer.equals(playerId)) {
+                gameScreen.updatePossibleMoves(gameView.possibleMoves(y));
+            }
             return;
         }
 
@@ -173,6 +216,10 @@ public class GameController {
             gameScreen.setActionStatus("Сначала выберите пирата");
             return;
         }
+        if (gameView == null || !gameView.isLegalMove(selectedPirateId, x, y)) {
+            gameScreen.setActionStatus("Недопустимый ход");
+            return;
+        }
 
         try {
             JsonObject actionJson = new JsonObject();
@@ -188,7 +235,10 @@ public class GameController {
             networkClient.sendMessage(moveMessage);
 
             gameScreen.setActionStatus("Пират #" + selectedPirateId + " → (" + x + ", " + y + ")");
-            gameScreen.addLog("[ХОД] Пират #" + selectedPirateId + " переместился на клетку (" + x + ", " + y + ")");
+            int[] from = gameView.findPirate(networkClient.getPlayerId(), selectedPirateId);
+            gameScreen.addLog("[ХОД] Пират #" + selectedPirateId
+                    + (from != null ? " переместился с (" + from[0] + ", " + from[1] + ")" : " переместился")
+                    + " на клетку (" + x + ", " + y + ")");
 
         } catch (Exception ex) {
             gameScreen.setActionStatus("Ошибка: " + ex.getMessage());
@@ -196,6 +246,10 @@ public class GameController {
     }
 
     private void handleEndTurn() {
+        if (spectator) {
+            gameScreen.setActionStatus("Режим наблюдателя");
+            return;
+        }
         try {
             JsonObject turnJson = new JsonObject();
             turnJson.addProperty("actionType", "END_TURN");
@@ -209,7 +263,7 @@ public class GameController {
             gameScreen.setActionStatus("Ход завершен, ожидаем ответа сервера...");
 
             gameScreen.addLog("[КОНЕЦ ХОДА] " + playerName + " завершил ход");
-            System.out.println("[GameController] END_TURN отправлено");
+            log.debug("END_TURN отправлено");
 
         } catch (Exception ex) {
             gameScreen.setActionStatus("Ошибка: " + ex.getMessage());
@@ -217,15 +271,16 @@ public class GameController {
     }
 
     private void handleExit() {
-        System.out.println("[GameController] Выход из приложения...");
+        log.info("Выход из приложения...");
         networkClient.disconnect();
+        statePipeline.close();
 
         if (isHost && serverThread != null && serverThread.isAlive()) {
             try {
                 serverThread.interrupt();
                 serverThread.join(5000);
             } catch (InterruptedException e) {
-                System.err.println("[GameController] Ошибка: " + e.getMessage());
+                log.warn("Ошибка: {}", e.getMessage());
             }
         }
 
@@ -233,150 +288,123 @@ public class GameController {
     }
 
     private void handleMessage(GameMessage message) {
-        if (message == null || message.getType() == null) {
-            System.err.println("[GameController] Null сообщение");
-            return;
+        MessageType type = message.getType();
+        try {
+            if (type == MessageType.CHAT_MESSAGE) {
+                handleChatMessage(message);
+            } else if (type == MessageType.SESSION) {
+                handleSession(message);
+            } else if (type == MessageType.GAME_START) {
+                log.info("GAME_START, переходим в игру");
+                showGame();
+            } else if (type == MessageType.GAME_END) {
+                handleGameEnd(message);
+            } else if (type == MessageType.ERROR) {
+                JOptionPane.showMessageDialog(appFrame,
+                        "Ошибка: " + message.getData(),
+                        "Ошибка",
+                        JOptionPane.ERROR_MESSAGE);
+            }
+        } catch (Exception ex) {
+            log.error("Ошибка при обработке сообщения {}", type, ex);
         }
+    }
 
-        MessageType type = message.getType();
-        System.out.println("[GameController] Получено: " + type);
+    private void handleSession(GameMessage message) {
+        JsonObject data = message.dataAsJson().getAsJsonObject();
+        if (data.get("gameStarted").getAsBoolean() && gameScreen == null) {
+            log.info("Сессия восстановлена в идущей игре");
+            showGame();
+        }
+    }
 
+    private void handleConnectionChange(boolean restored) {
         SwingUtilities.invokeLater(() -> {
-            try {
-                if (type == MessageType.CHAT_MESSAGE) {
-                    handleChatMessage(message);
-                } else if (type == MessageType.GAME_STATE) {
-                    updateGameState(message);
-                } else if (type == MessageType.GAME_START) {
-                    System.out.println("[GameController] GAME_START, переходим в игру");
-                    showGame();
-                } else if (type == MessageType.GAME_END) {
-                    handleGameEnd(message);
-                } else if (type == MessageType.ERROR) {
-                    JOptionPane.showMessageDialog(appFrame,
-                            "Ошибка: " + message.getData(),
-                            "Ошибка",
-                            JOptionPane.ERROR_MESSAGE);
-                }
-            } catch (Exception ex) {
-                System.err.println("[GameController] Ошибка при обработке сообщения:");
-                ex.printStackTrace();
+            String status = restored ? "Соединение восстановлено" : "Соединение потеряно, переподключение...";
+            if (gameScreen != null) {
+                gameScreen.setActionStatus(status);
+                gameScreen.addLog("[СЕТЬ] " + status);
+            } else if (lobbyScreen != null) {
+                lobbyScreen.setStatus(status, false);
             }
         });
     }
 
     private void handleChatMessage(GameMessage message) {
         try {
-            JsonObject data = JsonParser.parseString(message.getData()).getAsJsonObject();
+            JsonObject data = message.dataAsJson().getAsJsonObject();
             String chatMessage = data.get("message").getAsString();
 
             if (gameScreen != null) {
                 gameScreen.addLog(chatMessage);
             }
 
-            System.out.println("[GameController] Chat: " + chatMessage);
+            log.debug("Chat: {}", chatMessage);
         } catch (Exception e) {
-            System.err.println("[GameController] Ошибка обработки CHAT_MESSAGE: " + e.getMessage());
+            log.warn("Ошибка обработки CHAT_MESSAGE: {}", e.getMessage());
         }
     }
 
-    private void updateGameState(GameMessage message) throws Exception {
-        if (message.getData() == null) {
-            return;
-        }
-
-        JsonElement jsonElement = JsonParser.parseString(message.getData());
-        JsonObject data = jsonElement.getAsJsonObject();
+    private void requestResync() {
+        GameMessage resyncMessage = new GameMessage();
+        resyncMessage.setType(MessageType.RESYNC_REQUEST);
+        resyncMessage.setPlayerId(networkClient.getPlayerId());
+        networkClient.sendMessage(resyncMessage);
+    }
 
-        if (data.has("currentPlayerId")) {
-            currentPlayer = data.get("currentPlayerId").getAsString();
+    private void renderGameState(GameView view) {
+        gameView = view;
+        if (view.getCurrentPlayerId() != null) {
+            currentPlayer = view.getCurrentPlayerId();
             this.playerId = networkClient.getPlayerId();
         }
+        currentRound = view.getTurnNumber();
+        List<PlayerDto> players = view.getPlayers();
+
+        if (lobbyScreen != null && !players.isEmpty()) {
+            String[] playerNames = new String[players.size()];
+            boolean[] readyStatus = new boolean[players.size()];
+            for (int i = 0; i < players.size(); i++) {
+                playerNames[i] = players.get(i).getName();
+                readyStatus[i] = players.get(i).isReady();
+            }
 
-        if (data.has("turnNumber")) {
-            currentRound = data.get("turnNumber").getAsInt();
-        }
-
-        if (lobbyScreen != null && data.has("players")) {
-            JsonArray playersArray = data.getAsJsonArray("players");
-            if (playersArray != null && !playersArray.isEmpty()) {
-                String[] playerNames = new String[playersArray.size()];
-                boolean[] readyStatus = new boolean[playersArray.size()];
-
-                int idx = 0;
-                for (JsonElement playerElem : playersArray) {
-                    JsonObject player = playerElem.getAsJsonObject();
-                    String name = player.get("name").getAsString();
-                    boolean ready = player.has("ready") && player.get("ready").getAsBoolean();
-                    playerNames[idx] = name;
-                    readyStatus[idx] = ready;
-                    idx++;
-                }
-
-                System.out.println("[GameController] Обновляем список: " + java.util.Arrays.toString(playerNames));
-                lobbyScreen.updatePlayersWithReadyStatus(playerNames, readyStatus);
-                lobbyScreen.setPlayerCount(playerNames.length, 4);
+            log.debug(() -> "Обновляем список: " + java.util.Arrays.toString(playerNames));
+            lobbyScreen.updatePlayersWithReadyStatus(playerNames, readyStatus);
+            int maxPlayers = view.getMaxPlayers() > 0 ? view.getMaxPlayers() : GameConfig.MAX_PLAYERS;
+            lobbyScreen.setPlayerCount(playerNames.length, maxPlayers);
 
-                boolean allReady = true;
-                for (boolean ready : readyStatus) {
-                    if (!ready) {
-                        allReady = false;
-                        break;
-                    }
+            boolean allReady = true;
+            for (boolean ready : readyStatus) {
+                if (!ready) {
+                    allReady = false;
+                    break;
                 }
+            }
 
-                if (playerNames.length >= 2 && allReady) {
-                    System.out.println("[GameController] ВСЕ ГОТОВЫ!");
-                    lobbyScreen.setStatus("Все готовы! Нажмите 'Начать игру'", true);
-                } else {
-                    System.out.println("[GameController] НЕ ВСЕ ГОТОВЫ");
-                    lobbyScreen.setStatus("Ожидаем готовности...", false);
-                    gameStarting = false;
-                }
+            if (playerNames.length >= 2 && allReady) {
+                log.debug("ВСЕ ГОТОВЫ!");
+                lobbyScreen.setStatus("Все готовы! Нажмите 'Начать игру'", true);
+            } else {
+                log.debug("НЕ ВСЕ ГОТОВЫ");
+                lobbyScreen.setStatus("Ожидаем готовности...", false);
+                gameStarting = false;
             }
         }
 
         if (gameScreen != null) {
-            if (data.has("board")) {
-                JsonArray boardArray = data.getAsJsonArray("board");
-                if (boardArray != null && boardArray.size() == 9) {
-                    String[][] board = new String[9][9];
-                    for (int y = 0; y < 9; y++) {
-                        JsonArray row = boardArray.get(y).getAsJsonArray();
-                        if (row != null && row.size() == 9) {
-                            for (int x = 0; x < 9; x++) {
-                                board[y][x] = formatCell(row.get(x));
-                            }
-                        }
-                    }
-                    gameScreen.updateBoard(board);
-
-                    if (selectedPirateId != null) {
-                        List<String> possibleMoves = calculatePossibleMoves(selectedPirateId, data);
-                        gameScreen.updatePossibleMoves(possibleMoves);
-                        System.out.println("[GameController] Ходы: " + possibleMoves);
-                    }
-                }
+            view.publishChanges(gameScreen);
+            if (selectedPirateId != null && currentPlayer != null && currentPlayer.equals(playerId)) {
+                BitSet possibleMoves = view.possibleMoves(selectedPirateId);
+                gameScreen.updatePossibleMoves(possibleMoves);
+                log.debug("Ходы: {}", possibleMoves);
             }
 
-            if (data.has("players")) {
-                JsonArray playersArray = data.getAsJsonArray("players");
-                if (playersArray != null && !playersArray.isEmpty()) {
-                    int playerIndex = 0;
-                    for (JsonElement playerElem : playersArray) {
-                        JsonObject player = playerElem.getAsJsonObject();
-                        String name = player.get("name").getAsString();
-                        int goldScore = player.has("score") ?
-                                player.get("score").getAsInt() : 0;
-                        boolean isReady = player.has("ready") &&
-                                player.get("ready").getAsBoolean();
-                        boolean isCurrent = currentPlayer != null &&
-                                currentPlayer.equals(player.get("id").getAsString());
-                        if (isCurrent) currentPlayerName = name;
-                        gameScreen.updatePlayerInfo(playerIndex, name, goldScore, isReady, isCurrent);
-                        playerIndex++;
-                    }
-                }
+            for (int playerIndex = 0; playerIndex < players.size(); playerIndex++) {
+                PlayerDto player = players.get(playerIndex);
+                boolean isCurrent = currentPlayer != null && currentPlayer.equals(player.getId());
+                if (isCurrent) currentPlayerName = player.getName();
+                gameScreen.updatePlayerInfo(playerIndex, player.getName(), player.getScore(), player.isReady(), isCurrent);
             }
 
             if (currentPlayer != null && currentPlayerName != null) {
@@ -394,77 +422,11 @@ public class GameController {
         }
     }
 
-    private List<String> calculatePossibleMoves(int pirateId, JsonObject gameStateData) {
-        List<String> moves = new ArrayList<>();
-        int pirateX = -1, pirateY = -1;
-
-        JsonArray boardArray = gameStateData.getAsJsonArray("board");
-        if (boardArray != null && boardArray.size() == 9) {
-            for (int y = 0; y < 9; y++) {
-                JsonArray row = boardArray.get(y).getAsJsonArray();
-                if (row != null && row.size() == 9) {
-                    for (int x = 0; x < 9; x++) {
-                        JsonObject cell = row.get(x).getAsJsonObject();
-                        if (cell != null && cell.has("pirate")) {
-                            JsonObject pirateObj = cell.getAsJsonObject("pirate");
-                            if (pirateObj != null && pirateObj.has("id")) {
-                                int id = pirateObj.get("id").getAsInt();
-                                if (id == pirateId) {
-                                    pirateX = x;
-                                    pirateY = y;
-                                    System.out.println("[GameController] Пират найден на (" + x + "," + y + ")");
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-        }
-
-        if (pirateX >= 0 && pirateY >= 0) {
-            for (int dx = -1; dx <= 1; dx++) {
-                for (int dy = -1; dy <= 1; dy++) {
-                    if (dx == 0 && dy == 0) continue;
-                    int newX = pirateX + dx;
-                    int newY = pirateY + dy;
-                    if (newX >= 0 && newX < 9 && newY >= 0 && newY < 9) {
-                        moves.add(newX + "," + newY);
-                    }
-                }
-            }
-        }
-
-        return moves;
-    }
-
-    private String formatCell(JsonElement cellElem) {
-        if (cellElem == null || cellElem.isJsonNull()) return " ";
-
-        try {
-            JsonObject cell = cellElem.getAsJsonObject();
-
-            if (cell.has("pirate") && !cell.get("pirate").isJsonNull()) {
-                JsonObject pirate = cell.getAsJsonObject("pirate");
-                int pirateId = pirate.get("id").getAsInt();
-                return "P" + pirateId;
-            }
-
-            if (cell.has("gold")) {
-                int amount = cell.get("gold").getAsInt();
-                return String.valueOf(amount);
-            }
-
-            return cell.has("type") ? cell.get("type").getAsString() : "SEA";
-
-        } catch (Exception e) {
-            return " ";
-        }
-    }
-
     private void handleGameEnd(GameMessage message) throws Exception {
-        if (message.getData() == null) return;
+        JsonElement dataElement = message.dataAsJson();
+        if (dataElement == null) return;
 
-        JsonObject data = JsonParser.parseString(message.getData()).getAsJsonObject();
+        JsonObject data = dataElement.getAsJsonObject();
         String winner = data.has("winnerName") ? data.get("winnerName").getAsString() : "?";
 
         gameScreen.addLog("[КОНЕЦ ИГРЫ] ========================");
@@ -0,0 +1,240 @@
+package ru.kpfu.itis.jackal.ui.components;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public class TileAtlas {
+
+    private static final int COLUMNS = 16;
+    private static final String DEFAULT_BASE = "";
+    private static final Color PATTERN_COLOR = new Color(255, 255, 255, 15);
+    private static final Color SHADOW_COLOR = new Color(0, 0, 0, 40);
+    private static final Color BORDER_COLOR = new Color(100, 100, 120, 150);
+    private static final Color DEFAULT_PIRATE_COLOR = new Color(220, 50, 50);
+    private static final Color SELECTED_RING_COLOR = new Color(255, 255, 100);
+    private static final Color SELECTED_GLOW_COLOR = new Color(255, 200, 0, 80);
+    private static final Color GOLD_LIGHT = new Color(255, 235, 59);
+    private static final Color GOLD_DARK = new Color(255, 193, 7);
+    private static final Color GOLD_BORDER = new Color(255, 152, 0);
+    private static final Color GOLD_SHADOW = new Color(0, 0, 0, 30);
+    private static final BasicStroke THIN_STROKE = new BasicStroke(1);
+    private static final BasicStroke GOLD_STROKE = new BasicStroke(2);
+    private static final BasicStroke RING_STROKE = new BasicStroke(3);
+
+    private final int cellSize;
+    private final GraphicsConfiguration configuration;
+    private final Map<?, ?> pirateColors;
+    private final Font pirateFont;
+    private final Font goldFont;
+    private final Map<String, Integer> baseSlots = new HashMap<>();
+    private final Map<String, Integer> pieceSlots = new HashMap<>();
+    private final Map<String, Integer> selectedPieceSlots = new HashMap<>();
+    private BufferedImage image;
+    private int used;
+
+    public TileAtlas(int cellSize, GraphicsConfiguration configuration, Map<?, ?> pirateColors) {
+        this.cellSize = cellSize;
+        this.configuration = configuration;
+        this.pirateColors = pirateColors;
+        this.pirateFont = new Font("Arial", Font.BOLD, Math.max(8, cellSize * 3 / 10));
+        this.goldFont = new Font("Arial", Font.BOLD, Math.max(7, cellSize * 11 / 60));
+        this.image = createImage(COLUMNS);
+    }
+
+    public static boolean isPirate(String cell) {
+        return cell != null && cell.length() > 1 && cell.charAt(0) == 'P' && Character.isDigit(cell.charAt(1));
+    }
+
+    public static boolean isPiece(String cell) {
+        return isPirate(cell) || (cell != null && !cell.isEmpty() && Character.isDigit(cell.charAt(0)));
+    }
+
+    public void drawBase(Graphics2D g2d, String cell, int px, int py) {
+        String key = cell == null ? " " : isPiece(cell) ? DEFAULT_BASE : cell;
+        Integer slot = baseSlots.get(key);
+        if (slot == null) {
+            slot = render(tile -> drawCellWithStyle(tile, key));
+            baseSlots.put(key, slot);
+        }
+        blit(g2d, slot, px, py);
+    }
+
+    public void drawPiece(Graphics2D g2d, String cell, boolean selected, int px, int py) {
+        Map<String, Integer> slots = selected ? selectedPieceSlots : pieceSlots;
+        Integer slot = slots.get(cell);
+        if (slot == null) {
+            slot = render(tile -> {
+                if (isPirate(cell)) {
+                    drawPirate(tile, cell, selected);
+                } else {
+                    drawGold(tile, cell);
+                }
+            });
+            slots.put(cell, slot);
+        }
+        blit(g2d, slot, px, py);
+    }
+
+    private void blit(Graphics2D g2d, int slot, int px, int py) {
+        int sx = (slot % COLUMNS) * cellSize;
+        int sy = (slot / COLUMNS) * cellSize;
+        g2d.drawImage(image, px, py, px + cellSize, py + cellSize, sx, sy, sx + cellSize, sy + cellSize, null);
+    }
+
+    private int render(Consumer<Graphics2D> painter) {
+        int slot = used++;
+        if (slot >= COLUMNS * (image.getHeight() / cellSize)) {
+            grow();
+        }
+        Graphics2D tile = image.createGraphics();
+        try {
+            tile.translate((slot % COLUMNS) * cellSize, (slot / COLUMNS) * cellSize);
+            tile.clipRect(0, 0, cellSize, cellSize);
+            tile.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            painter.accept(tile);
+        } finally {
+            tile.dispose();
+        }
+        return slot;
+    }
+
+    private void grow() {
+        BufferedImage previous = image;
+        image = createImage(previous.getHeight() / cellSize * 2);
+        Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.drawImage(previous, 0, 0, null);
+        } finally {
+            g2d.dispose();
+        }
+    }
+
+    private BufferedImage createImage(int rows) {
+        int width = COLUMNS * cellSize;
+        int height = rows * cellSize;
+        return configuration != null
+                ? configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private void drawCellWithStyle(Graphics2D g2d, String cellType) {
+        Color baseColor = getCellColor(cellType);
+        g2d.setPaint(new GradientPaint(0, 0, baseColor.brighter(), 0, cellSize, baseColor.darker()));
+        g2d.fillRect(0, 0, cellSize, cellSize);
+        drawPattern(g2d, cellType);
+        g2d.setColor(SHADOW_COLOR);
+        g2d.fillRect(cellSize - 3, 3, 3, cellSize);
+        g2d.fillRect(3, cellSize - 3, cellSize - 3, 3);
+        g2d.setColor(BORDER_COLOR);
+        g2d.setStroke(THIN_STROKE);
+        g2d.drawRect(0, 0, cellSize, cellSize);
+    }
+
+    private void drawPattern(Graphics2D g2d, String cellType) {
+        if (cellType.equals(" ")) return;
+        g2d.setColor(PATTERN_COLOR);
+        switch (cellType) {
+            case "FOREST":
+                for (int i = 0; i < cellSize; i += 8) {
+                    g2d.drawLine(i, 0, i, cellSize);
+                }
+                for (int i = 4; i < cellSize; i += 8) {
+                    g2d.drawLine(i, 0, i, cellSize);
+                }
+                break;
+            case "MOUNTAIN":
+                for (int i = -cellSize; i < cellSize * 2; i += 8) {
+                    g2d.drawLine(i, 0, i + cellSize, cellSize);
+                }
+                break;
+            case "SEA":
+                for (int i = 0; i < cellSize + cellSize; i += 6) {
+                    g2d.drawLine(i, 0, i - cellSize, cellSize);
+                    g2d.drawLine(i + 3, 0, i + 3 - cellSize, cellSize);
+                }
+                break;
+            case "PLAIN":
+                for (int i = 10; i < cellSize; i += 12) {
+                    for (int j = 10; j < cellSize; j += 12) {
+                        g2d.fillOval(i, j, 2, 2);
+                    }
+                }
+                break;
+            case "BEACH":
+                for (int i = 5; i < cellSize; i += 10) {
+                    for (int j = 5; j < cellSize; j += 10) {
+                        g2d.fillRect(i, j, 3, 3);
+                    }
+                }
+                break;
+            case "HIDDEN":
+                g2d.drawLine(0, 0, cellSize, cellSize);
+                g2d.drawLine(cellSize, 0, 0, cellSize);
+                break;
+        }
+    }
+
+    private void drawPirate(Graphics2D g2d, String cell, boolean selected) {
+        int pirateId;
+        try {
+            pirateId = Integer.parseInt(cell.substring(1));
+        } catch (NumberFormatException ex) {
+            return;
+        }
+        Object color = pirateColors.get(pirateId);
+        g2d.setColor(color instanceof Color pirateColor ? pirateColor : DEFAULT_PIRATE_COLOR);
+        int inset = cellSize / 6;
+        g2d.fillOval(inset, inset, cellSize - 2 * inset, cellSize - 2 * inset);
+        if (selected) {
+            int ring = cellSize * 2 / 15;
+            int glow = cellSize / 5;
+            g2d.setColor(SELECTED_RING_COLOR);
+            g2d.setStroke(RING_STROKE);
+            g2d.drawOval(ring, ring, cellSize - 2 * ring, cellSize - 2 * ring);
+            g2d.setColor(SELECTED_GLOW_COLOR);
+            g2d.fillOval(glow, glow, cellSize - 2 * glow, cellSize - 2 * glow);
+        }
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(pirateFont);
+        FontMetrics fm = g2d.getFontMetrics();
+        String text = String.valueOf(pirateId);
+        g2d.drawString(text, cellSize / 2 - fm.stringWidth(text) / 2, cellSize / 2 + fm.getAscent() / 2 - 2);
+    }
+
+    private void drawGold(Graphics2D g2d, String amount) {
+        int inset = cellSize / 4;
+        int side = cellSize - 2 * inset;
+        g2d.setPaint(new GradientPaint(inset, inset, GOLD_LIGHT, inset + side, inset + side, GOLD_DARK));
+        g2d.fillRect(inset, inset, side, side);
+        g2d.setColor(GOLD_BORDER);
+        g2d.setStroke(GOLD_STROKE);
+        g2d.drawRect(inset, inset, side, side);
+        g2d.setColor(GOLD_SHADOW);
+        g2d.fillRect(inset + 2, inset + side - 3, side - 4, 3);
+        g2d.setColor(Color.BLACK);
+        g2d.setFont(goldFont);
+        FontMetrics fm = g2d.getFontMetrics();
+        g2d.drawString(amount, cellSize / 2 - fm.stringWidth(amount) / 2, cellSize / 2 + fm.getAscent() / 2);
+    }
+
+    private static Color getCellColor(String cell) {
+        if (cell.equals(" ")) {
+            return new Color(200, 180, 150);
+        }
+        return switch (cell) {
+            case "SEA" -> new Color(30, 140, 200);
+            case "BEACH" -> new Color(220, 200, 120);
+            case "SHIP" -> new Color(140, 100, 60);
+            case "PLAIN" -> new Color(120, 180, 70);
+            case "FOREST" -> new Color(40, 130, 50);
+            case "MOUNTAIN" -> new Color(120, 120, 130);
+            case "FORT" -> new Color(230, 140, 30);
+            case "LAND" -> new Color(150, 180, 100);
+            case "HIDDEN" -> new Color(180, 160, 140);
+            default -> new Color(180, 180, 180);
+        };
+    }
+}
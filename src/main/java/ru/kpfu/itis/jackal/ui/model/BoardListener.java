@@ -0,0 +1,9 @@
+package ru.kpfu.itis.jackal.ui.model;
+
+import ru.kpfu.itis.jackal.dto.CellDto;
+
+public interface BoardListener {
+    void boardResized(int width, int height);
+
+    void cellChanged(int x, int y, CellDto cell);
+}
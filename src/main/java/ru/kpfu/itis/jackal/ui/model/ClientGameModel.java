@@ -0,0 +1,130 @@
+package ru.kpfu.itis.jackal.ui.model;
+
+import lombok.Getter;
+import ru.kpfu.itis.jackal.dto.CellDto;
+import ru.kpfu.itis.jackal.dto.GameStateDeltaDto;
+import ru.kpfu.itis.jackal.dto.GameStateDto;
+import ru.kpfu.itis.jackal.dto.PlayerDto;
+
+import java.util.*;
+
+public class ClientGameModel {
+
+    @Getter
+    private long version = -1;
+    @Getter
+    private boolean gameStarted;
+    @Getter
+    private boolean gameFinished;
+    @Getter
+    private String currentPlayerId;
+    @Getter
+    private int turnNumber;
+    @Getter
+    private int maxPlayers;
+    @Getter
+    private List<PlayerDto> players = List.of();
+    @Getter
+    private int width;
+    @Getter
+    private int height;
+    private CellDto[] cells = new CellDto[0];
+    private final Map<PirateKey, Integer> pirateCells = new HashMap<>();
+    private Map<String, int[][]> legalMoves = Map.of();
+    private final BitSet dirtyCells = new BitSet();
+    private boolean resized;
+
+    public boolean hasState() {
+        return version >= 0;
+    }
+
+    public GameView snapshot() {
+        GameView view = new GameView(this, cells.clone(), Map.copyOf(pirateCells), legalMoves,
+                (BitSet) dirtyCells.clone(), resized);
+        dirtyCells.clear();
+        resized = false;
+        return view;
+    }
+
+    public void applyFull(GameStateDto state) {
+        version = state.getVersion();
+        gameStarted = state.isGameStarted();
+        gameFinished = state.isGameFinished();
+        currentPlayerId = state.getCurrentPlayerId();
+        turnNumber = state.getTurnNumber();
+        if (state.getMaxPlayers() > 0) {
+            maxPlayers = state.getMaxPlayers();
+        }
+        if (state.getPlayers() != null) {
+            players = state.getPlayers();
+        }
+        legalMoves = state.getLegalMoves() != null ? state.getLegalMoves() : Map.of();
+
+        CellDto[][] board = state.getBoard();
+        if (board == null || board.length == 0 || board[0] == null) {
+            return;
+        }
+        int newHeight = board.length;
+        int newWidth = board[0].length;
+        if (newWidth != width || newHeight != height) {
+            width = newWidth;
+            height = newHeight;
+            cells = new CellDto[width * height];
+            pirateCells.clear();
+            dirtyCells.clear();
+            resized = true;
+        }
+        for (int y = 0; y < height; y++) {
+            CellDto[] row = board[y];
+            if (row == null || row.length != width) {
+                continue;
+            }
+            for (int x = 0; x < width; x++) {
+                updateCell(x, y, row[x]);
+            }
+        }
+    }
+
+    public boolean applyDelta(GameStateDeltaDto delta) {
+        if (!hasState() || width == 0 || delta.getBaseVersion() != version) {
+            return false;
+        }
+        version = delta.getVersion();
+        gameStarted = delta.isGameStarted();
+        gameFinished = delta.isGameFinished();
+        if (delta.getCurrentPlayerId() != null) {
+            currentPlayerId = delta.getCurrentPlayerId();
+        }
+        turnNumber = delta.getTurnNumber();
+        if (delta.getPlayers() != null) {
+            players = delta.getPlayers();
+        }
+        legalMoves = delta.getLegalMoves() != null ? delta.getLegalMoves() : Map.of();
+        for (CellDto cell : delta.getCells()) {
+            if (cell.getX() >= 0 && cell.getX() < width && cell.getY() >= 0 && cell.getY() < height) {
+                updateCell(cell.getX(), cell.getY(), cell);
+            }
+        }
+        return true;
+    }
+
+    private void updateCell(int x, int y, CellDto cell) {
+        int index = y * width + x;
+        if (cell != null) {
+            cell.setX(x);
+            cell.setY(y);
+        }
+        CellDto previous = cells[index];
+        if (Objects.equals(previous, cell)) {
+            return;
+        }
+        if (previous != null && previous.getPirate() != null) {
+            pirateCells.remove(PirateKey.of(previous.getPirate()), index);
+        }
+        if (cell != null && cell.getPirate() != null) {
+            pirateCells.put(PirateKey.of(cell.getPirate()), index);
+        }
+        cells[index] = cell;
+        dirtyCells.set(index);
+    }
+}
@@ -0,0 +1,166 @@
+package ru.kpfu.itis.jackal.ui.model;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import lombok.Getter;
+import ru.kpfu.itis.jackal.dto.GameStateDeltaDto;
+import ru.kpfu.itis.jackal.dto.GameStateDto;
+import ru.kpfu.itis.jackal.logging.LogManager;
+import ru.kpfu.itis.jackal.logging.Logger;
+import ru.kpfu.itis.jackal.network.protocol.GameMessage;
+import ru.kpfu.itis.jackal.network.protocol.MessageType;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+public class GameStatePipeline {
+
+    private static final Logger log = LogManager.getLogger(GameStatePipeline.class);
+    private static final Gson gson = new Gson();
+
+    private final BlockingQueue<GameMessage> inbox = new LinkedBlockingQueue<>();
+    private final List<GameMessage> batch = new ArrayList<>();
+    private final ClientGameModel model = new ClientGameModel();
+    private final AtomicReference<GameView> pendingView = new AtomicReference<>();
+    private final Consumer<GameView> viewListener;
+    private final Consumer<GameMessage> messageListener;
+    private final Runnable resyncRequest;
+    @Getter
+    private volatile long version = -1;
+    private boolean resyncPending;
+    private Thread worker;
+
+    public GameStatePipeline(Consumer<GameView> viewListener, Consumer<GameMessage> messageListener,
+                             Runnable resyncRequest) {
+        this.viewListener = viewListener;
+        this.messageListener = messageListener;
+        this.resyncRequest = resyncRequest;
+    }
+
+    public synchronized void start() {
+        if (worker == null) {
+            worker = Thread.ofVirtual().name("ClientDecoder").start(this::decodeLoop);
+        }
+    }
+
+    public void submit(GameMessage message) {
+        if (message == null || message.getType() == null) {
+            log.warn("Null сообщение");
+            return;
+        }
+        inbox.add(message);
+    }
+
+    public synchronized void close() {
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+    }
+
+    private void decodeLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(inbox.take());
+                inbox.drainTo(batch);
+                process();
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void process() {
+        int lastFullState = -1;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i).getType() == MessageType.GAME_STATE) {
+                lastFullState = i;
+            }
+        }
+
+        boolean changed = false;
+        for (int i = 0; i < batch.size(); i++) {
+            GameMessage message = batch.get(i);
+            MessageType type = message.getType();
+            log.debug("Получено: {}", type);
+            if (type == MessageType.GAME_STATE || type == MessageType.GAME_STATE_DELTA) {
+                if (i < lastFullState) {
+                    continue;
+                }
+                try {
+                    changed |= decode(message);
+                } catch (RuntimeException e) {
+                    log.warn("Ошибка декодирования {}: {}", type, e.getMessage());
+                }
+            } else {
+                if (changed) {
+                    publish();
+                    changed = false;
+                }
+                try {
+                    message.dataAsJson();
+                } catch (RuntimeException ignored) {
+                }
+                SwingUtilities.invokeLater(() -> messageListener.accept(message));
+            }
+        }
+        if (changed) {
+            publish();
+        }
+    }
+
+    private boolean decode(GameMessage message) {
+        if (message.getType() == MessageType.GAME_STATE) {
+            GameStateDto state = body(message, GameStateDto.class);
+            if (state == null) {
+                return false;
+            }
+            model.applyFull(state);
+            resyncPending = false;
+        } else {
+            GameStateDeltaDto delta = body(message, GameStateDeltaDto.class);
+            if (delta == null) {
+                return false;
+            }
+            if (!model.applyDelta(delta)) {
+                if (!resyncPending) {
+                    log.info("Пропущена версия {} -> {}, запрашиваем состояние", version, delta.getBaseVersion());
+                    resyncPending = true;
+                    resyncRequest.run();
+                }
+                return false;
+            }
+        }
+        version = model.getVersion();
+        return true;
+    }
+
+    private <T> T body(GameMessage message, Class<T> type) {
+        T body = message.bodyAs(type);
+        if (body != null) {
+            return body;
+        }
+        JsonElement data = message.dataAsJson();
+        return data != null ? gson.fromJson(data, type) : null;
+    }
+
+    private void publish() {
+        GameView view = model.snapshot();
+        if (pendingView.getAndAccumulate(view, (older, newer) -> older == null ? newer : newer.mergeAfter(older)) == null) {
+            SwingUtilities.invokeLater(this::deliver);
+        }
+    }
+
+    private void deliver() {
+        GameView view = pendingView.getAndSet(null);
+        if (view != null) {
+            viewListener.accept(view);
+        }
+    }
+}
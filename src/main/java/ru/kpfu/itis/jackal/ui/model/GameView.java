@@ -0,0 +1,132 @@
+package ru.kpfu.itis.jackal.ui.model;
+
+import lombok.Getter;
+import ru.kpfu.itis.jackal.dto.CellDto;
+import ru.kpfu.itis.jackal.dto.PlayerDto;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+public final class GameView {
+
+    @Getter
+    private final long version;
+    @Getter
+    private final boolean gameStarted;
+    @Getter
+    private final boolean gameFinished;
+    @Getter
+    private final String currentPlayerId;
+    @Getter
+    private final int turnNumber;
+    @Getter
+    private final int maxPlayers;
+    @Getter
+    private final List<PlayerDto> players;
+    @Getter
+    private final int width;
+    @Getter
+    private final int height;
+    private final CellDto[] cells;
+    private final Map<PirateKey, Integer> pirateCells;
+    private final Map<String, int[][]> legalMoves;
+    private final BitSet changed;
+    private final boolean resized;
+
+    GameView(ClientGameModel model, CellDto[] cells, Map<PirateKey, Integer> pirateCells,
+             Map<String, int[][]> legalMoves, BitSet changed, boolean resized) {
+        this.version = model.getVersion();
+        this.gameStarted = model.isGameStarted();
+        this.gameFinished = model.isGameFinished();
+        this.currentPlayerId = model.getCurrentPlayerId();
+        this.turnNumber = model.getTurnNumber();
+        this.maxPlayers = model.getMaxPlayers();
+        this.players = List.copyOf(model.getPlayers());
+        this.width = model.getWidth();
+        this.height = model.getHeight();
+        this.cells = cells;
+        this.pirateCells = pirateCells;
+        this.legalMoves = legalMoves;
+        this.changed = changed;
+        this.resized = resized;
+    }
+
+    private GameView(GameView latest, BitSet changed, boolean resized) {
+        this.version = latest.version;
+        this.gameStarted = latest.gameStarted;
+        this.gameFinished = latest.gameFinished;
+        this.currentPlayerId = latest.currentPlayerId;
+        this.turnNumber = latest.turnNumber;
+        this.maxPlayers = latest.maxPlayers;
+        this.players = latest.players;
+        this.width = latest.width;
+        this.height = latest.height;
+        this.cells = latest.cells;
+        this.pirateCells = latest.pirateCells;
+        this.legalMoves = latest.legalMoves;
+        this.changed = changed;
+        this.resized = resized;
+    }
+
+    public GameView mergeAfter(GameView earlier) {
+        if (resized || earlier.resized) {
+            return new GameView(this, changed, true);
+        }
+        BitSet union = (BitSet) changed.clone();
+        union.or(earlier.changed);
+        return new GameView(this, union, false);
+    }
+
+    public void publishChanges(BoardListener listener) {
+        if (resized) {
+            replay(listener);
+            return;
+        }
+        for (int index = changed.nextSetBit(0); index >= 0; index = changed.nextSetBit(index + 1)) {
+            listener.cellChanged(index % width, index / width, cells[index]);
+        }
+    }
+
+    public void replay(BoardListener listener) {
+        if (width == 0) {
+            return;
+        }
+        listener.boardResized(width, height);
+        for (int index = 0; index < cells.length; index++) {
+            listener.cellChanged(index % width, index / width, cells[index]);
+        }
+    }
+
+    public int[] findPirate(String playerId, int pirateId) {
+        Integer index = pirateCells.get(new PirateKey(playerId, String.valueOf(pirateId)));
+        return index != null ? new int[]{index % width, index / width} : null;
+    }
+
+    public BitSet possibleMoves(int pirateId) {
+        BitSet moves = new BitSet(width * height);
+        int[][] targets = legalMoves.get(String.valueOf(pirateId));
+        if (targets == null) {
+            return moves;
+        }
+        for (int[] target : targets) {
+            if (target[0] >= 0 && target[0] < width && target[1] >= 0 && target[1] < height) {
+                moves.set(target[1] * width + target[0]);
+            }
+        }
+        return moves;
+    }
+
+    public boolean isLegalMove(int pirateId, int x, int y) {
+        int[][] targets = legalMoves.get(String.valueOf(pirateId));
+        if (targets == null) {
+            return false;
+        }
+        for (int[] target : targets) {
+            if (target[0] == x && target[1] == y) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,10 @@
+package ru.kpfu.itis.jackal.ui.model;
+
+import ru.kpfu.itis.jackal.dto.PirateDto;
+
+record PirateKey(String playerId, String pirateId) {
+
+    static PirateKey of(PirateDto pirate) {
+        return new PirateKey(pirate.getOwner(), pirate.getId());
+    }
+}
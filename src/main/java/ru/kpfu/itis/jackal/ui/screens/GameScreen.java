@@ -1,21 +1,34 @@
 package ru.kpfu.itis.jackal.ui.screens;
 
+import lombok.Getter;
 import lombok.Setter;
+import ru.kpfu.itis.jackal.common.GameConfig;
+import ru.kpfu.itis.jackal.dto.CellDto;
+import ru.kpfu.itis.jackal.dto.PirateDto;
+import ru.kpfu.itis.jackal.logging.LogManager;
+import ru.kpfu.itis.jackal.logging.Logger;
 import ru.kpfu.itis.jackal.ui.components.PlayerCard;
+import ru.kpfu.itis.jackal.ui.components.TileAtlas;
+import ru.kpfu.itis.jackal.ui.model.BoardListener;
 import ru.kpfu.itis.jackal.ui.theme.GameTheme;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.image.BufferedImage;
 import java.util.*;
 import java.util.List;
 import java.util.function.BiConsumer;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
-public class GameScreen extends JPanel {
-    private static final int BOARD_SIZE = 9;
-    private static final int CELL_SIZE = 60;
+public class GameScreen extends JPanel implements BoardListener {
 
+    private static final Logger log = LogManager.getLogger(GameScreen.class);
+    private static final int BOARD_VIEWPORT = 540;
+    private static final int MAX_cellSize = 60;
+    private static final int MIN_cellSize = 12;
+
+    private JLabel boardLabel;
     private JLabel currentPlayerLabel;
     private JLabel roundLabel;
     private JLabel gameStatusLabel;
@@ -29,7 +42,6 @@ public class GameScreen extends JPanel {
     private BiConsumer onCellClicked;
     private Runnable onEndTurn;
     private Integer selectedPirateId = null;
-    private Set possibleMoves = new HashSet<>();
     private Map pirateColors = new HashMap<>();
     private JTextArea eventLog;
 
@@ -57,7 +69,8 @@ public class GameScreen extends JPanel {
         leftPanel.setBorder(BorderFactory.createLineBorder(GameTheme.BORDER_BRIGHT, 3));
         GameTheme.applyDarkTheme(leftPanel);
 
-        JLabel boardLabel = GameTheme.createAccentLabel("Остров Сокровищ 9x9", GameTheme.FONT_HEADING_3);
+        boardLabel = GameTheme.createAccentLabel(
+                boardTitle(GameConfig.BOARD_WIDTH, GameConfig.BOARD_HEIGHT), GameTheme.FONT_HEADING_3);
         boardLabel.setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8));
         leftPanel.add(boardLabel, BorderLayout.NORTH);
 
@@ -68,7 +81,10 @@ public class GameScreen extends JPanel {
         boardPanel = new BoardPanel();
         JPanel boardWrapper = new JPanel(new BorderLayout());
         GameTheme.applyDarkTheme(boardWrapper);
-        boardWrapper.add(boardPanel, BorderLayout.CENTER);
+        JScrollPane boardScroll = new JScrollPane(boardPanel);
+        boardScroll.setBorder(BorderFactory.createEmptyBorder());
+        boardScroll.getViewport().setBackground(GameTheme.BACKGROUND_PRIMARY);
+        boardWrapper.add(boardScroll, BorderLayout.CENTER);
         boardLogSplit.setTopComponent(boardWrapper);
 
         eventLog = new JTextArea();
@@ -144,16 +160,31 @@ public class GameScreen extends JPanel {
             }
         });
 
-        playerCards = new PlayerCard[4];
-        for (int i = 0; i < 4; i++) {
+        playerCards = new PlayerCard[0];
+        ensurePlayerCards(GameConfig.MAX_PLAYERS);
+    }
+
+    private void ensurePlayerCards(int count) {
+        if (count <= playerCards.length) {
+            return;
+        }
+        int existing = playerCards.length;
+        playerCards = Arrays.copyOf(playerCards, Math.min(count, GameConfig.MAX_PLAYERS_LIMIT));
+        for (int i = existing; i < playerCards.length; i++) {
             PlayerCard card = new PlayerCard("Игрок " + (i + 1), 0, i, false, false);
             playerCards[i] = card;
             playersPanel.add(card);
             playersPanel.add(Box.createVerticalStrut(10));
         }
+        playersPanel.revalidate();
+    }
+
+    private static String boardTitle(int width, int height) {
+        return "Остров Сокровищ " + width + "x" + height;
     }
 
     public void updatePlayerInfo(int playerIndex, String playerName, int gold, boolean isReady, boolean isCurrentTurn) {
+        ensurePlayerCards(playerIndex + 1);
         if (playerIndex >= 0 && playerIndex < playerCards.length) {
             playerCards[playerIndex].updatePlayerInfo(playerName, gold, isReady, isCurrentTurn);
         }
@@ -166,9 +197,20 @@ public class GameScreen extends JPanel {
         }
     }
 
-    public void updateBoard(String[][] board) {
-        boardPanel.setBoard(board);
-        boardPanel.repaint();
+    @Override
+    public void boardResized(int width, int height) {
+        if (boardPanel.setBoardSize(width, height)) {
+            boardLabel.setText(boardTitle(width, height));
+        }
+    }
+
+    @Override
+    public void cellChanged(int x, int y, CellDto cell) {
+        boardPanel.setCell(x, y, cell);
+    }
+
+    public void setLocalPlayerId(String playerId) {
+        boardPanel.setLocalPlayerId(playerId);
     }
 
     public void setPirateColors(Map colors) {
@@ -177,10 +219,8 @@ public class GameScreen extends JPanel {
         boardPanel.setPirateColors(colors);
     }
 
-    public void updatePossibleMoves(List moves) {
-        possibleMoves.clear();
-        possibleMoves.addAll(moves);
-        boardPanel.setPossibleMoves(possibleMoves);
+    public void updatePossibleMoves(BitSet moves) {
+        boardPanel.setPossibleMoves(moves);
     }
 
     public void setCurrentPlayer(String playerName, int round) {
@@ -198,9 +238,8 @@ public class GameScreen extends JPanel {
     public void setGameStatus(String status, boolean isOurTurn) {
         gameStatusLabel.setText(status);
         selectedPirateId = null;
-        possibleMoves.clear();
         boardPanel.setSelectedPirateId(null);
-        boardPanel.setPossibleMoves(possibleMoves);
+        boardPanel.setPossibleMoves(new BitSet());
         if (isOurTurn) {
             gameStatusLabel.setForeground(GameTheme.ACCENT_SUCCESS);
             selectPirateButton.setEnabled(true);
@@ -209,7 +248,6 @@ public class GameScreen extends JPanel {
             selectPirateButton.setEnabled(false);
         }
         endTurnButton.setEnabled(isOurTurn);
-        boardPanel.repaint();
     }
 
     public void setActionStatus(String status) {
@@ -265,247 +303,233 @@ public class GameScreen extends JPanel {
         this.selectedPirateId = pirateId;
         boardPanel.setSelectedPirateId(pirateId);
         setActionStatus("Выбран пират #" + pirateId);
-        System.out.println("[GameScreen] Выбран пират #" + pirateId);
-        boardPanel.repaint();
+        log.debug("Выбран пират #{}", pirateId);
     }
 
     public static class BoardPanel extends JPanel {
-        private String[][] board;
+        private static final Color MOVE_HIGHLIGHT = new Color(100, 200, 255, 80);
+        private static final Color SELECTED_CELL_COLOR = new Color(255, 100, 100);
+        private static final BasicStroke SELECTED_CELL_STROKE = new BasicStroke(3);
+
+        private CellDto[][] board;
+        @Getter
+        private int columns;
+        @Getter
+        private int rows;
+        private int cellSize;
         private int selectedRow = -1;
         private int selectedCol = -1;
         private Integer selectedPirateId = null;
-        private Set possibleMoves = new HashSet<>();
-        private Map pirateColors = new HashMap<>();
+        @Setter
+        private String localPlayerId;
+        private BitSet possibleMoves = new BitSet();
+        private final Map pirateColors = new HashMap<>();
+        private final BitSet dirtyCells = new BitSet();
+        private TileAtlas atlas;
+        private BufferedImage boardImage;
 
         @Setter
         private BiConsumer cellClickListener;
 
         public BoardPanel() {
-            this.board = new String[BOARD_SIZE][BOARD_SIZE];
-            initializeBoard();
-            setPreferredSize(new Dimension(BOARD_SIZE * CELL_SIZE, BOARD_SIZE * CELL_SIZE));
+            resizeBoard(GameConfig.BOARD_WIDTH, GameConfig.BOARD_HEIGHT);
             GameTheme.applyDarkTheme(this);
-            setMinimumSize(new Dimension(BOARD_SIZE * CELL_SIZE, BOARD_SIZE * CELL_SIZE));
             addMouseListener(new MouseAdapter() {
                 @Override
                 public void mouseClicked(MouseEvent e) {
-                    int col = e.getX() / CELL_SIZE;
-                    int row = e.getY() / CELL_SIZE;
-                    if (row < 0 || row >= BOARD_SIZE || col < 0 || col >= BOARD_SIZE) {
+                    int col = e.getX() / cellSize;
+                    int row = e.getY() / cellSize;
+                    if (row < 0 || row >= rows || col < 0 || col >= columns) {
                         return;
                     }
-                    String cell = board[row][col];
-                    if (cell != null && cell.startsWith("P") && cell.length() == 2) {
+                    PirateDto pirate = ownPirate(board[row][col]);
+                    if (pirate != null) {
                         try {
-                            int pirateId = Integer.parseInt(cell.substring(1));
-                            selectedPirateId = pirateId;
-                            repaint();
+                            int pirateId = Integer.parseInt(pirate.getId());
+                            setSelectedPirateId(pirateId);
                             if (cellClickListener != null) {
                                 cellClickListener.accept(-1, pirateId);
                             }
                             return;
                         } catch (NumberFormatException ex) {
-                            System.err.println("[GameScreen] ❌ Ошибка парсинга пирата. Значение: '" + cell +
-                                    "', Подстрока: '" + cell.substring(1) + "'");
-                            ex.printStackTrace();
+                            log.error("Ошибка парсинга пирата. Значение: '{}'", pirate.getId(), ex);
                         }
                     }
-                    String moveKey = col + "," + row;
-                    if (selectedPirateId != null && possibleMoves.contains(moveKey)) {
-                        selectedCol = col;
-                        selectedRow = row;
-                        repaint();
+                    if (selectedPirateId != null && possibleMoves.get(row * columns + col)) {
+                        selectCell(col, row);
                         if (cellClickListener != null) {
                             cellClickListener.accept(col, row);
                         }
                         return;
                     }
                     if (selectedPirateId != null && cellClickListener != null) {
-                        selectedCol = col;
-                        selectedRow = row;
-                        repaint();
+                        selectCell(col, row);
                         cellClickListener.accept(col, row);
                     }
                 }
             });
         }
 
-        private void initializeBoard() {
-            for (int i = 0; i < BOARD_SIZE; i++) {
-                for (int j = 0; j < BOARD_SIZE; j++) {
-                    board[i][j] = " ";
-                }
+        private void resizeBoard(int columns, int rows) {
+            this.columns = columns;
+            this.rows = rows;
+            this.cellSize = Math.max(MIN_cellSize, Math.min(MAX_cellSize, BOARD_VIEWPORT / Math.max(columns, rows)));
+            this.board = new CellDto[rows][columns];
+            Dimension size = new Dimension(columns * cellSize, rows * cellSize);
+            setPreferredSize(size);
+            setMinimumSize(size);
+            selectedRow = -1;
+            selectedCol = -1;
+            possibleMoves = new BitSet();
+            atlas = null;
+            boardImage = null;
+            markAllDirty();
+            revalidate();
+        }
+
+        public boolean setBoardSize(int columns, int rows) {
+            if (columns == this.columns && rows == this.rows) {
+                return false;
             }
+            resizeBoard(columns, rows);
+            return true;
         }
 
-        public void setBoard(String[][] newBoard) {
-            if (newBoard != null && newBoard.length == BOARD_SIZE) {
-                for (int i = 0; i < BOARD_SIZE; i++) {
-                    if (newBoard[i] != null && newBoard[i].length == BOARD_SIZE) {
-                        System.arraycopy(newBoard[i], 0, board[i], 0, BOARD_SIZE);
-                    }
-                }
+        public void setCell(int x, int y, CellDto cell) {
+            if (x < 0 || x >= columns || y < 0 || y >= rows || Objects.equals(board[y][x], cell)) {
+                return;
             }
+            board[y][x] = cell;
+            markDirty(x, y);
         }
 
         public void setSelectedPirateId(Integer pirateId) {
+            if (Objects.equals(selectedPirateId, pirateId)) {
+                return;
+            }
+            Integer previous = selectedPirateId;
             this.selectedPirateId = pirateId;
-            repaint();
+            for (int y = 0; y < rows; y++) {
+                for (int x = 0; x < columns; x++) {
+                    PirateDto pirate = ownPirate(board[y][x]);
+                    if (pirate != null && (isPirate(pirate, previous) || isPirate(pirate, pirateId))) {
+                        markDirty(x, y);
+                    }
+                }
+            }
         }
 
-        public void setPossibleMoves(Set moves) {
-            this.possibleMoves = new HashSet<>(moves);
+        private PirateDto ownPirate(CellDto cell) {
+            if (cell == null || cell.getPirate() == null) {
+                return null;
+            }
+            PirateDto pirate = cell.getPirate();
+            return localPlayerId == null || localPlayerId.equals(pirate.getOwner()) ? pirate : null;
+        }
+
+        private static boolean isPirate(PirateDto pirate, Integer pirateId) {
+            return pirateId != null && pirate.getId().equals(String.valueOf(pirateId));
+        }
+
+        public void setPossibleMoves(BitSet moves) {
+            BitSet next = (BitSet) moves.clone();
+            if (next.length() > rows * columns) {
+                next.clear(rows * columns, next.length());
+            }
+            BitSet changed = (BitSet) possibleMoves.clone();
+            changed.xor(next);
+            possibleMoves = next;
+            for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+                markDirty(i % columns, i / columns);
+            }
         }
 
         public void setPirateColors(Map colors) {
             this.pirateColors.clear();
             this.pirateColors.putAll(colors);
+            atlas = null;
+            markAllDirty();
         }
 
-        @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            for (int y = 0; y < BOARD_SIZE; y++) {
-                for (int x = 0; x < BOARD_SIZE; x++) {
-                    int px = x * CELL_SIZE;
-                    int py = y * CELL_SIZE;
-                    drawCellWithStyle(g2d, px, py, board[y][x]);
-                    String moveKey = x + "," + y;
-                    if (possibleMoves.contains(moveKey)) {
-                        g2d.setColor(new Color(100, 200, 255, 80));
-                        g2d.fillRect(px, py, CELL_SIZE, CELL_SIZE);
-                    }
-                    if (x == selectedCol && y == selectedRow) {
-                        g2d.setColor(new Color(255, 100, 100));
-                        g2d.setStroke(new BasicStroke(3));
-                        g2d.drawRect(px + 2, py + 2, CELL_SIZE - 4, CELL_SIZE - 4);
-                    }
-                    String cell = board[y][x];
-                    if (cell != null && cell.startsWith("P") && cell.length() > 1) {
-                        drawPirate(g2d, px, py, cell);
-                    } else if (cell != null && Character.isDigit(cell.charAt(0))) {
-                        drawGold(g2d, px, py, cell);
-                    }
-                }
+        private void selectCell(int col, int row) {
+            if (selectedCol >= 0 && selectedRow >= 0) {
+                markDirty(selectedCol, selectedRow);
             }
+            selectedCol = col;
+            selectedRow = row;
+            markDirty(col, row);
         }
 
-        private void drawCellWithStyle(Graphics2D g2d, int px, int py, String cellType) {
-            Color baseColor = getCellColor(cellType);
-            GradientPaint gradient = new GradientPaint(px, py, baseColor.brighter(), px, py + CELL_SIZE, baseColor.darker());
-            g2d.setPaint(gradient);
-            g2d.fillRect(px, py, CELL_SIZE, CELL_SIZE);
-            drawPattern(g2d, px, py, cellType);
-            g2d.setColor(new Color(0, 0, 0, 40));
-            g2d.fillRect(px + CELL_SIZE - 3, py + 3, 3, CELL_SIZE);
-            g2d.fillRect(px + 3, py + CELL_SIZE - 3, CELL_SIZE - 3, 3);
-            g2d.setColor(new Color(100, 100, 120, 150));
-            g2d.setStroke(new BasicStroke(1));
-            g2d.drawRect(px, py, CELL_SIZE, CELL_SIZE);
+        private void markDirty(int x, int y) {
+            dirtyCells.set(y * columns + x);
+            repaint(x * cellSize, y * cellSize, cellSize, cellSize);
         }
 
-        private void drawPattern(Graphics2D g2d, int px, int py, String cellType) {
-            if (cellType == null || cellType.equals(" ")) return;
-            g2d.setColor(new Color(255, 255, 255, 15));
-            switch (cellType) {
-                case "FOREST":
-                    for (int i = 0; i < CELL_SIZE; i += 8) {
-                        g2d.drawLine(px + i, py, px + i, py + CELL_SIZE);
-                    }
-                    for (int i = 4; i < CELL_SIZE; i += 8) {
-                        g2d.drawLine(px + i, py, px + i, py + CELL_SIZE);
-                    }
-                    break;
-                case "MOUNTAIN":
-                    for (int i = -CELL_SIZE; i < CELL_SIZE * 2; i += 8) {
-                        g2d.drawLine(px + i, py, px + i + CELL_SIZE, py + CELL_SIZE);
-                    }
-                    break;
-                case "SEA":
-                    for (int i = 0; i < CELL_SIZE + CELL_SIZE; i += 6) {
-                        g2d.drawLine(px + i, py, px + i - CELL_SIZE, py + CELL_SIZE);
-                        g2d.drawLine(px + i + 3, py, px + i + 3 - CELL_SIZE, py + CELL_SIZE);
-                    }
-                    break;
-                case "PLAIN":
-                    for (int i = 10; i < CELL_SIZE; i += 12) {
-                        for (int j = 10; j < CELL_SIZE; j += 12) {
-                            g2d.fillOval(px + i, py + j, 2, 2);
-                        }
-                    }
-                    break;
-                case "BEACH":
-                    for (int i = 5; i < CELL_SIZE; i += 10) {
-                        for (int j = 5; j < CELL_SIZE; j += 10) {
-                            g2d.fillRect(px + i, py + j, 3, 3);
-                        }
-                    }
-                    break;
-                case "HIDDEN":
-                    g2d.drawLine(px, py, px + CELL_SIZE, py + CELL_SIZE);
-                    g2d.drawLine(px + CELL_SIZE, py, px, py + CELL_SIZE);
-                    break;
-            }
+        private void markAllDirty() {
+            dirtyCells.set(0, rows * columns);
+            repaint();
         }
 
-        private void drawPirate(Graphics2D g2d, int px, int py, String cell) {
-            try {
-                int pirateId = Integer.parseInt(cell.substring(1));
-                Color pirateColor = (Color) pirateColors.getOrDefault(pirateId, new Color(220, 50, 50));
-                g2d.setColor(pirateColor);
-                g2d.fillOval(px + 10, py + 10, 40, 40);
-                if (selectedPirateId != null && pirateId == selectedPirateId) {
-                    g2d.setColor(new Color(255, 255, 100));
-                    g2d.setStroke(new BasicStroke(3));
-                    g2d.drawOval(px + 8, py + 8, 44, 44);
-                    g2d.setColor(new Color(255, 200, 0, 80));
-                    g2d.fillOval(px + 12, py + 12, 36, 36);
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            if (atlas == null) {
+                atlas = new TileAtlas(cellSize, getGraphicsConfiguration(), pirateColors);
+                dirtyCells.set(0, rows * columns);
+            }
+            if (boardImage == null) {
+                boardImage = createBoardImage();
+                dirtyCells.set(0, rows * columns);
+            }
+            if (!dirtyCells.isEmpty()) {
+                Graphics2D g2d = boardImage.createGraphics();
+                try {
+                    g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                    for (int i = dirtyCells.nextSetBit(0); i >= 0; i = dirtyCells.nextSetBit(i + 1)) {
+                        drawCell(g2d, i % columns, i / columns);
+                    }
+                } finally {
+                    g2d.dispose();
                 }
-                g2d.setColor(Color.WHITE);
-                g2d.setFont(new Font("Arial", Font.BOLD, 18));
-                FontMetrics fm = g2d.getFontMetrics();
-                String text = String.valueOf(pirateId);
-                int textX = px + CELL_SIZE / 2 - fm.stringWidth(text) / 2;
-                int textY = py + CELL_SIZE / 2 + fm.getAscent() / 2 - 2;
-                g2d.drawString(text, textX, textY);
-            } catch (NumberFormatException ex) {}
+                dirtyCells.clear();
+            }
+            g.drawImage(boardImage, 0, 0, null);
         }
 
-        private void drawGold(Graphics2D g2d, int px, int py, String amount) {
-            GradientPaint goldGradient = new GradientPaint(px + 15, py + 15, new Color(255, 235, 59), px + 45, py + 45, new Color(255, 193, 7));
-            g2d.setPaint(goldGradient);
-            g2d.fillRect(px + 15, py + 15, 30, 30);
-            g2d.setColor(new Color(255, 152, 0));
-            g2d.setStroke(new BasicStroke(2));
-            g2d.drawRect(px + 15, py + 15, 30, 30);
-            g2d.setColor(new Color(0, 0, 0, 30));
-            g2d.fillRect(px + 17, py + 42, 26, 3);
-            g2d.setColor(Color.BLACK);
-            g2d.setFont(new Font("Arial", Font.BOLD, 11));
-            FontMetrics fm = g2d.getFontMetrics();
-            int textX = px + CELL_SIZE / 2 - fm.stringWidth(amount) / 2;
-            int textY = py + CELL_SIZE / 2 + fm.getAscent() / 2;
-            g2d.drawString(amount, textX, textY);
+        private BufferedImage createBoardImage() {
+            int width = columns * cellSize;
+            int height = rows * cellSize;
+            GraphicsConfiguration configuration = getGraphicsConfiguration();
+            return configuration != null
+                    ? configuration.createCompatibleImage(width, height, Transparency.OPAQUE)
+                    : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
         }
 
-        private Color getCellColor(String cell) {
-            if (cell == null || cell.equals(" ")) {
-                return new Color(200, 180, 150);
+        private void drawCell(Graphics2D g2d, int x, int y) {
+            int px = x * cellSize;
+            int py = y * cellSize;
+            CellDto cell = board[y][x];
+            atlas.drawBase(g2d, baseKey(cell), px, py);
+            if (possibleMoves.get(y * columns + x)) {
+                g2d.setColor(MOVE_HIGHLIGHT);
+                g2d.fillRect(px, py, cellSize, cellSize);
+            }
+            if (x == selectedCol && y == selectedRow) {
+                g2d.setColor(SELECTED_CELL_COLOR);
+                g2d.setStroke(SELECTED_CELL_STROKE);
+                g2d.drawRect(px + 2, py + 2, cellSize - 4, cellSize - 4);
             }
-            return switch (cell) {
-                case "SEA" -> new Color(30, 140, 200);
-                case "BEACH" -> new Color(220, 200, 120);
-                case "SHIP" -> new Color(140, 100, 60);
-                case "PLAIN" -> new Color(120, 180, 70);
-                case "FOREST" -> new Color(40, 130, 50);
-                case "MOUNTAIN" -> new Color(120, 120, 130);
-                case "FORT" -> new Color(230, 140, 30);
-                case "LAND" -> new Color(150, 180, 100);
-                case "HIDDEN" -> new Color(180, 160, 140);
-                default -> new Color(180, 180, 180);
-            };
+            if (cell != null && cell.getPirate() != null) {
+                PirateDto own = ownPirate(cell);
+                boolean selected = own != null && isPirate(own, selectedPirateId);
+                atlas.drawPiece(g2d, "P" + cell.getPirate().getId(), selected, px, py);
+            } else if (cell != null && cell.getGold() != null) {
+                atlas.drawPiece(g2d, String.valueOf(cell.getGold().getAmount()), false, px, py);
+            }
+        }
+
+        private static String baseKey(CellDto cell) {
+            return cell == null || cell.getType() == null ? " " : cell.getType();
         }
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package ru.kpfu.itis.jackal.ui.screens;
 
+import ru.kpfu.itis.jackal.common.GameConfig;
 import ru.kpfu.itis.jackal.ui.theme.GameTheme;
 
 import javax.swing.*;
@@ -11,10 +12,14 @@ public class MainMenuScreen extends JPanel {
     private JTextField playerNameField;
     private JTextField hostField;
     private JTextField portField;
+    private JTextField roomField;
+    private JTextField boardSizeField;
+    private JTextField maxPlayersField;
     private JLabel statusLabel;
     private JButton connectButton;
     private JRadioButton hostRadio;
     private JRadioButton clientRadio;
+    private JRadioButton spectatorRadio;
     private JButton exitButton;
 
     public MainMenuScreen() {
@@ -68,6 +73,33 @@ public class MainMenuScreen extends JPanel {
 
         gbc.gridy = 5;
         gbc.gridx = 0;
+        JLabel roomLabel = GameTheme.createLabel("Комната:", GameTheme.FONT_BODY, GameTheme.TEXT_PRIMARY);
+        add(roomLabel, gbc);
+
+        roomField = createStyledTextField(GameConfig.DEFAULT_ROOM_ID);
+        gbc.gridx = 1;
+        add(roomField, gbc);
+
+        gbc.gridy = 6;
+        gbc.gridx = 0;
+        JLabel boardSizeLabel = GameTheme.createLabel("Размер поля:", GameTheme.FONT_BODY, GameTheme.TEXT_PRIMARY);
+        add(boardSizeLabel, gbc);
+
+        boardSizeField = createStyledTextField(String.valueOf(GameConfig.BOARD_WIDTH));
+        gbc.gridx = 1;
+        add(boardSizeField, gbc);
+
+        gbc.gridy = 7;
+        gbc.gridx = 0;
+        JLabel maxPlayersLabel = GameTheme.createLabel("Игроков:", GameTheme.FONT_BODY, GameTheme.TEXT_PRIMARY);
+        add(maxPlayersLabel, gbc);
+
+        maxPlayersField = createStyledTextField(String.valueOf(GameConfig.MAX_PLAYERS));
+        gbc.gridx = 1;
+        add(maxPlayersField, gbc);
+
+        gbc.gridy = 8;
+        gbc.gridx = 0;
         JLabel modeLabel = GameTheme.createLabel("Режим подключения:", GameTheme.FONT_BODY, GameTheme.TEXT_PRIMARY);
         add(modeLabel, gbc);
 
@@ -85,12 +117,19 @@ public class MainMenuScreen extends JPanel {
         clientRadio.setBackground(GameTheme.BACKGROUND_PRIMARY);
         clientRadio.setForeground(GameTheme.TEXT_PRIMARY);
 
+        spectatorRadio = new JRadioButton("Наблюдать");
+        spectatorRadio.setFont(GameTheme.FONT_BODY);
+        spectatorRadio.setBackground(GameTheme.BACKGROUND_PRIMARY);
+        spectatorRadio.setForeground(GameTheme.TEXT_PRIMARY);
+
         ButtonGroup group = new ButtonGroup();
         group.add(hostRadio);
         group.add(clientRadio);
+        group.add(spectatorRadio);
 
         modePanel.add(hostRadio);
         modePanel.add(clientRadio);
+        modePanel.add(spectatorRadio);
 
         gbc.gridx = 1;
         add(modePanel, gbc);
@@ -104,13 +143,13 @@ public class MainMenuScreen extends JPanel {
         exitButton = GameTheme.createButton("Выход", GameTheme.ACCENT_DANGER);
         buttonPanel.add(exitButton);
 
-        gbc.gridy = 6;
+        gbc.gridy = 9;
         gbc.gridx = 0;
         gbc.gridwidth = 2;
         add(buttonPanel, gbc);
 
         statusLabel = GameTheme.createLabel("", GameTheme.FONT_SMALL, GameTheme.ACCENT_DANGER);
-        gbc.gridy = 7;
+        gbc.gridy = 10;
         gbc.gridx = 0;
         gbc.gridwidth = 2;
         add(statusLabel, gbc);
@@ -131,6 +170,10 @@ public class MainMenuScreen extends JPanel {
         return hostRadio.isSelected();
     }
 
+    public boolean isSpectatorSelected() {
+        return spectatorRadio.isSelected();
+    }
+
     public String getPlayerName() {
         return playerNameField.getText().trim();
     }
@@ -139,9 +182,25 @@ public class MainMenuScreen extends JPanel {
         return hostField.getText().trim();
     }
 
+    public String getRoomId() {
+        return roomField.getText().trim();
+    }
+
     public int getPort() {
+        return parseInt(portField);
+    }
+
+    public int getBoardSize() {
+        return parseInt(boardSizeField);
+    }
+
+    public int getMaxPlayers() {
+        return parseInt(maxPlayersField);
+    }
+
+    private int parseInt(JTextField field) {
         try {
-            return Integer.parseInt(portField.getText().trim());
+            return Integer.parseInt(field.getText().trim());
         } catch (NumberFormatException e) {
             return -1;
         }
@@ -161,8 +220,12 @@ public class MainMenuScreen extends JPanel {
         playerNameField.setEnabled(enabled);
         hostField.setEnabled(enabled);
         portField.setEnabled(enabled);
+        roomField.setEnabled(enabled);
+        boardSizeField.setEnabled(enabled);
+        maxPlayersField.setEnabled(enabled);
         hostRadio.setEnabled(enabled);
         clientRadio.setEnabled(enabled);
+        spectatorRadio.setEnabled(enabled);
     }
 
     public void setConnectListener(ActionListener listener) {
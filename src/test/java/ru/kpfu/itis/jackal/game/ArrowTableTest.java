@@ -0,0 +1,115 @@
+package ru.kpfu.itis.jackal.game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.kpfu.itis.jackal.common.Board;
+import ru.kpfu.itis.jackal.common.Cell;
+import ru.kpfu.itis.jackal.common.CellContent;
+import ru.kpfu.itis.jackal.common.CellType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArrowTableTest {
+
+    private static final int SIZE = 5;
+
+    private Board board;
+    private ArrowTable arrows;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board(SIZE, SIZE);
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                place(x, y, CellType.PLAIN, CellContent.EMPTY);
+            }
+        }
+        arrows = new ArrowTable(board);
+    }
+
+    @Test
+    void arrowOntoPlainLands() {
+        place(1, 1, CellType.PLAIN, CellContent.ARROW_RIGHT);
+
+        int start = arrows.index(1, 1);
+
+        assertEquals(ArrowTable.LAND, arrows.resolve(start));
+        assertEquals(arrows.index(2, 1), arrows.getExit(start));
+        assertEquals(start, arrows.getLastArrow(start));
+    }
+
+    @Test
+    void chainResolvesToLastArrowAndCachesEveryStep() {
+        place(0, 2, CellType.PLAIN, CellContent.ARROW_RIGHT);
+        place(1, 2, CellType.PLAIN, CellContent.ARROW_DOWN);
+
+        int start = arrows.index(0, 2);
+        int second = arrows.index(1, 2);
+
+        assertEquals(ArrowTable.LAND, arrows.resolve(start));
+        assertEquals(arrows.index(1, 3), arrows.getExit(start));
+        assertEquals(second, arrows.getLastArrow(start));
+        assertEquals(arrows.index(1, 3), arrows.getExit(second));
+        assertEquals(second, arrows.getLastArrow(second));
+    }
+
+    @Test
+    void arrowOffTheBoardStopsAtEdge() {
+        place(4, 0, CellType.PLAIN, CellContent.ARROW_RIGHT);
+
+        int start = arrows.index(4, 0);
+
+        assertEquals(ArrowTable.EDGE, arrows.resolve(start));
+        assertEquals(-1, arrows.getExit(start));
+        assertEquals(start, arrows.getLastArrow(start));
+    }
+
+    @Test
+    void opposingArrowsFormCycle() {
+        place(1, 3, CellType.PLAIN, CellContent.ARROW_RIGHT);
+        place(2, 3, CellType.PLAIN, CellContent.ARROW_LEFT);
+
+        assertEquals(ArrowTable.CYCLE, arrows.resolve(arrows.index(1, 3)));
+        assertEquals(ArrowTable.CYCLE, arrows.resolve(arrows.index(2, 3)));
+        assertEquals(-1, arrows.getExit(arrows.index(1, 3)));
+    }
+
+    @Test
+    void arrowIntoSeaOrTrapReportsTarget() {
+        place(0, 0, CellType.PLAIN, CellContent.ARROW_DOWN);
+        place(0, 1, CellType.SEA, CellContent.EMPTY);
+        place(3, 3, CellType.PLAIN, CellContent.ARROW_UP);
+        place(3, 2, CellType.PLAIN, CellContent.TRAP);
+
+        assertEquals(ArrowTable.SEA, arrows.resolve(arrows.index(0, 0)));
+        assertEquals(arrows.index(0, 1), arrows.getExit(arrows.index(0, 0)));
+        assertEquals(ArrowTable.TRAP, arrows.resolve(arrows.index(3, 3)));
+        assertEquals(arrows.index(3, 2), arrows.getExit(arrows.index(3, 3)));
+    }
+
+    @Test
+    void hiddenTargetIsReresolvedOnlyAfterInvalidate() {
+        place(2, 2, CellType.PLAIN, CellContent.ARROW_LEFT);
+        board.getCell(1, 2).setRevealed(false);
+        board.getCell(1, 2).setContent(CellContent.ARROW_UP);
+
+        int start = arrows.index(2, 2);
+
+        assertEquals(ArrowTable.HIDDEN, arrows.resolve(start));
+        assertEquals(arrows.index(1, 2), arrows.getExit(start));
+
+        board.getCell(1, 2).setRevealed(true);
+        assertEquals(ArrowTable.HIDDEN, arrows.resolve(start));
+
+        arrows.invalidate();
+        assertEquals(ArrowTable.LAND, arrows.resolve(start));
+        assertEquals(arrows.index(1, 2), arrows.getLastArrow(start));
+        assertEquals(arrows.index(1, 1), arrows.getExit(start));
+    }
+
+    private void place(int x, int y, CellType type, CellContent content) {
+        Cell cell = new Cell(type, content);
+        cell.setRevealed(true);
+        board.setCell(x, y, cell);
+    }
+}
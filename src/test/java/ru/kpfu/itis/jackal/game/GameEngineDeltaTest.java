@@ -0,0 +1,259 @@
+package ru.kpfu.itis.jackal.game;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import ru.kpfu.itis.jackal.common.RoomSettings;
+import ru.kpfu.itis.jackal.dto.CellDto;
+import ru.kpfu.itis.jackal.dto.GameStateDeltaDto;
+import ru.kpfu.itis.jackal.dto.GameStateDto;
+import ru.kpfu.itis.jackal.network.protocol.BinaryCodec;
+import ru.kpfu.itis.jackal.network.protocol.GameMessage;
+import ru.kpfu.itis.jackal.network.protocol.MessageType;
+import ru.kpfu.itis.jackal.network.protocol.PlayerJoinData;
+import ru.kpfu.itis.jackal.network.protocol.WireFormat;
+import ru.kpfu.itis.jackal.server.ClientConnection;
+import ru.kpfu.itis.jackal.server.OutboundFrame;
+import ru.kpfu.itis.jackal.ui.model.BoardListener;
+import ru.kpfu.itis.jackal.ui.model.ClientGameModel;
+import ru.kpfu.itis.jackal.ui.model.GameView;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEngineDeltaTest {
+
+    private static final Gson gson = new Gson();
+    private static final int TURNS = 12;
+
+    private final GameEngine engine = new GameEngine("room", RoomSettings.defaults().withSeed(7L), Runnable::run,
+            new MemoryEventLog());
+
+    @Test
+    void jsonDeltasRebuildTheFullState() {
+        deltasRebuildTheFullState(WireFormat.JSON);
+    }
+
+    @Test
+    void binaryDeltasRebuildTheFullState() {
+        deltasRebuildTheFullState(WireFormat.BINARY);
+    }
+
+    @Test
+    void jsonResumeReceivesOnlyMissedDeltas() {
+        resumeReceivesOnlyMissedDeltas(WireFormat.JSON);
+    }
+
+    @Test
+    void binaryResumeReceivesOnlyMissedDeltas() {
+        resumeReceivesOnlyMissedDeltas(WireFormat.BINARY);
+    }
+
+    @Test
+    void resumeWithoutVersionReceivesFullState() {
+        RecordingConnection alice = join("a", "Алиса", WireFormat.JSON);
+        RecordingConnection bob = join("b", "Боб", WireFormat.JSON);
+        startGame(alice, bob);
+        engine.onClientDisconnect(alice);
+
+        RecordingConnection resumed = new RecordingConnection(WireFormat.JSON);
+        engine.processMessage(resumeMessage("a", alice.resumeToken, null), resumed);
+
+        assertEquals(1, resumed.fulls);
+        assertEquals(0, resumed.deltas);
+        assertEquals(bob.model.getVersion(), resumed.model.getVersion());
+    }
+
+    private void deltasRebuildTheFullState(WireFormat format) {
+        RecordingConnection alice = join("a", "Алиса", format);
+        RecordingConnection bob = join("b", "Боб", format);
+        startGame(alice, bob);
+        play(alice, bob, TURNS);
+
+        assertTrue(alice.deltas >= TURNS, "дельт: " + alice.deltas);
+        assertEquals(0, alice.gaps);
+
+        GameView merged = alice.model.snapshot();
+        int fulls = alice.fulls;
+        int deltas = alice.deltas;
+        alice.model = new ClientGameModel();
+        engine.processMessage(new GameMessage(MessageType.RESYNC_REQUEST, "a", null), alice);
+
+        assertEquals(fulls + 1, alice.fulls);
+        assertEquals(deltas, alice.deltas);
+        assertSameState(merged, alice.model.snapshot());
+        assertSameState(merged, bob.model.snapshot());
+    }
+
+    private void resumeReceivesOnlyMissedDeltas(WireFormat format) {
+        RecordingConnection alice = join("a", "Алиса", format);
+        RecordingConnection bob = join("b", "Боб", format);
+        startGame(alice, bob);
+        play(alice, bob, 4);
+        if (!"b".equals(bob.model.getCurrentPlayerId())) {
+            endTurn(alice);
+        }
+
+        long lastVersion = alice.model.getVersion();
+        engine.onClientDisconnect(alice);
+        play(alice, bob, 1);
+        assertTrue(bob.model.getVersion() > lastVersion);
+
+        RecordingConnection resumed = new RecordingConnection(format);
+        resumed.model = alice.model;
+        engine.processMessage(resumeMessage("a", alice.resumeToken, lastVersion), resumed);
+
+        assertEquals(List.of(MessageType.SESSION), resumed.types.subList(0, 1));
+        assertEquals(0, resumed.fulls);
+        assertTrue(resumed.deltas > 0);
+        assertEquals(0, resumed.gaps);
+        assertSameState(bob.model.snapshot(), resumed.model.snapshot());
+    }
+
+    private RecordingConnection join(String playerId, String name, WireFormat format) {
+        RecordingConnection connection = new RecordingConnection(format);
+        engine.processMessage(new GameMessage(MessageType.PLAYER_JOIN, playerId,
+                gson.toJson(new PlayerJoinData(name, null, "room"))), connection);
+        assertNotNull(connection.resumeToken);
+        return connection;
+    }
+
+    private void startGame(RecordingConnection alice, RecordingConnection bob) {
+        engine.processMessage(new GameMessage(MessageType.PLAYER_READY, "a", "{}"), alice);
+        engine.processMessage(new GameMessage(MessageType.PLAYER_READY, "b", "{}"), bob);
+        engine.processMessage(new GameMessage(MessageType.PLAYER_ACTION, "a", "{\"action\": \"START_GAME\"}"), alice);
+        assertTrue(bob.model.isGameStarted());
+    }
+
+    private void play(RecordingConnection alice, RecordingConnection bob, int turns) {
+        for (int turn = 0; turn < turns; turn++) {
+            String current = bob.model.getCurrentPlayerId();
+            RecordingConnection mover = "a".equals(current) ? alice : bob;
+            GameView view = bob.model.snapshot();
+            BitSet targets = view.possibleMoves(1);
+            int target = targets.nextSetBit(0);
+            if (target >= 0) {
+                JsonObject move = new JsonObject();
+                move.addProperty("actionType", "MOVE");
+                move.addProperty("pirateId", 1);
+                move.addProperty("toX", target % view.getWidth());
+                move.addProperty("toY", target / view.getWidth());
+                engine.processMessage(new GameMessage(MessageType.PLAYER_ACTION, current, move.toString()), mover);
+            }
+            if (current.equals(bob.model.getCurrentPlayerId())) {
+                endTurn(mover);
+            }
+        }
+    }
+
+    private void endTurn(RecordingConnection mover) {
+        engine.processMessage(new GameMessage(MessageType.PLAYER_ACTION, mover.getPlayerId(),
+                "{\"actionType\":\"END_TURN\"}"), mover);
+    }
+
+    private static GameMessage resumeMessage(String playerId, String token, Long lastVersion) {
+        PlayerJoinData data = new PlayerJoinData(null, null, "room");
+        data.setResumeToken(token);
+        data.setLastVersion(lastVersion);
+        return new GameMessage(MessageType.PLAYER_JOIN, playerId, gson.toJson(data));
+    }
+
+    private static void assertSameState(GameView expected, GameView actual) {
+        assertEquals(expected.getVersion(), actual.getVersion());
+        assertEquals(expected.getCurrentPlayerId(), actual.getCurrentPlayerId());
+        assertEquals(expected.getTurnNumber(), actual.getTurnNumber());
+        assertEquals(expected.getPlayers(), actual.getPlayers());
+        assertEquals(cells(expected), cells(actual));
+        for (int pirate = 1; pirate <= 3; pirate++) {
+            assertEquals(expected.possibleMoves(pirate), actual.possibleMoves(pirate));
+        }
+    }
+
+    private static List<CellDto> cells(GameView view) {
+        List<CellDto> cells = new ArrayList<>();
+        view.replay(new BoardListener() {
+            @Override
+            public void boardResized(int width, int height) {
+            }
+
+            @Override
+            public void cellChanged(int x, int y, CellDto cell) {
+                cells.add(cell);
+            }
+        });
+        return cells;
+    }
+
+    private static final class RecordingConnection extends ClientConnection {
+
+        private final List<MessageType> types = new ArrayList<>();
+        private ClientGameModel model = new ClientGameModel();
+        private boolean handshaking;
+        private String resumeToken;
+        private int fulls;
+        private int deltas;
+        private int gaps;
+
+        RecordingConnection(WireFormat format) {
+            super(null);
+            if (format == WireFormat.BINARY) {
+                handshaking = true;
+                acceptBinaryHandshake();
+                handshaking = false;
+            }
+        }
+
+        @Override
+        public void sendFrame(OutboundFrame frame) {
+            if (handshaking) {
+                return;
+            }
+            ByteBuffer view = frame.view();
+            byte[] bytes = new byte[view.remaining()];
+            view.get(bytes);
+            GameMessage message = decode(bytes);
+            types.add(message.getType());
+            switch (message.getType()) {
+                case SESSION -> resumeToken = JsonParser.parseString(message.getData()).getAsJsonObject()
+                        .get("resumeToken").getAsString();
+                case GAME_STATE -> {
+                    fulls++;
+                    model.applyFull(body(message, GameStateDto.class));
+                }
+                case GAME_STATE_DELTA -> {
+                    deltas++;
+                    if (!model.applyDelta(body(message, GameStateDeltaDto.class))) {
+                        gaps++;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        private GameMessage decode(byte[] bytes) {
+            if (getWireFormat() == WireFormat.JSON) {
+                return gson.fromJson(new String(bytes, StandardCharsets.UTF_8).trim(), GameMessage.class);
+            }
+            try {
+                return BinaryCodec.readFrame(new ByteArrayInputStream(bytes), bytes.length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static <T> T body(GameMessage message, Class<T> type) {
+            T body = message.bodyAs(type);
+            return body != null ? body : gson.fromJson(message.getData(), type);
+        }
+    }
+}
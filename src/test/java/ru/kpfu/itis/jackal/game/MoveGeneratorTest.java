@@ -0,0 +1,168 @@
+package ru.kpfu.itis.jackal.game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.kpfu.itis.jackal.common.Board;
+import ru.kpfu.itis.jackal.common.Cell;
+import ru.kpfu.itis.jackal.common.CellContent;
+import ru.kpfu.itis.jackal.common.CellType;
+import ru.kpfu.itis.jackal.common.GameState;
+import ru.kpfu.itis.jackal.common.Pirate;
+import ru.kpfu.itis.jackal.common.Player;
+
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveGeneratorTest {
+
+    private static final int SIZE = 5;
+    private static final int[][] BEACHES = {{2, 0}, {2, 4}};
+
+    private Board board;
+    private GameRules rules;
+    private Player player;
+    private Player rival;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board(SIZE, SIZE);
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                place(x, y, CellType.PLAIN, CellContent.EMPTY);
+            }
+        }
+        for (int[] beach : BEACHES) {
+            place(beach[0], beach[1], CellType.BEACH, CellContent.EMPTY);
+        }
+        GameState state = new GameState();
+        state.setBoard(board);
+        rules = new GameRules(state, BEACHES, 100, new SplittableRandom(1));
+        player = new Player("p1", "Алиса", "red");
+        rival = new Player("p2", "Боб", "blue");
+        rules.addPlayer(player);
+        rules.addPlayer(rival);
+    }
+
+    @Test
+    void stepsInAllEightDirections() {
+        Pirate pirate = moveTo(player, 1, 2, 2);
+
+        assertEquals(Set.of("1,1", "2,1", "3,1", "1,2", "3,2", "1,3", "2,3", "3,3"), targets(pirate));
+    }
+
+    @Test
+    void staysInsideTheBoard() {
+        Pirate pirate = moveTo(player, 1, 0, 2);
+
+        assertEquals(Set.of("0,1", "1,1", "1,2", "0,3", "1,3"), targets(pirate));
+    }
+
+    @Test
+    void revealedArrowForcesItsDirection() {
+        place(2, 2, CellType.PLAIN, CellContent.ARROW_UP);
+        Pirate pirate = moveTo(player, 1, 2, 2);
+
+        assertEquals(Set.of("2,1"), targets(pirate));
+    }
+
+    @Test
+    void unrevealedArrowDoesNotForceDirection() {
+        place(2, 2, CellType.PLAIN, CellContent.ARROW_UP);
+        board.getCell(2, 2).setRevealed(false);
+        Pirate pirate = moveTo(player, 1, 2, 2);
+
+        assertEquals(8, targets(pirate).size());
+    }
+
+    @Test
+    void seaIsNotWalkable() {
+        place(3, 2, CellType.SEA, CellContent.EMPTY);
+        Pirate pirate = moveTo(player, 1, 2, 2);
+
+        assertFalse(targets(pirate).contains("3,2"));
+        assertEquals(7, targets(pirate).size());
+    }
+
+    @Test
+    void onlyOwnShipIsReachableOnTheBeach() {
+        place(1, 0, CellType.BEACH, CellContent.EMPTY);
+        Pirate pirate = moveTo(player, 1, 2, 1);
+        board.getCell(2, 0).setPirate(null);
+
+        Set<String> targets = targets(pirate);
+        assertTrue(targets.contains("2,0"));
+        assertFalse(targets.contains("1,0"));
+
+        moveTo(player, 1, 2, 3);
+        assertFalse(targets(pirate).contains("2,4"));
+    }
+
+    @Test
+    void ownPiratesBlockButRivalsDoNot() {
+        Pirate pirate = moveTo(player, 1, 2, 2);
+        moveTo(player, 2, 3, 2);
+        moveTo(rival, 1, 1, 2);
+
+        Set<String> targets = targets(pirate);
+        assertFalse(targets.contains("3,2"));
+        assertTrue(targets.contains("1,2"));
+    }
+
+    @Test
+    void ownShipAcceptsOwnPirates() {
+        Pirate pirate = moveTo(player, 1, 2, 1);
+
+        assertTrue(board.getCell(2, 0).hasPirate());
+        assertTrue(targets(pirate).contains("2,0"));
+    }
+
+    @Test
+    void carryingGoldAvoidsUnrevealedCells() {
+        board.getCell(1, 1).setRevealed(false);
+        Pirate pirate = moveTo(player, 1, 2, 2);
+
+        assertTrue(targets(pirate).contains("1,1"));
+
+        pirate.setGoldCarrying(1);
+        rules.getMoves().invalidate();
+
+        assertFalse(targets(pirate).contains("1,1"));
+        assertEquals(7, targets(pirate).size());
+    }
+
+    @Test
+    void legalMovesEndWithEndTurn() {
+        List<Move> moves = rules.legalMoves(player);
+
+        assertEquals(Move.END_TURN, moves.get(moves.size() - 1));
+    }
+
+    private Pirate moveTo(Player owner, int pirateId, int x, int y) {
+        Pirate pirate = owner.getPirate(pirateId);
+        Cell from = board.getCell(pirate.getX(), pirate.getY());
+        if (from.getPirate() == pirate) {
+            from.setPirate(null);
+        }
+        pirate.setX(x);
+        pirate.setY(y);
+        board.getCell(x, y).setPirate(pirate);
+        rules.getMoves().invalidate();
+        return pirate;
+    }
+
+    private Set<String> targets(Pirate pirate) {
+        return rules.getMoves().movesFor(player, pirate).stream()
+                .map(move -> move.toX() + "," + move.toY())
+                .collect(Collectors.toSet());
+    }
+
+    private void place(int x, int y, CellType type, CellContent content) {
+        Cell cell = new Cell(type, content);
+        cell.setRevealed(true);
+        board.setCell(x, y, cell);
+    }
+}
@@ -0,0 +1,134 @@
+package ru.kpfu.itis.jackal.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.kpfu.itis.jackal.game.GameEvent;
+import ru.kpfu.itis.jackal.game.GameEventType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalTest {
+
+    private static final int SMALL_SEGMENT = 256;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversHeaderSnapshotAndTail() {
+        Journal journal = open(64 * 1024);
+        journal.append("room", event(1, GameEventType.ROOM_CREATED));
+        journal.append("room", event(2, GameEventType.PLAYER_JOINED));
+        journal.appendSnapshot("room", 2, new byte[]{1, 2, 3});
+        journal.append("room", new GameEvent(3, 1, GameEventType.PLAYER_ACTION, "p1", "{\"x\":1}", 30, List.of(true, false)));
+        journal.append("room", event(4, GameEventType.PLAYER_ACTION));
+        journal.close();
+
+        Journal reopened = open(64 * 1024);
+        Map<String, RecoveredRoom> rooms = reopened.recover();
+        reopened.close();
+
+        RecoveredRoom room = rooms.get("room");
+        assertNotNull(room);
+        assertEquals(GameEventType.ROOM_CREATED, room.getHeader().getType());
+        assertArrayEquals(new byte[]{1, 2, 3}, room.getSnapshot());
+        List<GameEvent> tail = room.getTail();
+        assertEquals(List.of(3L, 4L), tail.stream().map(GameEvent::getSequence).toList());
+        assertEquals("{\"x\":1}", tail.get(0).getData());
+        assertEquals(List.of(true, false), tail.get(0).getOutcomes());
+        assertTrue(reopened.recover().isEmpty());
+    }
+
+    @Test
+    void closedRoomsAreNotRecovered() {
+        Journal journal = open(64 * 1024);
+        journal.append("closed", event(1, GameEventType.ROOM_CREATED));
+        journal.append("open", event(1, GameEventType.ROOM_CREATED));
+        journal.append("closed", event(2, GameEventType.PLAYER_JOINED));
+        journal.appendClosed("closed");
+        journal.close();
+
+        Journal reopened = open(64 * 1024);
+        Map<String, RecoveredRoom> rooms = reopened.recover();
+        reopened.close();
+
+        assertEquals(List.of("open"), List.copyOf(rooms.keySet()));
+    }
+
+    @Test
+    void retiresSegmentsCoveredBySnapshots() throws IOException {
+        Journal journal = open(SMALL_SEGMENT);
+        journal.append("room", event(1, GameEventType.ROOM_CREATED));
+        long sequence = 1;
+        for (int round = 0; round < 40; round++) {
+            journal.append("room", event(++sequence, GameEventType.PLAYER_ACTION));
+            journal.append("room", event(++sequence, GameEventType.PLAYER_ACTION));
+            journal.appendSnapshot("room", sequence, new byte[]{(byte) round});
+        }
+        journal.append("room", event(++sequence, GameEventType.PLAYER_ACTION));
+
+        assertTrue(segmentCount() < 5, "сегментов: " + segmentCount());
+        List<GameEvent> events = journal.readEvents("room");
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i).getSequence() > events.get(i - 1).getSequence());
+        }
+        assertEquals(sequence, events.get(events.size() - 1).getSequence());
+        journal.close();
+
+        Journal reopened = open(SMALL_SEGMENT);
+        RecoveredRoom room = reopened.recover().get("room");
+        reopened.close();
+
+        assertNotNull(room);
+        assertEquals(GameEventType.ROOM_CREATED, room.getHeader().getType());
+        assertArrayEquals(new byte[]{39}, room.getSnapshot());
+        assertEquals(List.of(sequence), room.getTail().stream().map(GameEvent::getSequence).toList());
+    }
+
+    @Test
+    void roomWithoutSnapshotPinsItsSegments() throws IOException {
+        Journal journal = open(SMALL_SEGMENT);
+        journal.append("quiet", event(1, GameEventType.ROOM_CREATED));
+        journal.append("quiet", event(2, GameEventType.PLAYER_JOINED));
+        journal.append("busy", event(1, GameEventType.ROOM_CREATED));
+        long sequence = 1;
+        for (int round = 0; round < 20; round++) {
+            journal.append("busy", event(++sequence, GameEventType.PLAYER_ACTION));
+            journal.appendSnapshot("busy", sequence, new byte[]{(byte) round});
+        }
+
+        assertTrue(Files.exists(directory.resolve("journal-00000000.seg")));
+        assertEquals(List.of(1L, 2L), journal.readEvents("quiet").stream().map(GameEvent::getSequence).toList());
+
+        journal.appendClosed("quiet");
+        for (int round = 0; round < 10; round++) {
+            journal.append("busy", event(++sequence, GameEventType.PLAYER_ACTION));
+            journal.appendSnapshot("busy", sequence, new byte[]{(byte) round});
+        }
+
+        assertFalse(Files.exists(directory.resolve("journal-00000000.seg")));
+        assertTrue(segmentCount() < 5, "сегментов: " + segmentCount());
+        journal.close();
+    }
+
+    private Journal open(int segmentSize) {
+        return Journal.open(directory, segmentSize, JournalSyncPolicy.NONE, 0);
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static GameEvent event(long sequence, GameEventType type) {
+        return new GameEvent(sequence, 1, type, "p1", "{}", sequence * 10);
+    }
+}
@@ -0,0 +1,179 @@
+package ru.kpfu.itis.jackal.network.protocol;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.kpfu.itis.jackal.common.GameState;
+import ru.kpfu.itis.jackal.common.Player;
+import ru.kpfu.itis.jackal.common.RoomSettings;
+import ru.kpfu.itis.jackal.dto.CellDto;
+import ru.kpfu.itis.jackal.dto.GameStateDeltaDto;
+import ru.kpfu.itis.jackal.dto.GameStateDto;
+import ru.kpfu.itis.jackal.game.BoardGenerator;
+import ru.kpfu.itis.jackal.game.GameRules;
+import ru.kpfu.itis.jackal.game.GameStateBinaryWriter;
+import ru.kpfu.itis.jackal.game.GameStateWriter;
+import ru.kpfu.itis.jackal.game.Move;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCodecTest {
+
+    private static final int MAX_FRAME = 1 << 20;
+
+    private final Gson gson = new Gson();
+    private GameState state;
+    private Map<Integer, List<Move>> legalMoves;
+
+    @BeforeEach
+    void setUp() {
+        RoomSettings settings = RoomSettings.defaults();
+        SplittableRandom random = new SplittableRandom(42);
+        state = GameRules.newGame(settings, BoardGenerator.defaults(), random);
+        GameRules rules = new GameRules(state, settings.beachPositions(), 100, random);
+        rules.addPlayer(new Player("p1", "Алиса", "red"));
+        rules.addPlayer(new Player("p2", "Боб", "blue"));
+        rules.startGame();
+        legalMoves = rules.currentLegalMoves();
+    }
+
+    @Test
+    void controlMessageRoundTrip() throws IOException {
+        GameMessage message = new GameMessage(MessageType.CHAT_MESSAGE, "p1", "{\"text\":\"Привет\"}");
+        message.setTimestamp(123456789L);
+
+        GameMessage decoded = roundTrip(message);
+
+        assertEquals(MessageType.CHAT_MESSAGE, decoded.getType());
+        assertEquals("p1", decoded.getPlayerId());
+        assertEquals(123456789L, decoded.getTimestamp());
+        assertEquals(message.getData(), decoded.getData());
+    }
+
+    @Test
+    void messageWithoutDataRoundTrip() throws IOException {
+        GameMessage decoded = roundTrip(new GameMessage(MessageType.PLAYER_READY, null, null));
+
+        assertEquals(MessageType.PLAYER_READY, decoded.getType());
+        assertNull(decoded.getPlayerId());
+        assertNull(decoded.getData());
+    }
+
+    @Test
+    void readsConsecutiveFramesUntilEndOfStream() throws IOException {
+        BinaryWriter out = new BinaryWriter();
+        for (int i = 0; i < 3; i++) {
+            BinaryCodec.encodeFrame(new GameMessage(MessageType.CHAT_MESSAGE, "p" + i, "{\"n\":" + i + "}"), out);
+        }
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+
+        for (int i = 0; i < 3; i++) {
+            GameMessage decoded = BinaryCodec.readFrame(in, MAX_FRAME);
+            assertEquals("p" + i, decoded.getPlayerId());
+            assertEquals("{\"n\":" + i + "}", decoded.getData());
+        }
+        assertNull(BinaryCodec.readFrame(in, MAX_FRAME));
+    }
+
+    @Test
+    void fullStateSchemaMatchesJson() throws IOException {
+        GameMessage message = new GameMessage(MessageType.GAME_STATE, null, null);
+        message.setBinaryData(GameStateBinaryWriter.writeFullState(state, 7, legalMoves));
+
+        GameStateDto binary = roundTrip(message).bodyAs(GameStateDto.class);
+        GameStateDto json = gson.fromJson(GameStateWriter.writeFullState(state, 7, legalMoves), GameStateDto.class);
+
+        assertNotNull(binary);
+        CellDto[][] board = json.getBoard();
+        for (int y = 0; y < board.length; y++) {
+            for (int x = 0; x < board[y].length; x++) {
+                board[y][x].setX(x);
+                board[y][x].setY(y);
+            }
+        }
+        assertLegalMovesEqual(json.getLegalMoves(), binary.getLegalMoves());
+        json.setLegalMoves(null);
+        binary.setLegalMoves(null);
+        assertEquals(json, binary);
+    }
+
+    @Test
+    void deltaSchemaMatchesJson() throws IOException {
+        int width = state.getBoard().getWidth();
+        int[] changed = {0, width + 1, 3 * width + 4, 5 * width + 6};
+
+        GameMessage message = new GameMessage(MessageType.GAME_STATE_DELTA, null, null);
+        message.setBinaryData(GameStateBinaryWriter.writeDelta(state, 8, changed, changed.length, true, legalMoves));
+
+        GameStateDeltaDto binary = roundTrip(message).bodyAs(GameStateDeltaDto.class);
+        GameStateDeltaDto json = gson.fromJson(
+                GameStateWriter.writeDelta(state, 8, changed, changed.length, true, legalMoves), GameStateDeltaDto.class);
+
+        assertNotNull(binary);
+        assertEquals(7, binary.getBaseVersion());
+        assertEquals(changed.length, binary.getCells().size());
+        assertLegalMovesEqual(json.getLegalMoves(), binary.getLegalMoves());
+        json.setLegalMoves(null);
+        binary.setLegalMoves(null);
+        assertEquals(json, binary);
+    }
+
+    @Test
+    void schemaPayloadIsReadableAsJson() throws IOException {
+        GameMessage message = new GameMessage(MessageType.GAME_STATE, null, null);
+        message.setBinaryData(GameStateBinaryWriter.writeFullState(state, 3, null));
+
+        GameMessage decoded = roundTrip(message);
+
+        assertEquals(3, decoded.dataAsJson().getAsJsonObject().get("version").getAsLong());
+    }
+
+    @Test
+    void rejectsUnknownMessageType() {
+        BinaryWriter out = new BinaryWriter();
+        out.writeVarInt(MessageType.values().length + 1);
+        byte[] bytes = out.toByteArray();
+
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodec.decode(bytes, 0, bytes.length));
+    }
+
+    @Test
+    void rejectsOversizedFrame() {
+        BinaryWriter out = new BinaryWriter();
+        BinaryCodec.encodeFrame(new GameMessage(MessageType.CHAT_MESSAGE, "p1", "{\"text\":\"длинное сообщение\"}"), out);
+        byte[] bytes = out.toByteArray();
+
+        assertThrows(IOException.class, () -> BinaryCodec.readFrame(new ByteArrayInputStream(bytes), 8));
+    }
+
+    @Test
+    void rejectsTruncatedFrame() {
+        BinaryWriter out = new BinaryWriter();
+        BinaryCodec.encodeFrame(new GameMessage(MessageType.CHAT_MESSAGE, "p1", "{}"), out);
+        byte[] bytes = Arrays.copyOf(out.toByteArray(), out.size() - 1);
+
+        assertThrows(EOFException.class, () -> BinaryCodec.readFrame(new ByteArrayInputStream(bytes), MAX_FRAME));
+    }
+
+    private static GameMessage roundTrip(GameMessage message) throws IOException {
+        BinaryWriter out = new BinaryWriter();
+        BinaryCodec.encodeFrame(message, out);
+        GameMessage decoded = BinaryCodec.readFrame(new ByteArrayInputStream(out.toByteArray()), MAX_FRAME);
+        assertNotNull(decoded);
+        return decoded;
+    }
+
+    private static void assertLegalMovesEqual(Map<String, int[][]> expected, Map<String, int[][]> actual) {
+        assertNotNull(actual);
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((pirate, moves) -> assertTrue(Arrays.deepEquals(moves, actual.get(pirate)), pirate));
+    }
+}
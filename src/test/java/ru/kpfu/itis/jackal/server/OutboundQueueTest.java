@@ -0,0 +1,186 @@
+package ru.kpfu.itis.jackal.server;
+
+import org.junit.jupiter.api.Test;
+import ru.kpfu.itis.jackal.network.protocol.GameMessage;
+import ru.kpfu.itis.jackal.network.protocol.MessageType;
+import ru.kpfu.itis.jackal.network.protocol.WireFormat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundQueueTest {
+
+    private static final long NO_STALL = 60_000;
+
+    @Test
+    void pollReturnsFramesInOrder() {
+        OutboundQueue queue = new OutboundQueue(4, OutboundOverflowPolicy.COALESCE, NO_STALL);
+        OutboundFrame first = frame(MessageType.GAME_STATE_DELTA);
+        OutboundFrame second = frame(MessageType.CHAT_MESSAGE);
+
+        assertEquals(OutboundQueue.Result.ACCEPTED, queue.offer(first));
+        assertEquals(OutboundQueue.Result.ACCEPTED, queue.offer(second));
+
+        assertSame(first, queue.poll());
+        assertSame(second, queue.poll());
+        assertNull(queue.poll());
+        assertEquals(2, queue.getHighWater());
+    }
+
+    @Test
+    void dropPolicyRequestsResyncWhenDeltaIsDropped() {
+        OutboundQueue queue = new OutboundQueue(2, OutboundOverflowPolicy.DROP, NO_STALL);
+        queue.offer(frame(MessageType.GAME_STATE_DELTA));
+        queue.offer(frame(MessageType.GAME_STATE_DELTA));
+
+        assertEquals(OutboundQueue.Result.RESYNC, queue.offer(frame(MessageType.GAME_STATE_DELTA)));
+        assertEquals(OutboundQueue.Result.DROPPED, queue.offer(frame(MessageType.GAME_STATE_DELTA)));
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    void dropPolicyLetsResyncSnapshotThroughAndResumesDeltas() {
+        OutboundQueue queue = new OutboundQueue(2, OutboundOverflowPolicy.DROP, NO_STALL);
+        queue.offer(frame(MessageType.GAME_STATE_DELTA));
+        queue.offer(frame(MessageType.GAME_STATE_DELTA));
+        queue.offer(frame(MessageType.GAME_STATE_DELTA));
+
+        assertEquals(OutboundQueue.Result.ACCEPTED, queue.offer(frame(MessageType.GAME_STATE)));
+        drain(queue);
+        assertEquals(OutboundQueue.Result.ACCEPTED, queue.offer(frame(MessageType.GAME_STATE_DELTA)));
+    }
+
+    @Test
+    void dropPolicyDropsChatButKeepsControlFrames() {
+        OutboundQueue queue = new OutboundQueue(2, OutboundOverflowPolicy.DROP, NO_STALL);
+        queue.offer(frame(MessageType.CHAT_MESSAGE));
+        queue.offer(frame(MessageType.CHAT_MESSAGE));
+
+        assertEquals(OutboundQueue.Result.DROPPED, queue.offer(frame(MessageType.CHAT_MESSAGE)));
+        assertEquals(OutboundQueue.Result.ACCEPTED, queue.offer(frame(MessageType.ERROR)));
+        assertEquals(3, queue.size());
+    }
+
+    @Test
+    void dropPolicyEvictsPastTwiceTheCapacity() {
+        OutboundQueue queue = new OutboundQueue(2, OutboundOverflowPolicy.DROP, NO_STALL);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(OutboundQueue.Result.ACCEPTED, queue.offer(frame(MessageType.ERROR)));
+        }
+
+        assertEquals(OutboundQueue.Result.EVICT, queue.offer(frame(MessageType.ERROR)));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void coalescePolicyDiscardsQueuedStateAndRequestsResync() {
+        OutboundQueue queue = new OutboundQueue(2, OutboundOverflowPolicy.COALESCE, NO_STALL);
+        queue.offer(frame(MessageType.GAME_STATE_DELTA));
+        queue.offer(frame(MessageType.CHAT_MESSAGE));
+        OutboundFrame control = frame(MessageType.ERROR);
+
+        assertEquals(OutboundQueue.Result.RESYNC, queue.offer(control));
+        assertEquals(1, queue.size());
+        assertSame(control, queue.poll());
+    }
+
+    @Test
+    void coalescePolicyKeepsControlFramesWhenDeltaOverflows() {
+        OutboundQueue queue = new OutboundQueue(2, OutboundOverflowPolicy.COALESCE, NO_STALL);
+        OutboundFrame control = frame(MessageType.ERROR);
+        queue.offer(control);
+        queue.offer(frame(MessageType.GAME_STATE_DELTA));
+
+        assertEquals(OutboundQueue.Result.RESYNC, queue.offer(frame(MessageType.GAME_STATE_DELTA)));
+        assertEquals(OutboundQueue.Result.DROPPED, queue.offer(frame(MessageType.GAME_STATE_DELTA)));
+        assertSame(control, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void disconnectPolicyEvictsWhenFull() {
+        OutboundQueue queue = new OutboundQueue(1, OutboundOverflowPolicy.DISCONNECT, NO_STALL);
+        queue.offer(frame(MessageType.GAME_STATE_DELTA));
+
+        assertEquals(OutboundQueue.Result.EVICT, queue.offer(frame(MessageType.ERROR)));
+        assertEquals(0, queue.size());
+        assertEquals(OutboundQueue.Result.DROPPED, queue.offer(frame(MessageType.ERROR)));
+    }
+
+    @Test
+    void idleClientIsNotEvictedByFirstFrameAfterQuietPeriod() throws InterruptedException {
+        OutboundQueue queue = new OutboundQueue(8, OutboundOverflowPolicy.COALESCE, 50);
+        queue.offer(frame(MessageType.GAME_STATE_DELTA));
+        assertNotNull(queue.poll());
+
+        Thread.sleep(120);
+
+        assertEquals(OutboundQueue.Result.ACCEPTED, queue.offer(frame(MessageType.GAME_STATE_DELTA)));
+        assertEquals(OutboundQueue.Result.ACCEPTED, queue.offer(frame(MessageType.GAME_STATE_DELTA)));
+    }
+
+    @Test
+    void stalledClientIsEvicted() throws InterruptedException {
+        OutboundQueue queue = new OutboundQueue(8, OutboundOverflowPolicy.COALESCE, 50);
+        queue.offer(frame(MessageType.GAME_STATE_DELTA));
+
+        Thread.sleep(120);
+
+        assertEquals(OutboundQueue.Result.EVICT, queue.offer(frame(MessageType.GAME_STATE_DELTA)));
+    }
+
+    @Test
+    void closeWakesBlockedTake() throws Exception {
+        OutboundQueue queue = new OutboundQueue(4, OutboundOverflowPolicy.COALESCE, NO_STALL);
+        CompletableFuture<OutboundFrame> taken = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                taken.complete(queue.take());
+            } catch (InterruptedException e) {
+                taken.completeExceptionally(e);
+            }
+        });
+
+        Thread.sleep(50);
+        queue.close();
+
+        assertNull(taken.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void idleWritersDoNotPinCarrierThreads() throws InterruptedException {
+        List<OutboundQueue> queues = new ArrayList<>();
+        try {
+            for (int i = 0; i < 300; i++) {
+                OutboundQueue queue = new OutboundQueue(4, OutboundOverflowPolicy.COALESCE, NO_STALL);
+                queues.add(queue);
+                Thread.ofVirtual().start(() -> {
+                    try {
+                        queue.take();
+                    } catch (InterruptedException ignored) {
+                    }
+                });
+            }
+            CountDownLatch ran = new CountDownLatch(1);
+            Thread.ofVirtual().start(ran::countDown);
+
+            assertTrue(ran.await(5, TimeUnit.SECONDS));
+        } finally {
+            queues.forEach(OutboundQueue::close);
+        }
+    }
+
+    private static void drain(OutboundQueue queue) {
+        while (queue.poll() != null) {
+        }
+    }
+
+    private static OutboundFrame frame(MessageType type) {
+        return OutboundFrame.encode(new GameMessage(type, "player", "{}"), WireFormat.JSON);
+    }
+}